@@ -0,0 +1,138 @@
+package jadescript.benchmarks;
+
+import jade.wrapper.AgentContainer;
+import jadescript.java.AgentHostingMode;
+import jadescript.java.AgentHostingProfile;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the memory used by idle Jadescript agents, for a given
+ * {@link AgentHostingMode}.
+ * <p>
+ * Usage: {@code AgentHostingScaling [mode [agents [resultFile]]]}; by
+ * default, 1000 agents are started in {@code PLATFORM_THREADS} mode. The
+ * results (heap, resident set size and live threads, before and after the
+ * agents are started) are printed, and written in JSON format if a result
+ * file is specified.
+ * It is a plain program (not a JMH benchmark): run it in a fresh JVM for
+ * each mode.
+ */
+public class AgentHostingScaling {
+
+    private static final String DEFAULT_PORT = "1199";
+
+
+    public static void main(String[] args) throws Exception {
+        final AgentHostingMode mode = args.length > 0
+            ? AgentHostingMode.valueOf(args[0])
+            : AgentHostingMode.PLATFORM_THREADS;
+        final int agents = args.length > 1
+            ? Integer.parseInt(args[1])
+            : 1000;
+        final String resultFile = args.length > 2 ? args[2] : null;
+
+        final AgentHostingProfile profile = new AgentHostingProfile(
+            null,
+            Integer.parseInt(System.getProperty(
+                BenchmarkPlatform.PORT_PROPERTY,
+                DEFAULT_PORT
+            )),
+            null,
+            true,
+            mode
+        );
+        profile.setParameter(AgentHostingProfile.GUI, "false");
+        final AgentContainer container =
+            jade.core.Runtime.instance().createMainContainer(profile);
+
+        final long heapBefore = usedHeap();
+        final long rssBefore = residentSetSize();
+        final int threadsBefore = ManagementFactory.getThreadMXBean()
+            .getThreadCount();
+
+        final List<CompletableFuture<BenchmarkAgent>> started =
+            new ArrayList<>(agents);
+        for (int i = 0; i < agents; i++) {
+            final CompletableFuture<BenchmarkAgent> ready =
+                new CompletableFuture<>();
+            container.createNewAgent(
+                "idle-" + i,
+                BenchmarkAgent.class.getName(),
+                new Object[]{ready}
+            ).start();
+            started.add(ready);
+        }
+        for (CompletableFuture<BenchmarkAgent> ready : started) {
+            ready.get(60, TimeUnit.SECONDS);
+        }
+        // Letting the agents reach their idle state.
+        Thread.sleep(1000);
+
+        final long heapAfter = usedHeap();
+        final long rssAfter = residentSetSize();
+        final int threadsAfter = ManagementFactory.getThreadMXBean()
+            .getThreadCount();
+
+        final String result = "{" +
+            "\"mode\": \"" + mode + "\", " +
+            "\"agents\": " + agents + ", " +
+            "\"javaVersion\": \"" + System.getProperty("java.version") + "\", " +
+            "\"heapBytesPerAgent\": " + (heapAfter - heapBefore) / agents + ", " +
+            "\"rssBytesPerAgent\": " + (rssAfter - rssBefore) / agents + ", " +
+            "\"liveThreadsBefore\": " + threadsBefore + ", " +
+            "\"liveThreadsAfter\": " + threadsAfter +
+            "}";
+        System.out.println(result);
+        if (resultFile != null) {
+            Files.write(Paths.get(resultFile), result.getBytes());
+        }
+
+        container.kill();
+        jade.core.Runtime.instance().shutDown();
+        System.exit(0);
+    }
+
+
+    private static long usedHeap() {
+        final java.lang.Runtime runtime = java.lang.Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+
+    /*
+     Resident set size of the process, read from /proc (Linux only); 0 if not
+     available.
+     */
+    private static long residentSetSize() {
+        final Path status = Paths.get("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return 0;
+        }
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    final String kb = line.substring("VmRSS:".length())
+                        .replace("kB", "")
+                        .trim();
+                    return Long.parseLong(kb) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) {
+            // Not available.
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,107 @@
+package jadescript.benchmarks;
+
+import jadescript.core.behaviours.Behaviour;
+import jadescript.java.AgentEnv;
+import jadescript.java.SideEffectsFlag;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an idle tick of a cyclic behaviour, i.e., an execution in which
+ * no event handler fires and the behaviour goes back to wait for events.
+ * The ticks are executed by the scheduler of a started agent, on the agent
+ * thread, like the ones caused by a message which no handler accepts.
+ * Run it with {@code -prof gc} to see the allocation rate: the profiler
+ * counts the allocations of all the threads, agent thread included.
+ * The only expected allocations are the two list nodes (24 bytes each) that
+ * the JADE scheduler creates when it moves the behaviour from the ready
+ * list to the blocked one and back.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BehaviourBenchmarks {
+
+    private IdleBehaviour behaviour;
+
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkPlatform platform) throws Exception {
+        final BenchmarkAgent agent = platform.startAgent("idle");
+        behaviour = new IdleBehaviour(agent);
+        behaviour.activate(agent);
+        // Waits for the activation and for the first idle tick.
+        while (behaviour.ticks == 0 || behaviour.isRunnable()) {
+            Thread.sleep(10);
+        }
+    }
+
+
+    /**
+     * Wakes the behaviour up, as an incoming message does, and waits until
+     * the agent thread has executed the tick and blocked the behaviour again.
+     */
+    @Benchmark
+    public long idleTick() {
+        final long before = behaviour.ticks;
+        behaviour.restart();
+        while (behaviour.ticks == before || behaviour.isRunnable()) {
+            // Yielding lets the agent thread run on single-core machines.
+            Thread.yield();
+        }
+        return behaviour.ticks;
+    }
+
+
+    /**
+     * Behaves like a generated cyclic behaviour whose handlers never fire.
+     */
+    public static class IdleBehaviour extends Behaviour<BenchmarkAgent> {
+
+        private volatile long ticks = 0;
+
+
+        public IdleBehaviour(BenchmarkAgent agent) {
+            super(AgentEnv.<BenchmarkAgent,
+                SideEffectsFlag.AnySideEffectFlag>agentEnv(agent));
+        }
+
+
+        @Override
+        protected ExecutionType __executionType() {
+            return ExecutionType.Cyclic;
+        }
+
+
+        @Override
+        public void doAction(int _tickCount) {
+            __noMessageHandled();
+            __awaitForEvents();
+            ticks++;
+        }
+
+
+        @Override
+        public void doOnActivate() {
+
+        }
+
+
+        @Override
+        public void doOnDeactivate() {
+
+        }
+
+
+        @Override
+        public void doOnDestroy() {
+
+        }
+
+    }
+
+}
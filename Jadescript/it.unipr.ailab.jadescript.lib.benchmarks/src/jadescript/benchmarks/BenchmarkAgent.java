@@ -0,0 +1,39 @@
+package jadescript.benchmarks;
+
+import jade.content.ContentManager;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Jadescript agent hosted by the {@link BenchmarkPlatform}.
+ * It does nothing by itself: benchmarks add behaviours and messages to it
+ * and invoke its methods directly.
+ */
+public class BenchmarkAgent extends jadescript.core.Agent {
+
+    @Override
+    protected void setup() {
+        super.setup();
+        final Object[] arguments = getArguments();
+        if (arguments != null
+            && arguments.length > 0
+            && arguments[0] instanceof CompletableFuture) {
+            // Only BenchmarkPlatform.startAgent passes this argument.
+            @SuppressWarnings("unchecked")
+            final CompletableFuture<BenchmarkAgent> ready =
+                (CompletableFuture<BenchmarkAgent>) arguments[0];
+            ready.complete(this);
+        }
+    }
+
+
+    @Override
+    protected void __registerOntologies(ContentManager cm) {
+        super.__registerOntologies(cm);
+        jadescript.content.onto.Ontology.registerJadescriptOntology(
+            BenchmarkOntology.getInstance(),
+            cm
+        );
+    }
+
+}
@@ -0,0 +1,221 @@
+package jadescript.benchmarks;
+
+import jade.content.onto.BasicOntology;
+import jade.content.onto.OntologyException;
+import jade.content.schema.ConceptSchema;
+import jade.content.schema.PredicateSchema;
+import jade.content.schema.PrimitiveSchema;
+import jade.content.schema.TermSchema;
+import jadescript.content.JadescriptConcept;
+import jadescript.content.JadescriptPredicate;
+import jadescript.content.onto.JadescriptIntrospector;
+import jadescript.lang.Timestamp;
+import jadescript.util.JadescriptSet;
+
+/**
+ * Ontology with the same structure of the ones generated by the compiler,
+ * used by the content benchmarks.
+ * It corresponds to:
+ * <pre>
+ * ontology Telemetry
+ *     concept Reading(sensor as text, value as integer, time as timestamp)
+ *     predicate Measured(reading as Reading)
+ *     predicate Active(sensors as set of text)
+ * </pre>
+ */
+public class BenchmarkOntology extends jadescript.content.onto.Ontology {
+
+    public static final String ONTOLOGY_NAME = "Telemetry";
+
+    public static final String READING = "Reading";
+    public static final String READING_SENSOR = "sensor";
+    public static final String READING_VALUE = "value";
+    public static final String READING_TIME = "time";
+
+    public static final String MEASURED = "Measured";
+    public static final String MEASURED_READING = "reading";
+
+    public static final String ACTIVE = "Active";
+    public static final String ACTIVE_SENSORS = "sensors";
+
+    public static final String SENSOR_SET = "__SetClass_java_lang_String";
+
+    private static final BenchmarkOntology _instance = new BenchmarkOntology();
+
+
+    public BenchmarkOntology() {
+        super(
+            ONTOLOGY_NAME,
+            jadescript.content.onto.Ontology.getInstance(),
+            new JadescriptIntrospector()
+        );
+
+        try {
+            add(new ConceptSchema(READING), Reading.class);
+            add(new PredicateSchema(MEASURED), Measured.class);
+            add(new ConceptSchema(SENSOR_SET), SensorSet.class);
+            add(new PredicateSchema(ACTIVE), Active.class);
+
+            final ConceptSchema reading = (ConceptSchema) getSchema(READING);
+            reading.add(
+                READING_SENSOR,
+                (PrimitiveSchema) getSchema(BasicOntology.STRING)
+            );
+            reading.add(
+                READING_VALUE,
+                (PrimitiveSchema) getSchema(BasicOntology.INTEGER)
+            );
+            reading.add(
+                READING_TIME,
+                (ConceptSchema) getSchema(TIMESTAMP)
+            );
+
+            final PredicateSchema measured =
+                (PredicateSchema) getSchema(MEASURED);
+            measured.add(MEASURED_READING, reading);
+
+            jadescript.content.onto.Ontology.__populateSetSchema(
+                (TermSchema) getSchema(BasicOntology.STRING),
+                (ConceptSchema) getSchema(SENSOR_SET)
+            );
+            ((PredicateSchema) getSchema(ACTIVE)).add(
+                ACTIVE_SENSORS,
+                (ConceptSchema) getSchema(SENSOR_SET)
+            );
+        } catch (OntologyException e) {
+            e.printStackTrace();
+        }
+    }
+
+
+    public static BenchmarkOntology getInstance() {
+        return _instance;
+    }
+
+
+    public static class Reading implements JadescriptConcept {
+
+        private String sensor = "";
+        private Integer value = 0;
+        private Timestamp time = Timestamp.unixStart();
+
+
+        public Reading() {
+        }
+
+
+        public Reading(
+            String sensor,
+            Integer value,
+            Timestamp time
+        ) {
+            this.sensor = sensor;
+            this.value = value;
+            this.time = time;
+        }
+
+
+        public String getSensor() {
+            return sensor;
+        }
+
+
+        public void setSensor(String sensor) {
+            this.sensor = sensor;
+        }
+
+
+        public Integer getValue() {
+            return value;
+        }
+
+
+        public void setValue(Integer value) {
+            this.value = value;
+        }
+
+
+        public Timestamp getTime() {
+            return time;
+        }
+
+
+        public void setTime(Timestamp time) {
+            this.time = time;
+        }
+
+
+        @Override
+        public jade.content.onto.Ontology __getDeclaringOntology() {
+            return getInstance();
+        }
+
+    }
+
+    public static class Measured implements JadescriptPredicate {
+
+        private Reading reading = new Reading();
+
+
+        public Measured() {
+        }
+
+
+        public Measured(Reading reading) {
+            this.reading = reading;
+        }
+
+
+        public Reading getReading() {
+            return reading;
+        }
+
+
+        public void setReading(Reading reading) {
+            this.reading = reading;
+        }
+
+
+        @Override
+        public jade.content.onto.Ontology __getDeclaringOntology() {
+            return getInstance();
+        }
+
+    }
+
+    public static class SensorSet extends JadescriptSet<String> {
+
+    }
+
+    public static class Active implements JadescriptPredicate {
+
+        private SensorSet sensors = new SensorSet();
+
+
+        public Active() {
+        }
+
+
+        public Active(SensorSet sensors) {
+            this.sensors = sensors;
+        }
+
+
+        public SensorSet getSensors() {
+            return sensors;
+        }
+
+
+        public void setSensors(SensorSet sensors) {
+            this.sensors = sensors;
+        }
+
+
+        @Override
+        public jade.content.onto.Ontology __getDeclaringOntology() {
+            return getInstance();
+        }
+
+    }
+
+}
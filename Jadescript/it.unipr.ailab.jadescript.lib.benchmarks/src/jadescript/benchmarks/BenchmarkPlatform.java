@@ -0,0 +1,73 @@
+package jadescript.benchmarks;
+
+import jade.core.Profile;
+import jade.core.ProfileImpl;
+import jade.core.Runtime;
+import jade.wrapper.AgentContainer;
+import jade.wrapper.StaleProxyException;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process JADE main container, started once for each trial of the
+ * benchmarks which need agents.
+ * The local port of the container can be set with the system property
+ * {@value #PORT_PROPERTY}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkPlatform {
+
+    public static final String PORT_PROPERTY = "jadescript.benchmarks.port";
+
+    private static final String DEFAULT_PORT = "1199";
+    private static final long AGENT_START_TIMEOUT_SECONDS = 30;
+
+    private AgentContainer container = null;
+    private int agentCounter = 0;
+
+
+    @Setup(Level.Trial)
+    public void start() {
+        final Profile profile = new ProfileImpl();
+        profile.setParameter(Profile.GUI, "false");
+        profile.setParameter(
+            Profile.LOCAL_PORT,
+            System.getProperty(PORT_PROPERTY, DEFAULT_PORT)
+        );
+        container = Runtime.instance().createMainContainer(profile);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void stop() throws StaleProxyException {
+        if (container != null) {
+            container.kill();
+            container = null;
+        }
+        Runtime.instance().shutDown();
+    }
+
+
+    /**
+     * Creates and starts a new {@link BenchmarkAgent}, waiting for its
+     * setup to be completed.
+     */
+    public synchronized BenchmarkAgent startAgent(String prefix)
+        throws Exception {
+        final CompletableFuture<BenchmarkAgent> ready =
+            new CompletableFuture<>();
+        container.createNewAgent(
+            prefix + "-" + (agentCounter++),
+            BenchmarkAgent.class.getName(),
+            new Object[]{ready}
+        ).start();
+        return ready.get(AGENT_START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,40 @@
+package jadescript.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of the Jadescript runtime library and writes the
+ * results in JSON format, so that they can be compared between releases.
+ * <p>
+ * Usage: {@code BenchmarksMain [resultFile [includeRegex]]}; by default,
+ * all the benchmarks are run and the results are written in
+ * {@value #DEFAULT_RESULT_FILE}.
+ */
+public class BenchmarksMain {
+
+    public static final String DEFAULT_RESULT_FILE =
+        "jadescript-benchmarks.json";
+
+
+    public static void main(String[] args) throws RunnerException {
+        final String resultFile = args.length > 0
+            ? args[0]
+            : DEFAULT_RESULT_FILE;
+        final String include = args.length > 1
+            ? args[1]
+            : BenchmarksMain.class.getPackage().getName() + "\\..*";
+
+        final Options options = new OptionsBuilder()
+            .include(include)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile)
+            .build();
+
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,109 @@
+package jadescript.benchmarks;
+
+import jade.content.ContentManager;
+import jade.content.lang.leap.LEAPCodec;
+import jade.lang.acl.ACLMessage;
+import jadescript.util.JadescriptMap;
+import jadescript.util.JadescriptSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of accessing Jadescript maps and sets both through their list views
+ * (used by the content manager) and by key (used by the language
+ * operations), including the common pattern of an agent which receives a
+ * set in a message and then queries it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionBenchmarks {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private JadescriptMap<Integer, String> map;
+    private JadescriptSet<Integer> set;
+
+    private ContentManager contentManager;
+    private ACLMessage activeMessage;
+
+
+    @Setup(Level.Iteration)
+    public void setup() throws Exception {
+        map = new JadescriptMap<>();
+        set = new JadescriptSet<>();
+        for (int i = 0; i < size; i++) {
+            map.put(i, String.valueOf(i));
+            set.add(i);
+        }
+
+        contentManager = new ContentManager();
+        contentManager.registerLanguage(new LEAPCodec());
+        contentManager.registerOntology(BenchmarkOntology.getInstance());
+        final BenchmarkOntology.SensorSet sensors =
+            new BenchmarkOntology.SensorSet();
+        for (int i = 0; i < size; i++) {
+            sensors.add("sensor-" + i);
+        }
+        activeMessage = new ACLMessage(ACLMessage.INFORM);
+        activeMessage.setLanguage(LEAPCodec.NAME);
+        activeMessage.setOntology(BenchmarkOntology.ONTOLOGY_NAME);
+        contentManager.fillContent(
+            activeMessage,
+            new BenchmarkOntology.Active(sensors)
+        );
+    }
+
+
+    @Benchmark
+    public String mapUnzipAndZip() {
+        // Reading the lists (as the content manager does) and then accessing
+        // the map by key.
+        final List<Integer> keys = map.getKeys();
+        return map.get(keys.get(keys.size() - 1));
+    }
+
+
+    @Benchmark
+    public String mapGet() {
+        return map.get(size - 1);
+    }
+
+
+    @Benchmark
+    public boolean setUnzipAndZip() {
+        final List<Integer> elements = set.getElements();
+        return set.contains(elements.get(elements.size() - 1));
+    }
+
+
+    @Benchmark
+    public boolean setContains() {
+        return set.contains(size - 1);
+    }
+
+
+    @Benchmark
+    public int setReceiveThenContains() throws Exception {
+        // Decoding a set received in a message, and then querying it.
+        final BenchmarkOntology.Active active =
+            (BenchmarkOntology.Active) contentManager.extractContent(
+                activeMessage
+            );
+        final JadescriptSet<String> sensors = active.getSensors();
+        int found = 0;
+        for (int i = 0; i < size; i += 7) {
+            if (sensors.contains("sensor-" + i)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+}
@@ -0,0 +1,68 @@
+package jadescript.benchmarks;
+
+import jade.content.ContentElement;
+import jade.content.ContentManager;
+import jade.content.lang.leap.LEAPCodec;
+import jade.lang.acl.ACLMessage;
+import jadescript.core.message.Message;
+import jadescript.lang.Timestamp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of encoding and decoding the contents of messages with the LEAP
+ * codec, for an ontology with the structure of the generated ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentBenchmarks {
+
+    private ContentManager contentManager;
+    private BenchmarkOntology.Measured content;
+    private Message<ContentElement> filled;
+
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkPlatform platform) throws Exception {
+        final BenchmarkAgent agent = platform.startAgent("content");
+        contentManager = agent.getContentManager();
+        content = new BenchmarkOntology.Measured(
+            new BenchmarkOntology.Reading(
+                "temperature",
+                21,
+                Timestamp.now()
+            )
+        );
+        filled = newMessage();
+        contentManager.fillContent(filled, content);
+    }
+
+
+    @Benchmark
+    public ACLMessage fillContent() throws Exception {
+        final Message<ContentElement> message = newMessage();
+        contentManager.fillContent(message, content);
+        return message;
+    }
+
+
+    @Benchmark
+    public ContentElement extractContent() throws Exception {
+        return contentManager.extractContent(filled);
+    }
+
+
+    private static Message<ContentElement> newMessage() {
+        final Message<ContentElement> message =
+            new Message<>(ACLMessage.INFORM);
+        message.setLanguage(LEAPCodec.NAME);
+        message.setOntology(BenchmarkOntology.ONTOLOGY_NAME);
+        return message;
+    }
+
+}
@@ -0,0 +1,76 @@
+package jadescript.benchmarks;
+
+import jadescript.util.JadescriptList;
+import jadescript.util.types.Converter;
+import jadescript.util.types.JadescriptBuiltinTypeAtom;
+import jadescript.util.types.JadescriptTypeReference;
+import jadescript.util.types.JadescriptValueAdapter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the runtime conversions between Jadescript types, as used by the
+ * 'as' expressions, and of the adaptation of Java values (as done by the Java
+ * interoperability API).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConverterBenchmarks {
+
+    private static final JadescriptTypeReference INTEGER =
+        new JadescriptTypeReference(JadescriptBuiltinTypeAtom.INTEGER);
+    private static final JadescriptTypeReference REAL =
+        new JadescriptTypeReference(JadescriptBuiltinTypeAtom.REAL);
+    private static final JadescriptTypeReference TEXT =
+        new JadescriptTypeReference(JadescriptBuiltinTypeAtom.TEXT);
+    private static final JadescriptTypeReference LIST_OF_INTEGER =
+        new JadescriptTypeReference(JadescriptBuiltinTypeAtom.LIST, INTEGER);
+    private static final JadescriptTypeReference LIST_OF_TEXT =
+        new JadescriptTypeReference(JadescriptBuiltinTypeAtom.LIST, TEXT);
+
+    private final Integer integer = 42;
+    private JadescriptList<Integer> list;
+    private List<Integer> javaList;
+
+
+    @Setup
+    public void setup() {
+        list = new JadescriptList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        javaList = new ArrayList<>(list);
+    }
+
+
+    @Benchmark
+    public Object integerToReal() {
+        return Converter.convert(integer, INTEGER, REAL);
+    }
+
+
+    @Benchmark
+    public Object integerToText() {
+        return Converter.convert(integer, INTEGER, TEXT);
+    }
+
+
+    @Benchmark
+    public Object listOfIntegerToListOfText() {
+        return Converter.convert(list, LIST_OF_INTEGER, LIST_OF_TEXT);
+    }
+
+
+    @Benchmark
+    public Object adaptJavaList() {
+        return JadescriptValueAdapter.adapt(javaList, JadescriptList.class);
+    }
+
+}
@@ -0,0 +1,616 @@
+package jadescript.benchmarks;
+
+import jade.content.lang.sl.SL0Vocabulary;
+import jade.content.onto.BasicOntology;
+import jade.content.onto.Introspector;
+import jade.content.onto.OntologyException;
+import jade.content.schema.AgentActionSchema;
+import jade.content.schema.ConceptSchema;
+import jade.content.schema.ObjectSchema;
+import jade.content.schema.PredicateSchema;
+import jade.content.schema.PrimitiveSchema;
+import jade.core.AID;
+import jadescript.content.JadescriptAction;
+import jadescript.content.JadescriptConcept;
+import jadescript.content.JadescriptPredicate;
+import jadescript.content.onto.JadescriptIntrospector;
+import jadescript.lang.Timestamp;
+
+import java.util.Objects;
+
+/**
+ * Ontology with the same structure of the one generated by the compiler for
+ * the English auction example, used by the codec benchmarks.
+ * It corresponds to (a subset of):
+ * <pre>
+ * ontology EnglishAuction
+ *     concept Item(name as text)
+ *     concept Painting(author as text, title as text)
+ *         extends Item with name = title + " by " + author
+ *     action SubmitBid(
+ *         item as Item,
+ *         currentBid as integer,
+ *         bidMinimumIncrement as integer,
+ *         deadline as timestamp,
+ *         currentlyWinning as text
+ *     )
+ *     predicate ItemSold(item as Item, buyer as aid, finalPrice as integer)
+ * </pre>
+ * The ontology can be created either with the reflective introspector used
+ * before (see {@link #reflective()}), or with the introspector generated by
+ * the compiler (see {@link #compiled()}), written here by hand.
+ */
+public class EnglishAuctionOntology extends jadescript.content.onto.Ontology {
+
+    public static final String ONTOLOGY_NAME = "examples_auction_EnglishAuction";
+
+    public static final String ITEM = "Item";
+    public static final String ITEM_NAME = "name";
+
+    public static final String PAINTING = "Painting";
+    public static final String PAINTING_AUTHOR = "author";
+    public static final String PAINTING_TITLE = "title";
+
+    public static final String SUBMIT_BID = "SubmitBid";
+    public static final String SUBMIT_BID_ITEM = "item";
+    public static final String SUBMIT_BID_CURRENT_BID = "currentBid";
+    public static final String SUBMIT_BID_BID_MINIMUM_INCREMENT =
+        "bidMinimumIncrement";
+    public static final String SUBMIT_BID_DEADLINE = "deadline";
+    public static final String SUBMIT_BID_CURRENTLY_WINNING =
+        "currentlyWinning";
+
+    public static final String ITEM_SOLD = "ItemSold";
+    public static final String ITEM_SOLD_ITEM = "item";
+    public static final String ITEM_SOLD_BUYER = "buyer";
+    public static final String ITEM_SOLD_FINAL_PRICE = "finalPrice";
+
+    private static final EnglishAuctionOntology _reflective =
+        new EnglishAuctionOntology(new JadescriptIntrospector());
+    private static final EnglishAuctionOntology _compiled =
+        new EnglishAuctionOntology(new __Introspector());
+
+
+    public EnglishAuctionOntology(Introspector introspector) {
+        super(
+            ONTOLOGY_NAME,
+            jadescript.content.onto.Ontology.getInstance(),
+            introspector
+        );
+
+        try {
+            add(new ConceptSchema(ITEM), Item.class);
+            add(new ConceptSchema(PAINTING), Painting.class);
+            add(new AgentActionSchema(SUBMIT_BID), SubmitBid.class);
+            add(new PredicateSchema(ITEM_SOLD), ItemSold.class);
+
+            final ConceptSchema item = (ConceptSchema) getSchema(ITEM);
+            item.add(
+                ITEM_NAME,
+                (PrimitiveSchema) getSchema(BasicOntology.STRING)
+            );
+
+            final ConceptSchema painting = (ConceptSchema) getSchema(PAINTING);
+            painting.add(
+                PAINTING_AUTHOR,
+                (PrimitiveSchema) getSchema(BasicOntology.STRING)
+            );
+            painting.add(
+                PAINTING_TITLE,
+                (PrimitiveSchema) getSchema(BasicOntology.STRING)
+            );
+            painting.addSuperSchema(item);
+
+            final AgentActionSchema submitBid =
+                (AgentActionSchema) getSchema(SUBMIT_BID);
+            submitBid.add(SUBMIT_BID_ITEM, item);
+            submitBid.add(
+                SUBMIT_BID_CURRENT_BID,
+                (PrimitiveSchema) getSchema(BasicOntology.INTEGER)
+            );
+            submitBid.add(
+                SUBMIT_BID_BID_MINIMUM_INCREMENT,
+                (PrimitiveSchema) getSchema(BasicOntology.INTEGER)
+            );
+            submitBid.add(
+                SUBMIT_BID_DEADLINE,
+                (ConceptSchema) getSchema(TIMESTAMP)
+            );
+            submitBid.add(
+                SUBMIT_BID_CURRENTLY_WINNING,
+                (PrimitiveSchema) getSchema(BasicOntology.STRING)
+            );
+
+            final PredicateSchema itemSold =
+                (PredicateSchema) getSchema(ITEM_SOLD);
+            itemSold.add(ITEM_SOLD_ITEM, item);
+            itemSold.add(
+                ITEM_SOLD_BUYER,
+                (ConceptSchema) getSchema(SL0Vocabulary.AID)
+            );
+            itemSold.add(
+                ITEM_SOLD_FINAL_PRICE,
+                (PrimitiveSchema) getSchema(BasicOntology.INTEGER)
+            );
+        } catch (OntologyException e) {
+            e.printStackTrace();
+        }
+    }
+
+
+    /**
+     * The ontology, with the reflective introspector.
+     */
+    public static EnglishAuctionOntology reflective() {
+        return _reflective;
+    }
+
+
+    /**
+     * The ontology, with the generated introspector.
+     */
+    public static EnglishAuctionOntology compiled() {
+        return _compiled;
+    }
+
+
+    /**
+     * Equivalent to the introspector generated by the compiler for the
+     * ontology.
+     */
+    public static class __Introspector extends JadescriptIntrospector {
+
+        @Override
+        public Object getSlotValue(
+            String slotName,
+            Object obj,
+            ObjectSchema schema
+        ) throws OntologyException {
+            switch (schema.getTypeName()) {
+                case "Item": {
+                    final Item _element = (Item) obj;
+                    switch (slotName) {
+                        case "name":
+                            return _element.getName();
+                    }
+                    break;
+                }
+                case "Painting": {
+                    final Painting _element = (Painting) obj;
+                    switch (slotName) {
+                        case "author":
+                            return _element.getAuthor();
+                        case "title":
+                            return _element.getTitle();
+                        case "name":
+                            return _element.getName();
+                    }
+                    break;
+                }
+                case "SubmitBid": {
+                    final SubmitBid _element = (SubmitBid) obj;
+                    switch (slotName) {
+                        case "item":
+                            return _element.getItem();
+                        case "currentBid":
+                            return _element.getCurrentBid();
+                        case "bidMinimumIncrement":
+                            return _element.getBidMinimumIncrement();
+                        case "deadline":
+                            return _element.getDeadline();
+                        case "currentlyWinning":
+                            return _element.getCurrentlyWinning();
+                    }
+                    break;
+                }
+                case "ItemSold": {
+                    final ItemSold _element = (ItemSold) obj;
+                    switch (slotName) {
+                        case "item":
+                            return _element.getItem();
+                        case "buyer":
+                            return _element.getBuyer();
+                        case "finalPrice":
+                            return _element.getFinalPrice();
+                    }
+                    break;
+                }
+            }
+            return super.getSlotValue(slotName, obj, schema);
+        }
+
+
+        @Override
+        public void setSlotValue(
+            String slotName,
+            Object slotValue,
+            Object obj,
+            ObjectSchema schema
+        ) throws OntologyException {
+            switch (schema.getTypeName()) {
+                case "Item": {
+                    final Item _element = (Item) obj;
+                    switch (slotName) {
+                        case "name":
+                            _element.setName(
+                                adjustSlotValue(slotValue, String.class)
+                            );
+                            return;
+                    }
+                    break;
+                }
+                case "Painting": {
+                    final Painting _element = (Painting) obj;
+                    switch (slotName) {
+                        case "author":
+                            _element.setAuthor(
+                                adjustSlotValue(slotValue, String.class)
+                            );
+                            return;
+                        case "title":
+                            _element.setTitle(
+                                adjustSlotValue(slotValue, String.class)
+                            );
+                            return;
+                        case "name":
+                            _element.setName(
+                                adjustSlotValue(slotValue, String.class)
+                            );
+                            return;
+                    }
+                    break;
+                }
+                case "SubmitBid": {
+                    final SubmitBid _element = (SubmitBid) obj;
+                    switch (slotName) {
+                        case "item":
+                            _element.setItem((Item) slotValue);
+                            return;
+                        case "currentBid":
+                            _element.setCurrentBid(
+                                adjustSlotValue(slotValue, Integer.class)
+                            );
+                            return;
+                        case "bidMinimumIncrement":
+                            _element.setBidMinimumIncrement(
+                                adjustSlotValue(slotValue, Integer.class)
+                            );
+                            return;
+                        case "deadline":
+                            _element.setDeadline((Timestamp) slotValue);
+                            return;
+                        case "currentlyWinning":
+                            _element.setCurrentlyWinning(
+                                adjustSlotValue(slotValue, String.class)
+                            );
+                            return;
+                    }
+                    break;
+                }
+                case "ItemSold": {
+                    final ItemSold _element = (ItemSold) obj;
+                    switch (slotName) {
+                        case "item":
+                            _element.setItem((Item) slotValue);
+                            return;
+                        case "buyer":
+                            _element.setBuyer((AID) slotValue);
+                            return;
+                        case "finalPrice":
+                            _element.setFinalPrice(
+                                adjustSlotValue(slotValue, Integer.class)
+                            );
+                            return;
+                    }
+                    break;
+                }
+            }
+            super.setSlotValue(slotName, slotValue, obj, schema);
+        }
+
+    }
+
+    public static class Item implements JadescriptConcept {
+
+        private String name = "";
+
+
+        public Item() {
+        }
+
+
+        public Item(String name) {
+            this.name = name;
+        }
+
+
+        public String getName() {
+            return name;
+        }
+
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Item) {
+                Item o = (Item) obj;
+                return Objects.equals(name, o.name);
+            } else {
+                return super.equals(obj);
+            }
+        }
+
+
+        @Override
+        public int hashCode() {
+            int _h = 1;
+            _h = 31 * _h + Objects.hashCode(name);
+            return _h;
+        }
+
+
+        @Override
+        public jade.content.onto.Ontology __getDeclaringOntology() {
+            return reflective();
+        }
+
+    }
+
+    public static class Painting extends Item {
+
+        private String author = "";
+        private String title = "";
+
+
+        public Painting() {
+        }
+
+
+        public Painting(String author, String title) {
+            super(title + " by " + author);
+            this.author = author;
+            this.title = title;
+        }
+
+
+        public String getAuthor() {
+            return author;
+        }
+
+
+        public void setAuthor(String author) {
+            this.author = author;
+        }
+
+
+        public String getTitle() {
+            return title;
+        }
+
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Painting) {
+                Painting o = (Painting) obj;
+                return super.equals(obj)
+                    && Objects.equals(author, o.author)
+                    && Objects.equals(title, o.title);
+            } else {
+                return super.equals(obj);
+            }
+        }
+
+
+        @Override
+        public int hashCode() {
+            int _h = super.hashCode();
+            _h = 31 * _h + Objects.hashCode(author);
+            _h = 31 * _h + Objects.hashCode(title);
+            return _h;
+        }
+
+    }
+
+    public static class SubmitBid implements JadescriptAction {
+
+        private Item item = new Item();
+        private Integer currentBid = 0;
+        private Integer bidMinimumIncrement = 0;
+        private Timestamp deadline = Timestamp.unixStart();
+        private String currentlyWinning = "";
+
+
+        public SubmitBid() {
+        }
+
+
+        public SubmitBid(
+            Item item,
+            Integer currentBid,
+            Integer bidMinimumIncrement,
+            Timestamp deadline,
+            String currentlyWinning
+        ) {
+            this.item = item;
+            this.currentBid = currentBid;
+            this.bidMinimumIncrement = bidMinimumIncrement;
+            this.deadline = deadline;
+            this.currentlyWinning = currentlyWinning;
+        }
+
+
+        public Item getItem() {
+            return item;
+        }
+
+
+        public void setItem(Item item) {
+            this.item = item;
+        }
+
+
+        public Integer getCurrentBid() {
+            return currentBid;
+        }
+
+
+        public void setCurrentBid(Integer currentBid) {
+            this.currentBid = currentBid;
+        }
+
+
+        public Integer getBidMinimumIncrement() {
+            return bidMinimumIncrement;
+        }
+
+
+        public void setBidMinimumIncrement(Integer bidMinimumIncrement) {
+            this.bidMinimumIncrement = bidMinimumIncrement;
+        }
+
+
+        public Timestamp getDeadline() {
+            return deadline;
+        }
+
+
+        public void setDeadline(Timestamp deadline) {
+            this.deadline = deadline;
+        }
+
+
+        public String getCurrentlyWinning() {
+            return currentlyWinning;
+        }
+
+
+        public void setCurrentlyWinning(String currentlyWinning) {
+            this.currentlyWinning = currentlyWinning;
+        }
+
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof SubmitBid) {
+                SubmitBid o = (SubmitBid) obj;
+                return Objects.equals(item, o.item)
+                    && Objects.equals(currentBid, o.currentBid)
+                    && Objects.equals(
+                        bidMinimumIncrement,
+                        o.bidMinimumIncrement
+                    )
+                    && Objects.equals(deadline, o.deadline)
+                    && Objects.equals(currentlyWinning, o.currentlyWinning);
+            } else {
+                return super.equals(obj);
+            }
+        }
+
+
+        @Override
+        public int hashCode() {
+            int _h = 1;
+            _h = 31 * _h + Objects.hashCode(item);
+            _h = 31 * _h + Objects.hashCode(currentBid);
+            _h = 31 * _h + Objects.hashCode(bidMinimumIncrement);
+            _h = 31 * _h + Objects.hashCode(deadline);
+            _h = 31 * _h + Objects.hashCode(currentlyWinning);
+            return _h;
+        }
+
+
+        @Override
+        public jade.content.onto.Ontology __getDeclaringOntology() {
+            return reflective();
+        }
+
+    }
+
+    public static class ItemSold implements JadescriptPredicate {
+
+        private Item item = new Item();
+        private AID buyer = new AID();
+        private Integer finalPrice = 0;
+
+
+        public ItemSold() {
+        }
+
+
+        public ItemSold(Item item, AID buyer, Integer finalPrice) {
+            this.item = item;
+            this.buyer = buyer;
+            this.finalPrice = finalPrice;
+        }
+
+
+        public Item getItem() {
+            return item;
+        }
+
+
+        public void setItem(Item item) {
+            this.item = item;
+        }
+
+
+        public AID getBuyer() {
+            return buyer;
+        }
+
+
+        public void setBuyer(AID buyer) {
+            this.buyer = buyer;
+        }
+
+
+        public Integer getFinalPrice() {
+            return finalPrice;
+        }
+
+
+        public void setFinalPrice(Integer finalPrice) {
+            this.finalPrice = finalPrice;
+        }
+
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof ItemSold) {
+                ItemSold o = (ItemSold) obj;
+                return Objects.equals(item, o.item)
+                    && Objects.equals(buyer, o.buyer)
+                    && Objects.equals(finalPrice, o.finalPrice);
+            } else {
+                return super.equals(obj);
+            }
+        }
+
+
+        @Override
+        public int hashCode() {
+            int _h = 1;
+            _h = 31 * _h + Objects.hashCode(item);
+            _h = 31 * _h + Objects.hashCode(buyer);
+            _h = 31 * _h + Objects.hashCode(finalPrice);
+            return _h;
+        }
+
+
+        @Override
+        public jade.content.onto.Ontology __getDeclaringOntology() {
+            return reflective();
+        }
+
+    }
+
+}
@@ -0,0 +1,48 @@
+package jadescript.benchmarks;
+
+import jade.lang.acl.ACLMessage;
+import jadescript.core.message.Message;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of wrapping JADE messages in Jadescript messages, as done by the
+ * generated message handlers for each received message.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageBenchmarks {
+
+    private ACLMessage aclMessage;
+    private Message<Object> jadescriptMessage;
+
+
+    @Setup
+    public void setup() {
+        aclMessage = new ACLMessage(ACLMessage.INFORM);
+        aclMessage.setContent("content");
+        aclMessage.setOntology(BenchmarkOntology.ONTOLOGY_NAME);
+        aclMessage.setConversationId("conversation");
+
+        jadescriptMessage = new Message<>(ACLMessage.INFORM);
+        jadescriptMessage.setContent("content");
+    }
+
+
+    @Benchmark
+    public Message<Object> wrapACLMessage() {
+        return Message.wrap(aclMessage);
+    }
+
+
+    @Benchmark
+    public Message<Object> wrapJadescriptMessage() {
+        return Message.wrap(jadescriptMessage);
+    }
+
+}
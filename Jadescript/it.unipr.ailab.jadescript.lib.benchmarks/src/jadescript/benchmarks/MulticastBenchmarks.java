@@ -0,0 +1,94 @@
+package jadescript.benchmarks;
+
+import jade.content.ContentManager;
+import jade.content.lang.leap.LEAPCodec;
+import jade.core.AID;
+import jade.lang.acl.ACLMessage;
+import jadescript.core.message.Message;
+import jadescript.core.message.MessageBatch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of sending the same content to each of many receivers, one message at
+ * a time (as a {@code for} loop of {@code send} statements does) and through
+ * the batch used by {@code send ... to each}. Messages are encoded as if they
+ * were leaving the container.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MulticastBenchmarks {
+
+    @Param({"10", "100"})
+    public int receivers;
+
+    private ContentManager contentManager;
+    private AID[] participants;
+    private EnglishAuctionOntology.ItemSold itemSold;
+    private final MessageBatch batch = new MessageBatch();
+    private int encodedBytes = 0;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        contentManager = new ContentManager();
+        contentManager.registerLanguage(new LEAPCodec());
+        contentManager.registerOntology(EnglishAuctionOntology.compiled());
+
+        participants = new AID[receivers];
+        for (int i = 0; i < receivers; i++) {
+            participants[i] = new AID("bidder" + i + "@auction", AID.ISGUID);
+        }
+        itemSold = new EnglishAuctionOntology.ItemSold(
+            new EnglishAuctionOntology.Painting("Monet", "Water Lilies"),
+            participants[0],
+            1250
+        );
+    }
+
+
+    @Benchmark
+    public int sendOneByOne() throws Exception {
+        encodedBytes = 0;
+        for (AID participant : participants) {
+            final Message<?> message = newMessage(participant);
+            message.__fillContent(contentManager, itemSold);
+            deliver(message);
+        }
+        return encodedBytes;
+    }
+
+
+    @Benchmark
+    public int sendToEach() {
+        encodedBytes = 0;
+        for (AID participant : participants) {
+            batch.add(newMessage(participant), itemSold);
+        }
+        batch.flush(contentManager, this::deliver);
+        return encodedBytes;
+    }
+
+
+    private void deliver(ACLMessage message) {
+        // Forces the encoding, as done by JADE for remote receivers.
+        if (message.hasByteSequenceContent()) {
+            encodedBytes += message.getByteSequenceContent().length;
+        }
+    }
+
+
+    private static Message<?> newMessage(AID receiver) {
+        final Message<?> message = new Message<>(ACLMessage.INFORM);
+        message.setLanguage(LEAPCodec.NAME);
+        message.setOntology(EnglishAuctionOntology.ONTOLOGY_NAME);
+        message.addReceiver(receiver);
+        return message;
+    }
+
+}
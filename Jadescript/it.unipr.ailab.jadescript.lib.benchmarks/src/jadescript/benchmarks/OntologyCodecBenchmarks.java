@@ -0,0 +1,144 @@
+package jadescript.benchmarks;
+
+import jade.content.ContentElement;
+import jade.content.ContentManager;
+import jade.content.lang.Codec;
+import jade.content.onto.basic.Action;
+import jade.core.AID;
+import jade.lang.acl.ACLMessage;
+import jadescript.content.lang.JadescriptCodecs;
+import jadescript.core.message.Message;
+import jadescript.lang.Timestamp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of encoding and decoding the contents of the messages of the English
+ * auction example with the LEAP and the binary codecs, when the slots of the
+ * elements are accessed by reflection and when they are accessed by the
+ * introspector generated by the compiler. The round-trip benchmarks compare
+ * encoding and decoding with the delivery of the content object to a receiver
+ * in the same container (which is still encoded once, as JADE does when the
+ * message is sent, but not decoded).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OntologyCodecBenchmarks {
+
+    @Param({"reflective", "compiled"})
+    public String introspector;
+
+    @Param({"leap", "binary"})
+    public String codec;
+
+    private ContentManager contentManager;
+    private String language;
+    private Action submitBid;
+    private EnglishAuctionOntology.ItemSold itemSold;
+    private ACLMessage filledSubmitBid;
+    private ACLMessage filledItemSold;
+
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        contentManager = new ContentManager();
+        final Codec selectedCodec = JadescriptCodecs.byName(codec);
+        language = selectedCodec.getName();
+        contentManager.registerLanguage(selectedCodec);
+        contentManager.registerOntology(
+            "compiled".equals(introspector)
+                ? EnglishAuctionOntology.compiled()
+                : EnglishAuctionOntology.reflective()
+        );
+
+        final AID auctioneer = new AID("auctioneer@auction", AID.ISGUID);
+        final AID bidder = new AID("bidder@auction", AID.ISGUID);
+        final EnglishAuctionOntology.Painting painting =
+            new EnglishAuctionOntology.Painting("Monet", "Water Lilies");
+
+        submitBid = new Action(
+            auctioneer,
+            new EnglishAuctionOntology.SubmitBid(
+                painting,
+                1200,
+                50,
+                Timestamp.now(),
+                bidder.getName()
+            )
+        );
+        itemSold = new EnglishAuctionOntology.ItemSold(
+            painting,
+            bidder,
+            1250
+        );
+
+        filledSubmitBid = newMessage(ACLMessage.CFP);
+        contentManager.fillContent(filledSubmitBid, submitBid);
+        filledItemSold = newMessage(ACLMessage.INFORM);
+        contentManager.fillContent(filledItemSold, itemSold);
+    }
+
+
+    @Benchmark
+    public ACLMessage fillSubmitBid() throws Exception {
+        final ACLMessage message = newMessage(ACLMessage.CFP);
+        contentManager.fillContent(message, submitBid);
+        return message;
+    }
+
+
+    @Benchmark
+    public ContentElement extractSubmitBid() throws Exception {
+        return contentManager.extractContent(filledSubmitBid);
+    }
+
+
+    @Benchmark
+    public ACLMessage fillItemSold() throws Exception {
+        final ACLMessage message = newMessage(ACLMessage.INFORM);
+        contentManager.fillContent(message, itemSold);
+        return message;
+    }
+
+
+    @Benchmark
+    public ContentElement extractItemSold() throws Exception {
+        return contentManager.extractContent(filledItemSold);
+    }
+
+
+    @Benchmark
+    public Object roundTripItemSold() throws Exception {
+        final ACLMessage message = newMessage(ACLMessage.INFORM);
+        contentManager.fillContent(message, itemSold);
+        return Message.wrap(message).getContent(contentManager);
+    }
+
+
+    @Benchmark
+    public Object localRoundTripItemSold() throws Exception {
+        final Message<Object> message = new Message<>(ACLMessage.INFORM);
+        message.setLanguage(language);
+        message.setOntology(EnglishAuctionOntology.ONTOLOGY_NAME);
+        message.__fillContent(contentManager, itemSold);
+        // The outbox of JADE reads the encoded content to account for the
+        // size of the message, then each receiver gets a shallow clone.
+        message.getByteSequenceContent();
+        return ((Message<?>) message.shallowClone())
+            .getContent(contentManager);
+    }
+
+
+    private ACLMessage newMessage(int performative) {
+        final ACLMessage message = new ACLMessage(performative);
+        message.setLanguage(language);
+        message.setOntology(EnglishAuctionOntology.ONTOLOGY_NAME);
+        return message;
+    }
+
+}
@@ -0,0 +1,89 @@
+package jadescript.benchmarks;
+
+import jadescript.util.IntegerRange;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the code generated for an arithmetic-heavy indexed loop
+ * ({@code for i in start to end: sum = sum + i * i}), as it was compiled on
+ * top of {@link IntegerRange} with boxed locals, and as it is compiled now,
+ * as a counted loop on primitive locals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RangeLoopBenchmarks {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private Integer start;
+    private Integer end;
+
+
+    @Setup
+    public void setup() {
+        start = 0;
+        end = size - 1;
+    }
+
+
+    @Benchmark
+    public Integer rangeIterable() {
+        java.lang.Integer sum = 0;
+        for (java.lang.Integer i : new jadescript.util.IntegerRange(start,
+            end, true, true)) {
+            sum = sum + i * i;
+        }
+        return sum;
+    }
+
+
+    @Benchmark
+    public Integer rangeIterableDescending() {
+        java.lang.Integer sum = 0;
+        for (java.lang.Integer i : new jadescript.util.IntegerRange(end,
+            start, true, true)) {
+            sum = sum + i * i;
+        }
+        return sum;
+    }
+
+
+    @Benchmark
+    public Integer countedLoop() {
+        int sum = 0;
+        int __auxvar_index = start;
+        int __auxvar_end = end;
+        int __auxvar_step = __auxvar_index > __auxvar_end ? -1 : 1;
+        for (; __auxvar_step > 0 ? __auxvar_index <= __auxvar_end
+            : __auxvar_index >= __auxvar_end;
+             __auxvar_index += __auxvar_step) {
+            int i = __auxvar_index;
+            sum = sum + i * i;
+        }
+        return sum;
+    }
+
+
+    @Benchmark
+    public Integer countedLoopDescending() {
+        int sum = 0;
+        int __auxvar_index = end;
+        int __auxvar_end = start;
+        int __auxvar_step = __auxvar_index > __auxvar_end ? -1 : 1;
+        for (; __auxvar_step > 0 ? __auxvar_index <= __auxvar_end
+            : __auxvar_index >= __auxvar_end;
+             __auxvar_index += __auxvar_step) {
+            int i = __auxvar_index;
+            sum = sum + i * i;
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,80 @@
+package jadescript.benchmarks;
+
+import jadescript.lang.Duration;
+import jadescript.lang.Timestamp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the duration and timestamp arithmetic done by scheduling code: an
+ * agent which keeps a queue of deadlines, repeatedly takes the earliest one,
+ * measures its lag and schedules it again after a (scaled) period.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SchedulingBenchmarks {
+
+    @Param({"16", "1024"})
+    public int deadlines;
+
+    private PriorityQueue<Timestamp> queue;
+    private Duration period;
+    private Duration tolerance;
+    private Timestamp clock;
+
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        period = Duration.of(250);
+        tolerance = Duration.of(5);
+        clock = Timestamp.fromEpochMillis(1_700_000_000_000L, 60);
+        queue = new PriorityQueue<>(deadlines);
+        for (int i = 0; i < deadlines; i++) {
+            queue.add(Timestamp.plus(clock, Duration.multiply(period, i)));
+        }
+    }
+
+
+    @Benchmark
+    public Timestamp rescheduleEarliest() {
+        // Takes the earliest deadline, and schedules it again after twice
+        // the period, minus a tolerance.
+        final Timestamp earliest = queue.poll();
+        final Timestamp next = Timestamp.minus(
+            Timestamp.plus(earliest, Duration.multiply(period, 2)),
+            tolerance
+        );
+        queue.add(next);
+        return next;
+    }
+
+
+    @Benchmark
+    public Duration accumulateLag() {
+        // Sums the lags of all the deadlines with respect to the clock.
+        Duration total = Duration.of(0);
+        for (Timestamp deadline : queue) {
+            if (deadline.g(clock)) {
+                total = Duration.sum(total, Timestamp.subtract(deadline, clock));
+            }
+        }
+        return total;
+    }
+
+
+    @Benchmark
+    public long periodsInWindow() {
+        // Converts a window into a number of periods, as done when
+        // coalescing missed ticks.
+        final Duration window = Duration.multiply(period, deadlines);
+        return (long) Duration.divide(window, period)
+            + Duration.divide(window, 3).toMillis();
+    }
+
+}
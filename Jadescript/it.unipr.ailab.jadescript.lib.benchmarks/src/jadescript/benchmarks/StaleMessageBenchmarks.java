@@ -0,0 +1,112 @@
+package jadescript.benchmarks;
+
+import jade.lang.acl.ACLMessage;
+import jadescript.core.behaviours.Behaviour;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of checking whether a message in the inbox is stale (i.e., ignored
+ * by all the active behaviours), as done by the stale message cleaner.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StaleMessageBenchmarks {
+
+    @Param({"10", "1000"})
+    public int inboxSize;
+
+    @Param({"1", "100"})
+    public int behaviours;
+
+    private BenchmarkAgent agent;
+    private ACLMessage oldest;
+    private ACLMessage newest;
+
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkPlatform platform) throws Exception {
+        agent = platform.startAgent("stale");
+        final ListeningBehaviour[] listening =
+            new ListeningBehaviour[behaviours];
+        for (int i = 0; i < behaviours; i++) {
+            listening[i] = new ListeningBehaviour();
+            listening[i].activate(agent);
+        }
+        for (ListeningBehaviour b : listening) {
+            while (!b.isActive()) {
+                Thread.sleep(10);
+            }
+        }
+        for (int i = 0; i < inboxSize; i++) {
+            final ACLMessage message = new ACLMessage(ACLMessage.INFORM);
+            message.setContent(String.valueOf(i));
+            if (i == 0) {
+                oldest = message;
+            }
+            newest = message;
+            agent.postMessage(message);
+        }
+    }
+
+
+    @Benchmark
+    public boolean isOldestMessageStale() {
+        return agent.__isMessageStale(oldest);
+    }
+
+
+    @Benchmark
+    public boolean isNewestMessageStale() {
+        return agent.__isMessageStale(newest);
+    }
+
+
+    /**
+     * Active behaviour which never ignores messages, so that the messages
+     * stay in the inbox.
+     */
+    public static class ListeningBehaviour extends Behaviour<BenchmarkAgent> {
+
+        public ListeningBehaviour() {
+            super(null);
+        }
+
+
+        @Override
+        protected ExecutionType __executionType() {
+            return ExecutionType.Cyclic;
+        }
+
+
+        @Override
+        public void doAction(int _tickCount) {
+            __awaitForEvents();
+        }
+
+
+        @Override
+        public void doOnActivate() {
+
+        }
+
+
+        @Override
+        public void doOnDeactivate() {
+
+        }
+
+
+        @Override
+        public void doOnDestroy() {
+
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package jadescript.benchmarks;
+
+import jadescript.lang.Duration;
+import jadescript.lang.Timestamp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the arithmetic on durations and timestamps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimeBenchmarks {
+
+    private Duration d1;
+    private Duration d2;
+    private Timestamp t1;
+    private Timestamp t2;
+
+
+    @Setup
+    public void setup() {
+        d1 = Duration.of(1500);
+        d2 = Duration.of(3, 250);
+        t1 = Timestamp.now();
+        t2 = Timestamp.plus(t1, Duration.of(60_000));
+    }
+
+
+    @Benchmark
+    public Duration durationSum() {
+        return Duration.sum(d1, d2);
+    }
+
+
+    @Benchmark
+    public Duration durationMultiply() {
+        return Duration.multiply(d1, 3);
+    }
+
+
+    @Benchmark
+    public int durationCompare() {
+        return Duration.compare(d1, d2);
+    }
+
+
+    @Benchmark
+    public Timestamp timestampPlus() {
+        return Timestamp.plus(t1, d1);
+    }
+
+
+    @Benchmark
+    public Duration timestampSubtract() {
+        return Timestamp.subtract(t2, t1);
+    }
+
+
+    @Benchmark
+    public int timestampCompare() {
+        return Timestamp.compare(t1, t2);
+    }
+
+
+    @Benchmark
+    public int timestampHashCode() {
+        return t1.hashCode();
+    }
+
+
+    @Benchmark
+    public Timestamp timestampNow() {
+        return Timestamp.now();
+    }
+
+}
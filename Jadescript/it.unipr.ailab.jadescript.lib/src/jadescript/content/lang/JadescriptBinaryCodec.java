@@ -0,0 +1,707 @@
+package jadescript.content.lang;
+
+import jade.content.abs.*;
+import jade.content.lang.ByteArrayCodec;
+import jade.content.onto.BasicOntology;
+import jade.content.onto.Ontology;
+import jade.content.onto.OntologyException;
+import jade.content.schema.ObjectSchema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact binary codec for the contents of the messages exchanged by
+ * Jadescript agents.
+ * <p>
+ * The names of the schemas and of the slots of the ontology are not written
+ * as strings: they are replaced by their index in a table of symbols, built
+ * (once per ontology) from the sorted names of its elements and of their
+ * slots. Numbers are written as variable-length integers, and the strings
+ * which occur more than once in the same content (e.g., names not in the
+ * table, or repeated texts) are written once, and then referred by index.
+ * <p>
+ * The encoded content starts with a fingerprint of the table, so that
+ * contents encoded with a different version of the ontology are rejected
+ * instead of being decoded wrongly.
+ * <p>
+ * Agents which do not know this codec (e.g., non-Jadescript agents) cannot
+ * decode its contents; see {@link JadescriptCodecs} for how the codec is
+ * selected.
+ * <p>
+ * Decoding never trusts the content: lengths and counts are checked against
+ * the bytes left, nesting is bounded, and any malformed input results in a
+ * {@link jade.content.lang.Codec.CodecException}.
+ */
+public class JadescriptBinaryCodec extends ByteArrayCodec {
+
+    public static final String NAME = "jadescript-binary";
+
+    private static final int VERSION = 1;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_STRING = 1;
+    private static final int TAG_TRUE = 2;
+    private static final int TAG_FALSE = 3;
+    private static final int TAG_INTEGER = 4;
+    private static final int TAG_LONG = 5;
+    private static final int TAG_FLOAT = 6;
+    private static final int TAG_DOUBLE = 7;
+    private static final int TAG_DATE = 8;
+    private static final int TAG_BYTES = 9;
+    private static final int TAG_CONCEPT = 10;
+    private static final int TAG_AGENT_ACTION = 11;
+    private static final int TAG_PREDICATE = 12;
+    private static final int TAG_IRE = 13;
+    private static final int TAG_AGGREGATE = 14;
+    private static final int TAG_CONTENT_ELEMENT_LIST = 15;
+    private static final int TAG_VARIABLE = 16;
+
+    // Symbols: 0 is null, 1 is a string written inline, and n >= 2 refers
+    // to the (n - 2)th entry of the table.
+    private static final int SYMBOL_NULL = 0;
+    private static final int SYMBOL_INLINE = 1;
+    private static final int SYMBOL_TABLE_OFFSET = 2;
+
+    private static final int MAX_DEPTH = 256;
+
+    private static final SymbolTable EMPTY_TABLE =
+        new SymbolTable(new String[0]);
+
+    private transient volatile Map<Ontology, SymbolTable> symbolTables =
+        null;
+
+
+    public JadescriptBinaryCodec() {
+        super(NAME);
+    }
+
+
+    @Override
+    public byte[] encode(AbsContentElement content)
+        throws CodecException {
+        return encode(null, content);
+    }
+
+
+    @Override
+    public byte[] encode(Ontology ontology, AbsContentElement content)
+        throws CodecException {
+        final SymbolTable table = getSymbolTable(ontology);
+        final Output out = new Output(table);
+        out.writeVarInt(VERSION);
+        out.writeFixedInt(table.fingerprint);
+        out.writeObject(content);
+        return out.toByteArray();
+    }
+
+
+    @Override
+    public AbsContentElement decode(byte[] content) throws CodecException {
+        return decode(null, content);
+    }
+
+
+    @Override
+    public AbsContentElement decode(Ontology ontology, byte[] content)
+        throws CodecException {
+        if (content == null || content.length == 0) {
+            throw new CodecException("Empty content");
+        }
+        final SymbolTable table = getSymbolTable(ontology);
+        final Input in = new Input(table, content);
+        try {
+            final int version = in.readVarInt();
+            if (version != VERSION) {
+                throw new CodecException(
+                    "Unsupported version of the " + NAME + " encoding: "
+                        + version
+                );
+            }
+            final int fingerprint = in.readFixedInt();
+            if (fingerprint != table.fingerprint) {
+                throw new CodecException(
+                    "The content was encoded with a different version of " +
+                        "the ontology" + (ontology == null
+                        ? ""
+                        : " '" + ontology.getName() + "'")
+                );
+            }
+            final AbsObject result = in.readObject(0);
+            if (!(result instanceof AbsContentElement)) {
+                throw new CodecException(
+                    "The content is not a content element: " + result
+                );
+            }
+            if (in.remaining() != 0) {
+                throw new CodecException(
+                    in.remaining() + " unexpected bytes after the content"
+                );
+            }
+            return (AbsContentElement) result;
+        } catch (RuntimeException | OntologyException e) {
+            // E.g., elements of the wrong kind in aggregates, or slots which
+            // cannot be set.
+            throw new CodecException("Malformed content", e);
+        }
+    }
+
+
+    private SymbolTable getSymbolTable(Ontology ontology)
+        throws CodecException {
+        if (ontology == null) {
+            return EMPTY_TABLE;
+        }
+        Map<Ontology, SymbolTable> tables = symbolTables;
+        if (tables == null) {
+            synchronized (this) {
+                tables = symbolTables;
+                if (tables == null) {
+                    tables = new ConcurrentHashMap<>();
+                    symbolTables = tables;
+                }
+            }
+        }
+        SymbolTable table = tables.get(ontology);
+        if (table == null) {
+            table = buildSymbolTable(ontology);
+            tables.putIfAbsent(ontology, table);
+        }
+        return table;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static SymbolTable buildSymbolTable(Ontology ontology)
+        throws CodecException {
+        final SortedSet<String> symbols = new TreeSet<>();
+        symbols.add(BasicOntology.SEQUENCE);
+        symbols.add(BasicOntology.SET);
+        final List<String> elementNames = new ArrayList<>();
+        elementNames.addAll(ontology.getConceptNames());
+        elementNames.addAll(ontology.getPredicateNames());
+        elementNames.addAll(ontology.getActionNames());
+        try {
+            for (String elementName : elementNames) {
+                symbols.add(elementName);
+                final ObjectSchema schema = ontology.getSchema(elementName);
+                if (schema != null) {
+                    symbols.addAll(Arrays.asList(schema.getNames()));
+                }
+            }
+        } catch (OntologyException e) {
+            throw new CodecException(
+                "Cannot build the symbols of the ontology '"
+                    + ontology.getName() + "'",
+                e
+            );
+        }
+        return new SymbolTable(symbols.toArray(new String[0]));
+    }
+
+
+    /**
+     * Names of the schemas and of the slots of an ontology, in a fixed
+     * order, so that each one can be replaced by its index.
+     */
+    private static final class SymbolTable {
+
+        private final String[] symbols;
+        private final Map<String, Integer> indexes;
+        private final int fingerprint;
+
+
+        private SymbolTable(String[] symbols) {
+            this.symbols = symbols;
+            this.indexes = new HashMap<>(
+                Math.max(16, (int) (symbols.length / 0.75f) + 1)
+            );
+            for (int i = 0; i < symbols.length; i++) {
+                indexes.put(symbols[i], i);
+            }
+            // String.hashCode is specified, hence the fingerprint is the
+            // same in all the JVMs.
+            this.fingerprint = Arrays.hashCode(symbols);
+        }
+
+    }
+
+    private static final class Output {
+
+        private final SymbolTable table;
+        private byte[] buffer = new byte[64];
+        private int size = 0;
+        private Map<String, Integer> strings = null;
+
+
+        private Output(SymbolTable table) {
+            this.table = table;
+        }
+
+
+        private void writeObject(AbsObject object) throws CodecException {
+            if (object == null) {
+                writeByte(TAG_NULL);
+                return;
+            }
+            switch (object.getAbsType()) {
+                case AbsObject.ABS_PRIMITIVE:
+                    writePrimitive((AbsPrimitive) object);
+                    return;
+                case AbsObject.ABS_AGGREGATE: {
+                    final AbsAggregate aggregate = (AbsAggregate) object;
+                    writeByte(TAG_AGGREGATE);
+                    writeSymbol(aggregate.getTypeName());
+                    final int size = aggregate.size();
+                    writeVarInt(size);
+                    for (int i = 0; i < size; i++) {
+                        writeObject(aggregate.get(i));
+                    }
+                    return;
+                }
+                case AbsObject.ABS_CONTENT_ELEMENT_LIST: {
+                    final AbsContentElementList list =
+                        (AbsContentElementList) object;
+                    writeByte(TAG_CONTENT_ELEMENT_LIST);
+                    final int size = list.size();
+                    writeVarInt(size);
+                    for (int i = 0; i < size; i++) {
+                        writeObject(list.get(i));
+                    }
+                    return;
+                }
+                case AbsObject.ABS_VARIABLE: {
+                    final AbsVariable variable = (AbsVariable) object;
+                    writeByte(TAG_VARIABLE);
+                    writeSymbol(variable.getName());
+                    writeSymbol(variable.getType());
+                    return;
+                }
+                case AbsObject.ABS_CONCEPT:
+                    writeByte(TAG_CONCEPT);
+                    writeSlots(object);
+                    return;
+                case AbsObject.ABS_AGENT_ACTION:
+                    writeByte(TAG_AGENT_ACTION);
+                    writeSlots(object);
+                    return;
+                case AbsObject.ABS_PREDICATE:
+                    writeByte(TAG_PREDICATE);
+                    writeSlots(object);
+                    return;
+                case AbsObject.ABS_IRE:
+                    writeByte(TAG_IRE);
+                    writeSlots(object);
+                    return;
+                default:
+                    throw new CodecException(
+                        "Unsupported content for the " + NAME + " codec: "
+                            + object
+                    );
+            }
+        }
+
+
+        private void writeSlots(AbsObject object) throws CodecException {
+            writeSymbol(object.getTypeName());
+            final String[] names = object.getNames();
+            int count = 0;
+            for (String name : names) {
+                if (object.getAbsObject(name) != null) {
+                    count++;
+                }
+            }
+            writeVarInt(count);
+            for (String name : names) {
+                final AbsObject value = object.getAbsObject(name);
+                if (value != null) {
+                    writeSymbol(name);
+                    writeObject(value);
+                }
+            }
+        }
+
+
+        private void writePrimitive(AbsPrimitive primitive)
+            throws CodecException {
+            final Object value = primitive.getObject();
+            if (value == null) {
+                writeByte(TAG_NULL);
+            } else if (value instanceof String) {
+                writeByte(TAG_STRING);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+            } else if (value instanceof Integer) {
+                writeByte(TAG_INTEGER);
+                writeVarInt(zigZag((Integer) value));
+            } else if (value instanceof Long) {
+                writeByte(TAG_LONG);
+                writeVarLong(zigZag((Long) value));
+            } else if (value instanceof Float) {
+                writeByte(TAG_FLOAT);
+                writeFixedInt(Float.floatToIntBits((Float) value));
+            } else if (value instanceof Double) {
+                writeByte(TAG_DOUBLE);
+                writeFixedLong(Double.doubleToLongBits((Double) value));
+            } else if (value instanceof Date) {
+                writeByte(TAG_DATE);
+                writeVarLong(zigZag(((Date) value).getTime()));
+            } else if (value instanceof byte[]) {
+                final byte[] bytes = (byte[]) value;
+                writeByte(TAG_BYTES);
+                writeVarInt(bytes.length);
+                writeBytes(bytes);
+            } else {
+                throw new CodecException(
+                    "Unsupported primitive value for the " + NAME +
+                        " codec: " + value
+                );
+            }
+        }
+
+
+        private void writeSymbol(String symbol) {
+            if (symbol == null) {
+                writeVarInt(SYMBOL_NULL);
+                return;
+            }
+            final Integer index = table.indexes.get(symbol);
+            if (index != null) {
+                writeVarInt(index + SYMBOL_TABLE_OFFSET);
+            } else {
+                writeVarInt(SYMBOL_INLINE);
+                writeString(symbol);
+            }
+        }
+
+
+        /*
+         Strings are written once per content: the first occurrence is
+         written as (length << 1) followed by its UTF-8 bytes, the next ones
+         as (index << 1 | 1).
+         */
+        private void writeString(String string) {
+            if (strings == null) {
+                strings = new HashMap<>();
+            }
+            final Integer index = strings.get(string);
+            if (index != null) {
+                writeVarInt(index << 1 | 1);
+                return;
+            }
+            strings.put(string, strings.size());
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length << 1);
+            writeBytes(bytes);
+        }
+
+
+        private void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+
+        private void writeFixedInt(int value) {
+            ensureCapacity(4);
+            buffer[size++] = (byte) (value >>> 24);
+            buffer[size++] = (byte) (value >>> 16);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+
+        private void writeFixedLong(long value) {
+            writeFixedInt((int) (value >>> 32));
+            writeFixedInt((int) value);
+        }
+
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+
+        private void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > buffer.length) {
+                buffer = Arrays.copyOf(
+                    buffer,
+                    Math.max(buffer.length << 1, size + additional)
+                );
+            }
+        }
+
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+    }
+
+    private static final class Input {
+
+        private final SymbolTable table;
+        private final byte[] buffer;
+        private int position = 0;
+        private List<String> strings = null;
+
+
+        private Input(SymbolTable table, byte[] buffer) {
+            this.table = table;
+            this.buffer = buffer;
+        }
+
+
+        private AbsObject readObject(int depth)
+            throws CodecException, OntologyException {
+            if (depth > MAX_DEPTH) {
+                throw new CodecException(
+                    "The content is nested more than " + MAX_DEPTH + " levels"
+                );
+            }
+            final int tag = readByte();
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_STRING:
+                    return AbsPrimitive.wrap(readString());
+                case TAG_TRUE:
+                    return AbsPrimitive.wrap(true);
+                case TAG_FALSE:
+                    return AbsPrimitive.wrap(false);
+                case TAG_INTEGER:
+                    return AbsPrimitive.wrap(unZigZag(readVarInt()));
+                case TAG_LONG:
+                    return AbsPrimitive.wrap(unZigZag(readVarLong()));
+                case TAG_FLOAT:
+                    return AbsPrimitive.wrap(
+                        Float.intBitsToFloat(readFixedInt())
+                    );
+                case TAG_DOUBLE:
+                    return AbsPrimitive.wrap(
+                        Double.longBitsToDouble(readFixedLong())
+                    );
+                case TAG_DATE:
+                    return AbsPrimitive.wrap(
+                        new Date(unZigZag(readVarLong()))
+                    );
+                case TAG_BYTES: {
+                    final int length = readLength();
+                    final byte[] bytes =
+                        Arrays.copyOfRange(buffer, position, position + length);
+                    position += length;
+                    return AbsPrimitive.wrap(bytes);
+                }
+                case TAG_AGGREGATE: {
+                    final AbsAggregate aggregate =
+                        new AbsAggregate(readSymbol());
+                    final int size = readLength();
+                    for (int i = 0; i < size; i++) {
+                        aggregate.add((AbsTerm) readObject(depth + 1));
+                    }
+                    return aggregate;
+                }
+                case TAG_CONTENT_ELEMENT_LIST: {
+                    final AbsContentElementList list =
+                        new AbsContentElementList();
+                    final int size = readLength();
+                    for (int i = 0; i < size; i++) {
+                        list.add((AbsContentElement) readObject(depth + 1));
+                    }
+                    return list;
+                }
+                case TAG_VARIABLE:
+                    return new AbsVariable(readSymbol(), readSymbol());
+                case TAG_CONCEPT:
+                    return readSlots(new AbsConcept(readSymbol()), depth);
+                case TAG_AGENT_ACTION:
+                    return readSlots(new AbsAgentAction(readSymbol()), depth);
+                case TAG_PREDICATE:
+                    return readSlots(new AbsPredicate(readSymbol()), depth);
+                case TAG_IRE:
+                    return readSlots(new AbsIRE(readSymbol()), depth);
+                default:
+                    throw new CodecException("Unknown tag: " + tag);
+            }
+        }
+
+
+        private AbsObject readSlots(AbsObject object, int depth)
+            throws CodecException, OntologyException {
+            final int count = readLength();
+            for (int i = 0; i < count; i++) {
+                final String name = readSymbol();
+                AbsHelper.setAttribute(object, name, readObject(depth + 1));
+            }
+            return object;
+        }
+
+
+        private String readSymbol() throws CodecException {
+            final int symbol = readVarInt();
+            switch (symbol) {
+                case SYMBOL_NULL:
+                    return null;
+                case SYMBOL_INLINE:
+                    return readString();
+                default: {
+                    final int index = symbol - SYMBOL_TABLE_OFFSET;
+                    if (index < 0 || index >= table.symbols.length) {
+                        throw new CodecException("Unknown symbol: " + index);
+                    }
+                    return table.symbols[index];
+                }
+            }
+        }
+
+
+        private String readString() throws CodecException {
+            if (strings == null) {
+                strings = new ArrayList<>();
+            }
+            final int header = readVarInt();
+            if ((header & 1) == 1) {
+                final int index = header >>> 1;
+                if (index >= strings.size()) {
+                    throw new CodecException("Unknown string: " + index);
+                }
+                return strings.get(index);
+            }
+            final int length = checkLength(header >>> 1);
+            final String result = new String(
+                buffer,
+                position,
+                length,
+                StandardCharsets.UTF_8
+            );
+            position += length;
+            strings.add(result);
+            return result;
+        }
+
+
+        /*
+         Lengths and counts: each element takes at least one byte, hence none
+         of them can exceed the bytes left.
+         */
+        private int readLength() throws CodecException {
+            return checkLength(readVarInt());
+        }
+
+
+        private int checkLength(int length) throws CodecException {
+            if (length < 0 || length > remaining()) {
+                throw new CodecException(
+                    "Length out of bounds: " + length + " (" + remaining()
+                        + " bytes left)"
+                );
+            }
+            return length;
+        }
+
+
+        private int remaining() {
+            return buffer.length - position;
+        }
+
+
+        private void require(int count) throws CodecException {
+            if (count > remaining()) {
+                throw new CodecException("Truncated content");
+            }
+        }
+
+
+        private int readVarInt() throws CodecException {
+            int result = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                final byte b = (byte) readByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new CodecException("Malformed variable-length integer");
+        }
+
+
+        private long readVarLong() throws CodecException {
+            long result = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                final byte b = (byte) readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new CodecException("Malformed variable-length integer");
+        }
+
+
+        private int readFixedInt() throws CodecException {
+            require(4);
+            return (buffer[position++] & 0xFF) << 24
+                | (buffer[position++] & 0xFF) << 16
+                | (buffer[position++] & 0xFF) << 8
+                | (buffer[position++] & 0xFF);
+        }
+
+
+        private long readFixedLong() throws CodecException {
+            return ((long) readFixedInt() << 32)
+                | (readFixedInt() & 0xFFFFFFFFL);
+        }
+
+
+        private int readByte() throws CodecException {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+    }
+
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
@@ -0,0 +1,91 @@
+package jadescript.content.lang;
+
+import jade.content.ContentManager;
+import jade.content.lang.Codec;
+import jade.content.lang.leap.LEAPCodec;
+import jade.lang.acl.MessageTemplate;
+
+/**
+ * Selection of the codec used by Jadescript agents to encode the contents of
+ * the messages they send.
+ * <p>
+ * The codec is chosen by the system property {@value #CODEC_PROPERTY}, which
+ * can be overridden for a single agent class with the property
+ * {@value #CODEC_PROPERTY}{@code .<fully qualified name of the class>}.
+ * Accepted values are {@value #LEAP} (default) and {@value #BINARY} (see
+ * {@link JadescriptBinaryCodec}).
+ * <p>
+ * Jadescript agents always register both the codecs, so that they can decode
+ * the messages of other Jadescript agents whatever their choice. The codec
+ * used to send is instead the same for all the receivers: there is no
+ * fallback to LEAP for agents which do not know the binary codec. Hence,
+ * {@value #BINARY} is an explicit opt-in, to be set only for the agents
+ * whose messages are all received by Jadescript agents.
+ */
+public final class JadescriptCodecs {
+
+    public static final String CODEC_PROPERTY = "jadescript.codec";
+
+    public static final String LEAP = "leap";
+    public static final String BINARY = "binary";
+
+
+    private JadescriptCodecs() {
+    } // Do not instantiate.
+
+
+    /**
+     * Creates the codec to be used by the agents of the specified class,
+     * according to the system properties; {@value #LEAP} when none of them
+     * is set.
+     */
+    public static Codec forClass(Class<?> agentClass) {
+        String choice = System.getProperty(
+            CODEC_PROPERTY + "." + agentClass.getName()
+        );
+        if (choice == null) {
+            choice = System.getProperty(CODEC_PROPERTY, LEAP);
+        }
+        return byName(choice);
+    }
+
+
+    /**
+     * Creates the codec with the specified short name ({@value #LEAP} or
+     * {@value #BINARY}).
+     */
+    public static Codec byName(String choice) {
+        switch (choice.trim().toLowerCase()) {
+            case LEAP:
+                return new LEAPCodec();
+            case BINARY:
+                return new JadescriptBinaryCodec();
+            default:
+                throw new IllegalArgumentException(
+                    "Invalid value for " + CODEC_PROPERTY + ": " + choice
+                );
+        }
+    }
+
+
+    /**
+     * Registers all the codecs which can be used by Jadescript agents.
+     */
+    public static void registerAll(ContentManager cm) {
+        cm.registerLanguage(new LEAPCodec());
+        cm.registerLanguage(new JadescriptBinaryCodec());
+    }
+
+
+    /**
+     * Template which matches the messages whose contents can be decoded by
+     * the codecs registered by {@link #registerAll(ContentManager)}.
+     */
+    public static MessageTemplate matchLanguage() {
+        return MessageTemplate.or(
+            MessageTemplate.MatchLanguage(LEAPCodec.NAME),
+            MessageTemplate.MatchLanguage(JadescriptBinaryCodec.NAME)
+        );
+    }
+
+}
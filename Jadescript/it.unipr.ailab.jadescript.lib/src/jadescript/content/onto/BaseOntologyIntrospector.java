@@ -0,0 +1,92 @@
+package jadescript.content.onto;
+
+import jade.content.onto.OntologyException;
+import jade.content.onto.ReflectiveIntrospector;
+import jade.content.schema.ObjectSchema;
+import jadescript.lang.Duration;
+import jadescript.lang.Timestamp;
+
+import java.util.Date;
+
+/**
+ * Introspector of the base Jadescript ontology.
+ * <p>
+ * It behaves like {@link ReflectiveIntrospector}, but the slots of the value
+ * types of the language are accessed directly, without reflection. This also
+ * decouples their schemas from their representation: for example, the
+ * instant of a {@link Timestamp} is kept as milliseconds from the epoch, but
+ * it is exchanged as a date, and a {@link Duration} is kept as a number of
+ * milliseconds, but it is exchanged split in seconds and milliseconds.
+ */
+public class BaseOntologyIntrospector extends ReflectiveIntrospector {
+
+    @Override
+    public Object getSlotValue(
+        String slotName,
+        Object obj,
+        ObjectSchema schema
+    ) throws OntologyException {
+        if (obj instanceof Timestamp) {
+            final Timestamp timestamp = (Timestamp) obj;
+            if (Ontology_Vocabulary.TIMESTAMP_DATE.equals(slotName)) {
+                return new Date(timestamp.getEpochMillis());
+            }
+            if (Ontology_Vocabulary.TIMESTAMP_ZONE_OFFSET.equals(slotName)) {
+                return timestamp.getZoneOffset();
+            }
+        }
+        if (obj instanceof Duration) {
+            final Duration duration = (Duration) obj;
+            switch (slotName) {
+                case Ontology_Vocabulary.DURATION_SECONDSA:
+                    return duration.getSecondsA();
+                case Ontology_Vocabulary.DURATION_SECONDSB:
+                    return duration.getSecondsB();
+                case Ontology_Vocabulary.DURATION_MILLIS:
+                    return duration.getMillis();
+            }
+        }
+        return super.getSlotValue(slotName, obj, schema);
+    }
+
+
+    @Override
+    public void setSlotValue(
+        String slotName,
+        Object slotValue,
+        Object obj,
+        ObjectSchema schema
+    ) throws OntologyException {
+        if (obj instanceof Timestamp) {
+            final Timestamp timestamp = (Timestamp) obj;
+            if (Ontology_Vocabulary.TIMESTAMP_DATE.equals(slotName)) {
+                timestamp.setDate((Date) slotValue);
+                return;
+            }
+            if (Ontology_Vocabulary.TIMESTAMP_ZONE_OFFSET.equals(slotName)) {
+                timestamp.setZoneOffset(
+                    slotValue == null ? 0 : ((Number) slotValue).intValue()
+                );
+                return;
+            }
+        }
+        if (obj instanceof Duration) {
+            final Duration duration = (Duration) obj;
+            final int value =
+                slotValue == null ? 0 : ((Number) slotValue).intValue();
+            switch (slotName) {
+                case Ontology_Vocabulary.DURATION_SECONDSA:
+                    duration.setSecondsA(value);
+                    return;
+                case Ontology_Vocabulary.DURATION_SECONDSB:
+                    duration.setSecondsB(value);
+                    return;
+                case Ontology_Vocabulary.DURATION_MILLIS:
+                    duration.setMillis(value);
+                    return;
+            }
+        }
+        super.setSlotValue(slotName, slotValue, obj, schema);
+    }
+
+}
@@ -0,0 +1,135 @@
+package jadescript.content.onto;
+
+import jade.content.onto.BasicOntology;
+import jade.content.onto.Ontology;
+import jade.content.onto.OntologyException;
+import jade.content.schema.AggregateSchema;
+import jade.content.schema.ObjectSchema;
+import jade.content.schema.PrimitiveSchema;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells which contents can be shared, as objects, between the sender and the
+ * receivers of a message, instead of being encoded and decoded again.
+ * <p>
+ * A content can be shared when it is an element of the ontology whose slots
+ * cannot be changed by Jadescript code: slots of type text, integer, real or
+ * boolean, agent identifiers, and other elements of the ontology (of any
+ * subtype declared in the ontology) with the same property. Aggregates (lists,
+ * sets, maps), dates, byte sequences and slots of unspecified type make the
+ * content not shareable.
+ * <p>
+ * The result is computed once for each schema of each ontology.
+ */
+public final class ImmutableContents {
+
+    private static final Set<String> IMMUTABLE_PRIMITIVES = new HashSet<>(
+        Arrays.asList(
+            BasicOntology.STRING,
+            BasicOntology.INTEGER,
+            BasicOntology.FLOAT,
+            BasicOntology.BOOLEAN
+        )
+    );
+
+    private static final Map<Ontology, Map<String, Boolean>> cache =
+        new ConcurrentHashMap<>();
+
+
+    private ImmutableContents() {
+    } // Do not instantiate.
+
+
+    /**
+     * Returns true if the specified content, when sent with the specified
+     * ontology, can be shared by sender and receivers.
+     */
+    public static boolean canBeShared(Ontology ontology, Object content) {
+        if (ontology == null || content == null) {
+            return false;
+        }
+        final ObjectSchema schema;
+        try {
+            schema = ontology.getSchema(content.getClass());
+        } catch (OntologyException e) {
+            return false;
+        }
+        if (schema == null) {
+            return false;
+        }
+        return cache.computeIfAbsent(ontology, o -> new ConcurrentHashMap<>())
+            .computeIfAbsent(
+                schema.getTypeName(),
+                n -> isImmutable(ontology, schema, new HashSet<>())
+            );
+    }
+
+
+    /*
+     Schemas being checked are assumed to be immutable, so that recursive
+     definitions terminate.
+     */
+    private static boolean isImmutable(
+        Ontology ontology,
+        ObjectSchema schema,
+        Set<String> visiting
+    ) {
+        if (!visiting.add(schema.getTypeName())) {
+            return true;
+        }
+        try {
+            for (String name : schema.getNames()) {
+                if (!isImmutableSlot(
+                    ontology,
+                    schema.getSchema(name),
+                    visiting
+                )) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (OntologyException e) {
+            return false;
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static boolean isImmutableSlot(
+        Ontology ontology,
+        ObjectSchema slotSchema,
+        Set<String> visiting
+    ) throws OntologyException {
+        if (slotSchema == null || slotSchema instanceof AggregateSchema) {
+            return false;
+        }
+        final String typeName = slotSchema.getTypeName();
+        if (slotSchema instanceof PrimitiveSchema) {
+            return IMMUTABLE_PRIMITIVES.contains(typeName);
+        }
+        if (BasicOntology.AID.equals(typeName)) {
+            // Agent identifiers are values in Jadescript.
+            return true;
+        }
+        if (ontology.getSchema(typeName) == null) {
+            // Base schemas (e.g., any concept): anything could be there.
+            return false;
+        }
+        final List<String> names = new ArrayList<>();
+        names.addAll(ontology.getConceptNames());
+        names.addAll(ontology.getPredicateNames());
+        names.addAll(ontology.getActionNames());
+        for (String name : names) {
+            final ObjectSchema candidate = ontology.getSchema(name);
+            if (candidate != null
+                && candidate.isCompatibleWith(slotSchema)
+                && !isImmutable(ontology, candidate, visiting)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
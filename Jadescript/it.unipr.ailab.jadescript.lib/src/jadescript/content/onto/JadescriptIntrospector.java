@@ -0,0 +1,106 @@
+package jadescript.content.onto;
+
+import jade.content.onto.BasicOntology;
+import jade.content.onto.CFReflectiveIntrospector;
+import jade.content.onto.OntologyException;
+import jade.content.schema.ObjectSchema;
+import jadescript.util.JadescriptMap;
+import jadescript.util.JadescriptSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Introspector of Jadescript ontologies.
+ * <p>
+ * It behaves like {@link CFReflectiveIntrospector}, but the slots of the
+ * Jadescript collections are accessed directly, without reflection: the
+ * entries of maps and sets are passed to the codec as read-only snapshots,
+ * and the decoded lists are handed to the collections without copying
+ * them.
+ * <p>
+ * The ontologies generated by the compiler extend it with an introspector
+ * which accesses the slots of their elements through their accessors, and
+ * falls back to this one for the other slots.
+ */
+public class JadescriptIntrospector extends CFReflectiveIntrospector {
+
+    @Override
+    public Object getSlotValue(
+        String slotName,
+        Object obj,
+        ObjectSchema schema
+    ) throws OntologyException {
+        if (obj instanceof JadescriptMap) {
+            final JadescriptMap<?, ?> map = (JadescriptMap<?, ?>) obj;
+            if (Ontology_Vocabulary.KEYS.equals(slotName)) {
+                return map.getKeys();
+            }
+            if (Ontology_Vocabulary.VALUES.equals(slotName)) {
+                return map.getValues();
+            }
+        }
+        if (obj instanceof JadescriptSet
+            && Ontology_Vocabulary.ELEMENTS.equals(slotName)) {
+            return ((JadescriptSet<?>) obj).getElements();
+        }
+        return super.getSlotValue(slotName, obj, schema);
+    }
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public void setSlotValue(
+        String slotName,
+        Object slotValue,
+        Object obj,
+        ObjectSchema schema
+    ) throws OntologyException {
+        if (obj instanceof JadescriptMap) {
+            final JadescriptMap map = (JadescriptMap) obj;
+            if (Ontology_Vocabulary.KEYS.equals(slotName)) {
+                map.setKeys(asList(slotValue));
+                return;
+            }
+            if (Ontology_Vocabulary.VALUES.equals(slotName)) {
+                map.setValues(asList(slotValue));
+                return;
+            }
+        }
+        if (obj instanceof JadescriptSet
+            && Ontology_Vocabulary.ELEMENTS.equals(slotName)) {
+            ((JadescriptSet) obj).setElements(asList(slotValue));
+            return;
+        }
+        super.setSlotValue(slotName, slotValue, obj, schema);
+    }
+
+
+    /**
+     * Adapts the value of a slot with a primitive schema to the type of the
+     * corresponding property. Codecs can decode a primitive with a different
+     * Java type (e.g., integers as longs), which is then converted as
+     * {@link CFReflectiveIntrospector} does.
+     */
+    protected static <T> T adjustSlotValue(Object slotValue, Class<T> type) {
+        if (slotValue == null || type.isInstance(slotValue)) {
+            return type.cast(slotValue);
+        }
+        return type.cast(
+            BasicOntology.adjustPrimitiveValue(slotValue, type)
+        );
+    }
+
+
+    private static List<?> asList(Object slotValue) {
+        if (slotValue == null) {
+            return new ArrayList<>(0);
+        }
+        if (slotValue instanceof List) {
+            return (List<?>) slotValue;
+        }
+        return new ArrayList<>((Collection<?>) slotValue);
+    }
+
+}
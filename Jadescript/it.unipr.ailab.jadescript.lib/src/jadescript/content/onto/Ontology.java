@@ -4,7 +4,6 @@ import jade.content.ContentManager;
 import jade.content.onto.BasicOntology;
 import jade.content.onto.Introspector;
 import jade.content.onto.OntologyException;
-import jade.content.onto.ReflectiveIntrospector;
 import jade.content.schema.*;
 import jade.core.AID;
 import jade.domain.FIPAAgentManagement.*;
@@ -128,7 +127,7 @@ public class Ontology extends jade.content.onto.Ontology implements Ontology_Voc
     }
 
     public Ontology() {
-        super("JADESCRIPT_ONTOLOGY", superOntologies(), new ReflectiveIntrospector());
+        super("JADESCRIPT_ONTOLOGY", superOntologies(), new BaseOntologyIntrospector());
 
         this.superOntologies = superOntologies();
 
@@ -5,6 +5,7 @@ import jade.content.lang.Codec;
 import jade.content.onto.Ontology;
 import jade.content.onto.OntologyException;
 import jade.core.AID;
+import jade.core.MessageQueue;
 import jade.lang.acl.ACLMessage;
 import jade.lang.acl.MessageTemplate;
 import jade.util.Logger;
@@ -12,8 +13,13 @@ import jadescript.content.JadescriptProposition;
 import jadescript.content.onto.basic.InternalException;
 import jadescript.core.behaviours.Behaviour;
 import jadescript.core.behaviours.CyclicBehaviour;
+import jadescript.core.behaviours.TimerWheel;
 import jadescript.core.exception.JadescriptException;
+import jadescript.core.message.Message;
+import jadescript.core.message.MessageBatch;
 import jadescript.core.nativeevent.NativeEvent;
+import jadescript.core.nativeevent.NativeEventIngress;
+import jadescript.core.nativeevent.NativeEventQueue;
 import jadescript.java.AgentEnv;
 import jadescript.java.SideEffectsFlag;
 import jadescript.java.SideEffectsFlag.AnySideEffectFlag;
@@ -37,30 +43,71 @@ public class Agent extends jade.core.Agent {
 
     protected final int __o2aQueueSize = 100;
 
-    /**
-     * Multi-map associating each message to the hash codes of behaviours that
-     * executed without extracting (i.e. ignored) the message.
-     * These hash codes can be thought as "signatures" left by behaviours to
-     * messages in the queue to state that they were not interested in the
-     * message.
-     * Please note that only behaviours that executed all their event
-     * handlers and that did not extract any message leave the signatures.
-     * Preferring to use a {@code Set<Integer>} instead of
-     * {@code Set<Behaviour>} because:
-     * - it prevents eventual memory leaks (i.e., behaviour objects that cannot
-     * be removed from the heap by the GC because are referenced indefinitely
-     * by this map);
-     * - to detect staleness, we are not interested in getting back the
-     * actual behaviours that ignored the message, we only need to check if
-     * each active behaviour has already inserted a signature in a message.
+    /*
+     Names of the JADE properties used to configure the queue of native
+     events (see NativeEventIngress).
+     */
+    public static final String NATIVE_EVENT_QUEUE_SIZE_PROPERTY =
+        "jadescript_nativeEventQueueSize";
+    public static final String NATIVE_EVENT_OVERFLOW_POLICY_PROPERTY =
+        "jadescript_nativeEventOverflowPolicy";
+
+    /*
+     Name of the JADE property which enables the default handling of stale
+     messages (replying with NOT_UNDERSTOOD to the messages ignored by all
+     the active behaviours). Disabled by default.
+     */
+    public static final String STALE_MESSAGE_CLEANER_PROPERTY =
+        "jadescript_staleMessageCleaner";
+
+    /*
+     Queue of native events emitted by Java code, registered as O2A
+     interface of the agent.
+     */
+    private NativeEventQueue __nativeEvents = null;
+
+    /*
+     Map of all currently active/activating behaviours, associated to their
+     slots.
+     Slots are small integers, reused when behaviours are removed, which
+     identify the behaviours in the "ignored-by" bitsets kept for each
+     message in the inbox. A behaviour leaves its signature in such bitset
+     when it executed without extracting (i.e. ignored) the message.
+     Please note that only behaviours that executed all their event
+     handlers and that did not extract any message leave the signatures.
+     */
+    private final Map<Behaviour<?>, Integer> __addedBehaviours =
+        new IdentityHashMap<>();
+
+    private final BitSet __usedSlots = new BitSet();
+
+    /*
+     Bitset of the slots of the currently active behaviours, recomputed
+     lazily when behaviours are added, removed or change state.
+     */
+    private long[] __activeSlotsMask = new long[0];
+    private boolean __activeSlotsDirty = false;
+
+    /*
+     Inbox of the agent, if the default one is used (see
+     createMessageQueue()).
      */
-    private final Map<String, Set<Integer>> __ignoreSignatures =
-        new HashMap<>();
+    private volatile IndexedMessageQueue __inbox = null;
+
+    private final CachingContentManager __contentManager =
+        new CachingContentManager(this);
 
     /*
-     Set of all currently active/activating behaviours
+     Timer wheel which keeps the time-based waits (activation delays and
+     periods) of the behaviours of the agent.
      */
-    private final Set<Behaviour<?>> __addedBehaviours = new HashSet<>();
+    private final TimerWheel __timerWheel = new TimerWheel();
+
+    /*
+     Messages sent with "send ... to each" by the running event handler,
+     delivered when the handler ends (see __flushSends(Throwable)).
+     */
+    private final MessageBatch __sendBatch = new MessageBatch();
 
     /*
      Agent env to be passed around to operations which are executed in the
@@ -185,7 +232,8 @@ public class Agent extends jade.core.Agent {
     /**
      * Invoked by JADE. Sets up the main Jadescript agent facilities, namely the
      * agentEnv, the ContentManager, the codec, the used ontologies, the native
-     * event manager via O2A, and the stale message cleaner.
+     * event manager via O2A, and (if enabled, see
+     * {@link #STALE_MESSAGE_CLEANER_PROPERTY}) the stale message cleaner.
      */
     protected void setup() {
         final ContentManager cm = getContentManager();
@@ -202,11 +250,121 @@ public class Agent extends jade.core.Agent {
         this.setEnabledO2ACommunication(true, __o2aQueueSize);
         o2aNativeEventManager.activate(this);
         this.setO2AManager(o2aNativeEventManager);
+        this.__nativeEvents = new NativeEventQueue(
+            __getNativeEventQueueSize(),
+            __getNativeEventOverflowPolicy(),
+            o2aNativeEventManager::restart
+        );
+        // setup() runs in the thread of the agent, which consumes the events.
+        this.__nativeEvents.setConsumer(Thread.currentThread());
+        this.registerO2AInterface(NativeEventIngress.class, __nativeEvents);
+
+        if (Boolean.parseBoolean(
+            __getProperty(STALE_MESSAGE_CLEANER_PROPERTY, "false")
+        )) {
+            __StaleMessageCleaner staleMessageCleaner =
+                new __StaleMessageCleaner(_agentEnv);
+            staleMessageCleaner.activate(this);
+        }
+    }
+
+
+    /**
+     * Invoked by JADE. Unless a different queue class is specified via the
+     * JADE properties, Jadescript agents use an {@link IndexedMessageQueue}
+     * as inbox, so that message handlers are offered only the messages
+     * matching their static constraints.
+     */
+    @Override
+    protected MessageQueue createMessageQueue() {
+        final MessageQueue fromProperties = super.createMessageQueue();
+        if (fromProperties != null) {
+            return fromProperties;
+        }
+        __inbox = new IndexedMessageQueue();
+        return __inbox;
+    }
+
 
-        //Temporarily disabled
-//        __StaleMessageCleaner staleMessageCleaner =
-//            new __StaleMessageCleaner(_agentEnv);
-//        staleMessageCleaner.activate(this);
+    IndexedMessageQueue __getInbox() {
+        return __inbox;
+    }
+
+
+    /**
+     * Returns the content manager of the agent, which reuses the decoded
+     * contents of the messages in the inbox.
+     */
+    @Override
+    public ContentManager getContentManager() {
+        return __contentManager;
+    }
+
+
+    /**
+     * Returns the timer wheel used to wake up the behaviours of this agent
+     * which wait for a time instant.
+     */
+    public TimerWheel __getTimerWheel() {
+        return __timerWheel;
+    }
+
+
+    /*
+     Like getProperty(), but never returns null (the toolkit of agents which
+     are not in a container returns null for all the properties).
+     */
+    private String __getProperty(String key, String defaultValue) {
+        final String value = getProperty(key, defaultValue);
+        return value != null ? value.trim() : defaultValue;
+    }
+
+
+    private int __getNativeEventQueueSize() {
+        final String value = __getProperty(
+            NATIVE_EVENT_QUEUE_SIZE_PROPERTY,
+            String.valueOf(__o2aQueueSize)
+        );
+        try {
+            return Math.max(0, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            __myLogger.log(
+                Level.WARNING,
+                "Invalid value for " + NATIVE_EVENT_QUEUE_SIZE_PROPERTY
+                    + ": '" + value + "'. Using " + __o2aQueueSize + "."
+            );
+            return __o2aQueueSize;
+        }
+    }
+
+
+    private NativeEventIngress.OverflowPolicy __getNativeEventOverflowPolicy() {
+        final String value = __getProperty(
+            NATIVE_EVENT_OVERFLOW_POLICY_PROPERTY,
+            NativeEventIngress.OverflowPolicy.DROP_OLDEST.name()
+        );
+        try {
+            return NativeEventIngress.OverflowPolicy.valueOf(
+                value.toUpperCase()
+            );
+        } catch (IllegalArgumentException e) {
+            __myLogger.log(
+                Level.WARNING,
+                "Invalid value for " + NATIVE_EVENT_OVERFLOW_POLICY_PROPERTY
+                    + ": '" + value + "'. Using DROP_OLDEST."
+            );
+            return NativeEventIngress.OverflowPolicy.DROP_OLDEST;
+        }
+    }
+
+
+    /**
+     * Returns the queue of the native events emitted by Java code towards
+     * this agent, which exposes its depth and its drop/latency counters.
+     * Returns null if the agent has not been set up yet.
+     */
+    public NativeEventIngress getNativeEventIngress() {
+        return __nativeEvents;
     }
 
 
@@ -221,7 +379,12 @@ public class Agent extends jade.core.Agent {
     public void addBehaviour(jade.core.behaviours.Behaviour b) {
         if (b instanceof Behaviour) {
             synchronized (__addedBehaviours) {
-                __addedBehaviours.add(((Behaviour<?>) b));
+                if (!__addedBehaviours.containsKey(b)) {
+                    final int slot = __usedSlots.nextClearBit(0);
+                    __usedSlots.set(slot);
+                    __addedBehaviours.put((Behaviour<?>) b, slot);
+                    __activeSlotsDirty = true;
+                }
             }
         }
         super.addBehaviour(b);
@@ -231,14 +394,71 @@ public class Agent extends jade.core.Agent {
     @Override
     public void removeBehaviour(jade.core.behaviours.Behaviour b) {
         if (b instanceof Behaviour) {
+            final Integer slot;
             synchronized (__addedBehaviours) {
-                __addedBehaviours.remove(((Behaviour<?>) b));
+                slot = __addedBehaviours.remove(b);
+                __activeSlotsDirty = true;
+            }
+            if (slot != null) {
+                // The signatures of the removed behaviour are cleared
+                // before the slot can be reused by another behaviour.
+                final IndexedMessageQueue inbox = __inbox;
+                if (inbox != null) {
+                    synchronized (inbox) {
+                        inbox.clearSlot(slot);
+                    }
+                }
+                synchronized (__addedBehaviours) {
+                    __usedSlots.clear(slot);
+                }
             }
         }
         super.removeBehaviour(b);
     }
 
 
+    /**
+     * Invoked by Jadescript behaviours when they change their state (e.g.,
+     * when they become active).
+     */
+    public void __behaviourStateChanged() {
+        synchronized (__addedBehaviours) {
+            __activeSlotsDirty = true;
+        }
+    }
+
+
+    private long[] __getActiveSlotsMask() {
+        synchronized (__addedBehaviours) {
+            if (__activeSlotsDirty) {
+                final long[] mask = new long[(__usedSlots.length() + 63) >>> 6];
+                __addedBehaviours.forEach((b, slot) -> {
+                    if (b.isActive()) {
+                        mask[slot >>> 6] |= 1L << slot;
+                    }
+                });
+                __activeSlotsMask = mask;
+                __activeSlotsDirty = false;
+            }
+            return __activeSlotsMask;
+        }
+    }
+
+
+    private List<Behaviour<?>> __getAddedBehaviours() {
+        synchronized (__addedBehaviours) {
+            return new ArrayList<>(__addedBehaviours.keySet());
+        }
+    }
+
+
+    private Integer __getSlot(Behaviour<?> behaviour) {
+        synchronized (__addedBehaviours) {
+            return __addedBehaviours.get(behaviour);
+        }
+    }
+
+
     public void __escalateException(JadescriptException exception) {
         doLog(
             Level.SEVERE,
@@ -298,14 +518,20 @@ public class Agent extends jade.core.Agent {
     }
 
 
+    /*
+     Both the LEAP and the binary codecs are registered, so that the contents
+     of the incoming messages are decoded according to their language,
+     whatever the codec chosen by the sender (see JadescriptCodecs).
+     */
     protected void __registerCodecs(ContentManager cm) {
-        cm.registerLanguage(new jade.content.lang.leap.LEAPCodec());
+        jadescript.content.lang.JadescriptCodecs.registerAll(cm);
     }
 
 
     @SuppressWarnings("EmptyMethod")
     @Override
     protected void takeDown() {
+        __timerWheel.clear();
         __onDestroy();
         super.takeDown();
     }
@@ -378,36 +604,92 @@ public class Agent extends jade.core.Agent {
         ACLMessage message,
         Behaviour<?> behaviour
     ) {
-        __ignoreSignatures.computeIfAbsent(
-            message.toString(),
-            __ -> new HashSet<>()
-        ).add(behaviour.hashCode());
+        final IndexedMessageQueue inbox = __inbox;
+        final Integer slot = __getSlot(behaviour);
+        if (inbox != null && slot != null) {
+            synchronized (inbox) {
+                inbox.markIgnored(message, slot);
+            }
+        }
     }
 
 
     public void __cleanIgnoredFlagForMessage(ACLMessage message) {
-        __ignoreSignatures.remove(message.toString());
+        // Please note that signatures are removed automatically when
+        // messages leave the inbox, or are put back in the inbox.
+        final IndexedMessageQueue inbox = __inbox;
+        if (inbox != null) {
+            synchronized (inbox) {
+                inbox.clearIgnored(message);
+            }
+        }
     }
 
 
     /**
      * A message is stale if all currently active behaviours ignored the
      * message.
+     * Staleness is tracked only when the agent uses the default Jadescript
+     * inbox; with other message queues, messages are never stale.
      */
     public boolean __isMessageStale(ACLMessage message) {
-        final Set<Integer> signatures =
-            __ignoreSignatures.getOrDefault(
-                message.toString(),
-                Set.of()
-            );
-        return __addedBehaviours.stream()
-            .filter(Behaviour::isActive)
-            .allMatch(b -> signatures.contains(b.hashCode()));
+        final IndexedMessageQueue inbox = __inbox;
+        if (inbox == null) {
+            return false;
+        }
+        final long[] activeSlots = __getActiveSlotsMask();
+        synchronized (inbox) {
+            return inbox.isIgnoredByAll(message, activeSlots);
+        }
     }
 
 
     public void __setAllMessagesIgnored(Behaviour<?> behaviour) {
-        __doOnInbox(msg -> __setMessageIgnoredFlag(msg, behaviour));
+        final IndexedMessageQueue inbox = __inbox;
+        final Integer slot = __getSlot(behaviour);
+        if (inbox != null && slot != null) {
+            synchronized (inbox) {
+                inbox.markAllIgnored(slot);
+            }
+        }
+    }
+
+
+    /**
+     * Schedules the message to be sent at the end of the running event
+     * handler, together with the other messages sent with
+     * {@code send ... to each}. If not null, the content element is used as
+     * content of the message; equal contents sent to different receivers
+     * are encoded once (see {@link MessageBatch}).
+     */
+    public void __sendAtEndOfHandler(
+        Message<?> message,
+        jade.content.ContentElement content
+    ) {
+        __sendBatch.add(message, content);
+    }
+
+
+    /**
+     * Sends the messages scheduled by {@link #__sendAtEndOfHandler}. Invoked
+     * by the compiler-generated code at the end of each event handler, with
+     * the exception which ended the handler, if any: in that case, a failure
+     * of the sends is added to it as suppressed exception, so that the
+     * original exception is the one handled.
+     */
+    public void __flushSends(Throwable handlerFailure) {
+        if (__sendBatch.isEmpty()) {
+            return;
+        }
+        if (handlerFailure == null) {
+            __sendBatch.flush(getContentManager(), this::send);
+            return;
+        }
+        try {
+            __sendBatch.flush(getContentManager(), this::send);
+        } catch (Throwable t) {
+            handlerFailure.addSuppressed(t);
+        }
     }
 
 
@@ -432,30 +714,69 @@ public class Agent extends jade.core.Agent {
         public void doAction(int _tickCount) {
             // Ignores all messages
             __theAgent().__setAllMessagesIgnored(this);
-            final Object o2AObject = getJadescriptAgent().getO2AObject();
-            if (o2AObject == null) {
-                __awaitForEvents();
-            } else {
+            final Agent agent = getJadescriptAgent();
+
+            // Native events could have been put directly in the O2A queue
+            // (e.g., when emitted before the setup of the agent).
+            final List<NativeEvent> fromO2A = new ArrayList<>();
+            Object o2AObject = agent.getO2AObject();
+            while (o2AObject != null) {
                 if (o2AObject instanceof NativeEvent) {
-                    try {
-                        // Self-informs of the native event
-                        ACLMessage message = new ACLMessage(ACLMessage.INFORM);
-                        message.addReceiver(getJadescriptAgent().getAid());
-                        message.setSender(getJadescriptAgent().getAid());
-                        message.setOntology(((NativeEvent) o2AObject).getOntology().getName());
-                        message.setLanguage(__codec.getName());
-                        getJadescriptAgent().getContentManager().fillContent(
-                            message,
-                            ((NativeEvent) o2AObject)
-                        );
-                        getJadescriptAgent().postMessage(message);
+                    fromO2A.add((NativeEvent) o2AObject);
+                }
+                o2AObject = agent.getO2AObject();
+            }
 
-                    } catch (Codec.CodecException | OntologyException e) {
-                        e.printStackTrace();
-                    }
+            // Posts all the pending native events of both the queues, in
+            // the order they were emitted.
+            final NativeEventQueue nativeEvents = agent.__nativeEvents;
+            NativeEvent queued = nativeEvents != null
+                ? nativeEvents.poll()
+                : null;
+            boolean posted = false;
+            int i = 0;
+            while (queued != null || i < fromO2A.size()) {
+                if (queued == null || (i < fromO2A.size()
+                    && fromO2A.get(i).__getSequence()
+                    < queued.__getSequence())) {
+                    __postNativeEvent(fromO2A.get(i++));
+                } else {
+                    __postNativeEvent(queued);
+                    queued = nativeEvents.poll();
                 }
+                posted = true;
             }
 
+            if (!posted) {
+                __awaitForEvents();
+            }
+        }
+
+
+        /**
+         * Self-informs of the native event.
+         * When the agent uses the Jadescript inbox, the event object is
+         * attached to the message, and it is delivered as-is to the native
+         * event handlers, without encoding and decoding it.
+         */
+        private void __postNativeEvent(NativeEvent event) {
+            final Agent agent = getJadescriptAgent();
+            Message<NativeEvent> message = new Message<>(Message.INFORM);
+            message.addReceiver(agent.getAid());
+            message.setSender(agent.getAid());
+            message.setOntology(event.getOntology().getName());
+            message.setLanguage(__codec.getName());
+            if (agent.__getInbox() != null) {
+                message.content = event;
+            } else {
+                try {
+                    agent.getContentManager().fillContent(message, event);
+                } catch (Codec.CodecException | OntologyException e) {
+                    e.printStackTrace();
+                    return;
+                }
+            }
+            agent.postMessage(message);
         }
 
     }
@@ -478,7 +799,7 @@ public class Agent extends jade.core.Agent {
             // Ignores all messages
             __theAgent().__setAllMessagesIgnored(this);
             // If no active behaviour has at least one stale message handler
-            if (__theAgent().__addedBehaviours.stream()
+            if (__theAgent().__getAddedBehaviours().stream()
                 .filter(Behaviour::isActive)
                 .noneMatch(Behaviour::__hasStaleMessageHandler)) {
                 final ACLMessage staleMessage = __theAgent().receive(__mt);
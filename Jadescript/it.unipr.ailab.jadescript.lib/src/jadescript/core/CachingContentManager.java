@@ -0,0 +1,50 @@
+package jadescript.core;
+
+import jade.content.ContentElement;
+import jade.content.ContentManager;
+import jade.content.lang.Codec;
+import jade.content.onto.OntologyException;
+import jade.content.onto.UngroundedException;
+import jade.lang.acl.ACLMessage;
+
+/**
+ * Content manager of Jadescript agents.
+ * Decoded contents of the messages in the inbox of the agent are cached in
+ * the inbox itself (see {@link IndexedMessageQueue}), so that all the
+ * templates inspecting a message, and the handler which finally receives
+ * it, share a single decoded {@link ContentElement}.
+ */
+public class CachingContentManager extends ContentManager {
+
+    private final Agent agent;
+
+
+    public CachingContentManager(Agent agent) {
+        this.agent = agent;
+    }
+
+
+    @Override
+    public ContentElement extractContent(ACLMessage msg)
+        throws Codec.CodecException, UngroundedException, OntologyException {
+        final IndexedMessageQueue inbox = agent.__getInbox();
+        if (inbox == null || msg == null) {
+            return super.extractContent(msg);
+        }
+
+        synchronized (inbox) {
+            final ContentElement cached = inbox.getDecodedContent(msg);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final ContentElement decoded = super.extractContent(msg);
+
+        synchronized (inbox) {
+            inbox.setDecodedContent(msg, decoded);
+        }
+        return decoded;
+    }
+
+}
@@ -0,0 +1,390 @@
+package jadescript.core;
+
+import jade.content.ContentElement;
+import jade.core.MessageQueue;
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+import jade.util.Logger;
+import jadescript.core.message.Message;
+import jadescript.lang.acl.DispatchTemplate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Inbox of Jadescript agents.
+ * Messages are kept in arrival order (like JADE's default queue) and, in
+ * addition, are bucketed by performative as they arrive.
+ * When {@link #receive(MessageTemplate)} is invoked with a
+ * {@link DispatchTemplate} constraining the performative, only the messages
+ * with that performative are offered to the template, instead of scanning
+ * the whole inbox.
+ * <p>
+ * Each message in the queue can also hold its decoded content, so that the
+ * content is decoded only once while the message is in the inbox, no matter
+ * how many templates inspect it (see {@link CachingContentManager}).
+ * The decoded content of the last received message is kept until the next
+ * reception, so that the handler which received it can reuse it.
+ * <p>
+ * Messages are stored as Jadescript messages (see
+ * {@link Message#__toJadescriptMessage(ACLMessage)}): they are copied once,
+ * when they arrive, so that the templates and the handlers which wrap them
+ * get the stored message itself.
+ * <p>
+ * Finally, each message keeps a compact bitset of the behaviours which
+ * ignored it (i.e., which executed without extracting it), indexed by the
+ * slots assigned by the agent to its behaviours. This is used to detect
+ * stale messages.
+ * <p>
+ * All the methods are invoked by JADE while holding the monitor of this
+ * queue; other accesses must synchronize on this object as well.
+ */
+public class IndexedMessageQueue implements MessageQueue {
+
+    private static final int ALL = 0;
+    private static final int BY_PERFORMATIVE = 1;
+    private static final int CHAINS = 2;
+
+    private static final long[] NO_SLOTS = new long[0];
+
+    private final Logger myLogger = Logger.getMyLogger(getClass().getName());
+
+    private final Chain all = new Chain();
+    private final Map<Integer, Chain> byPerformative = new HashMap<>();
+    private final Map<ACLMessage, Entry> entries = new IdentityHashMap<>();
+
+    private ACLMessage lastReceived = null;
+    private ContentElement lastReceivedContent = null;
+
+    private int maxSize = 0;
+
+
+    @Override
+    public void addFirst(ACLMessage msg) {
+        // Messages put back in the queue are decoded again, since they could
+        // have been modified in the meantime.
+        invalidateDecodedContent(msg);
+        link(new Entry(Message.__toJadescriptMessage(msg)), true);
+    }
+
+
+    @Override
+    public void addLast(ACLMessage msg) {
+        if (maxSize > 0 && all.size >= maxSize) {
+            final Entry oldest = all.head;
+            unlink(oldest);
+            myLogger.log(
+                Level.SEVERE,
+                "Agent's message queue size exceeded. Message discarded: "
+                    + oldest.message
+            );
+        }
+        link(new Entry(Message.__toJadescriptMessage(msg)), false);
+    }
+
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+
+    @Override
+    public void setMaxSize(int newSize) throws IllegalArgumentException {
+        if (newSize < 0) {
+            throw new IllegalArgumentException("Invalid MsgQueue size");
+        }
+        this.maxSize = newSize;
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return all.size == 0;
+    }
+
+
+    @Override
+    public ACLMessage receive(MessageTemplate pattern) {
+        final Entry found = find(pattern);
+        if (found == null) {
+            return null;
+        }
+        unlink(found);
+        lastReceived = found.message;
+        lastReceivedContent = found.decoded;
+        return found.message;
+    }
+
+
+    @Override
+    public void copyTo(jade.util.leap.List list) {
+        for (Entry e = all.head; e != null; e = e.next[ALL]) {
+            list.add(e.message);
+        }
+    }
+
+
+    @Override
+    public int size() {
+        return all.size;
+    }
+
+
+    /**
+     * Returns the cached decoded content of the message, if the message is
+     * in the queue (or is the last received one) and its content has been
+     * already decoded; null otherwise.
+     */
+    ContentElement getDecodedContent(ACLMessage msg) {
+        final Entry e = entries.get(msg);
+        if (e != null) {
+            return e.decoded;
+        }
+        if (msg == lastReceived) {
+            return lastReceivedContent;
+        }
+        return null;
+    }
+
+
+    /**
+     * Caches the decoded content of the message, if the message is in the
+     * queue (or is the last received one).
+     */
+    void setDecodedContent(ACLMessage msg, ContentElement decoded) {
+        final Entry e = entries.get(msg);
+        if (e != null) {
+            e.decoded = decoded;
+        } else if (msg == lastReceived) {
+            lastReceivedContent = decoded;
+        }
+    }
+
+
+    void invalidateDecodedContent(ACLMessage msg) {
+        final Entry e = entries.get(msg);
+        if (e != null) {
+            e.decoded = null;
+        }
+        if (msg == lastReceived) {
+            lastReceived = null;
+            lastReceivedContent = null;
+        }
+    }
+
+
+    /**
+     * Marks all the messages in the queue as ignored by the behaviour with
+     * the specified slot.
+     */
+    void markAllIgnored(int slot) {
+        for (Entry e = all.head; e != null; e = e.next[ALL]) {
+            e.markIgnored(slot);
+        }
+    }
+
+
+    void markIgnored(ACLMessage msg, int slot) {
+        final Entry e = entries.get(msg);
+        if (e != null) {
+            e.markIgnored(slot);
+        }
+    }
+
+
+    void clearIgnored(ACLMessage msg) {
+        final Entry e = entries.get(msg);
+        if (e != null) {
+            e.ignoredBy = NO_SLOTS;
+        }
+    }
+
+
+    /**
+     * Removes the signatures left by the behaviour with the specified slot,
+     * so that the slot can be reused by another behaviour.
+     */
+    void clearSlot(int slot) {
+        final int word = slot >>> 6;
+        final long bit = 1L << slot;
+        for (Entry e = all.head; e != null; e = e.next[ALL]) {
+            if (word < e.ignoredBy.length) {
+                e.ignoredBy[word] &= ~bit;
+            }
+        }
+    }
+
+
+    /**
+     * Returns true if all the slots in the mask are marked as ignoring the
+     * message.
+     */
+    boolean isIgnoredByAll(ACLMessage msg, long[] slotsMask) {
+        final Entry e = entries.get(msg);
+        final long[] ignoredBy = e != null ? e.ignoredBy : NO_SLOTS;
+        for (int i = 0; i < slotsMask.length; i++) {
+            final long ignoring = i < ignoredBy.length ? ignoredBy[i] : 0L;
+            if ((slotsMask[i] & ~ignoring) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private Entry find(MessageTemplate pattern) {
+        if (pattern == null) {
+            return all.head;
+        }
+
+        if (!(pattern instanceof DispatchTemplate)) {
+            for (Entry e = all.head; e != null; e = e.next[ALL]) {
+                if (pattern.match(e.message)) {
+                    return e;
+                }
+            }
+            return null;
+        }
+
+        final DispatchTemplate dt = (DispatchTemplate) pattern;
+
+        Chain candidates = all;
+        int chain = ALL;
+        if (dt.constrainsPerformative()) {
+            candidates = byPerformative.get(dt.getPerformative());
+            if (candidates == null) {
+                return null;
+            }
+            chain = BY_PERFORMATIVE;
+        }
+
+        for (Entry e = candidates.head; e != null; e = e.next[chain]) {
+            if (dt.match(e.message)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+
+    private void link(Entry e, boolean atFront) {
+        entries.put(e.message, e);
+        all.link(e, ALL, atFront);
+        byPerformative.computeIfAbsent(e.performative, __ -> new Chain())
+            .link(e, BY_PERFORMATIVE, atFront);
+    }
+
+
+    private void unlink(Entry e) {
+        entries.remove(e.message, e);
+        all.unlink(e, ALL);
+        unlinkFrom(byPerformative, e.performative, e, BY_PERFORMATIVE);
+    }
+
+
+    private static <K> void unlinkFrom(
+        Map<K, Chain> index,
+        K key,
+        Entry e,
+        int chain
+    ) {
+        final Chain c = index.get(key);
+        if (c != null) {
+            c.unlink(e, chain);
+            if (c.size == 0) {
+                // Buckets are removed when empty.
+                index.remove(key);
+            }
+        }
+    }
+
+
+    /**
+     * A message in the queue, linked in one chain per index.
+     * The performative is captured when the message is inserted, so that
+     * the entry is always removed from the bucket it was added to.
+     */
+    private static final class Entry {
+
+        private final ACLMessage message;
+        private final Integer performative;
+        private final Entry[] prev = new Entry[CHAINS];
+        private final Entry[] next = new Entry[CHAINS];
+        private ContentElement decoded = null;
+        private long[] ignoredBy = NO_SLOTS;
+
+
+        private Entry(ACLMessage message) {
+            this.message = message;
+            this.performative = message.getPerformative();
+            // Jadescript messages which already carry their content object
+            // (e.g., native events posted by the agent to itself) do not
+            // need to be decoded.
+            if (message instanceof Message
+                && ((Message<?>) message).content instanceof ContentElement) {
+                this.decoded = (ContentElement) ((Message<?>) message).content;
+            }
+        }
+
+
+        private void markIgnored(int slot) {
+            final int word = slot >>> 6;
+            if (word >= ignoredBy.length) {
+                ignoredBy = Arrays.copyOf(ignoredBy, word + 1);
+            }
+            ignoredBy[word] |= 1L << slot;
+        }
+
+    }
+
+    /**
+     * Intrusive doubly-linked list of entries.
+     */
+    private static final class Chain {
+
+        private Entry head = null;
+        private Entry tail = null;
+        private int size = 0;
+
+
+        private void link(Entry e, int chain, boolean atFront) {
+            if (head == null) {
+                head = tail = e;
+            } else if (atFront) {
+                e.next[chain] = head;
+                head.prev[chain] = e;
+                head = e;
+            } else {
+                e.prev[chain] = tail;
+                tail.next[chain] = e;
+                tail = e;
+            }
+            size++;
+        }
+
+
+        private void unlink(Entry e, int chain) {
+            final Entry p = e.prev[chain];
+            final Entry n = e.next[chain];
+            if (p == null) {
+                head = n;
+            } else {
+                p.next[chain] = n;
+            }
+            if (n == null) {
+                tail = p;
+            } else {
+                n.prev[chain] = p;
+            }
+            e.prev[chain] = null;
+            e.next[chain] = null;
+            size--;
+        }
+
+    }
+
+}
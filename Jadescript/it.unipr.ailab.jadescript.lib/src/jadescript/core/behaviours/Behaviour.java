@@ -10,24 +10,23 @@ import jadescript.java.SideEffectsFlag;
 import jadescript.lang.Duration;
 import jadescript.lang.Timestamp;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-
 
 public abstract class Behaviour<A extends jadescript.core.Agent>
     extends SimpleBehaviour implements Base {
 
-    //Fixed period -> the next wake-up time is obtained as
-    // __startTime + (an integer multiple of period)
-
-    //Not fixed period -> just wait (period)ms from the end of last execution
-    private static final boolean __fixedPeriod = false;
+    //Fixed rate (policy != null) -> the next wake-up time is obtained as
+    // __startTime + (an integer multiple of period); missed ticks are handled
+    // according to the policy.
+    //Fixed delay (policy == null) -> just wait (period)ms from the end of
+    // last execution
+    private MissedTickPolicy __missedTickPolicy = null;
 
 
-    //Set of requests to wait
-    // (for an external event or for a time instant to be elapsed).
-    private final List<Waiting> __waitings = new ArrayList<>();
+    //Request to wait (for an external event or for a time instant to be
+    // elapsed) issued in the current step. Requests are collapsed as soon as
+    // they are issued, according to their priority (see WaitingType).
+    private WaitingType __waitingType = WaitingType.NoWait;
+    private long __waitingWakeUpTime = 0;
 
     //Behaviour property:
     private long period = 0;
@@ -37,10 +36,26 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
     private long __startTime;
     private long __expirationTime = 0;
 
+    //Time at which the current (or last) tick was supposed to start.
+    private long __nominalTickTime = 0;
+
+    //Tick metrics (in ms), kept since the creation of the behaviour.
+    private long __lastTickLag = 0;
+    private long __maxTickLag = 0;
+    private long __missedTicks = 0;
+
     //not counting state adjustments & on activate:
     private int __effectiveExecutions = 0;
 
-    private Waiting __ensureWait = Waiting.doNotWait();
+    //Time instant the behaviour is blocked for (0 if none).
+    private long __ensureWakeUpTime = 0;
+
+    //Wake-up scheduled in the timer wheel of the agent for __ensureWait.
+    private volatile TimerWheel.Timeout __timeout = null;
+
+    //Last timeout which restarted the behaviour; used to tell wake-ups
+    // caused by the timer from the ones caused by messages.
+    private volatile TimerWheel.Timeout __firedTimeout = null;
 
 
     public Behaviour(
@@ -102,10 +117,11 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
      */
     public void reset() {
         super.reset();
-        __waitings.clear();
+        __clearWaitings();
         __clearEnsureWaiting();
         __JADEstartTime = 0;
         __startTime = 0;
+        __nominalTickTime = 0;
         __effectiveExecutions = 0;
     }
 
@@ -116,17 +132,55 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
 
 
     private boolean __hasEnsureWakeUpTime() {
-        return __ensureWait.hasWakeUpTime();
+        return __ensureWakeUpTime != 0;
     }
 
 
-    private void __setEnsureWaiting(Waiting waiting) {
-        this.__ensureWait = waiting;
+    private void __clearEnsureWaiting() {
+        __ensureWakeUpTime = 0;
+        final TimerWheel.Timeout timeout = __timeout;
+        if (timeout != null) {
+            timeout.cancel();
+            __timeout = null;
+        }
     }
 
 
-    private void __clearEnsureWaiting() {
-        __setEnsureWaiting(Waiting.doNotWait());
+    /**
+     * Blocks the behaviour until the specified time instant.
+     * When the behaviour belongs to a Jadescript agent, the behaviour is
+     * blocked indefinitely and the wake-up is scheduled in the timer wheel
+     * of the agent; an already scheduled wake-up for the same time is
+     * reused.
+     */
+    private void __blockUntil(long wakeUpTime) {
+        block();
+        __ensureWakeUpTime = wakeUpTime;
+        final Agent agent = getAgent();
+        if (agent instanceof jadescript.core.Agent) {
+            final TimerWheel.Timeout timeout = __timeout;
+            if (timeout != null
+                && timeout.getDeadline() == wakeUpTime
+                && timeout.isScheduled()) {
+                return;
+            }
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            __timeout = ((jadescript.core.Agent) agent).__getTimerWheel()
+                .schedule(this, wakeUpTime);
+        } else {
+            block(wakeUpTime - System.currentTimeMillis());
+        }
+    }
+
+
+    /**
+     * Invoked by the timer wheel when a wake-up of this behaviour is due.
+     */
+    void __timeoutExpired(TimerWheel.Timeout timeout) {
+        __firedTimeout = timeout;
+        restart();
     }
 
 
@@ -136,20 +190,40 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
     }
 
 
-    private Optional<Waiting> __getCollapsedWaiting() {
-        if (__waitings.size() > 1) {
-            Waiting w = __waitings.get(0);
-            for (int i = 1; i < __waitings.size(); i++) {
-                w = w.computeOverride(__waitings.get(i));
-            }
-            __waitings.clear();
+    private void __issueWaiting(WaitingType type, long wakeUpTime) {
+        // Higher-priority waitings overwrite other waitings.
+        if (type.ordinal() <= __waitingType.ordinal()) {
+            __waitingType = type;
+            __waitingWakeUpTime = wakeUpTime;
         }
-        if (__waitings.isEmpty()) {
-            return Optional.empty();
-        } else {
-            final Waiting value = __waitings.get(0);
-            __waitings.clear();
-            return Optional.of(value);
+    }
+
+
+    private void __clearWaitings() {
+        __waitingType = WaitingType.NoWait;
+        __waitingWakeUpTime = 0;
+    }
+
+
+    //Executes the issued waiting, if any, and clears it.
+    private void __doBlock() {
+        final WaitingType type = __waitingType;
+        final long wakeUpTime = __waitingWakeUpTime;
+        __clearWaitings();
+        if (getAgent() != null) {
+            switch (type) {
+                case ActivationDelay:
+                case PeriodicWait:
+                    if (wakeUpTime - System.currentTimeMillis() > 0) {
+                        __blockUntil(wakeUpTime);
+                    }
+                    break;
+                case EventWait:
+                    block();
+                    break;
+                case NoWait:
+                    break;
+            }
         }
     }
 
@@ -158,13 +232,16 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
     // fired in an execution step, to put the
     // behaviour to sleep until a new event (message/native) occurs.
     public void __awaitForEvents() {
-        __waitings.add(Waiting.waitForEvents());
+        __issueWaiting(WaitingType.EventWait, 0);
 
     }
 
 
     public void __awaitDelayedActivation(long delay) {
-        __waitings.add(Waiting.waitActivation(System.currentTimeMillis() + delay));
+        __issueWaiting(
+            WaitingType.ActivationDelay,
+            System.currentTimeMillis() + delay
+        );
     }
 
 
@@ -178,24 +255,94 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
     public void __awaitNextTick() {
         if (period > 0) {
             final long now = System.currentTimeMillis();
-            final long nextEpoch;
-            if (__fixedPeriod) {
-                nextEpoch = __startTime + (__effectiveExecutions + 1) * period;
-            } else {
-                nextEpoch = now + period;
+            if (__missedTickPolicy == null) {
+                __nominalTickTime = now + period;
+                __issueWaiting(WaitingType.PeriodicWait, __nominalTickTime);
+                return;
+            }
+
+            long nextEpoch = __nominalTickTime + period;
+            if (nextEpoch <= now) {
+                // Number of ticks whose time already came.
+                final long missed = (now - nextEpoch) / period + 1;
+                switch (__missedTickPolicy) {
+                    case SKIP:
+                        __missedTicks += missed;
+                        nextEpoch += missed * period;
+                        break;
+                    case CATCH_UP:
+                        // No waiting: the next tick is executed right away.
+                        __nominalTickTime = nextEpoch;
+                        return;
+                    case COALESCE:
+                        // No waiting: the next execution stands for all the
+                        // missed ticks.
+                        __missedTicks += missed - 1;
+                        __nominalTickTime = nextEpoch + (missed - 1) * period;
+                        return;
+                }
             }
-            __waitings.add(Waiting.waitPeriodic(nextEpoch));
+            __nominalTickTime = nextEpoch;
+            __issueWaiting(WaitingType.PeriodicWait, nextEpoch);
         }
     }
 
 
+    /**
+     * Returns true if the behaviour is periodic with a fixed rate, i.e., its
+     * ticks are scheduled at multiples of the period from the activation
+     * time, regardless of the duration of each execution.
+     */
+    public boolean isFixedRate() {
+        return __missedTickPolicy != null;
+    }
+
+
+    /**
+     * Returns the policy used to handle missed ticks if the behaviour has a
+     * fixed rate; null otherwise.
+     */
+    public MissedTickPolicy getMissedTickPolicy() {
+        return __missedTickPolicy;
+    }
+
+
+    /**
+     * Returns the delay between the time at which the last tick of this
+     * periodic behaviour was supposed to start and the time at which it
+     * actually started.
+     */
+    public Duration getLastTickLag() {
+        return Duration.of(__lastTickLag);
+    }
+
+
+    /**
+     * Returns the maximum delay between the time at which a tick of this
+     * periodic behaviour was supposed to start and the time at which it
+     * actually started.
+     */
+    public Duration getMaxTickLag() {
+        return Duration.of(__maxTickLag);
+    }
+
+
+    /**
+     * Returns the number of ticks of this fixed-rate behaviour which were
+     * skipped or coalesced with other ticks.
+     */
+    public long getMissedTicks() {
+        return __missedTicks;
+    }
+
+
     public Duration getPeriod() {
         return Duration.of(period);
     }
 
 
     public void setPeriod(Duration period) {
-        this.period = period.getSecondsLong() * 1000L + period.getMillis();
+        this.period = period.toMillis();
     }
 
 
@@ -235,17 +382,23 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
         // It may even choose to reblock the behaviour automatically if the
         // behaviour was woken up early.
         final long now = System.currentTimeMillis();
+        final TimerWheel.Timeout fired = __firedTimeout;
+        __firedTimeout = null;
+        final boolean wokenByTimer = fired != null && fired == __timeout;
         if (__executionType() == ExecutionType.OneShot && __effectiveExecutions >= 1) {
             //If it is oneshot, and it is done, deactivate.
-            __feedInput(DeactivateNow.INSTANCE);
+            __feedInput(Input.DeactivateNow);
         } else if (__hasExpirationTime() && __expirationTime <= now) {
             //If it is expired, deactivate.
-            __feedInput(DeactivateNow.INSTANCE);
+            __feedInput(Input.DeactivateNow);
         } else {
-            if (__hasEnsureWakeUpTime() && __ensureWait.wakeUpTime > now) {
+            if (__hasEnsureWakeUpTime()
+                && !wokenByTimer
+                && __ensureWakeUpTime > now) {
                 // We woke up because a message arrived.
-                // However, we had to wait a little more.
-                __ensureWait.doBlock(this);
+                // However, we had to wait a little more (the wake-up is
+                // still scheduled, so we just block again).
+                __blockUntil(__ensureWakeUpTime);
             } else {
 
                 if (__hasEnsureWakeUpTime()) {
@@ -254,9 +407,9 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
                     // We can clear the ensure-field now.
                     __clearEnsureWaiting();
                 }
-                __feedInput(Execute.INSTANCE);
+                __feedInput(Input.Execute);
                 //Detect any internally issued waitings, and execute them.
-                __getCollapsedWaiting().ifPresent(it -> it.doBlock(this));
+                __doBlock();
             }
 
         }
@@ -264,35 +417,48 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
 
 
     private void __feedInput(Input input) {
+        __feedInput(input, null, 0, null);
+    }
+
+
+    //The meaning of the other arguments depends on the input:
+    // the agent to activate the behaviour on (ActivateNow, ActivateDelayed),
+    // the delay (ActivateDelayed, DeactivateDelayed) and the reason of the
+    // failure (FailNow).
+    private void __feedInput(
+        Input input,
+        Agent toAgent,
+        long delay,
+        JadescriptProposition reason
+    ) {
 
         switch (macroState) {
             case FAILED:
             case NOT_ACTIVE: {
-                if (input instanceof ActivateNow) {
-                    __startActivatingInternal(((ActivateNow) input).getAgent());
-                    macroState = MacroState.ACTIVATING;
-                } else if (input instanceof ActivateDelayed) {
-                    final long delay = ((ActivateDelayed) input).getDelay();
+                if (input == Input.ActivateNow) {
+                    __startActivatingInternal(toAgent);
+                    __setMacroState(MacroState.ACTIVATING);
+                } else if (input == Input.ActivateDelayed) {
                     __awaitDelayedActivation(delay);
-                    __startActivatingInternal(((ActivateDelayed) input).getAgent());
-                    macroState = MacroState.ACTIVATING;
-                } else if (input instanceof Execute) {
+                    __startActivatingInternal(toAgent);
+                    __setMacroState(MacroState.ACTIVATING);
+                } else if (input == Input.Execute) {
                     throw new RuntimeException(
                         "Invalid behaviour state (cannot execute if not " +
                             "active).");
-                } else if (input instanceof DeactivateNow) {
+                } else if (input == Input.DeactivateNow) {
                     // Deactivation is idempotent, do nothing.
                     // Just remove expiration time (deactivating and
                     // reactivating has to behave like a 'reset').
                     __expirationTime = 0;
                     // Staying in NOT_ACTIVE.
-                } else if (input instanceof DeactivateDelayed) {
+                } else if (input == Input.DeactivateDelayed) {
                     // Deactivation is idempotent, do nothing.
                     // Just set expiration time.
                     __expirationTime =
-                        System.currentTimeMillis() + ((DeactivateDelayed) input).getDelay();
+                        System.currentTimeMillis() + delay;
                     // Staying in NOT_ACTIVE.
-                } else if (input instanceof FailNow) {
+                } else if (input == Input.FailNow) {
                     // Failure when not active -> put in failed state,
                     // dispatch failure event
                     // remove expiration time (deactivating and reactivating
@@ -300,72 +466,72 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
                     //noinspection unchecked
                     final A agent = (A) getAgent();
                     __expirationTime = 0;
-                    macroState = MacroState.FAILED;
-                    __dispatchFailure(agent, ((FailNow) input).getReason());
+                    __setMacroState(MacroState.FAILED);
+                    __dispatchFailure(agent, reason);
                     // Staying in NOT_ACTIVE.
-                } else if (input instanceof Destroy) {
+                } else if (input == Input.Destroy) {
                     __destroyInternal();
-                    macroState = MacroState.DESTROYED;
+                    __setMacroState(MacroState.DESTROYED);
                 }
 
             }
             break;
             case ACTIVATING: {
-                if (input instanceof ActivateNow) {
+                if (input == Input.ActivateNow) {
                     __anticipateActivationInternal();
                     // Staying in ACTIVATING.
-                } else if (input instanceof ActivateDelayed) {
-                    __postponeActivationInternal(((ActivateDelayed) input).getDelay());
+                } else if (input == Input.ActivateDelayed) {
+                    __postponeActivationInternal(delay);
                     // Staying in ACTIVATING.
-                } else if (input instanceof Execute) {
-                    macroState = MacroState.ACTIVE;
+                } else if (input == Input.Execute) {
+                    __setMacroState(MacroState.ACTIVE);
                     __executeOnActivateInternal();
                     __executeHandlersInternal();
                     __awaitNextTick();
-                } else if (input instanceof DeactivateNow) {
+                } else if (input == Input.DeactivateNow) {
                     __cancelActivatingInternal();
-                    macroState = MacroState.NOT_ACTIVE;
-                } else if (input instanceof DeactivateDelayed) {
+                    __setMacroState(MacroState.NOT_ACTIVE);
+                } else if (input == Input.DeactivateDelayed) {
                     //sets an expiration time
                     //It will race with the activation time
-                    __doRaceDeactivationWithActivationInternal(((DeactivateDelayed) input).getDelay());
+                    __doRaceDeactivationWithActivationInternal(delay);
                     // Staying in ACTIVATING.
-                } else if (input instanceof FailNow) {
+                } else if (input == Input.FailNow) {
                     // Failure when activating -> cancel activating, put in
                     // failed state, dispatch failure event
                     //noinspection unchecked
                     final A agent = (A) getAgent();
                     __cancelActivatingInternal();
-                    macroState = MacroState.FAILED;
-                    __dispatchFailure(agent, ((FailNow) input).getReason());
-                } else if (input instanceof Destroy) {
+                    __setMacroState(MacroState.FAILED);
+                    __dispatchFailure(agent, reason);
+                } else if (input == Input.Destroy) {
                     __cancelActivatingInternal();
                     __destroyInternal();
-                    macroState = MacroState.DESTROYED;
+                    __setMacroState(MacroState.DESTROYED);
                 }
             }
             break;
             case ACTIVE: {
-                if (input instanceof ActivateNow) {
+                if (input == Input.ActivateNow) {
                     // Activate is idempotent.
                     // Just remove expiration time.
                     __expirationTime = 0;
                     // Staying in ACTIVE.
-                } else if (input instanceof ActivateDelayed) {
-                    __pauseInternal(((ActivateDelayed) input).getDelay());
+                } else if (input == Input.ActivateDelayed) {
+                    __pauseInternal(delay);
                     // Staying in ACTIVE.
-                } else if (input instanceof Execute) {
+                } else if (input == Input.Execute) {
                     __executeHandlersInternal();
                     __awaitNextTick();
                     // Staying in ACTIVE.
-                } else if (input instanceof DeactivateNow) {
+                } else if (input == Input.DeactivateNow) {
                     __deactivateInternal(false);
-                    macroState = MacroState.NOT_ACTIVE;
-                } else if (input instanceof DeactivateDelayed) {
+                    __setMacroState(MacroState.NOT_ACTIVE);
+                } else if (input == Input.DeactivateDelayed) {
                     __expirationTime =
-                        System.currentTimeMillis() + ((DeactivateDelayed) input).getDelay();
+                        System.currentTimeMillis() + delay;
                     // Staying in ACTIVE.
-                } else if (input instanceof FailNow) {
+                } else if (input == Input.FailNow) {
                     // Failure when active -> deactivate, put in failed
                     // state, dispatch failure event
                     // remove expiration time (deactivating and reactivating
@@ -374,18 +540,18 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
                     final A agent = (A) getAgent();
                     __expirationTime = 0;
                     __deactivateInternal(true);
-                    macroState = MacroState.FAILED;
-                    __dispatchFailure(agent, ((FailNow) input).getReason());
+                    __setMacroState(MacroState.FAILED);
+                    __dispatchFailure(agent, reason);
                     // Staying in NOT_ACTIVE.
-                } else if (input instanceof Destroy) {
+                } else if (input == Input.Destroy) {
                     __deactivateInternal(false);
                     __destroyInternal();
-                    macroState = MacroState.DESTROYED;
+                    __setMacroState(MacroState.DESTROYED);
                 }
             }
             break;
             case DESTROYED: {
-                if (!(input instanceof Destroy)) { // destroy statement is
+                if (input != Input.Destroy) { // destroy statement is
                     // idempotent
                     throw new DestroyedBehaviourException(this);
                 }
@@ -393,8 +559,16 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
             break;
         }
 
-        final Optional<Waiting> externallyIssued = __getCollapsedWaiting();
-        externallyIssued.ifPresent(waiting -> waiting.doBlock(this));
+        // Executing externally issued waitings.
+        __doBlock();
+    }
+
+
+    private void __setMacroState(MacroState newState) {
+        macroState = newState;
+        if (myAgent instanceof jadescript.core.Agent) {
+            ((jadescript.core.Agent) myAgent).__behaviourStateChanged();
+        }
     }
 
 
@@ -406,7 +580,7 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
     private void __cancelActivatingInternal() {
         //Like __deactivateInternal(), but without calling on-deactivate
         // (because on-activate has never executed)
-        __waitings.clear();
+        __clearWaitings();
         if (myAgent != null) {
             __unblock();
             myAgent.removeBehaviour(this);
@@ -419,7 +593,7 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
         if (delay <= 0) {
             __anticipateActivationInternal();
         } else {
-            __waitings.clear();
+            __clearWaitings();
             __unblock();
             __awaitDelayedActivation(delay);
         }
@@ -427,7 +601,7 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
 
 
     private void __anticipateActivationInternal() {
-        __waitings.clear();
+        __clearWaitings();
         __unblock();
     }
 
@@ -448,6 +622,7 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
 
     private void __executeOnActivateInternal() {
         __startTime = System.currentTimeMillis();
+        __nominalTickTime = __startTime;
         final Agent agent = getAgent();
         if (agent != null) {
             final ContentManager cm = agent.getContentManager();
@@ -460,13 +635,23 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
 
 
     private void __executeHandlersInternal() {
+        if (period > 0 && __nominalTickTime > 0) {
+            final long lag = Math.max(
+                0L,
+                System.currentTimeMillis() - __nominalTickTime
+            );
+            __lastTickLag = lag;
+            if (lag > __maxTickLag) {
+                __maxTickLag = lag;
+            }
+        }
         doAction(__effectiveExecutions);
         __effectiveExecutions++;
     }
 
 
     private void __deactivateInternal(boolean skipOnDeactivate) {
-        __waitings.clear();
+        __clearWaitings();
         if (myAgent != null) {
             reset();
             if (!skipOnDeactivate) doOnDeactivate();
@@ -496,25 +681,42 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
         Duration delay,
         Duration period
     ) {
+        activate_after_every(agent, delay, period, null);
+    }
+
+
+    /**
+     * Activates the behaviour. If a period is specified and the policy is
+     * not null, the behaviour is periodic with a fixed rate, and the policy
+     * is used to handle the missed ticks; otherwise, it waits for the period
+     * after the end of each execution (fixed delay).
+     */
+    public final void activate_after_every(
+        Agent agent,
+        Duration delay,
+        Duration period,
+        MissedTickPolicy missedTickPolicy
+    ) {
 
         long delayMillis;
         long periodMillis;
         if (delay != null) {
-            delayMillis = delay.getSecondsLong() * 1000L + delay.getMillis();
+            delayMillis = delay.toMillis();
         } else {
             delayMillis = 0;
         }
         if (period != null) {
-            periodMillis = period.getSecondsLong() * 1000L + period.getMillis();
+            periodMillis = period.toMillis();
         } else {
             periodMillis = 0;
         }
         this.period = periodMillis;
+        this.__missedTickPolicy = missedTickPolicy;
         if (delayMillis > 0) {
 
-            __feedInput(new ActivateDelayed(agent, delayMillis));
+            __feedInput(Input.ActivateDelayed, agent, delayMillis, null);
         } else {
-            __feedInput(new ActivateNow(agent));
+            __feedInput(Input.ActivateNow, agent, 0, null);
         }
     }
 
@@ -523,11 +725,22 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
         Agent agent,
         Timestamp start,
         Duration period
+    ) {
+        activate_at_every(agent, start, period, null);
+    }
+
+
+    public final void activate_at_every(
+        Agent agent,
+        Timestamp start,
+        Duration period,
+        MissedTickPolicy missedTickPolicy
     ) {
         activate_after_every(
             agent,
             Timestamp.subtract(start, Timestamp.now()),
-            period
+            period,
+            missedTickPolicy
         );
     }
 
@@ -542,6 +755,15 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
     }
 
 
+    public final void activate_every(
+        Agent agent,
+        Duration period,
+        MissedTickPolicy missedTickPolicy
+    ) {
+        activate_after_every(agent, null, period, missedTickPolicy);
+    }
+
+
     public final void activate_after(Agent agent, Duration delay) {
         activate_after_every(agent, delay, null);
     }
@@ -553,12 +775,12 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
 
 
     public final void deactivate_after_millis(long delay) {
-        __feedInput(new DeactivateDelayed(delay));
+        __feedInput(Input.DeactivateDelayed, null, delay, null);
     }
 
 
     public final void deactivate_after(Duration delay) {
-        deactivate_after_millis(delay.getSecondsLong() * 1000L + delay.getMillis());
+        deactivate_after_millis(delay.toMillis());
     }
 
 
@@ -574,12 +796,12 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
 
 
     public final void deactivate() {
-        __feedInput(DeactivateNow.INSTANCE);
+        __feedInput(Input.DeactivateNow);
     }
 
 
     public final void destroy() {
-        __feedInput(Destroy.INSTANCE);
+        __feedInput(Input.Destroy);
     }
 
 
@@ -603,7 +825,7 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
 
 
     public final void __failBehaviour(JadescriptProposition reason) {
-        __feedInput(new FailNow(reason));
+        __feedInput(Input.FailNow, null, 0, reason);
     }
 
 
@@ -652,6 +874,29 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
         OneShot
     }
 
+    /**
+     * What a fixed-rate periodic behaviour does when, at the end of an
+     * execution, the time of one or more of the following ticks is already
+     * elapsed.
+     */
+    public enum MissedTickPolicy {
+        /**
+         * The missed ticks are not executed; the behaviour waits for the
+         * first tick in the future.
+         */
+        SKIP,
+        /**
+         * The missed ticks are executed one after the other, without
+         * waiting, until the behaviour is back on schedule.
+         */
+        CATCH_UP,
+        /**
+         * The missed ticks are merged in a single execution, done right away;
+         * then the behaviour waits for the first tick in the future.
+         */
+        COALESCE
+    }
+
 
     /*
         What issues a waiting?
@@ -662,232 +907,21 @@ public abstract class Behaviour<A extends jadescript.core.Agent>
         PW) Periodic wait. Between a tick and the next for behaviours with
                 period > 0.
         NO) No wait
+        E.g., a periodic behaviour in which no event handler fired waits for
+        the next event, not for the next tick.
      */
     private enum WaitingType {
         ActivationDelay, EventWait, PeriodicWait, NoWait
     }
 
-    private interface Input {
-
-    }
-
-    private static class ActivateNow implements Input {
-
-        private final jade.core.Agent agent;
-
-
-        private ActivateNow(jade.core.Agent agent) {
-            this.agent = agent;
-        }
-
-
-        public jade.core.Agent getAgent() {
-            return agent;
-        }
-
-
-        @Override
-        public String toString() {
-            return "ActivateNow{}";
-        }
-
-    }
-
-    private static class ActivateDelayed implements Input {
-
-        private final jade.core.Agent agent;
-        private final long delay;
-
-
-        private ActivateDelayed(jade.core.Agent agent, long delay) {
-            this.agent = agent;
-            this.delay = delay;
-        }
-
-
-        public long getDelay() {
-            return delay;
-        }
-
-
-        public jade.core.Agent getAgent() {
-            return agent;
-        }
-
-
-        @Override
-        public String toString() {
-            return "ActivateDelayed{" +
-                "delay=" + Duration.of(delay) +
-                '}';
-        }
-
-    }
-
-    private static class DeactivateNow implements Input {
-
-        public static final DeactivateNow INSTANCE = new DeactivateNow();
-
-
-        @Override
-        public String toString() {
-            return "DeactivateNow{}";
-        }
-
-    }
-
-    private static class DeactivateDelayed implements Input {
-
-        private final long delay;
-
-
-        private DeactivateDelayed(long delay) {
-            this.delay = delay;
-        }
-
-
-        public long getDelay() {
-            return delay;
-        }
-
-
-        @Override
-        public String toString() {
-            return "DeactivateDelayed{" +
-                "delay=" + Duration.of(delay) +
-                '}';
-        }
-
-    }
-
-    private static class FailNow implements Input {
-
-        private final JadescriptProposition reason;
-
-
-        private FailNow(JadescriptProposition reason) {
-            this.reason = reason;
-        }
-
-
-        public JadescriptProposition getReason() {
-            return reason;
-        }
-
-
-        @Override
-        public String toString() {
-            return "FailNow{}";
-        }
-
-    }
-
-    private static class Destroy implements Input {
-
-        public static final Destroy INSTANCE = new Destroy();
-
-
-        @Override
-        public String toString() {
-            return "Destroy{}";
-        }
-
-    }
-
-    private static class Execute implements Input {
-
-        public static final Execute INSTANCE = new Execute();
-
-
-        @Override
-        public String toString() {
-            return "Execute{}";
-        }
-
-    }
-
-    private static class Waiting {
-
-        private final WaitingType waitingType;
-        private final long wakeUpTime;
-
-
-        private Waiting(long wakeUpTime, WaitingType waitingType) {
-            this.wakeUpTime = wakeUpTime;
-            this.waitingType = waitingType;
-        }
-
-
-        public static Waiting doNotWait() {
-            return new Waiting(0, WaitingType.NoWait);
-        }
-
-
-        public static Waiting waitForEvents() {
-            return new Waiting(0, WaitingType.EventWait);
-        }
-
-
-        public static Waiting waitActivation(long wakeUpTime) {
-            return new Waiting(wakeUpTime, WaitingType.ActivationDelay);
-        }
-
-
-        public static Waiting waitPeriodic(long wakeUpTime) {
-            return new Waiting(wakeUpTime, WaitingType.PeriodicWait);
-        }
-
-
-        @Override
-        public String toString() {
-            String wut = "";
-            if (wakeUpTime > 0) {
-                wut = "wut=" + Timestamp.fromEpochMillis(wakeUpTime) + ", ";
-            }
-
-            return "Waiting{" + wut + "type=" + waitingType.name() + '}';
-        }
-
-
-        public boolean hasWakeUpTime() {
-            return wakeUpTime != 0;
-        }
-
-
-        public Waiting computeOverride(Waiting w) {
-            // Higher-priority waitings overwrite other waitings.
-            if (this.waitingType.ordinal() < w.waitingType.ordinal()) {
-                return this;
-            } else { //if(this.waitingType.ordinal() >= w.waitingType.ordinal
-                // ())//
-                return w;
-            }
-        }
-
-
-        public void doBlock(jade.core.behaviours.Behaviour b) {
-            if (b.getAgent() != null) {
-                switch (waitingType) {
-                    case ActivationDelay:
-                    case PeriodicWait:
-                        long now = System.currentTimeMillis();
-                        long millis = wakeUpTime - now;
-                        if (millis > 0) {
-                            b.block(millis);
-                            if (b instanceof Behaviour) {
-                                ((Behaviour<?>) b).__setEnsureWaiting(this);
-                            }
-                        }
-                        break;
-                    case EventWait:
-                        b.block();
-                        break;
-                    case NoWait:
-                        break;
-                }
-            }
-        }
-
+    private enum Input {
+        ActivateNow,
+        ActivateDelayed,
+        DeactivateNow,
+        DeactivateDelayed,
+        FailNow,
+        Destroy,
+        Execute
     }
 
     public static class UninitializedBehaviourException extends RuntimeException {
@@ -0,0 +1,407 @@
+package jadescript.core.behaviours;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical timing wheel which keeps the time-based waits (activation
+ * delays and periods) of the behaviours of an agent.
+ * <p>
+ * A behaviour which waits for a time instant is blocked indefinitely (i.e.,
+ * without a JADE timer) and it is scheduled in the wheel of its agent. When
+ * the instant comes, the wheel restarts exactly the behaviours which are due,
+ * signaling them that they have been woken up by the timer (and not by an
+ * incoming message).
+ * <p>
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots each, with a
+ * resolution of one millisecond at the lowest level; each slot of a level
+ * spans a whole turn of the level below. Timeouts are placed in the lowest
+ * level which can represent them, and they are moved to the lower levels
+ * as time passes; timeouts farther than the range of the highest level are
+ * kept in an overflow list. Scheduling and cancelling a timeout are O(1)
+ * operations.
+ * <p>
+ * The wheels of all the agents in the JVM are advanced by a single shared
+ * daemon thread, which wakes up each wheel only at the next instant in which
+ * some of its timeouts could be due.
+ * <p>
+ * The wheel is safe to use from any thread.
+ */
+public class TimerWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final long SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int OVERFLOW = LEVELS * SLOTS;
+    private static final int NOT_SCHEDULED = -1;
+
+    private static final ScheduledThreadPoolExecutor DRIVER;
+
+    static {
+        DRIVER = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread t = new Thread(r, "jadescript-timer-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        DRIVER.setRemoveOnCancelPolicy(true);
+    }
+
+    /*
+     Heads of the lists of timeouts, one for each slot of each level, plus
+     one for the overflow list.
+     */
+    private final Timeout[] heads = new Timeout[OVERFLOW + 1];
+
+    /*
+     For each level, the bitset of the non-empty slots.
+     */
+    private final long[] occupied = new long[LEVELS];
+
+    private long currentTime = System.currentTimeMillis();
+    private int size = 0;
+
+    private ScheduledFuture<?> pendingTick = null;
+    private long pendingTickTime = Long.MAX_VALUE;
+
+
+    /**
+     * Returns the number of timeouts currently scheduled in the wheel.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+
+    /**
+     * Cancels all the scheduled timeouts. Used when the agent is taken down.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < heads.length; i++) {
+            Timeout t = heads[i];
+            while (t != null) {
+                final Timeout next = t.next;
+                t.index = NOT_SCHEDULED;
+                t.cancelled = true;
+                t.prev = null;
+                t.next = null;
+                t = next;
+            }
+            heads[i] = null;
+        }
+        for (int l = 0; l < LEVELS; l++) {
+            occupied[l] = 0L;
+        }
+        size = 0;
+        if (pendingTick != null) {
+            pendingTick.cancel(false);
+            pendingTick = null;
+            pendingTickTime = Long.MAX_VALUE;
+        }
+    }
+
+
+    /**
+     * Schedules the wake-up of the behaviour at the specified time (in epoch
+     * millis). If the time is already elapsed, the behaviour is woken up
+     * immediately.
+     */
+    Timeout schedule(Behaviour<?> behaviour, long deadline) {
+        final Timeout timeout = new Timeout(this, behaviour, deadline);
+        synchronized (this) {
+            if (size == 0) {
+                // The wheel was idle: no timeout is placed relatively to the
+                // old current time.
+                currentTime = Math.max(
+                    currentTime,
+                    System.currentTimeMillis()
+                );
+            }
+            if (deadline > currentTime) {
+                place(timeout);
+                size++;
+                requestTick(nextCheckTime());
+                return timeout;
+            }
+        }
+        behaviour.__timeoutExpired(timeout);
+        return timeout;
+    }
+
+
+    synchronized void cancel(Timeout timeout) {
+        timeout.cancelled = true;
+        if (timeout.index != NOT_SCHEDULED) {
+            unlink(timeout);
+            size--;
+        }
+    }
+
+
+    /*
+     Advances the wheel up to the specified time and wakes up the behaviours
+     which are due. Invoked by the driver with the current time;
+     package-private, so that the wheel can be driven with explicit times.
+     */
+    void tick(long now) {
+        Timeout due;
+        synchronized (this) {
+            pendingTick = null;
+            pendingTickTime = Long.MAX_VALUE;
+            due = advance(now);
+            requestTick(nextCheckTime());
+        }
+        // Waking up the behaviours outside the lock; timeouts cancelled in
+        // the meantime are skipped.
+        while (due != null) {
+            final Timeout next = due.next;
+            due.next = null;
+            if (!due.cancelled) {
+                due.behaviour.__timeoutExpired(due);
+            }
+            due = next;
+        }
+    }
+
+
+    /*
+     Moves the current time forward, up to now, visiting only the instants in
+     which something happens (an occupied slot of the lowest level expires,
+     or an occupied slot of an upper level has to be cascaded).
+     Returns the list (linked by 'next') of the expired timeouts.
+     */
+    private Timeout advance(long now) {
+        Timeout due = null;
+        while (size > 0) {
+            final long next = nextCheckTime();
+            if (next > now) {
+                break;
+            }
+            currentTime = next;
+            if ((currentTime & SLOT_MASK) == 0) {
+                due = cascade(due);
+            }
+            due = expire((int) (currentTime & SLOT_MASK), due);
+        }
+        if (now > currentTime) {
+            currentTime = now;
+        }
+        return due;
+    }
+
+
+    /*
+     Returns the next instant in which something happens in the wheel.
+     Timeouts in a level are always later than the ones in the levels below,
+     so the lowest non-empty level determines the instant.
+     */
+    private long nextCheckTime() {
+        if (size == 0) {
+            return Long.MAX_VALUE;
+        }
+        for (int l = 0; l < LEVELS; l++) {
+            if (occupied[l] == 0L) {
+                continue;
+            }
+            final int shift = SLOT_BITS * l;
+            final int current = (int) ((currentTime >>> shift) & SLOT_MASK);
+            final long following = current == SLOTS - 1
+                ? 0L
+                : occupied[l] & (-1L << (current + 1));
+            if (following != 0L) {
+                final int slot = Long.numberOfTrailingZeros(following);
+                final long turn = (currentTime >>> (shift + SLOT_BITS))
+                    << (shift + SLOT_BITS);
+                return turn + ((long) slot << shift);
+            }
+        }
+        final int shift = SLOT_BITS * LEVELS;
+        return ((currentTime >>> shift) + 1) << shift;
+    }
+
+
+    /*
+     Invoked when the current time reaches the beginning of a turn of the
+     lowest level: the timeouts in the slots of the upper levels which begin
+     now are placed again, from the highest level to the lowest.
+     */
+    private Timeout cascade(Timeout due) {
+        int highest = 1;
+        while (highest < LEVELS
+            && ((currentTime >>> (SLOT_BITS * highest)) & SLOT_MASK) == 0) {
+            highest++;
+        }
+        if (highest == LEVELS) {
+            due = replace(OVERFLOW, due);
+            highest = LEVELS - 1;
+        }
+        for (int l = highest; l >= 1; l--) {
+            final int slot = (int) ((currentTime >>> (SLOT_BITS * l))
+                & SLOT_MASK);
+            due = replace(l * SLOTS + slot, due);
+        }
+        return due;
+    }
+
+
+    private Timeout replace(int index, Timeout due) {
+        Timeout t = detach(index);
+        while (t != null) {
+            final Timeout next = t.next;
+            t.prev = null;
+            t.next = null;
+            if (t.deadline <= currentTime) {
+                t.index = NOT_SCHEDULED;
+                size--;
+                t.next = due;
+                due = t;
+            } else {
+                place(t);
+            }
+            t = next;
+        }
+        return due;
+    }
+
+
+    private Timeout expire(int slot, Timeout due) {
+        Timeout t = detach(slot);
+        while (t != null) {
+            final Timeout next = t.next;
+            t.index = NOT_SCHEDULED;
+            t.prev = null;
+            size--;
+            t.next = due;
+            due = t;
+            t = next;
+        }
+        return due;
+    }
+
+
+    private void place(Timeout t) {
+        for (int l = 0; l < LEVELS; l++) {
+            final int shift = SLOT_BITS * (l + 1);
+            if ((t.deadline >>> shift) == (currentTime >>> shift)) {
+                final int slot = (int) ((t.deadline >>> (SLOT_BITS * l))
+                    & SLOT_MASK);
+                link(t, l * SLOTS + slot);
+                return;
+            }
+        }
+        link(t, OVERFLOW);
+    }
+
+
+    private void link(Timeout t, int index) {
+        final Timeout head = heads[index];
+        t.index = index;
+        t.prev = null;
+        t.next = head;
+        if (head != null) {
+            head.prev = t;
+        }
+        heads[index] = t;
+        if (index < OVERFLOW) {
+            occupied[index / SLOTS] |= 1L << (index % SLOTS);
+        }
+    }
+
+
+    private void unlink(Timeout t) {
+        final int index = t.index;
+        if (t.prev == null) {
+            heads[index] = t.next;
+        } else {
+            t.prev.next = t.next;
+        }
+        if (t.next != null) {
+            t.next.prev = t.prev;
+        }
+        t.prev = null;
+        t.next = null;
+        t.index = NOT_SCHEDULED;
+        if (index < OVERFLOW && heads[index] == null) {
+            occupied[index / SLOTS] &= ~(1L << (index % SLOTS));
+        }
+    }
+
+
+    private Timeout detach(int index) {
+        final Timeout head = heads[index];
+        heads[index] = null;
+        if (index < OVERFLOW) {
+            occupied[index / SLOTS] &= ~(1L << (index % SLOTS));
+        }
+        return head;
+    }
+
+
+    private void requestTick(long when) {
+        if (when == Long.MAX_VALUE || when >= pendingTickTime) {
+            return;
+        }
+        if (pendingTick != null) {
+            pendingTick.cancel(false);
+        }
+        pendingTickTime = when;
+        pendingTick = DRIVER.schedule(
+            () -> tick(System.currentTimeMillis()),
+            Math.max(0L, when - System.currentTimeMillis()),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+
+    @Override
+    public synchronized String toString() {
+        return "TimerWheel{" +
+            "size=" + size +
+            ", currentTime=" + currentTime +
+            '}';
+    }
+
+
+    /**
+     * A scheduled wake-up of a behaviour.
+     */
+    static final class Timeout {
+
+        private final TimerWheel wheel;
+        private final Behaviour<?> behaviour;
+        private final long deadline;
+        private Timeout prev = null;
+        private Timeout next = null;
+        private int index = NOT_SCHEDULED;
+        // Set under the lock of the wheel, but read by tick() after
+        // releasing it.
+        private volatile boolean cancelled = false;
+
+
+        private Timeout(TimerWheel wheel, Behaviour<?> behaviour, long deadline) {
+            this.wheel = wheel;
+            this.behaviour = behaviour;
+            this.deadline = deadline;
+        }
+
+
+        long getDeadline() {
+            return deadline;
+        }
+
+
+        boolean isScheduled() {
+            synchronized (wheel) {
+                return index != NOT_SCHEDULED;
+            }
+        }
+
+
+        void cancel() {
+            wheel.cancel(this);
+        }
+
+    }
+
+}
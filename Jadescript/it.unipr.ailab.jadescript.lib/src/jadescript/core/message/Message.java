@@ -1,12 +1,16 @@
 package jadescript.core.message;
 
+import java.io.ObjectStreamException;
 import java.util.Iterator;
 
+import jade.content.ContentElement;
 import jade.content.ContentManager;
 import jade.content.lang.Codec;
 import jade.content.onto.OntologyException;
 import jade.core.AID;
 import jade.lang.acl.ACLMessage;
+import jade.util.leap.Properties;
+import jadescript.content.onto.ImmutableContents;
 import jadescript.core.exception.JadescriptException;
 import jadescript.lang.Performative;
 
@@ -37,6 +41,15 @@ public class Message<C> extends ACLMessage {
 
     public C content = null;
 
+    // The message this one was wrapped from (if any). Its identity is used
+    // to share the decoded content with the inbox of the agent.
+    private transient ACLMessage __wrapped = null;
+
+    // When not null, the content is only available as object (in the
+    // content field), and it is encoded as soon as the encoded form is
+    // needed (see __fillContent).
+    private transient volatile PendingEncoding __pendingEncoding = null;
+
     public Message(int perf) {
         super(perf);
     }
@@ -49,7 +62,9 @@ public class Message<C> extends ACLMessage {
     public C getContent(ContentManager contentManager) {
         if (content == null) {
             try {
-                content = (C) contentManager.extractContent(this);
+                content = (C) contentManager.extractContent(
+                    __wrapped != null ? __wrapped : this
+                );
             } catch (OntologyException | Codec.CodecException e) {
                 throw JadescriptException.wrap(e);
             }
@@ -61,6 +76,154 @@ public class Message<C> extends ACLMessage {
         return content;
     }
 
+    /**
+     * Fills the content of the message with the specified content element.
+     * <p>
+     * If the content can be shared by sender and receivers (see
+     * {@link ImmutableContents}), the element is attached to the message as
+     * it is, and it is encoded only when the encoded form is requested, with
+     * {@link #getContent()}, {@link #getByteSequenceContent()} or
+     * {@link #hasByteSequenceContent()}, or when the message is serialized.
+     * JADE requests it when the message is sent (to account for its size in
+     * the outbox), hence the sender still encodes the content once; the
+     * receivers in the same container get the element without decoding it.
+     * <p>
+     * Only the codec and the ontology are kept for the encoding, not the
+     * content manager of the sender: the copies of the message delivered to
+     * the receivers can be encoded by them, in their own threads.
+     */
+    @SuppressWarnings("unchecked")
+    public void __fillContent(
+        ContentManager contentManager,
+        ContentElement element
+    ) throws Codec.CodecException, OntologyException {
+        final Codec codec = contentManager.lookupLanguage(getLanguage());
+        final jade.content.onto.Ontology ontology =
+            contentManager.lookupOntology(getOntology());
+        if (codec != null && ImmutableContents.canBeShared(ontology, element)) {
+            content = (C) element;
+            __pendingEncoding = new PendingEncoding(
+                getLanguage(),
+                codec,
+                getOntology(),
+                ontology,
+                contentManager.getValidationMode()
+            );
+        } else {
+            contentManager.fillContent(this, element);
+        }
+    }
+
+
+    private void __encodePendingContent() {
+        if (__pendingEncoding == null) {
+            return;
+        }
+        synchronized (this) {
+            final PendingEncoding pending = __pendingEncoding;
+            if (pending == null) {
+                return;
+            }
+            __pendingEncoding = null;
+            try {
+                pending.toContentManager().fillContent(
+                    this,
+                    (ContentElement) content
+                );
+            } catch (OntologyException | Codec.CodecException e) {
+                throw JadescriptException.wrap(e);
+            }
+        }
+    }
+
+
+    /*
+     What is needed to encode a content filled by __fillContent. Codecs and
+     ontologies can be used by several agents at the same time, while the
+     content manager of the sender is part of its state.
+     */
+    private static final class PendingEncoding {
+
+        private final String language;
+        private final Codec codec;
+        private final String ontologyName;
+        private final jade.content.onto.Ontology ontology;
+        private final boolean validationMode;
+
+
+        private PendingEncoding(
+            String language,
+            Codec codec,
+            String ontologyName,
+            jade.content.onto.Ontology ontology,
+            boolean validationMode
+        ) {
+            this.language = language;
+            this.codec = codec;
+            this.ontologyName = ontologyName;
+            this.ontology = ontology;
+            this.validationMode = validationMode;
+        }
+
+
+        private ContentManager toContentManager() {
+            final ContentManager result = new ContentManager();
+            result.registerLanguage(codec, language);
+            result.registerOntology(ontology, ontologyName);
+            result.setValidationMode(validationMode);
+            return result;
+        }
+
+    }
+
+
+    @Override
+    public String getContent() {
+        __encodePendingContent();
+        return super.getContent();
+    }
+
+
+    @Override
+    public byte[] getByteSequenceContent() {
+        __encodePendingContent();
+        return super.getByteSequenceContent();
+    }
+
+
+    @Override
+    public boolean hasByteSequenceContent() {
+        __encodePendingContent();
+        return super.hasByteSequenceContent();
+    }
+
+
+    /*
+     JADE uses shallow clones to deliver a message to each of its receivers:
+     the clone is a message of the same class, so that the content object
+     is still delivered without encoding it.
+     */
+    @Override
+    public ACLMessage shallowClone() {
+        return (ACLMessage) clone();
+    }
+
+
+    /*
+     Leaving the container: the content travels only in encoded form.
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        if (__pendingEncoding == null) {
+            return this;
+        }
+        __encodePendingContent();
+        @SuppressWarnings("unchecked")
+        final Message<C> encoded = (Message<C>) clone();
+        encoded.content = null;
+        return encoded;
+    }
+
+
     public boolean equals(Object other) {
         if (this == other) {
             return true;
@@ -71,8 +234,36 @@ public class Message<C> extends ACLMessage {
         return super.equals(other);
     }
 
+    /**
+     * Returns the message as a Jadescript message: the message itself, if
+     * it already is one (this is the case of the messages received from the
+     * inbox of Jadescript agents, see {@link #__toJadescriptMessage}),
+     * otherwise a copy of it, which shares the decoded content with the
+     * original.
+     */
     @SuppressWarnings("unchecked")
     public static <T> Message<T> wrap(ACLMessage msg) {
+        if (msg instanceof Message) {
+            return (Message<T>) msg;
+        }
+        final Message<T> wrapper = __toJadescriptMessage(msg);
+        if (wrapper != null) {
+            wrapper.__wrapped = msg;
+        }
+        return wrapper;
+    }
+
+
+    /**
+     * Returns the message as a Jadescript message: the message itself, if
+     * it already is one, otherwise a copy of it, independent of the original.
+     * <p>
+     * Used by the inbox of Jadescript agents to store the incoming messages,
+     * so that {@link #wrap(ACLMessage)}, invoked by the templates and by the
+     * handlers on each message they inspect, does not need to copy them.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Message<T> __toJadescriptMessage(ACLMessage msg) {
         Message<T> wrapper = null;
         if (msg != null) {
             if (msg instanceof Message) {
@@ -107,6 +298,14 @@ public class Message<C> extends ACLMessage {
                     wrapper.setContent(msg.getContent());
                 }
                 wrapper.setEncoding(msg.getEncoding());
+                final Properties userDefined =
+                    msg.getAllUserDefinedParameters();
+                if (userDefined != null) {
+                    wrapper.setAllUserDefinedParameters(
+                        (Properties) userDefined.clone()
+                    );
+                }
+                wrapper.setPostTimeStamp(msg.getPostTimeStamp());
 
                 wrapper.setEnvelope(msg.getEnvelope());
             }
@@ -169,6 +368,7 @@ public class Message<C> extends ACLMessage {
 
     @Override
     public String toString() {
+        __encodePendingContent();
         return super.toString();
     }
 }
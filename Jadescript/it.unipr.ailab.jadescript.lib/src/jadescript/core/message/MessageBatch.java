@@ -0,0 +1,229 @@
+package jadescript.core.message;
+
+import jade.content.ContentElement;
+import jade.content.ContentManager;
+import jade.content.lang.Codec;
+import jade.content.onto.OntologyException;
+import jade.core.AID;
+import jade.lang.acl.ACLMessage;
+import jadescript.core.exception.JadescriptException;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Messages sent during the execution of an event handler with
+ * {@code send ... to each}, to be delivered together when the handler ends.
+ * <p>
+ * Messages with the same headers (performative, language, ontology,
+ * conversation, ...) and equal contents are merged into a single message
+ * addressed to all their receivers, so that the content is encoded once and
+ * JADE delivers it to all the receivers in a single pass. A receiver never
+ * gets the same merged message twice: when it would, a new message is
+ * created instead.
+ */
+public class MessageBatch {
+
+    private final List<Group> groups = new ArrayList<>();
+    private final Map<Headers, List<Group>> groupsByHeaders = new HashMap<>();
+
+
+    public boolean isEmpty() {
+        return groups.isEmpty();
+    }
+
+
+    /**
+     * Adds a message to the batch. If the content is not null, it is used
+     * as content of the message when the batch is flushed; otherwise, the
+     * content of the message is the one already set on the message.
+     */
+    public void add(Message<?> message, ContentElement content) {
+        final Headers headers = new Headers(message);
+        final Object contentKey = contentKey(message, content);
+        final List<AID> receivers = receiversOf(message);
+
+        final List<Group> candidates = groupsByHeaders.computeIfAbsent(
+            headers,
+            h -> new ArrayList<>()
+        );
+        // Usually, the same content is sent several times in a row (e.g.,
+        // in a loop): the most recent groups are checked first.
+        for (int i = candidates.size() - 1; i >= 0; i--) {
+            final Group group = candidates.get(i);
+            if (group.accepts(contentKey, receivers)) {
+                group.receivers.addAll(receivers);
+                return;
+            }
+        }
+
+        final Group group = new Group(message, content, contentKey);
+        group.receivers.addAll(receivers);
+        candidates.add(group);
+        groups.add(group);
+    }
+
+
+    /**
+     * Sends all the messages of the batch, in the order of their first
+     * send, and empties the batch. The failure of a send does not prevent
+     * the others: the first exception is thrown at the end.
+     */
+    public void flush(
+        ContentManager contentManager,
+        Consumer<? super ACLMessage> sender
+    ) {
+        if (groups.isEmpty()) {
+            return;
+        }
+        final List<Group> toSend = new ArrayList<>(groups);
+        groups.clear();
+        groupsByHeaders.clear();
+
+        JadescriptException failure = null;
+        for (Group group : toSend) {
+            try {
+                sender.accept(group.prepare(contentManager));
+            } catch (Throwable t) {
+                if (failure == null) {
+                    failure = JadescriptException.wrap(t);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+
+    private static Object contentKey(
+        Message<?> message,
+        ContentElement content
+    ) {
+        if (content != null) {
+            return content;
+        }
+        if (message.hasByteSequenceContent()) {
+            final byte[] bytes = message.getByteSequenceContent();
+            return bytes == null ? null : ByteBuffer.wrap(bytes);
+        }
+        return message.getContent();
+    }
+
+
+    private static List<AID> receiversOf(ACLMessage message) {
+        final List<AID> result = new ArrayList<>();
+        final Iterator<?> it = message.getAllReceiver();
+        while (it.hasNext()) {
+            result.add((AID) it.next());
+        }
+        return result;
+    }
+
+
+    private static final class Group {
+
+        private final Message<?> message;
+        private final ContentElement content;
+        private final Object contentKey;
+        private final Set<AID> receivers = new LinkedHashSet<>();
+
+
+        private Group(
+            Message<?> message,
+            ContentElement content,
+            Object contentKey
+        ) {
+            this.message = message;
+            this.content = content;
+            this.contentKey = contentKey;
+        }
+
+
+        private boolean accepts(Object otherContentKey, List<AID> others) {
+            // The groups with the same headers are few: contents are
+            // compared with equals only.
+            if (contentKey != otherContentKey
+                && (contentKey == null
+                || !contentKey.equals(otherContentKey))) {
+                return false;
+            }
+            for (AID other : others) {
+                if (receivers.contains(other)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+
+        private ACLMessage prepare(ContentManager contentManager)
+            throws Codec.CodecException, OntologyException {
+            message.clearAllReceiver();
+            for (AID receiver : receivers) {
+                message.addReceiver(receiver);
+            }
+            if (content != null) {
+                message.__fillContent(contentManager, content);
+            }
+            return message;
+        }
+
+    }
+
+    /*
+     The headers which must be equal for two messages to be merged.
+     */
+    private static final class Headers {
+
+        private final int performative;
+        private final List<Object> values;
+
+
+        private Headers(ACLMessage message) {
+            this.performative = message.getPerformative();
+            final List<Object> replyTo = new ArrayList<>();
+            final Iterator<?> it = message.getAllReplyTo();
+            while (it.hasNext()) {
+                replyTo.add(it.next());
+            }
+            this.values = Arrays.asList(
+                message.getSender(),
+                message.getLanguage(),
+                message.getOntology(),
+                message.getEncoding(),
+                message.getProtocol(),
+                message.getConversationId(),
+                message.getInReplyTo(),
+                message.getReplyWith(),
+                message.getReplyByDate(),
+                replyTo,
+                message.getAllUserDefinedParameters(),
+                message.getEnvelope()
+            );
+        }
+
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Headers)) {
+                return false;
+            }
+            final Headers other = (Headers) o;
+            return performative == other.performative
+                && values.equals(other.values);
+        }
+
+
+        @Override
+        public int hashCode() {
+            return 31 * performative + values.hashCode();
+        }
+
+    }
+
+}
@@ -6,10 +6,18 @@ import jade.content.onto.Ontology;
 import jadescript.content.JadescriptPredicate;
 import jadescript.content.JadescriptProposition;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public class NativeEvent implements Predicate {
+    private static final AtomicLong nextSequence = new AtomicLong();
+
     private JadescriptProposition content;
     private Ontology ontology;
 
+    // Creation order of the event, used to deliver the events emitted
+    // through different paths in the order they were emitted.
+    private final transient long sequence = nextSequence.getAndIncrement();
+
     public NativeEvent() {
     }
 
@@ -18,6 +26,10 @@ public class NativeEvent implements Predicate {
         this.ontology = ontology;
     }
 
+    public long __getSequence() {
+        return sequence;
+    }
+
     public JadescriptProposition getContent() {
         return content;
     }
@@ -0,0 +1,90 @@
+package jadescript.core.nativeevent;
+
+/**
+ * Entry point for native events emitted by Java code towards an agent.
+ * It is registered by Jadescript agents as O2A interface, and it is used by
+ * {@link jadescript.java.JadescriptAgentController}.
+ */
+public interface NativeEventIngress {
+
+    enum OverflowPolicy {
+        /**
+         * The producer waits until there is room in the queue
+         * (non-blocking offers are rejected). Events emitted by the agent
+         * towards itself are dropped instead, since the agent cannot wait
+         * for itself.
+         */
+        BLOCK,
+        /**
+         * The oldest event in the queue is dropped to make room.
+         */
+        DROP_OLDEST,
+        /**
+         * The new event is dropped.
+         */
+        DROP_NEWEST,
+        /**
+         * While an event with the same type (i.e., with content of the same
+         * class) is pending, the new event replaces it, keeping its
+         * position in the queue; this happens also when the queue is not
+         * full. Otherwise, the new event is added to the queue if there is
+         * room, and dropped if the queue is full.
+         */
+        COALESCE
+    }
+
+
+    /**
+     * Adds the event to the queue, without ever blocking.
+     *
+     * @return true if the event was accepted (also by replacing a pending
+     * event with the same type), false if it was dropped.
+     */
+    boolean offer(NativeEvent event);
+
+
+    /**
+     * Adds the event to the queue. With the {@link OverflowPolicy#BLOCK}
+     * policy, waits until there is room in the queue (unless invoked by the
+     * thread of the agent itself); otherwise, behaves like
+     * {@link #offer(NativeEvent)}.
+     *
+     * @return true if the event was accepted, false if it was dropped.
+     */
+    boolean put(NativeEvent event) throws InterruptedException;
+
+
+    int getDepth();
+
+
+    int getCapacity();
+
+
+    void setCapacity(int capacity);
+
+
+    OverflowPolicy getOverflowPolicy();
+
+
+    void setOverflowPolicy(OverflowPolicy overflowPolicy);
+
+
+    long getAcceptedCount();
+
+
+    long getDroppedCount();
+
+
+    long getCoalescedCount();
+
+
+    /**
+     * Average time spent by producers to enqueue an event (including the
+     * time spent waiting, with the {@link OverflowPolicy#BLOCK} policy).
+     */
+    long getAverageEnqueueLatencyNanos();
+
+
+    long getMaxEnqueueLatencyNanos();
+
+}
@@ -0,0 +1,289 @@
+package jadescript.core.nativeevent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounded queue of native events, filled by Java code (see
+ * {@link jadescript.java.JadescriptAgentController#emit}) and consumed by
+ * the native event manager of the agent.
+ * It is the implementation of the {@link NativeEventIngress} registered by
+ * Jadescript agents.
+ * <p>
+ * When the queue is full, the behaviour depends on the
+ * {@link OverflowPolicy}. The queue also keeps some counters (depth, drops,
+ * enqueue latency) that can be used to monitor the ingress of native events.
+ * <p>
+ * The thread which consumes the events (i.e., the thread of the agent) is
+ * set when the agent creates the queue (see {@link #setConsumer(Thread)}),
+ * and recorded again at each {@link #poll()}: when it emits events towards
+ * its own agent, {@link #put(NativeEvent)} never waits for room in the
+ * queue, since nobody else would make it; the events which do not fit are
+ * dropped.
+ * <p>
+ * The queue is safe to use from any thread.
+ */
+public class NativeEventQueue implements NativeEventIngress {
+
+    private final Deque<Slot> queue = new ArrayDeque<>();
+    private final Map<Class<?>, Slot> pendingByType = new HashMap<>();
+    private final Runnable onEnqueue;
+
+    private int capacity;
+    private OverflowPolicy overflowPolicy;
+    private Thread consumer = null;
+
+    private long acceptedCount = 0;
+    private long droppedCount = 0;
+    private long coalescedCount = 0;
+    private long totalEnqueueNanos = 0;
+    private long maxEnqueueNanos = 0;
+
+
+    /**
+     * @param capacity       maximum number of pending events (0 means
+     *                       unbounded)
+     * @param overflowPolicy what to do when the queue is full
+     * @param onEnqueue      invoked (outside the lock of the queue) each time
+     *                       an event is accepted, typically to wake up the
+     *                       consumer
+     */
+    public NativeEventQueue(
+        int capacity,
+        OverflowPolicy overflowPolicy,
+        Runnable onEnqueue
+    ) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                "Invalid native event queue capacity: " + capacity
+            );
+        }
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.onEnqueue = onEnqueue;
+    }
+
+
+    @Override
+    public boolean offer(NativeEvent event) {
+        final long start = System.nanoTime();
+        final boolean accepted;
+        synchronized (this) {
+            accepted = enqueue(event);
+            recordLatency(start);
+        }
+        if (accepted && onEnqueue != null) {
+            onEnqueue.run();
+        }
+        return accepted;
+    }
+
+
+    @Override
+    public boolean put(NativeEvent event) throws InterruptedException {
+        final long start = System.nanoTime();
+        final boolean accepted;
+        synchronized (this) {
+            // The consumer cannot wait for itself to make room.
+            final boolean mayWait = Thread.currentThread() != consumer;
+            while (mayWait
+                && overflowPolicy == OverflowPolicy.BLOCK
+                && isFull()) {
+                wait();
+            }
+            accepted = enqueue(event);
+            recordLatency(start);
+        }
+        if (accepted && onEnqueue != null) {
+            onEnqueue.run();
+        }
+        return accepted;
+    }
+
+
+    /**
+     * Sets the thread which consumes the events, before it polls them for
+     * the first time (e.g., the events emitted by the agent to itself in its
+     * setup).
+     */
+    public synchronized void setConsumer(Thread consumer) {
+        this.consumer = consumer;
+        notifyAll();
+    }
+
+
+    /**
+     * Removes and returns the oldest event in the queue, or null if the
+     * queue is empty. It is meant to be invoked only by the consumer of the
+     * events.
+     */
+    public synchronized NativeEvent poll() {
+        consumer = Thread.currentThread();
+        return removeFirst();
+    }
+
+
+    @Override
+    public synchronized int getDepth() {
+        return queue.size();
+    }
+
+
+    @Override
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+
+    @Override
+    public synchronized void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                "Invalid native event queue capacity: " + capacity
+            );
+        }
+        this.capacity = capacity;
+        notifyAll();
+    }
+
+
+    @Override
+    public synchronized OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+
+    @Override
+    public synchronized void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+        notifyAll();
+    }
+
+
+    @Override
+    public synchronized long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+
+    @Override
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+
+    @Override
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+
+    @Override
+    public synchronized long getAverageEnqueueLatencyNanos() {
+        final long attempts = acceptedCount + droppedCount + coalescedCount;
+        return attempts == 0 ? 0 : totalEnqueueNanos / attempts;
+    }
+
+
+    @Override
+    public synchronized long getMaxEnqueueLatencyNanos() {
+        return maxEnqueueNanos;
+    }
+
+
+    @Override
+    public synchronized String toString() {
+        return "NativeEventQueue{" +
+            "depth=" + queue.size() +
+            ", capacity=" + capacity +
+            ", overflowPolicy=" + overflowPolicy +
+            ", accepted=" + acceptedCount +
+            ", dropped=" + droppedCount +
+            ", coalesced=" + coalescedCount +
+            '}';
+    }
+
+
+    private boolean isFull() {
+        return capacity > 0 && queue.size() >= capacity;
+    }
+
+
+    private boolean enqueue(NativeEvent event) {
+        final Class<?> type = typeOf(event);
+
+        if (overflowPolicy == OverflowPolicy.COALESCE) {
+            final Slot pending = pendingByType.get(type);
+            if (pending != null) {
+                pending.event = event;
+                coalescedCount++;
+                return true;
+            }
+        }
+
+        if (isFull()) {
+            switch (overflowPolicy) {
+                case DROP_OLDEST:
+                    removeFirst();
+                    droppedCount++;
+                    break;
+                case BLOCK:
+                case DROP_NEWEST:
+                case COALESCE:
+                default:
+                    droppedCount++;
+                    return false;
+            }
+        }
+
+        final Slot slot = new Slot(event);
+        queue.addLast(slot);
+        pendingByType.put(type, slot);
+        acceptedCount++;
+        return true;
+    }
+
+
+    private NativeEvent removeFirst() {
+        final Slot slot = queue.pollFirst();
+        if (slot == null) {
+            return null;
+        }
+        final Class<?> type = typeOf(slot.event);
+        if (pendingByType.get(type) == slot) {
+            pendingByType.remove(type);
+        }
+        notifyAll();
+        return slot.event;
+    }
+
+
+    private void recordLatency(long start) {
+        final long elapsed = System.nanoTime() - start;
+        totalEnqueueNanos += elapsed;
+        if (elapsed > maxEnqueueNanos) {
+            maxEnqueueNanos = elapsed;
+        }
+    }
+
+
+    private static Class<?> typeOf(NativeEvent event) {
+        final Object content = event.getContent();
+        return content == null ? NativeEvent.class : content.getClass();
+    }
+
+
+    private static final class Slot {
+
+        private NativeEvent event;
+
+
+        private Slot(NativeEvent event) {
+            this.event = event;
+        }
+
+    }
+
+}
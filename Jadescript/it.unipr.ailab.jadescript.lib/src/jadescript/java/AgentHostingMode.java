@@ -0,0 +1,25 @@
+package jadescript.java;
+
+/**
+ * How the agents started in a container are mapped to threads
+ * (see {@link AgentHostingProfile}).
+ */
+public enum AgentHostingMode {
+    /**
+     * Each agent runs on its own platform thread, created by JADE (default).
+     */
+    PLATFORM_THREADS,
+    /**
+     * Each agent runs on its own platform thread, with a reduced stack size
+     * (see {@link AgentHostingProfile#AGENT_THREAD_STACK_SIZE}).
+     */
+    COMPACT_THREADS,
+    /**
+     * Each agent runs on its own virtual thread, so that idle agents do not
+     * hold an OS thread. Virtual threads are available from Java 21; with
+     * older runtimes, this mode falls back to {@link #COMPACT_THREADS}.
+     * Agents waiting for events wait on a monitor: the waits release the
+     * carrier thread only from Java 24 (on Java 21-23, they pin it).
+     */
+    VIRTUAL_THREADS
+}
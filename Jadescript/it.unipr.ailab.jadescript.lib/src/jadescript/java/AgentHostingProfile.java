@@ -0,0 +1,70 @@
+package jadescript.java;
+
+import jade.core.ProfileException;
+import jade.core.ProfileImpl;
+import jade.core.ResourceManager;
+
+/**
+ * Profile for containers whose agents are hosted according to an
+ * {@link AgentHostingMode}.
+ * Only the threads of user agents are affected; the threads of system agents
+ * and of the platform are created by JADE as usual.
+ */
+public class AgentHostingProfile extends ProfileImpl {
+
+    /**
+     * Stack size (in bytes) of the agent threads in
+     * {@link AgentHostingMode#COMPACT_THREADS} mode.
+     */
+    public static final String AGENT_THREAD_STACK_SIZE =
+        "jadescript_agentThreadStackSize";
+
+    private final AgentHostingMode hostingMode;
+    private ResourceManager resourceManager = null;
+
+
+    public AgentHostingProfile(
+        String host,
+        int port,
+        String platformID,
+        boolean isMain,
+        AgentHostingMode hostingMode
+    ) {
+        super(host, port, platformID, isMain);
+        this.hostingMode = hostingMode;
+    }
+
+
+    public AgentHostingProfile(
+        String host,
+        int port,
+        String platformID,
+        AgentHostingMode hostingMode
+    ) {
+        super(host, port, platformID);
+        this.hostingMode = hostingMode;
+    }
+
+
+    public AgentHostingMode getHostingMode() {
+        return hostingMode;
+    }
+
+
+    @Override
+    public ResourceManager getResourceManager() throws ProfileException {
+        if (resourceManager == null) {
+            final ResourceManager jadeManager = super.getResourceManager();
+            if (hostingMode == AgentHostingMode.PLATFORM_THREADS) {
+                resourceManager = jadeManager;
+            } else {
+                resourceManager = new AgentHostingResourceManager(
+                    jadeManager,
+                    hostingMode
+                );
+            }
+        }
+        return resourceManager;
+    }
+
+}
@@ -0,0 +1,109 @@
+package jadescript.java;
+
+import jade.core.Profile;
+import jade.core.ResourceManager;
+import jade.util.Logger;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+
+/**
+ * Creates the threads of user agents according to an
+ * {@link AgentHostingMode}, delegating everything else to the resource
+ * manager of JADE.
+ */
+class AgentHostingResourceManager implements ResourceManager {
+
+    private static final long DEFAULT_STACK_SIZE = 256 * 1024;
+
+    private final Logger myLogger = Logger.getMyLogger(getClass().getName());
+
+    private final ResourceManager jadeManager;
+    private final AgentHostingMode hostingMode;
+    private ThreadFactory virtualThreads = null;
+    private long stackSize = DEFAULT_STACK_SIZE;
+
+
+    AgentHostingResourceManager(
+        ResourceManager jadeManager,
+        AgentHostingMode hostingMode
+    ) {
+        this.jadeManager = jadeManager;
+        this.hostingMode = hostingMode;
+    }
+
+
+    @Override
+    public void initialize(Profile p) {
+        jadeManager.initialize(p);
+
+        final String stackSizeValue = p.getParameter(
+            AgentHostingProfile.AGENT_THREAD_STACK_SIZE,
+            String.valueOf(DEFAULT_STACK_SIZE)
+        );
+        try {
+            stackSize = Long.parseLong(stackSizeValue.trim());
+        } catch (NumberFormatException e) {
+            myLogger.log(
+                Level.WARNING,
+                "Invalid value for " + AgentHostingProfile.AGENT_THREAD_STACK_SIZE
+                    + ": '" + stackSizeValue + "'. Using "
+                    + DEFAULT_STACK_SIZE + "."
+            );
+            stackSize = DEFAULT_STACK_SIZE;
+        }
+
+        if (hostingMode == AgentHostingMode.VIRTUAL_THREADS) {
+            virtualThreads = createVirtualThreadFactory();
+            if (virtualThreads == null) {
+                myLogger.log(
+                    Level.WARNING,
+                    "Virtual threads are not supported by this Java runtime;"
+                        + " agents will run on compact platform threads."
+                );
+            }
+        }
+    }
+
+
+    @Override
+    public Thread getThread(int type, String name, Runnable r) {
+        if (type != USER_AGENTS) {
+            return jadeManager.getThread(type, name, r);
+        }
+
+        final Thread thread;
+        if (virtualThreads != null) {
+            thread = virtualThreads.newThread(r);
+        } else {
+            thread = new Thread(null, r, name, stackSize);
+        }
+        thread.setName(name);
+        return thread;
+    }
+
+
+    @Override
+    public void releaseResources() {
+        jadeManager.releaseResources();
+    }
+
+
+    /*
+     Equivalent to Thread.ofVirtual().factory(), which cannot be referenced
+     directly since the library targets Java 11.
+     Returns null if virtual threads are not available.
+     */
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual")
+                .invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                .getMethod("factory")
+                .invoke(builder);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            return null;
+        }
+    }
+
+}
@@ -16,8 +16,9 @@ import jadescript.util.types.JadescriptTypeException;
 import jadescript.util.types.JadescriptTypeReference;
 import jadescript.util.types.JadescriptValueAdapter;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandles;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Entry point for the Java-Jadescript interoperability API.
@@ -73,25 +74,43 @@ public class Jadescript {
         }else if(type.equals(jadescript.core.behaviours.OneShotBehaviour.class)
         || type.equals(jadescript.core.behaviours.OneShot.class)){
             return (T) jadescript.core.behaviours.OneShotBehaviour.__createEmpty();
-        }else if(jadescript.core.behaviours.Behaviour.class.isAssignableFrom(type)){
-            try {
-                return (T) type.getDeclaredMethod("__createEmpty").invoke(null);
-            } catch (NoSuchMethodException| InvocationTargetException|IllegalAccessException e) {
-                e.printStackTrace();
-                return null;
-            }
-        }else if(jade.content.onto.Ontology.class.isAssignableFrom(type)) {
-            try {
-                return (T) type.getDeclaredMethod("getInstance").invoke(null);
-            }catch (NoSuchMethodException| InvocationTargetException|IllegalAccessException e) {
-                e.printStackTrace();
-                return null;
-            }
+        }else if(jadescript.core.behaviours.Behaviour.class.isAssignableFrom(type)
+        || jade.content.onto.Ontology.class.isAssignableFrom(type)){
+            return (T) emptyValueFactories.get(type).get();
         }else{
             return (T) bindingsManager.create(type);
         }
     }
 
+    /*
+     Factories of the empty values of behaviours (their __createEmpty method)
+     and ontologies (their getInstance method), resolved once per class.
+     */
+    private static final ClassValue<Supplier<?>> emptyValueFactories =
+        new ClassValue<>() {
+            @Override
+            protected Supplier<?> computeValue(Class<?> type) {
+                final String factoryName =
+                    jadescript.core.behaviours.Behaviour.class
+                        .isAssignableFrom(type)
+                    ? "__createEmpty"
+                    : "getInstance";
+                try {
+                    return RuntimeBindingsManager.toSupplier(
+                        MethodHandles.lookup().unreflect(
+                            type.getDeclaredMethod(factoryName)
+                        ),
+                        type
+                    );
+                } catch (NoSuchMethodException | IllegalAccessException e) {
+                    return () -> {
+                        e.printStackTrace();
+                        return null;
+                    };
+                }
+            }
+        };
+
     public static Integer valueOf(int x){
         return asInteger(x);
     }
@@ -309,6 +328,18 @@ public class Jadescript {
         return rt.createMainContainer(p);
     }
 
+    public static ContainerController newMainContainer(String host, int port, String platformID, AgentHostingMode hostingMode){
+        Profile p = new AgentHostingProfile(host, port, platformID, true, hostingMode);
+        Runtime rt = Runtime.instance();
+        return rt.createMainContainer(p);
+    }
+
+    public static ContainerController newMainContainer(int port, AgentHostingMode hostingMode){
+        Profile p = new AgentHostingProfile(null, port, null, true, hostingMode);
+        Runtime rt = Runtime.instance();
+        return rt.createMainContainer(p);
+    }
+
 
     public static ContainerController newContainer(String host, int port, String platformID){
         Profile p = new ProfileImpl(host, port, platformID);
@@ -341,6 +372,18 @@ public class Jadescript {
         return rt.createAgentContainer(p);
     }
 
+    public static ContainerController newContainer(String host, int port, String platformID, AgentHostingMode hostingMode){
+        Profile p = new AgentHostingProfile(host, port, platformID, hostingMode);
+        Runtime rt = Runtime.instance();
+        return rt.createAgentContainer(p);
+    }
+
+    public static ContainerController newContainer(String host, int port, AgentHostingMode hostingMode){
+        Profile p = new AgentHostingProfile(host, port, null, hostingMode);
+        Runtime rt = Runtime.instance();
+        return rt.createAgentContainer(p);
+    }
+
     
 
 
@@ -7,11 +7,14 @@ import jadescript.content.JadescriptPredicate;
 import jadescript.content.JadescriptProposition;
 import jadescript.core.Agent;
 import jadescript.core.nativeevent.NativeEvent;
+import jadescript.core.nativeevent.NativeEventIngress;
 
 public class JadescriptAgentController {
 
     private final AgentController wrapped;
 
+    private volatile NativeEventIngress nativeEventIngress = null;
+
 
     JadescriptAgentController(AgentController wrapped) {
         this.wrapped = wrapped;
@@ -59,8 +62,70 @@ public class JadescriptAgentController {
         JadescriptProposition predicate,
         jade.content.onto.Ontology ontology
     ) {
+        final NativeEvent event = new NativeEvent(predicate, ontology);
+        final NativeEventIngress ingress = getNativeEventIngress();
+        if (ingress == null) {
+            // The agent is not set up yet, falling back to the O2A queue.
+            putO2AObject(event);
+            return;
+        }
+        try {
+            ingress.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JadescriptJavaAPIException(e);
+        }
+    }
+
+
+    /**
+     * Like {@link #emit(JadescriptProposition)}, but never blocks, even if
+     * the native event queue of the agent uses the
+     * {@link NativeEventIngress.OverflowPolicy#BLOCK} policy.
+     *
+     * @return true if the event was accepted by the agent.
+     */
+    public boolean tryEmit(JadescriptProposition predicate) {
+        return tryEmit(predicate, predicate.__getDeclaringOntology());
+    }
+
+
+    public boolean tryEmit(
+        JadescriptProposition predicate,
+        jade.content.onto.Ontology ontology
+    ) {
+        final NativeEvent event = new NativeEvent(predicate, ontology);
+        final NativeEventIngress ingress = getNativeEventIngress();
+        if (ingress == null) {
+            // The agent is not set up yet, falling back to the O2A queue.
+            putO2AObject(event);
+            return true;
+        }
+        return ingress.offer(event);
+    }
+
+
+    /**
+     * Returns the native event queue of the agent (to configure it or to
+     * read its counters), or null if the agent is not set up yet.
+     * The returned object is a proxy, which can be used from any thread.
+     */
+    public NativeEventIngress getNativeEventIngress() {
+        if (nativeEventIngress == null) {
+            try {
+                nativeEventIngress =
+                    wrapped.getO2AInterface(NativeEventIngress.class);
+            } catch (StaleProxyException e) {
+                throw new JadescriptJavaAPIException(e);
+            }
+        }
+        return nativeEventIngress;
+    }
+
+
+    private void putO2AObject(NativeEvent event) {
         try {
-            wrapped.putO2AObject(new NativeEvent(predicate, ontology), false);
+            wrapped.putO2AObject(event, false);
         } catch (StaleProxyException e) {
             throw new JadescriptJavaAPIException(e);
         }
@@ -4,12 +4,27 @@ package jadescript.java;
 import jadescript.content.onto.basic.InvalidNativeOperationInvocation;
 import jadescript.core.exception.JadescriptException;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.function.Supplier;
+
+/**
+ * Keeps the implementation classes bound to the native types.
+ * <p>
+ * The no-arg constructor of each implementation is resolved once, when the
+ * type is bound, into a {@link Supplier} (spun by {@link LambdaMetafactory}
+ * when possible), so creating a native value costs about as much as a direct
+ * {@code new}.
+ */
 public class RuntimeBindingsManager {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
     RuntimeBindingsManager() {
         //Only Jadescript class can create it
     }
@@ -18,11 +33,14 @@ public class RuntimeBindingsManager {
     private final Map<String, Class<?>> implementations
         = new ConcurrentHashMap<>();
 
+    private final Map<String, Supplier<?>> factories
+        = new ConcurrentHashMap<>();
+
     void bindNativeType(
         Class<?> interface_,
         Class<?> implementation
     ) {
-        this.implementations.put(interface_.getName(), implementation);
+        bindNativeType(interface_.getName(), implementation);
     }
 
     void bindNativeType(
@@ -30,17 +48,19 @@ public class RuntimeBindingsManager {
         Class<?> implementation
     ) {
         this.implementations.put(interfaceName, implementation);
+        this.factories.put(interfaceName, constructorOf(implementation));
     }
 
 
     @SuppressWarnings("unchecked")
     <T> T createOrNull(String interfaceName){
+        final Supplier<?> factory = this.factories.get(interfaceName);
+        if (factory == null) {
+            return null;
+        }
         try {
-            return (T) this.implementations.get(interfaceName)
-                .getDeclaredConstructor()
-                .newInstance();
-        } catch (NoSuchMethodException | InvocationTargetException |
-                 InstantiationException | IllegalAccessException e) {
+            return (T) factory.get();
+        } catch (Throwable e) {
             throw JadescriptException.wrap(e);
         }
     }
@@ -109,4 +129,69 @@ public class RuntimeBindingsManager {
     }
 
 
+    private static Supplier<?> constructorOf(Class<?> implementation) {
+        final MethodHandle constructor;
+        try {
+            constructor = LOOKUP.findConstructor(
+                implementation,
+                MethodType.methodType(void.class)
+            );
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // Reported when (and if) the type is instantiated
+            return () -> {
+                throw JadescriptException.wrap(e);
+            };
+        }
+        return toSupplier(constructor, implementation);
+    }
+
+
+    /**
+     * Converts a direct handle to a constructor or to a static factory
+     * method without parameters, declared in the given class, into a
+     * {@link Supplier}.
+     * A lambda is spun when the class is visible from this library;
+     * otherwise, the supplier invokes the handle.
+     */
+    static Supplier<?> toSupplier(MethodHandle factory, Class<?> owner) {
+        if (isVisible(owner)) {
+            try {
+                final CallSite site = LambdaMetafactory.metafactory(
+                    LOOKUP,
+                    "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    factory,
+                    factory.type()
+                );
+                return (Supplier<?>) site.getTarget().invokeExact();
+            } catch (Throwable ignored) {
+                // Falls back to the handle
+            }
+        }
+        final MethodHandle generic =
+            factory.asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return generic.invokeExact();
+            } catch (Throwable e) {
+                throw JadescriptException.wrap(e);
+            }
+        };
+    }
+
+
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(
+                type.getName(),
+                false,
+                RuntimeBindingsManager.class.getClassLoader()
+            ) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+
 }
@@ -2,36 +2,51 @@ package jadescript.lang;
 
 import jadescript.content.JadescriptConcept;
 
-import java.util.function.BiFunction;
-import java.util.function.BinaryOperator;
-
+/**
+ * Duration of the Jadescript language, with the precision of milliseconds.
+ * <p>
+ * The duration is kept as a single non-negative number of milliseconds, on
+ * which the arithmetic is performed directly. The ontology schema still
+ * describes it with the slots "secondsA" and "secondsB" (the two halves of
+ * the seconds) and "millis": their values are computed from the number of
+ * milliseconds when they are read. When they are written, they are kept
+ * aside until all three are set, and then combined into it.
+ */
 public class Duration implements Comparable<Duration>, JadescriptConcept {
 
-    private int secondsA = 0;
-    private int secondsB = 0;
-    private int millis = 0;
+    private static final int SECONDS_A_SET = 1;
+    private static final int SECONDS_B_SET = 2;
+    private static final int MILLIS_SET = 4;
+    private static final int ALL_SPLIT_SLOTS_SET =
+        SECONDS_A_SET | SECONDS_B_SET | MILLIS_SET;
+
+    private long totalMillis = 0L;
+
+    /*
+     Slots written by the content manager extractor, waiting for the others.
+     */
+    private transient int splitSecondsA = 0;
+    private transient int splitSecondsB = 0;
+    private transient int splitMillis = 0;
+    private transient int splitSlotsSet = 0;
 
     public Duration() {
     }
 
+    private Duration(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
     public static Duration of(long totalMillis) {
-        long seconds = totalMillis / 1000L;
-        int millisOffset = (int) (totalMillis % 1000);
-        return of(seconds, millisOffset);
+        return new Duration(checkNotNegative(totalMillis));
     }
 
     public static Duration of(long seconds, int millisOffset) {
-        Duration r = new Duration();
-        r.fromLong(seconds, millisOffset);
-        r.validate();
-        return r;
+        return of(Math.addExact(Math.multiplyExact(seconds, 1000L), millisOffset));
     }
 
     public static Duration fromJavaDuration(java.time.Duration duration) {
-        Duration d = new Duration();
-        d.fromLong(duration.getSeconds(), duration.getNano() / 1_000_000);
-        d.validate();
-        return d;
+        return of(duration.getSeconds(), duration.getNano() / 1_000_000);
     }
 
     public static Duration fromString(String s) {
@@ -47,26 +62,15 @@ public class Duration implements Comparable<Duration>, JadescriptConcept {
     }
 
     public static Duration multiply(Duration d, int i) {
-        final long seconds = d.getSecondsLong();
-        final int millis = d.getMillis();
-        return Duration.of(seconds * i + millis / 1_000, millis % 1_000);
+        return of(Math.multiplyExact(d.totalMillis, (long) i));
     }
 
     public static Duration multiply(int i, Duration d) {
-        final long seconds = d.getSecondsLong();
-        final int millis = d.getMillis();
-        return Duration.of(seconds * i + millis / 1_000, millis % 1_000);
+        return multiply(d, i);
     }
 
     public static Duration multiply(Duration d, double i) {
-        final long seconds = d.getSecondsLong();
-        final int millis = d.getMillis();
-        final double secondsDouble = seconds * i;
-        double millisDouble = millis * i;
-        final double overFlow = (secondsDouble - Math.floor(secondsDouble)) * 1000.0;
-        millisDouble += overFlow;
-
-        return Duration.of((long) secondsDouble + ((long) millisDouble) / 1000, ((int) millisDouble) % 1000);
+        return of((long) (d.totalMillis * i));
     }
 
     public static Duration multiply(double i, Duration d) {
@@ -77,17 +81,7 @@ public class Duration implements Comparable<Duration>, JadescriptConcept {
         if (i == 0) {
             throw new ArithmeticException("Division by zero");
         }
-        final long seconds = d.getSecondsLong();
-        final int millis = d.getMillis();
-        final double secondsDouble = seconds / i;
-        double millisDouble = millis / i;
-        final double overFlow = (secondsDouble - Math.floor(secondsDouble)) * 1000.0;
-        millisDouble += overFlow;
-
-        final long secondsResult = (long) secondsDouble + ((long) millisDouble) / 1000;
-        final int millisResult = ((int) millisDouble) % 1000;
-
-        return Duration.of(secondsResult, millisResult);
+        return of((long) (d.totalMillis / i));
     }
 
     public static Duration divide(Duration d, int i) {
@@ -95,9 +89,7 @@ public class Duration implements Comparable<Duration>, JadescriptConcept {
     }
 
     public static double divide(Duration d1, Duration d2) {
-        final double v1 = d1.getSecondsLong() + d1.getMillis() / 1000.0;
-        final double v2 = d2.getSecondsLong() + d2.getMillis() / 1000.0;
-        return v1 / v2;
+        return ((double) d1.totalMillis) / d2.totalMillis;
     }
 
     public static int compare(Duration d1, Duration d2) {
@@ -110,65 +102,95 @@ public class Duration implements Comparable<Duration>, JadescriptConcept {
     }
 
     public void validate() {
-        if (secondsA < 0 || secondsB < 0 || millis < 0) {
+        checkNotNegative(totalMillis);
+    }
+
+    private static long checkNotNegative(long totalMillis) {
+        if (totalMillis < 0) {
             throw new NegativeDurationException();
         }
+        return totalMillis;
+    }
+
+    /**
+     * Returns the length of this duration in milliseconds.
+     */
+    public long toMillis() {
+        return totalMillis;
     }
 
     public int getSecondsA() {
-        return secondsA;
+        return (int) (getSecondsLong() >> 32);
     }
 
+    /**
+     * NOTE: this should be used only in conjunction with setSecondsB and
+     * setMillis by the ContentManager extractor. The duration changes when
+     * all three are set.
+     */
     public void setSecondsA(int secondsA) {
-        this.secondsA = secondsA;
+        this.splitSecondsA = secondsA;
+        splitSlotSet(SECONDS_A_SET);
     }
 
     public int getSecondsB() {
-        return secondsB;
+        return (int) getSecondsLong();
     }
 
+    /**
+     * NOTE: this should be used only in conjunction with setSecondsA and
+     * setMillis by the ContentManager extractor. The duration changes when
+     * all three are set.
+     */
     public void setSecondsB(int secondsB) {
-        this.secondsB = secondsB;
+        this.splitSecondsB = secondsB;
+        splitSlotSet(SECONDS_B_SET);
     }
 
     public long getSecondsLong() {
-        return (long) secondsA << 32 | secondsB & 0xFFFFFFFFL;
+        return totalMillis / 1000L;
     }
 
-    private void fromLong(long x, int millis) {
-        this.secondsA = (int) (x >> 32);
-        this.secondsB = (int) x;
-        this.millis = millis;
-    }
-
-    private Duration binaryOp(Duration other, BinaryOperator<java.time.Duration> operator) {
-        java.time.Duration d1 = this.toJavaDuration();
-        java.time.Duration d2 = other.toJavaDuration();
-        final java.time.Duration r = operator.apply(d1, d2);
-        return Duration.of(r.getSeconds(), r.getNano() / 1_000_000);
+    private void splitSlotSet(int slot) {
+        splitSlotsSet |= slot;
+        if (splitSlotsSet == ALL_SPLIT_SLOTS_SET) {
+            splitSlotsSet = 0;
+            fromSplit(splitSecondsA, splitSecondsB, splitMillis);
+        }
     }
 
-    private <T> T binaryOp(Duration other, BiFunction<java.time.Duration, java.time.Duration, T> operator) {
-        java.time.Duration d1 = this.toJavaDuration();
-        java.time.Duration d2 = other.toJavaDuration();
-        return operator.apply(d1, d2);
+    /*
+     The lower half of the seconds is unsigned, while a negative upper half
+     or number of milliseconds is rejected. Values which do not fit in a
+     long number of milliseconds cause an ArithmeticException.
+     */
+    private void fromSplit(int secondsA, int secondsB, int millis) {
+        if (secondsA < 0 || millis < 0) {
+            throw new NegativeDurationException();
+        }
+        final long seconds = (long) secondsA << 32 | secondsB & 0xFFFFFFFFL;
+        this.totalMillis = Math.addExact(
+            Math.multiplyExact(seconds, 1000L),
+            millis
+        );
     }
 
     public java.time.Duration toJavaDuration() {
-        return java.time.Duration.ofSeconds(this.getSecondsLong(), this.millis * 1_000_000L);
+        return java.time.Duration.ofMillis(totalMillis);
     }
 
     public Duration minus(Duration other) {
-        return binaryOp(other, java.time.Duration::minus);
+        return of(this.totalMillis - other.totalMillis);
     }
 
     public Duration plus(Duration other) {
-        return binaryOp(other, java.time.Duration::plus);
+        // The sum of two durations is never negative, unless it overflows
+        return new Duration(Math.addExact(this.totalMillis, other.totalMillis));
     }
 
     @Override
     public int compareTo(Duration o) {
-        return binaryOp(o, java.time.Duration::compareTo);
+        return Long.compare(this.totalMillis, o.totalMillis);
     }
 
     public boolean g(Duration o) {
@@ -189,15 +211,13 @@ public class Duration implements Comparable<Duration>, JadescriptConcept {
 
     @Override
     public int hashCode() {
-        return this.toJavaDuration().hashCode();
+        return Long.hashCode(totalMillis);
     }
 
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof Duration) {
-            return this.toJavaDuration().equals(
-                    ((Duration) obj).toJavaDuration()
-            );
+            return this.totalMillis == ((Duration) obj).totalMillis;
         } else {
             return false;
         }
@@ -209,11 +229,17 @@ public class Duration implements Comparable<Duration>, JadescriptConcept {
     }
 
     public int getMillis() {
-        return millis;
+        return (int) (totalMillis % 1000L);
     }
 
+    /**
+     * NOTE: this should be used only in conjunction with setSecondsA and
+     * setSecondsB by the ContentManager extractor. The duration changes
+     * when all three are set.
+     */
     public void setMillis(int millis) {
-        this.millis = millis;
+        this.splitMillis = millis;
+        splitSlotSet(MILLIS_SET);
     }
 
     public interface DurationValidationResult {
@@ -6,28 +6,41 @@ import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.ChronoField;
+import java.time.zone.ZoneRules;
 import java.util.*;
 
 import static java.time.format.DateTimeFormatter.*;
 
+/**
+ * Timestamp of the Jadescript language: an instant, as milliseconds from the
+ * epoch, with the offset (in minutes) of the time zone in which it is
+ * represented.
+ * <p>
+ * Comparisons, equality and hashing work on the two numbers only. Two
+ * timestamps are equal when they represent the same instant with the same
+ * offset; the ones with the same instant are sorted by offset (as for
+ * {@link ZonedDateTime}). In the ontology, the instant is still exchanged as
+ * a {@link Date} (see
+ * {@link jadescript.content.onto.BaseOntologyIntrospector}).
+ */
 public class Timestamp implements Comparable<Timestamp>, JadescriptConcept {
 
-    private Date date;
+    private long epochMillis;
     private int zoneOffset; // offset in minutes
 
     public Timestamp() {
-        this.date = new Date();
+        this.epochMillis = System.currentTimeMillis();
         this.zoneOffset = 0;
     }
 
-    private Timestamp(Date date, int zoneOffset) {
-        this.date = date;
+    private Timestamp(long epochMillis, int zoneOffset) {
+        this.epochMillis = epochMillis;
         this.zoneOffset = zoneOffset;
     }
 
 
     private Timestamp(ZonedDateTime zdt) {
-        this.date = new Date(getEpochMillisFromZDT(zdt));
+        this.epochMillis = getEpochMillisFromZDT(zdt);
         this.zoneOffset = getZoneOffsetMinutesFromZDT(zdt);
     }
 
@@ -40,12 +53,27 @@ public class Timestamp implements Comparable<Timestamp>, JadescriptConcept {
         return zdt.getOffset().getTotalSeconds() / 60;
     }
 
+    /*
+     Offset of the default time zone at the given instant, in minutes.
+     */
+    private static int systemZoneOffset(long epochMillis) {
+        final ZoneRules rules = ZoneId.systemDefault().getRules();
+        final ZoneOffset offset = rules.isFixedOffset()
+                ? rules.getOffset(Instant.EPOCH)
+                : rules.getOffset(Instant.ofEpochMilli(epochMillis));
+        return offset.getTotalSeconds() / 60;
+    }
+
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
     public Date getDate() {
-        return date;
+        return new Date(epochMillis);
     }
 
     public void setDate(Date date) {
-        this.date = date;
+        this.epochMillis = date == null ? 0L : date.getTime();
     }
 
     public int getZoneOffset() {
@@ -58,13 +86,19 @@ public class Timestamp implements Comparable<Timestamp>, JadescriptConcept {
 
     @Override
     public int compareTo(Timestamp o) {
-        return this.toZonedDateTime().compareTo(o.toZonedDateTime());
+        final int byInstant = Long.compare(this.epochMillis, o.epochMillis);
+        if (byInstant != 0) {
+            return byInstant;
+        }
+        return Integer.compare(this.zoneOffset, o.zoneOffset);
     }
 
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof Timestamp) {
-            return this.toZonedDateTime().equals(((Timestamp) obj).toZonedDateTime());
+            final Timestamp other = (Timestamp) obj;
+            return this.epochMillis == other.epochMillis
+                    && this.zoneOffset == other.zoneOffset;
         } else {
             return super.equals(obj);
         }
@@ -72,7 +106,7 @@ public class Timestamp implements Comparable<Timestamp>, JadescriptConcept {
 
     @Override
     public int hashCode() {
-        return this.toZonedDateTime().hashCode();
+        return 31 * Long.hashCode(epochMillis) + zoneOffset;
     }
 
     @Override
@@ -122,13 +156,13 @@ public class Timestamp implements Comparable<Timestamp>, JadescriptConcept {
 
     public ZonedDateTime toZonedDateTime() {
         return ZonedDateTime.ofInstant(
-                date.toInstant(),
+                Instant.ofEpochMilli(epochMillis),
                 ZoneOffset.ofTotalSeconds(zoneOffset * 60)
         );
     }
 
     private String toDebugString() {
-        return this.getDate().getTime() + "z" + this.zoneOffset;
+        return this.epochMillis + "z" + this.zoneOffset;
     }
 
 
@@ -154,7 +188,8 @@ public class Timestamp implements Comparable<Timestamp>, JadescriptConcept {
     }
 
     public static Timestamp now() {
-        return new Timestamp(ZonedDateTime.now());
+        final long millis = System.currentTimeMillis();
+        return new Timestamp(millis, systemZoneOffset(millis));
     }
 
     public static Timestamp today() {
@@ -162,15 +197,15 @@ public class Timestamp implements Comparable<Timestamp>, JadescriptConcept {
     }
 
     public static Timestamp unixStart() {
-        return new Timestamp(ZonedDateTime.ofInstant(Instant.EPOCH, ZoneId.systemDefault()));
+        return new Timestamp(0L, systemZoneOffset(0L));
     }
 
     public static Timestamp fromEpochMillis(long millis) {
-        return new Timestamp(ZonedDateTime.ofInstant(Instant.EPOCH, ZoneId.systemDefault()));
+        return new Timestamp(millis, systemZoneOffset(millis));
     }
 
     public static Timestamp fromEpochMillis(long millis, int zoneOffsetMinutes) {
-        return new Timestamp(ZonedDateTime.ofInstant(Instant.EPOCH, ZoneOffset.ofTotalSeconds(zoneOffsetMinutes * 60)));
+        return new Timestamp(millis, zoneOffsetMinutes);
     }
 
     private static LocalDateTime dateToLocalDateTime(Date date) {
@@ -193,15 +228,11 @@ public class Timestamp implements Comparable<Timestamp>, JadescriptConcept {
 
 
     public static Duration subtract(Timestamp t1, Timestamp t2) {
-        ZonedDateTime z1 = t1.toZonedDateTime();
-        ZonedDateTime z2 = t2.toZonedDateTime();
-        return Duration.fromJavaDuration(java.time.Duration.between(z2, z1));
+        return Duration.of(t1.epochMillis - t2.epochMillis);
     }
 
     public static Timestamp plus(Timestamp t, Duration d) {
-        ZonedDateTime z = t.toZonedDateTime();
-        java.time.Duration jd = d.toJavaDuration();
-        return fromZonedDateTime(z.plus(jd));
+        return new Timestamp(t.epochMillis + d.toMillis(), t.zoneOffset);
     }
 
     public static Timestamp plus(Duration d, Timestamp t) {
@@ -209,9 +240,7 @@ public class Timestamp implements Comparable<Timestamp>, JadescriptConcept {
     }
 
     public static Timestamp minus(Timestamp t, Duration d) {
-        ZonedDateTime z = t.toZonedDateTime();
-        java.time.Duration jd = d.toJavaDuration();
-        return fromZonedDateTime(z.minus(jd));
+        return new Timestamp(t.epochMillis - d.toMillis(), t.zoneOffset);
     }
 
 
@@ -224,7 +253,7 @@ public class Timestamp implements Comparable<Timestamp>, JadescriptConcept {
     }
 
     public static Timestamp fromDate(Date date) {
-        return new Timestamp(date, 0);
+        return new Timestamp(date.getTime(), 0);
     }
 
     public static Timestamp fromZonedDateTime(ZonedDateTime zdt) {
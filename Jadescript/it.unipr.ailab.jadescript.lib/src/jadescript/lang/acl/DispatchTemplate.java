@@ -0,0 +1,67 @@
+package jadescript.lang.acl;
+
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+
+/**
+ * Message template which exposes its static performative constraint so that
+ * the inbox of the agent can offer it only the messages with that
+ * performative (see {@link jadescript.core.IndexedMessageQueue}).
+ * The remaining (dynamic) constraints are delegated to a wrapped template.
+ * When used with other message queues, it behaves like a plain template.
+ */
+public class DispatchTemplate extends MessageTemplate {
+
+    public static final int ANY_PERFORMATIVE = -2;
+
+    private final int performative;
+    private final MessageTemplate rest;
+
+
+    private DispatchTemplate(int performative, MessageTemplate rest) {
+        super((MessageTemplate.MatchExpression) msg -> true);
+        this.performative = performative;
+        this.rest = rest;
+    }
+
+
+    /**
+     * Creates a template with the specified performative constraint.
+     * Use {@link #ANY_PERFORMATIVE} to leave the performative unconstrained.
+     */
+    public static DispatchTemplate matchIndexed(
+        int performative,
+        MessageTemplate rest
+    ) {
+        return new DispatchTemplate(performative, rest);
+    }
+
+
+    public boolean constrainsPerformative() {
+        return performative != ANY_PERFORMATIVE;
+    }
+
+
+    public int getPerformative() {
+        return performative;
+    }
+
+
+    @Override
+    public boolean match(ACLMessage msg) {
+        if (constrainsPerformative() && msg.getPerformative() != performative) {
+            return false;
+        }
+        return rest == null || rest.match(msg);
+    }
+
+
+    @Override
+    public String toString() {
+        return "DispatchTemplate{" +
+            "performative=" + performative +
+            ", rest=" + rest +
+            '}';
+    }
+
+}
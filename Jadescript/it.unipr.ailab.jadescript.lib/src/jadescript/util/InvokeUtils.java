@@ -5,17 +5,74 @@ import jadescript.content.onto.basic.InvalidNativeOperationInvocation;
 import jadescript.core.exception.JadescriptException;
 
 import javax.lang.model.SourceVersion;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Reflective invocations of Java methods, used by the dynamic native calls
+ * (i.e., {@code do native [expr]}).
+ * <p>
+ * The methods are resolved only the first time they are invoked with a given
+ * signature (method name and runtime classes of the arguments); the result is
+ * kept in a cache as a {@link MethodHandle}, adapted to take the arguments as
+ * an array. Cache lookups do not lock; the cache is not bounded, since the
+ * signatures are determined by the invocations in the code of the agents.
+ * See {@link #metrics()} for the hit rate and the time spent resolving.
+ */
 public class InvokeUtils {
 
+    private static final MethodType INVOKER_TYPE =
+        MethodType.methodType(Object.class, Object[].class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final Map<InvocationKey, MethodHandle> nativeCache =
+        new ConcurrentHashMap<>();
+    private static final Map<InvocationKey, MethodHandle> staticCache =
+        new ConcurrentHashMap<>();
+    private static final Map<InvocationKey, MethodHandle> instanceCache =
+        new ConcurrentHashMap<>();
+
+    private static final Metrics metrics = new Metrics();
+
 
     public static Object executeNative(
         String fqMethodName,
         Object... arguments
+    ) {
+        final InvocationKey key = arguments == null
+            ? null
+            : new InvocationKey(fqMethodName, runtimeClasses(arguments));
+
+        MethodHandle invoker = key == null ? null : nativeCache.get(key);
+        if (invoker != null) {
+            metrics.hits.increment();
+        } else {
+            final long start = System.nanoTime();
+            invoker = resolveNative(fqMethodName, arguments);
+            if (key != null) {
+                nativeCache.putIfAbsent(key, invoker);
+            }
+            metrics.recordResolution(System.nanoTime() - start);
+        }
+
+        try {
+            return invoker.invokeExact(arguments);
+        } catch (Throwable e) {
+            throw JadescriptException.wrap(e);
+        }
+    }
+
+
+    private static MethodHandle resolveNative(
+        String fqMethodName,
+        Object[] arguments
     ) {
         if (fqMethodName == null) {
             throw new JadescriptException(
@@ -82,50 +139,27 @@ public class InvokeUtils {
 
         try {
             Class<?> aClass = Class.forName(classFQName);
-            final Method[] declaredMethods = aClass.getDeclaredMethods();
-
-            final Optional<Method> method = Arrays.stream(declaredMethods)
-                .filter(m -> Modifier.isStatic(m.getModifiers()))
-                // The method must have the same name
-                .filter(m -> Objects.equals(m.getName(), methodName))
-                // The method must have the same arity
-                .filter(m -> arguments != null
-                    && m.getParameterTypes().length == arguments.length)
-                // The method must have compatible types
-                .filter(m -> {
-                    Class<?>[] types = m.getParameterTypes();
-                    // Parameter type array and argument array are equal size
-                    for (int i = 0; i < types.length; i++) {
-                        // cannot pass null to a primitive parameter
-                        if (arguments[i] == null && types[i].isPrimitive()) {
-                            return false;
-                        }
-                        // cannot pass an incompatible type (null is always ok
-                        // for reference parameters)
-                        if (arguments[i] != null &&
-                            !types[i].isAssignableFrom(
-                                arguments[i].getClass()
-                            )) {
-                            return false;
-                        }
-                    }
-                    return true;
-                }).min(Comparator.comparing(
-                    Method::getReturnType,
-                    //select the method with most specific return type
-                    (r1, r2) -> {
-                        if (r1.isAssignableFrom(r2)) {
-                            return -1;
-                        } else if (r2.isAssignableFrom(r1)) {
-                            return +1;
-                        } else {
-                            return 0;
-                        }
-                    }
-                ));
-
-            if (method.isPresent()) {
-                return method.get().invoke(null, arguments);
+
+            Method method = null;
+            for (Method m : aClass.getDeclaredMethods()) {
+                if (!Modifier.isStatic(m.getModifiers())
+                    // The method must have the same name
+                    || !Objects.equals(m.getName(), methodName)
+                    // The method must have the same arity
+                    || arguments == null
+                    || m.getParameterCount() != arguments.length
+                    // The method must have compatible types
+                    || !areArgumentsCompatible(m, arguments)) {
+                    continue;
+                }
+                if (method == null
+                    || compareReturnTypes(method, m) > 0) {
+                    method = m;
+                }
+            }
+
+            if (method != null) {
+                return toInvoker(method);
             }
 
             throw new JadescriptException(
@@ -146,8 +180,47 @@ public class InvokeUtils {
         } catch (Throwable e) {
             throw JadescriptException.wrap(e);
         }
+    }
+
+
+    private static boolean areArgumentsCompatible(
+        Method m,
+        Object[] arguments
+    ) {
+        Class<?>[] types = m.getParameterTypes();
+        // Parameter type array and argument array are equal size
+        for (int i = 0; i < types.length; i++) {
+            // cannot pass null to a primitive parameter
+            if (arguments[i] == null && types[i].isPrimitive()) {
+                return false;
+            }
+            // cannot pass an incompatible type (null is always ok
+            // for reference parameters)
+            if (arguments[i] != null &&
+                !types[i].isAssignableFrom(
+                    arguments[i].getClass()
+                )) {
+                return false;
+            }
+        }
+        return true;
+    }
 
 
+    /*
+     Selects among two candidates by their return types (the first one is
+     kept if the result is not positive).
+     */
+    private static int compareReturnTypes(Method m1, Method m2) {
+        final Class<?> r1 = m1.getReturnType();
+        final Class<?> r2 = m2.getReturnType();
+        if (r1.isAssignableFrom(r2)) {
+            return -1;
+        } else if (r2.isAssignableFrom(r1)) {
+            return +1;
+        } else {
+            return 0;
+        }
     }
 
 
@@ -159,12 +232,26 @@ public class InvokeUtils {
     ) {
         Object result = null;
         try {
-            Class<?> aClass = Class.forName(className);
-            Method declaredMethod = aClass.getDeclaredMethod(methodName,
-                argsTypes.toArray(new Class[0]));
-            result = declaredMethod.invoke(null, args);
-        } catch (ClassNotFoundException | IllegalAccessException
-                 | InvocationTargetException | NoSuchMethodException e) {
+            final InvocationKey key = new InvocationKey(
+                className + "." + methodName,
+                argsTypes.toArray(new Class<?>[0])
+            );
+            MethodHandle invoker = staticCache.get(key);
+            if (invoker != null) {
+                metrics.hits.increment();
+            } else {
+                final long start = System.nanoTime();
+                Class<?> aClass = Class.forName(className);
+                Method declaredMethod = aClass.getDeclaredMethod(
+                    methodName,
+                    key.argumentClasses
+                );
+                invoker = toInvoker(declaredMethod);
+                staticCache.putIfAbsent(key, invoker);
+                metrics.recordResolution(System.nanoTime() - start);
+            }
+            result = invoker.invokeExact(args);
+        } catch (Throwable e) {
             e.printStackTrace();
         }
         return result;
@@ -179,14 +266,190 @@ public class InvokeUtils {
     ) {
         Object result = null;
         try {
-            Method declaredMethod = instance.getClass()
-                .getDeclaredMethod(methodName, argsTypes.toArray(new Class[0]));
-            result = declaredMethod.invoke(instance, args);
-        } catch (IllegalAccessException | InvocationTargetException
-                 | NoSuchMethodException e) {
+            final Class<?>[] types = argsTypes.toArray(new Class<?>[0]);
+            // The receiver is passed as the first element of the arguments
+            final Class<?>[] keyClasses = new Class<?>[types.length + 1];
+            keyClasses[0] = instance.getClass();
+            System.arraycopy(types, 0, keyClasses, 1, types.length);
+            final InvocationKey key =
+                new InvocationKey(methodName, keyClasses);
+
+            MethodHandle invoker = instanceCache.get(key);
+            if (invoker != null) {
+                metrics.hits.increment();
+            } else {
+                final long start = System.nanoTime();
+                Method declaredMethod = instance.getClass()
+                    .getDeclaredMethod(methodName, types);
+                invoker = toInvoker(declaredMethod);
+                instanceCache.putIfAbsent(key, invoker);
+                metrics.recordResolution(System.nanoTime() - start);
+            }
+
+            final Object[] receiverAndArgs =
+                new Object[(args == null ? 0 : args.length) + 1];
+            receiverAndArgs[0] = instance;
+            if (args != null) {
+                System.arraycopy(args, 0, receiverAndArgs, 1, args.length);
+            }
+            result = invoker.invokeExact(receiverAndArgs);
+        } catch (Throwable e) {
             e.printStackTrace();
         }
         return result;
     }
 
+
+    /**
+     * Returns the metrics of the resolution caches of the invocations.
+     */
+    public static Metrics metrics() {
+        return metrics;
+    }
+
+
+    /*
+     Adapts the method (static or not) to a handle which takes all the
+     arguments (the receiver first, for instance methods) as an array, and
+     returns an Object (null for void methods).
+     */
+    private static MethodHandle toInvoker(Method method)
+        throws IllegalAccessException {
+        final MethodHandle handle = LOOKUP.unreflect(method).asFixedArity();
+        return handle.asSpreader(
+            Object[].class,
+            handle.type().parameterCount()
+        ).asType(INVOKER_TYPE);
+    }
+
+
+    private static Class<?>[] runtimeClasses(Object[] arguments) {
+        final Class<?>[] result = new Class<?>[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            // null arguments are represented by null
+            result[i] = arguments[i] == null ? null : arguments[i].getClass();
+        }
+        return result;
+    }
+
+
+    private static final class InvocationKey {
+
+        private final String name;
+        private final Class<?>[] argumentClasses;
+        private final int hash;
+
+
+        private InvocationKey(String name, Class<?>[] argumentClasses) {
+            this.name = name;
+            this.argumentClasses = argumentClasses;
+            this.hash = 31 * Objects.hashCode(name)
+                + Arrays.hashCode(argumentClasses);
+        }
+
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof InvocationKey)) {
+                return false;
+            }
+            final InvocationKey that = (InvocationKey) o;
+            return hash == that.hash
+                && Objects.equals(name, that.name)
+                && Arrays.equals(argumentClasses, that.argumentClasses);
+        }
+
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    /**
+     * Counters of the resolution caches of {@link InvokeUtils}.
+     */
+    public static final class Metrics {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder resolutions = new LongAdder();
+        private final LongAdder resolutionNanos = new LongAdder();
+
+
+        private Metrics() {
+        }
+
+
+        private void recordResolution(long nanos) {
+            resolutions.increment();
+            resolutionNanos.add(nanos);
+        }
+
+
+        /**
+         * Number of invocations which found their method in the cache.
+         */
+        public long getHits() {
+            return hits.sum();
+        }
+
+
+        /**
+         * Number of invocations which had to resolve their method.
+         */
+        public long getResolutions() {
+            return resolutions.sum();
+        }
+
+
+        /**
+         * Fraction of the invocations which found their method in the cache
+         * (0 if there were no invocations).
+         */
+        public double getHitRate() {
+            final long h = getHits();
+            final long total = h + getResolutions();
+            return total == 0 ? 0.0 : ((double) h) / total;
+        }
+
+
+        /**
+         * Total time spent resolving methods, in nanoseconds.
+         */
+        public long getResolutionNanos() {
+            return resolutionNanos.sum();
+        }
+
+
+        /**
+         * Average time spent resolving a method, in nanoseconds.
+         */
+        public double getAverageResolutionNanos() {
+            final long r = getResolutions();
+            return r == 0 ? 0.0 : ((double) getResolutionNanos()) / r;
+        }
+
+
+        public void reset() {
+            hits.reset();
+            resolutions.reset();
+            resolutionNanos.reset();
+        }
+
+
+        @Override
+        public String toString() {
+            return "InvokeUtils.Metrics{hits=" + getHits()
+                + ", resolutions=" + getResolutions()
+                + ", hitRate=" + getHitRate()
+                + ", averageResolutionNanos=" + getAverageResolutionNanos()
+                + "}";
+        }
+
+    }
+
 }
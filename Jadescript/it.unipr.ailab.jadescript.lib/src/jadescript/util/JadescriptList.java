@@ -21,6 +21,11 @@ public class JadescriptList<E> implements Collection<E>, Concept {
     }
 
 
+    public JadescriptList(int initialCapacity) {
+        this.list = new ArrayList<>(initialCapacity);
+    }
+
+
     public JadescriptList(Collection<? extends E> c) {
         this.list = new ArrayList<>(c);
     }
@@ -35,6 +40,14 @@ public class JadescriptList<E> implements Collection<E>, Concept {
     }
 
 
+    /*
+     Used by the rest views: the slice is shared, not copied.
+     */
+    JadescriptList(Slice<E> slice) {
+        this.list = slice;
+    }
+
+
 
     public static <T> JadescriptList<T> empty() {
         return new JadescriptList<>();
@@ -275,5 +288,95 @@ public class JadescriptList<E> implements Collection<E>, Concept {
         return list.isEmpty();
     }
 
+
+    /**
+     * Creates a view of the list which skips its first elements. Views of
+     * views share the same backing list, so that the view can be obtained
+     * in constant time, whatever the number of nested views.
+     */
+    static <T> Slice<T> slice(JadescriptList<T> list, int headSkips) {
+        if (list.list instanceof Slice) {
+            final Slice<T> slice = (Slice<T>) list.list;
+            return new Slice<>(slice.base, slice.offset + headSkips);
+        }
+        return new Slice<>(list.list, headSkips);
+    }
+
     //TODO jadescript's index out of bounds exception
+
+    /**
+     * Live view of the elements of a list, starting from an offset. Changes
+     * to the view are written through to the list, and vice versa.
+     */
+    static final class Slice<T> extends AbstractList<T>
+        implements RandomAccess {
+
+        private final List<T> base;
+        private final int offset;
+
+
+        private Slice(List<T> base, int offset) {
+            this.base = base;
+            this.offset = offset;
+        }
+
+
+        @Override
+        public T get(int index) {
+            checkIndex(index, size());
+            return base.get(offset + index);
+        }
+
+
+        @Override
+        public T set(int index, T element) {
+            checkIndex(index, size());
+            return base.set(offset + index, element);
+        }
+
+
+        @Override
+        public void add(int index, T element) {
+            if (index < 0 || index > size()) {
+                throw new IndexOutOfBoundsException(
+                    "Index: " + index + ", Size: " + size()
+                );
+            }
+            base.add(offset + index, element);
+            modCount++;
+        }
+
+
+        @Override
+        public T remove(int index) {
+            checkIndex(index, size());
+            modCount++;
+            return base.remove(offset + index);
+        }
+
+
+        @Override
+        public int size() {
+            return Math.max(0, base.size() - offset);
+        }
+
+
+        @Override
+        public void clear() {
+            if (base.size() > offset) {
+                base.subList(offset, base.size()).clear();
+                modCount++;
+            }
+        }
+
+
+        private static void checkIndex(int index, int size) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(
+                    "Index: " + index + ", Size: " + size
+                );
+            }
+        }
+
+    }
 }
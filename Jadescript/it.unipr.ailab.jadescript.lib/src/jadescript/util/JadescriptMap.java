@@ -2,83 +2,119 @@ package jadescript.util;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import jade.content.Concept;
 
+/**
+ * Map of the Jadescript language.
+ * <p>
+ * Entries are kept in a single insertion-ordered hash map. The content
+ * manager sees the map as two aggregate slots, "keys" and "values": the lists
+ * returned by {@link #getKeys()} and {@link #getValues()} are read-only
+ * snapshots of the map, while {@link #setKeys(List)} and
+ * {@link #setValues(List)} are buffered and fill the map at once, as soon as
+ * both lists are available (see
+ * {@link jadescript.content.onto.JadescriptIntrospector}).
+ */
 public class JadescriptMap<K, V> implements Map<K, V>, Concept {
 
-	private final List<K> keys = new ArrayList<>();
-	private final List<V> values = new ArrayList<>();
-	private final Map<K, V> hashMap = new HashMap<>();
-	private boolean zipped = false;
-	
+	private LinkedHashMap<K, V> entries;
+
+	/*
+	 Lists received by the content manager extractor, waiting for their
+	 counterpart.
+	 */
+	private List<K> pendingKeys = null;
+	private List<V> pendingValues = null;
+
 	public JadescriptMap() {
 		//empty ctor for JADE
+		entries = new LinkedHashMap<>();
 	}
-	
 
+	public JadescriptMap(int expectedSize) {
+		entries = newEntries(expectedSize);
+	}
+
+
+	/**
+	 * Returns a read-only snapshot of the keys of the map, in insertion
+	 * order.
+	 */
 	public List<K> getKeys(){
-		unzipIfNeeded();
-		return keys;
+		settle();
+		return snapshot(keySet());
 	}
-	
+
 	/**
 	 * NOTE: this should be used only in conjunction with setValues by the
-	 * ContentManager extractor.
+	 * ContentManager extractor. The keys are kept aside until the values are
+	 * set too; then, they replace the contents of the map.
+	 *
+	 * @throws IllegalArgumentException if the values are already set, and
+	 * their number is not the number of keys.
 	 */
 	public void setKeys(List<K> keys) {
-		unzipIfNeeded();
-		this.keys.clear();
-		this.keys.addAll(keys);
+		this.pendingKeys = keys;
+		settle();
 	}
-	
+
+	/**
+	 * Returns a read-only snapshot of the values of the map, in the same
+	 * order of {@link #getKeys()}.
+	 */
 	public List<V> getValues(){
-		unzipIfNeeded();
-		return values;
+		settle();
+		return snapshot(values());
 	}
-	
+
 	/**
 	 * NOTE: this should be used only in conjunction with setKeys by the
-	 * ContentManager extractor.
+	 * ContentManager extractor. The values are kept aside until the keys are
+	 * set too; then, they replace the contents of the map.
+	 *
+	 * @throws IllegalArgumentException if the keys are already set, and
+	 * their number is not the number of values.
 	 */
 	public void setValues(List<V> values) {
-		unzipIfNeeded();
-		this.values.clear();
-		this.values.addAll(values);
+		this.pendingValues = values;
+		settle();
 	}
-	
+
 	@Override
 	public int size() {
-		zipIfNeeded();
-		return hashMap.size();
+		settle();
+		return entries.size();
 	}
 
 	@Override
 	public boolean isEmpty() {
-		zipIfNeeded();
-		return hashMap.isEmpty();
+		settle();
+		return entries.isEmpty();
 	}
 
 	@Override
 	public boolean containsKey(Object key) {
-		zipIfNeeded();
-		return hashMap.containsKey(key);
+		settle();
+		return entries.containsKey(key);
 	}
 
 	@Override
 	public boolean containsValue(Object value) {
-		zipIfNeeded();
-		return hashMap.containsValue(value);
+		settle();
+		return entries.containsValue(value);
 	}
 
 	@Override
 	public V get(Object key) {
-		zipIfNeeded();
-		final V v = hashMap.get(key);
+		settle();
+		final V v = entries.get(key);
 		if(v == null) {
 			throw new MissingEntryException(key);
 		}
@@ -87,102 +123,106 @@ public class JadescriptMap<K, V> implements Map<K, V>, Concept {
 
 	@Override
 	public V put(K key, V value) {
-		zipIfNeeded();
-		return hashMap.put(key, value);
+		settle();
+		return entries.put(key, value);
 	}
 
 	@Override
 	public V remove(Object key) {
-		zipIfNeeded();
-		return hashMap.remove(key);
+		settle();
+		return entries.remove(key);
 	}
 
 	@Override
 	public void putAll(Map<? extends K, ? extends V> m) {
-		zipIfNeeded();
-		hashMap.putAll(m);
+		settle();
+		entries.putAll(m);
 	}
 
 	@Override
 	public void clear() {
-		zipIfNeeded();
-		hashMap.clear();
+		settle();
+		entries.clear();
 	}
 
 	@Override
 	public Set<K> keySet() {
-		zipIfNeeded();
-		return hashMap.keySet();
+		settle();
+		return entries.keySet();
 	}
 
 	@Override
 	public Collection<V> values() {
-		zipIfNeeded();
-		return hashMap.values();
+		settle();
+		return entries.values();
 	}
 
 	@Override
 	public Set<Entry<K, V>> entrySet() {
-		zipIfNeeded();
-		return hashMap.entrySet();
+		settle();
+		return entries.entrySet();
 	}
-	
-	
+
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder("{");
-		zipIfNeeded();
-		Set<K> keyset= hashMap.keySet();
+		settle();
 		boolean first = true;
-		for(K key:keyset) {
-			V value = hashMap.get(key);
+		for(Entry<K, V> entry : entries.entrySet()) {
 			if(first) {
 				first = false;
 			}else {
 				sb.append(", ");
 			}
-			sb.append(Util.quoteIfString(key));
+			sb.append(Util.quoteIfString(entry.getKey()));
 			sb.append(":");
-			sb.append(Util.quoteIfString(value));
+			sb.append(Util.quoteIfString(entry.getValue()));
 		}
 		sb.append("}");
 		return sb.toString();
 	}
 
 
-	protected void zip() {
-		int size = Math.min(keys.size(), values.size());
-		for(int i = 0; i < size; i++) {
-			hashMap.put(keys.get(i), values.get(i));
+	/**
+	 * Replaces the contents of the map with the keys and the values received
+	 * by the content manager extractor, once both lists have been set.
+	 * Until then, the map keeps its current entries.
+	 */
+	protected void settle() {
+		if(pendingKeys == null || pendingValues == null) {
+			return;
 		}
-		
-		keys.clear();
-		values.clear();
-		zipped = true;
-	}
-	
-	protected void unzip() {
-		hashMap.forEach((k, v) -> {
-			keys.add(k);
-			values.add(v);
-		});
-		
-		hashMap.clear();
-		zipped = false;
-	}
-	
-	protected void zipIfNeeded() {
-		if(!zipped) {
-			zip();
+		final List<K> keys = pendingKeys;
+		final List<V> values = pendingValues;
+		pendingKeys = null;
+		pendingValues = null;
+
+		if(keys.size() != values.size()) {
+			throw new IllegalArgumentException(
+					"Mismatching number of keys (" + keys.size()
+					+ ") and values (" + values.size() + ").");
 		}
-	}
-	
-	protected void unzipIfNeeded() {
-		if(zipped) {
-			unzip();
+		entries = newEntries(keys.size());
+		final Iterator<V> vi = values.iterator();
+		for(K key : keys) {
+			entries.put(key, vi.next());
 		}
 	}
 
+	private static <K, V> LinkedHashMap<K, V> newEntries(int size) {
+		// Sized to avoid rehashing while filling.
+		return new LinkedHashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+	}
+
+	/*
+	 Copies the elements in an array, so that the content manager accesses
+	 them by index in constant time.
+	 */
+	private static <T> List<T> snapshot(Collection<T> collection) {
+		return Collections.unmodifiableList(new ArrayList<>(collection));
+	}
+
 	public static class MissingEntryException extends RuntimeException{
 		public MissingEntryException(Object key) {
 			super("Missing entry with key: '" + key + "'.");
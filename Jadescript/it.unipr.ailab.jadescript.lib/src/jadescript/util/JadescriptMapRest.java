@@ -1,8 +1,18 @@
 package jadescript.util;
 
 import java.util.*;
-import java.util.stream.Collectors;
-
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The rest of a map, i.e., the map without some of its keys, as extracted by
+ * pattern matching.
+ * <p>
+ * The rest is a live view of the original map (changes are written through),
+ * which overlays the set of the excluded keys. Lookups take constant time,
+ * and the size is computed from the excluded keys only. Rests of rests share
+ * the same original map.
+ */
 public class JadescriptMapRest<K, V> extends JadescriptMap<K, V> {
 
     private final JadescriptMap<K, V> originalMap;
@@ -17,21 +27,16 @@ public class JadescriptMapRest<K, V> extends JadescriptMap<K, V> {
         K... excludedKey
     ) {
         super();
-        this.originalMap = originalMap;
-        this.excludedKeys = new HashSet<>(Arrays.asList(excludedKey));
-    }
-
-
-    @Override
-    public List<K> getKeys() {
-        final List<K> keys = originalMap.getKeys();
-        final List<K> result = new ArrayList<>();
-        for (K key : keys) {
-            if (!excludedKeys.contains(key)) {
-                result.add(key);
-            }
+        if (originalMap instanceof JadescriptMapRest) {
+            final JadescriptMapRest<K, V> rest =
+                (JadescriptMapRest<K, V>) originalMap;
+            this.originalMap = rest.originalMap;
+            this.excludedKeys = new HashSet<>(rest.excludedKeys);
+        } else {
+            this.originalMap = originalMap;
+            this.excludedKeys = new HashSet<>();
         }
-        return result;
+        this.excludedKeys.addAll(Arrays.asList(excludedKey));
     }
 
 
@@ -46,15 +51,10 @@ public class JadescriptMapRest<K, V> extends JadescriptMap<K, V> {
 
     private void setBoth() {
         if (settingKeys != null && settingValues != null) {
-            Map<K, V> saved = new HashMap<>();
-            for (K excludedKey : excludedKeys) {
-                saved.put(excludedKey, originalMap.get(excludedKey));
-            }
-            originalMap.clear();
-            originalMap.putAll(saved);
+            clear();
             for (int i = 0; i < Math.min(settingKeys.size(),
                 settingValues.size()); i++) {
-                originalMap.put(settingKeys.get(i), settingValues.get(i));
+                put(settingKeys.get(i), settingValues.get(i));
             }
             settingKeys = null;
             settingValues = null;
@@ -62,22 +62,6 @@ public class JadescriptMapRest<K, V> extends JadescriptMap<K, V> {
     }
 
 
-    @Override
-    public List<V> getValues() {
-        final List<K> keys = originalMap.getKeys();
-        final List<V> values = originalMap.getValues();
-        final List<V> result = new ArrayList<>();
-        for (int i = 0; i < Math.min(keys.size(), values.size()); i++) {
-            K key = keys.get(i);
-            V value = values.get(i);
-            if (!excludedKeys.contains(key)) {
-                result.add(value);
-            }
-        }
-        return result;
-    }
-
-
     @Override
     public void setValues(List<V> values) {
         settingValues = values;
@@ -89,14 +73,19 @@ public class JadescriptMapRest<K, V> extends JadescriptMap<K, V> {
 
     @Override
     public int size() {
-        return Math.max(0, originalMap.size() - excludedKeys.size());
+        int excludedPresent = 0;
+        for (K excludedKey : excludedKeys) {
+            if (originalMap.containsKey(excludedKey)) {
+                excludedPresent++;
+            }
+        }
+        return originalMap.size() - excludedPresent;
     }
 
 
     @Override
     public boolean isEmpty() {
-        return originalMap.isEmpty()
-            || excludedKeys.containsAll(originalMap.getKeys());
+        return size() == 0;
     }
 
 
@@ -112,12 +101,8 @@ public class JadescriptMapRest<K, V> extends JadescriptMap<K, V> {
 
     @Override
     public boolean containsValue(Object value) {
-        if (!originalMap.containsValue(value)) {
-            return false;
-        }
-        for (Entry<K, V> kvEntry : originalMap.entrySet()) {
-            if (kvEntry.getValue().equals(value)
-                && !excludedKeys.contains(kvEntry.getKey())) {
+        for (Entry<K, V> kvEntry : entrySet()) {
+            if (Objects.equals(kvEntry.getValue(), value)) {
                 return true;
             }
         }
@@ -127,22 +112,18 @@ public class JadescriptMapRest<K, V> extends JadescriptMap<K, V> {
 
     @Override
     public V get(Object key) {
-        V v;
         //noinspection SuspiciousMethodCalls
-        if (!excludedKeys.contains(key)) {
-            v = originalMap.get(key);
-        } else {
-            v = null;
-        }
-        if (v == null) {
+        if (excludedKeys.contains(key)) {
             throw new MissingEntryException(key);
         }
-        return v;
+        return originalMap.get(key);
     }
 
 
     @Override
     public V put(K key, V value) {
+        // A key put in the rest is no longer excluded from it.
+        excludedKeys.remove(key);
         return originalMap.put(key, value);
     }
 
@@ -159,46 +140,84 @@ public class JadescriptMapRest<K, V> extends JadescriptMap<K, V> {
 
     @Override
     public void putAll(Map<? extends K, ? extends V> m) {
-        originalMap.putAll(m);
+        for (Entry<? extends K, ? extends V> e : m.entrySet()) {
+            put(e.getKey(), e.getValue());
+        }
     }
 
 
     @Override
     public void clear() {
-        HashSet<K> keys = new HashSet<>(originalMap.getKeys());
-        for (K key : keys) {
-            if (!excludedKeys.contains(key)) {
-                originalMap.remove(key);
-            }
-        }
+        originalMap.keySet().removeIf(k -> !excludedKeys.contains(k));
     }
 
 
     @Override
     public Set<K> keySet() {
-        HashSet<K> keys = new HashSet<>(originalMap.getKeys());
-        for (K excludedKey : excludedKeys) {
-            keys.remove(excludedKey);
-        }
-        return keys;
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new FilteringIterator<>(
+                    originalMap.keySet().iterator(),
+                    k -> !excludedKeys.contains(k),
+                    Function.identity()
+                );
+            }
+
+
+            @Override
+            public int size() {
+                return JadescriptMapRest.this.size();
+            }
+
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+        };
     }
 
 
     @Override
     public Collection<V> values() {
-        HashSet<V> values = new HashSet<>();
-        for (K k : keySet()) {
-            values.add(originalMap.get(k));
-        }
-        return values;
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new FilteringIterator<>(
+                    originalMap.entrySet().iterator(),
+                    e -> !excludedKeys.contains(e.getKey()),
+                    Entry::getValue
+                );
+            }
+
+
+            @Override
+            public int size() {
+                return JadescriptMapRest.this.size();
+            }
+        };
     }
 
 
     @Override
     public Set<Entry<K, V>> entrySet() {
-        return originalMap.entrySet().stream()
-            .filter((e) -> !excludedKeys.contains(e.getKey()))
-            .collect(Collectors.toSet());
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new FilteringIterator<>(
+                    originalMap.entrySet().iterator(),
+                    e -> !excludedKeys.contains(e.getKey()),
+                    Function.identity()
+                );
+            }
+
+
+            @Override
+            public int size() {
+                return JadescriptMapRest.this.size();
+            }
+        };
     }
 
 
@@ -214,21 +233,89 @@ public class JadescriptMapRest<K, V> extends JadescriptMap<K, V> {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("{");
-        Set<K> keyset = keySet();
         boolean first = true;
-        for (K key : keyset) {
-            V value = originalMap.get(key);
+        for (Entry<K, V> e : entrySet()) {
             if (first) {
                 first = false;
             } else {
                 sb.append(", ");
             }
-            sb.append(Util.quoteIfString(key));
+            sb.append(Util.quoteIfString(e.getKey()));
             sb.append(":");
-            sb.append(Util.quoteIfString(value));
+            sb.append(Util.quoteIfString(e.getValue()));
         }
         sb.append("}");
         return sb.toString();
     }
 
+
+    /**
+     * Iterator over the elements of another iterator which satisfy a
+     * condition. Removals are written through to the underlying iterator.
+     */
+    static final class FilteringIterator<S, T> implements Iterator<T> {
+
+        private final Iterator<S> source;
+        private final Predicate<? super S> condition;
+        private final Function<? super S, ? extends T> mapping;
+        private S next = null;
+        private boolean hasNext = false;
+        private boolean canRemove = false;
+
+
+        FilteringIterator(
+            Iterator<S> source,
+            Predicate<? super S> condition,
+            Function<? super S, ? extends T> mapping
+        ) {
+            this.source = source;
+            this.condition = condition;
+            this.mapping = mapping;
+        }
+
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext) {
+                return true;
+            }
+            while (source.hasNext()) {
+                final S candidate = source.next();
+                // Once the source is advanced, the last returned element
+                // can no longer be removed through it.
+                canRemove = false;
+                if (condition.test(candidate)) {
+                    next = candidate;
+                    hasNext = true;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = false;
+            canRemove = true;
+            final S result = next;
+            next = null;
+            return mapping.apply(result);
+        }
+
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            canRemove = false;
+            source.remove();
+        }
+
+    }
+
 }
@@ -4,18 +4,30 @@ import jade.content.Concept;
 
 import java.util.*;
 
+/**
+ * Set of the Jadescript language.
+ * <p>
+ * Elements are kept in a single insertion-ordered hash set. The content
+ * manager sees the set as an aggregate slot, "elements": the list returned by
+ * {@link #getElements()} is a read-only snapshot of the set, and
+ * {@link #setElements(List)} fills the set at once (see
+ * {@link jadescript.content.onto.JadescriptIntrospector}).
+ */
 public class JadescriptSet<E> implements Collection<E>, Concept {
-    private final List<E> elements;
-    private final Set<E> hashSet = new HashSet<>();
-    private boolean converted = false;
+    private LinkedHashSet<E> elements;
 
     public JadescriptSet() {
         //empty ctor for JADE
-        this.elements = new ArrayList<>();
+        this.elements = new LinkedHashSet<>();
+    }
+
+    public JadescriptSet(int expectedSize){
+        this.elements = newHashSet(expectedSize);
     }
 
     public JadescriptSet(Collection<? extends E> elements){
-        this.elements = new ArrayList<>(elements);
+        this.elements = newHashSet(elements.size());
+        this.elements.addAll(elements);
     }
 
 
@@ -37,104 +49,97 @@ public class JadescriptSet<E> implements Collection<E>, Concept {
     }
 
 
+    /**
+     * Returns a read-only snapshot of the elements of the set, in insertion
+     * order.
+     */
     public List<E> getElements(){
-        unzipIfNeeded();
-        return elements;
+        // Copied through toArray(), which is overridden by the rest views.
+        return Collections.unmodifiableList(new ArrayList<>(this));
     }
 
+    /**
+     * NOTE: this should be used only by the ContentManager extractor. The
+     * elements replace the contents of the set.
+     */
     public void setElements(List<E> elements) {
-        unzipIfNeeded();
-        this.elements.clear();
-        this.elements.addAll(elements);
+        final LinkedHashSet<E> result = newHashSet(elements.size());
+        result.addAll(elements);
+        this.elements = result;
     }
 
 
     public int size() {
-        zipIfNeeded();
-        return hashSet.size();
+        return elements.size();
     }
 
 
     public boolean isEmpty() {
-        zipIfNeeded();
-        return hashSet.isEmpty();
+        return elements.isEmpty();
     }
 
 
     public boolean contains(Object o) {
-        zipIfNeeded();
-        return hashSet.contains(o);
+        return elements.contains(o);
     }
 
 
     public Iterator<E> iterator() {
-        zipIfNeeded();
-        return hashSet.iterator();
+        return elements.iterator();
     }
 
 
     public Object[] toArray() {
-        zipIfNeeded();
-        return hashSet.toArray();
+        return elements.toArray();
     }
 
 
     public <T1> T1[] toArray(T1[] a) {
-        zipIfNeeded();
-
-        return hashSet.toArray(a);
+        return elements.toArray(a);
     }
 
 
     public boolean add(E e) {
-        zipIfNeeded();
-        return hashSet.add(e);
+        return elements.add(e);
     }
 
 
 
     public boolean remove(Object o) {
-        zipIfNeeded();
-        return hashSet.remove(o);
+        return elements.remove(o);
     }
 
 
     public boolean containsAll(Collection<?> c) {
-        zipIfNeeded();
-        return hashSet.containsAll(c);
+        return elements.containsAll(c);
     }
 
 
     public boolean addAll(Collection<? extends E> c) {
-        zipIfNeeded();
-        return hashSet.addAll(c);
+        return elements.addAll(c);
     }
 
 
     public boolean retainAll(Collection<?> c) {
-        zipIfNeeded();
-        return hashSet.retainAll(c);
+        return elements.retainAll(c);
     }
 
 
     public boolean removeAll(Collection<?> c) {
-        zipIfNeeded();
-        return hashSet.removeAll(c);
+        return elements.removeAll(c);
     }
 
 
     public void clear() {
-        zipIfNeeded();
-        hashSet.clear();
+        elements.clear();
     }
 
 
 
     public String toString() {
         StringBuilder sb = new StringBuilder("{");
-        zipIfNeeded();
         boolean first = true;
-        for(E value:hashSet) {
+        for(E value:elements) {
             if(first) {
                 first = false;
             }else {
@@ -154,28 +159,8 @@ public class JadescriptSet<E> implements Collection<E>, Concept {
         }
     }
 
-    private void zip() {
-        hashSet.addAll(elements);
-        elements.clear();
-        converted = true;
-    }
-
-    private void unzip() {
-        elements.addAll(hashSet);
-
-        hashSet.clear();
-        converted = false;
-    }
-
-    private void zipIfNeeded() {
-        if(!converted) {
-            zip();
-        }
-    }
-
-    private void unzipIfNeeded() {
-        if(converted) {
-            unzip();
-        }
+    private static <T> LinkedHashSet<T> newHashSet(int size) {
+        // Sized to avoid rehashing while filling.
+        return new LinkedHashSet<>(Math.max(16, (int) (size / 0.75f) + 1));
     }
 }
@@ -1,11 +1,20 @@
 package jadescript.util;
 
 import java.util.*;
-
+import java.util.function.Function;
+
+/**
+ * The rest of a set, i.e., the set without some of its elements, as extracted
+ * by pattern matching.
+ * <p>
+ * The rest is a live view of the original set (changes are written through),
+ * which overlays the set of the excluded elements. Membership tests take
+ * constant time, and the size is computed from the excluded elements only.
+ * Rests of rests share the same original set.
+ */
 public class JadescriptSetRest<T> extends JadescriptSet<T> {
     private final JadescriptSet<T> originalSet;
     private final HashSet<T> excludedValues;
-    private JadescriptSet<T> cachedSubtraction = null;
 
 
     @SafeVarargs
@@ -14,42 +23,34 @@ public class JadescriptSetRest<T> extends JadescriptSet<T> {
         T... excludedValues
     ) {
         super();
-        this.originalSet = originalSet;
-        this.excludedValues = new HashSet<>(Arrays.asList(excludedValues));
-    }
-
-
-    private JadescriptSet<T> getSubtraction() {
-        if (cachedSubtraction == null) {
-            cachedSubtraction = new JadescriptSet<>();
-            cachedSubtraction.addAll(originalSet);
-            cachedSubtraction.removeAll(excludedValues);
+        if (originalSet instanceof JadescriptSetRest) {
+            final JadescriptSetRest<T> rest =
+                (JadescriptSetRest<T>) originalSet;
+            this.originalSet = rest.originalSet;
+            this.excludedValues = new HashSet<>(rest.excludedValues);
+        } else {
+            this.originalSet = originalSet;
+            this.excludedValues = new HashSet<>();
         }
-        return cachedSubtraction;
+        this.excludedValues.addAll(Arrays.asList(excludedValues));
     }
 
-    @Override
-    public List<T> getElements() {
-        List<T> result = new ArrayList<>();
-        for (T t : originalSet) {
-            if (!excludedValues.contains(t)) {
-                result.add(t);
-            }
-        }
-        return result;
-    }
 
     @Override
     public void setElements(List<T> elements) {
-        originalSet.clear();
-        originalSet.addAll(excludedValues);
-        originalSet.addAll(elements);
-        cachedSubtraction = null;
+        clear();
+        addAll(elements);
     }
 
     @Override
     public int size() {
-        return Math.max(0, originalSet.size() - excludedValues.size());
+        int excludedPresent = 0;
+        for (T excludedValue : excludedValues) {
+            if (originalSet.contains(excludedValue)) {
+                excludedPresent++;
+            }
+        }
+        return originalSet.size() - excludedPresent;
     }
 
     @Override
@@ -59,76 +60,91 @@ public class JadescriptSetRest<T> extends JadescriptSet<T> {
 
     @Override
     public boolean contains(Object o) {
-        return originalSet.contains(o) && !excludedValues.contains(o);
+        //noinspection SuspiciousMethodCalls
+        return !excludedValues.contains(o) && originalSet.contains(o);
     }
 
     @Override
     public Iterator<T> iterator() {
-        return getSubtraction().iterator();
+        return new JadescriptMapRest.FilteringIterator<>(
+            originalSet.iterator(),
+            e -> !excludedValues.contains(e),
+            Function.identity()
+        );
     }
 
     @Override
     public Object[] toArray() {
-        return getSubtraction().toArray();
+        return toList().toArray();
     }
 
     @Override
     public <T1> T1[] toArray(T1[] a) {
-        return getSubtraction().toArray(a);
+        return toList().toArray(a);
+    }
+
+    private List<T> toList() {
+        final List<T> result = new ArrayList<>(size());
+        for (T t : this) {
+            result.add(t);
+        }
+        return result;
     }
 
     @Override
     public boolean add(T t) {
-        if(excludedValues.contains(t)){
-            cachedSubtraction = null;
-            excludedValues.remove(t);
-            originalSet.add(t);
-            return true;
-        }
-        return originalSet.add(t);
+        // An element added to the rest is no longer excluded from it.
+        final boolean wasExcluded = excludedValues.remove(t);
+        return originalSet.add(t) || wasExcluded;
     }
 
-    @SuppressWarnings("unchecked")
-	@Override
+    @Override
     public boolean remove(Object o) {
-        cachedSubtraction = null;
-        //noinspection unchecked
-        return originalSet.remove(o) && !excludedValues.contains((T)o);
+        //noinspection SuspiciousMethodCalls
+        if (excludedValues.contains(o)) {
+            return false;
+        }
+        return originalSet.remove(o);
     }
 
     @Override
     public boolean containsAll(Collection<?> c) {
-        return getSubtraction().containsAll(c);
+        for (Object o : c) {
+            if (!contains(o)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public boolean addAll(Collection<? extends T> c) {
-        cachedSubtraction = null;
-        return c.stream().anyMatch(this::add);
+        boolean result = false;
+        for (T t : c) {
+            result |= add(t);
+        }
+        return result;
     }
 
     @Override
     public boolean retainAll(Collection<?> c) {
-        List<T> removeValues = new ArrayList<>();
-        for (T t : getSubtraction()) {
-            if (!c.contains(t)) {
-                removeValues.add(t);
-            }
-        }
-        if (!removeValues.isEmpty()) {
-            cachedSubtraction = null;
-            for (T remove : removeValues) {
-                originalSet.remove(remove);
+        boolean result = false;
+        for (Iterator<T> it = iterator(); it.hasNext(); ) {
+            if (!c.contains(it.next())) {
+                it.remove();
+                result = true;
             }
-            return true;
         }
-        return false;
+        return result;
     }
 
     @Override
     public boolean removeAll(Collection<?> c) {
-        cachedSubtraction = null;
-        return c.stream().anyMatch(this::remove);
+        boolean result = false;
+        for (Object o : c) {
+            result |= remove(o);
+        }
+        return result;
     }
 
     @Override
@@ -140,7 +156,7 @@ public class JadescriptSetRest<T> extends JadescriptSet<T> {
     public String toString() {
         StringBuilder sb = new StringBuilder("{");
         boolean first = true;
-        for(T value:getSubtraction()) {
+        for(T value:this) {
             if(first) {
                 first = false;
             }else {
@@ -153,6 +169,6 @@ public class JadescriptSetRest<T> extends JadescriptSet<T> {
     }
 
     public JadescriptSet<T> toNew(){
-        return getSubtraction();
+        return new JadescriptSet<>(this);
     }
 }
@@ -21,14 +21,247 @@ import jadescript.util.JadescriptSet;
 
 import java.io.StringReader;
 import java.util.*;
-import java.util.stream.Collectors;
 
+import static jadescript.util.types.JadescriptBuiltinTypeAtom.*;
+
+/**
+ * Runtime conversions between the values of the Jadescript types.
+ * <p>
+ * The conversions are looked up in a table indexed by the base types of the
+ * source and the target type; the pairs which are not in the table cannot be
+ * converted. The conversions between structured types (lists, sets and maps)
+ * look up the conversion of their elements once, and then apply it to each
+ * element.
+ */
 public class Converter {
 
     private Converter() {
     } //Do not instantiate.
 
 
+    /**
+     * Conversion of a value between two types with given base types.
+     */
+    @FunctionalInterface
+    private interface Conversion {
+
+        Object apply(
+            Object o,
+            JadescriptTypeReference from,
+            JadescriptTypeReference to
+        );
+
+    }
+
+    private static final Conversion IDENTITY = (o, from, to) -> o;
+
+    private static final Conversion NOT_CONVERTIBLE = (o, from, to) -> {
+        conversionException(o, from.getBase(), to.getBase());
+        return null; //unreacheable code
+    };
+
+    private static final Conversion UNSUPPORTED = (o, from, to) -> {
+        throw new UnsupportedConversionException(from.getBase(), to.getBase());
+    };
+
+    private static final Conversion TO_STRING = (o, from, to) ->
+        String.valueOf(o);
+
+    private static final Conversion[][] conversions;
+
+
+    static {
+        final int n = JadescriptBuiltinTypeAtom.values().length;
+        conversions = new Conversion[n][n];
+        for (Conversion[] row : conversions) {
+            Arrays.fill(row, NOT_CONVERTIBLE);
+        }
+
+        for (JadescriptBuiltinTypeAtom atom : new JadescriptBuiltinTypeAtom[]{
+            INTEGER, BOOLEAN, REAL, TEXT, DURATION, TIMESTAMP, PERFORMATIVE,
+            AID, ONTOLOGY, CONCEPT, ACTION, PROPOSITION, BEHAVIOUR, AGENT,
+            MESSAGE
+        }) {
+            add(atom, atom, IDENTITY);
+        }
+
+        add(INTEGER, REAL, (o, from, to) -> ((Integer) o).floatValue());
+        add(INTEGER, TEXT, TO_STRING);
+        add(INTEGER, DURATION, (o, from, to) -> Duration.of((Integer) o, 0));
+
+        add(BOOLEAN, TEXT, TO_STRING);
+
+        add(REAL, INTEGER, (o, from, to) -> ((Float) o).intValue());
+        add(REAL, TEXT, TO_STRING);
+        add(REAL, DURATION, (o, from, to) -> {
+            final float f = (Float) o;
+            long seconds = (long) f;
+            int millis = (int) ((f - (float) seconds) * 1000);
+            return Duration.of(seconds, millis);
+        });
+
+        add(TEXT, INTEGER, (o, from, to) -> {
+            try {
+                return Integer.parseInt((String) o);
+            } catch (NumberFormatException ignored) {
+                return NOT_CONVERTIBLE.apply(o, from, to);
+            }
+        });
+        add(TEXT, BOOLEAN, (o, from, to) -> Boolean.parseBoolean((String) o));
+        add(TEXT, REAL, (o, from, to) -> {
+            try {
+                return Float.parseFloat((String) o);
+            } catch (NumberFormatException ignored) {
+                return NOT_CONVERTIBLE.apply(o, from, to);
+            }
+        });
+        add(TEXT, DURATION, (o, from, to) ->
+            Duration.fromString((String) o));
+        add(TEXT, TIMESTAMP, (o, from, to) ->
+            Timestamp.fromString((String) o));
+        add(TEXT, PERFORMATIVE, (o, from, to) ->
+            Performative.performativeByName.getOrDefault(
+                (String) o,
+                Performative.UNKNOWN
+            ));
+        add(TEXT, AID, (o, from, to) ->
+            new AID((String) o, ((String) o).contains("@")));
+        add(TEXT, MESSAGE, (o, from, to) -> {
+            try {
+                return ACLParser.create().parse(new StringReader((String) o));
+            } catch (ParseException e) {
+                return NOT_CONVERTIBLE.apply(o, from, to);
+            }
+        });
+        add(TEXT, LIST, UNSUPPORTED);
+        add(TEXT, MAP, UNSUPPORTED);
+        add(TEXT, SET, UNSUPPORTED);
+        add(TEXT, TUPLE, UNSUPPORTED);
+        add(TEXT, OTHER, UNSUPPORTED);
+
+        add(DURATION, INTEGER, (o, from, to) ->
+            (int) ((Duration) o).getSecondsLong());
+        add(DURATION, REAL, (o, from, to) -> {
+            float secs = (float) (((Duration) o).getSecondsLong());
+            float millis = (float) (((Duration) o).getMillis()) / 1000f;
+            return secs + millis;
+        });
+        add(DURATION, TEXT, TO_STRING);
+        add(DURATION, TIMESTAMP, (o, from, to) ->
+            Timestamp.plus(Timestamp.unixStart(), (Duration) o));
+        add(DURATION, LIST, Converter::durationToList);
+        add(DURATION, MAP, Converter::durationToMap);
+
+        add(TIMESTAMP, TEXT, TO_STRING);
+        add(TIMESTAMP, DURATION, (o, from, to) ->
+            Timestamp.subtract((Timestamp) o, Timestamp.unixStart()));
+
+        add(PERFORMATIVE, TEXT, TO_STRING);
+
+        add(AID, TEXT, TO_STRING);
+
+        add(ONTOLOGY, TEXT, (o, from, to) ->
+            "Ontology('" + ((jade.content.onto.Ontology) o).getName() + "')");
+
+        add(CONCEPT, TEXT, TO_STRING);
+
+        add(ACTION, TEXT, TO_STRING);
+        //allow to upcast to basic 'concept' type, since actions are concepts.
+        add(ACTION, CONCEPT, IDENTITY);
+
+        add(PROPOSITION, TEXT, TO_STRING);
+
+        add(BEHAVIOUR, TEXT, (o, from, to) ->
+            "Behaviour('" + ((Behaviour) o).getBehaviourName() + "')");
+
+        add(AGENT, TEXT, (o, from, to) ->
+            o.getClass().getSimpleName() + "('" + ((Agent) o).getName()
+                + "')");
+        add(AGENT, AID, (o, from, to) -> ((Agent) o).getAID());
+
+        add(MESSAGE, TEXT, TO_STRING);
+        add(MESSAGE, PERFORMATIVE, (o, from, to) ->
+            ((Message) o).getJadescriptPerformative());
+
+        add(LIST, TEXT, TO_STRING);
+        add(LIST, LIST, Converter::toList);
+        add(LIST, SET, Converter::toSet);
+
+        add(MAP, TEXT, TO_STRING);
+        add(MAP, MAP, Converter::toMap);
+
+        add(SET, TEXT, TO_STRING);
+        add(SET, LIST, Converter::toList);
+        add(SET, SET, Converter::toSet);
+
+        add(TUPLE, TEXT, TO_STRING);
+        for (JadescriptBuiltinTypeAtom atom : new JadescriptBuiltinTypeAtom[]{
+            DURATION, TIMESTAMP, PERFORMATIVE, AID, ONTOLOGY, CONCEPT, ACTION,
+            PROPOSITION, BEHAVIOUR, AGENT, MESSAGE, LIST, MAP, SET, TUPLE
+        }) {
+            add(TUPLE, atom, IDENTITY);
+        }
+
+        add(OTHER, INTEGER, checkedIdentity(Integer.class));
+        add(OTHER, BOOLEAN, checkedIdentity(Boolean.class));
+        add(OTHER, REAL, checkedIdentity(Float.class));
+        add(OTHER, TEXT, (o, from, to) -> {
+            if (o == null) {
+                return NOT_CONVERTIBLE.apply(o, from, to);
+            }
+            return o.toString();
+        });
+        add(OTHER, DURATION, checkedIdentity(Duration.class));
+        add(OTHER, TIMESTAMP, checkedIdentity(Timestamp.class));
+        add(OTHER, PERFORMATIVE, checkedIdentity(Performative.class));
+        add(OTHER, AID, checkedIdentity(AID.class));
+        add(OTHER, ONTOLOGY,
+            checkedIdentity(jade.content.onto.Ontology.class));
+        add(OTHER, CONCEPT, checkedIdentity(Concept.class));
+        add(OTHER, ACTION, checkedIdentity(AgentAction.class));
+        add(OTHER, PROPOSITION, checkedIdentity(Predicate.class));
+        add(OTHER, BEHAVIOUR, checkedIdentity(Behaviour.class));
+        add(OTHER, AGENT, checkedIdentity(Agent.class));
+        add(OTHER, MESSAGE, checkedIdentity(Message.class));
+        add(OTHER, LIST, checkedIdentity(List.class));
+        add(OTHER, MAP, checkedIdentity(JadescriptMap.class));
+        add(OTHER, SET, checkedIdentity(JadescriptSet.class));
+        add(OTHER, TUPLE, checkedIdentity(Tuple.class));
+    }
+
+
+    private static void add(
+        JadescriptBuiltinTypeAtom from,
+        JadescriptBuiltinTypeAtom to,
+        Conversion conversion
+    ) {
+        conversions[from.ordinal()][to.ordinal()] = conversion;
+    }
+
+
+    private static Conversion lookup(
+        JadescriptTypeReference from,
+        JadescriptTypeReference to
+    ) {
+        return conversions[from.getBase().ordinal()][to.getBase().ordinal()];
+    }
+
+
+    private static Conversion checkedIdentity(Class<?> toClass) {
+        return (o, from, to) -> {
+            if (o == null) {
+                return NOT_CONVERTIBLE.apply(o, from, to);
+            }
+            return checkedIdentityConversion(
+                o,
+                toClass,
+                from.getBase(),
+                to.getBase()
+            );
+        };
+    }
+
+
     public static void conversionException(
         Object input,
         JadescriptBuiltinTypeAtom fromType,
@@ -61,844 +294,194 @@ public class Converter {
     }
 
 
-    @SuppressWarnings({"DuplicateBranchesInSwitch", "rawtypes", "unchecked",
-        "ConstantConditions"})
     public static Object convert(
         Object o,
         JadescriptTypeReference from,
         JadescriptTypeReference to
     ) {
-        switch (from.getBase()) {
-            case INTEGER:
-                switch (to.getBase()) {
-                    case INTEGER:
-                        return o;
-                    case BOOLEAN:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case REAL:
-                        return ((Integer) o).floatValue();
-                    case TEXT:
-                        return String.valueOf(o);
-                    case DURATION:
-                        return Duration.of((Integer) o, 0);
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case BOOLEAN:
-                switch (to.getBase()) {
-                    case INTEGER:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case BOOLEAN:
-                        return o;
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return String.valueOf(o);
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case REAL:
-                switch (to.getBase()) {
-                    case INTEGER:
-                        return ((Float) o).intValue();
-                    case BOOLEAN:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case REAL:
-                        return o;
-                    case TEXT:
-                        return String.valueOf(o);
-                    case DURATION: {
-                        long seconds = (long) o;
-                        int millis =
-                            (int) (((Float) o - (float) seconds) * 1000);
-                        return Duration.of(seconds, millis);
-                    }
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
+        return lookup(from, to).apply(o, from, to);
+    }
+
+
+    /*
+     Conversion of the elements of a structured type. When the source type
+     of the elements is not specified, it is assumed to be the target type;
+     when the target type is not specified either, the elements are kept as
+     they are.
+     */
+    private static final class ElementConversion {
+
+        private final JadescriptTypeReference from;
+        private final JadescriptTypeReference to;
+        private final Conversion conversion;
+
+
+        private ElementConversion(
+            JadescriptTypeReference from,
+            JadescriptTypeReference to
+        ) {
+            this.to = to;
+            this.from = from == null ? to : from;
+            this.conversion = to == null ? IDENTITY : lookup(this.from, to);
+        }
+
+
+        private boolean isIdentity() {
+            return conversion == IDENTITY;
+        }
+
+
+        private Object apply(Object o) {
+            return conversion.apply(o, from, to);
+        }
+
+    }
+
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Object toList(
+        Object o,
+        JadescriptTypeReference from,
+        JadescriptTypeReference to
+    ) {
+        final ElementConversion elements =
+            new ElementConversion(from.getArg1(), to.getArg1());
+        if (o instanceof Collection) {
+            final Collection input = (Collection) o;
+            if (elements.isIdentity()) {
+                return new JadescriptList(input);
+            }
+            final JadescriptList result = new JadescriptList(input.size());
+            for (Object o1 : input) {
+                result.add(elements.apply(o1));
+            }
+            return result;
+        }
+        final JadescriptList result = new JadescriptList();
+        for (Object o1 : (Iterable) o) {
+            result.add(elements.apply(o1));
+        }
+        return result;
+    }
+
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Object toSet(
+        Object o,
+        JadescriptTypeReference from,
+        JadescriptTypeReference to
+    ) {
+        final ElementConversion elements =
+            new ElementConversion(from.getArg1(), to.getArg1());
+        if (o instanceof Collection) {
+            final Collection input = (Collection) o;
+            if (elements.isIdentity()) {
+                return new JadescriptSet(input);
+            }
+            final JadescriptSet result = new JadescriptSet(input.size());
+            for (Object o1 : input) {
+                result.add(elements.apply(o1));
+            }
+            return result;
+        }
+        final JadescriptSet result = new JadescriptSet();
+        for (Object o1 : (Iterable) o) {
+            result.add(elements.apply(o1));
+        }
+        return result;
+    }
+
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Object toMap(
+        Object o,
+        JadescriptTypeReference from,
+        JadescriptTypeReference to
+    ) {
+        final ElementConversion keys =
+            new ElementConversion(from.getArg1(), to.getArg1());
+        final ElementConversion values =
+            new ElementConversion(from.getArg2(), to.getArg2());
+        final Map<Object, Object> input = (Map) o;
+        final JadescriptMap result = new JadescriptMap(input.size());
+        for (Map.Entry<Object, Object> e : input.entrySet()) {
+            result.put(keys.apply(e.getKey()), values.apply(e.getValue()));
+        }
+        return result;
+    }
+
+
+    private static boolean isNumericOrText(JadescriptTypeReference type) {
+        if (type == null) {
+            return false;
+        }
+        final JadescriptBuiltinTypeAtom base = type.getBase();
+        return base == TEXT || base == INTEGER || base == REAL;
+    }
+
+
+    /*
+     Days, hours, minutes, seconds and milliseconds of the duration.
+     */
+    private static int[] durationParts(Duration d) {
+        java.time.Duration jd = d.toJavaDuration();
+        return new int[]{
+            (int) jd.toDays(),
+            (int) (jd.toHours() % 24),
+            (int) (jd.toMinutes() % 60),
+            (int) jd.getSeconds(),
+            (int) jd.toMillis()
+        };
+    }
+
+
+    private static Object durationPart(int part, JadescriptBuiltinTypeAtom to) {
+        switch (to) {
             case TEXT:
-                switch (to.getBase()) {
-                    case INTEGER:
-                        try {
-                            return Integer.parseInt((String) o);
-                        } catch (NumberFormatException ignored) {
-                            conversionException(o,
-                                from.getBase(),
-                                to.getBase());
-                        }
-                    case BOOLEAN:
-                        return Boolean.parseBoolean((String) o);
-                    case REAL:
-                        try {
-                            return Float.parseFloat((String) o);
-                        } catch (NumberFormatException ignored) {
-                            conversionException(o,
-                                from.getBase(),
-                                to.getBase());
-                        }
-                    case TEXT:
-                        return o;
-                    case DURATION:
-                        return Duration.fromString((String) o);
-                    case TIMESTAMP:
-                        return Timestamp.fromString((String) o);
-                    case PERFORMATIVE:
-                        return Performative.performativeByName.getOrDefault((String) o,
-                            Performative.UNKNOWN);
-                    case AID:
-                        return new AID((String) o, ((String) o).contains("@"));
-                    case ONTOLOGY:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case MESSAGE:
-                        try {
-                            return ACLParser.create().parse(new StringReader((String) o));
-                        } catch (ParseException e) {
-                            conversionException(o,
-                                from.getBase(),
-                                to.getBase());
-                        }
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        throw new UnsupportedConversionException(from.getBase(),
-                            to.getBase());
-                }
-            case DURATION:
-                switch (to.getBase()) {
-                    case INTEGER:
-                        return (int) ((Duration) o).getSecondsLong();
-                    case BOOLEAN:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case REAL: {
-                        float secs = (float) (((Duration) o).getSecondsLong());
-                        float millis =
-                            (float) (((Duration) o).getMillis()) / 1000f;
-                        return secs + millis;
-                    }
-                    case TEXT:
-                        return o.toString();
-                    case DURATION:
-                        return o;
-                    case TIMESTAMP:
-                        return Timestamp.plus(Timestamp.unixStart(),
-                            (Duration) o);
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case LIST: {
-                        if (to.getArg1().getBase()
-                            == JadescriptBuiltinTypeAtom.TEXT
-                            || to.getArg1().getBase()
-                            == JadescriptBuiltinTypeAtom.INTEGER
-                            || to.getArg1().getBase()
-                            == JadescriptBuiltinTypeAtom.REAL) {
-                            Duration d = ((Duration) o);
-                            java.time.Duration jd = d.toJavaDuration();
-                            long days = jd.toDays();
-                            long hours = jd.toHours() % 24;
-                            long minutes = jd.toMinutes() % 60;
-                            long seconds = jd.getSeconds();
-                            long millis = jd.toMillis();
-                            List<Integer> longs = new ArrayList<>(5);
-                            longs.add((int) days);
-                            longs.add((int) hours);
-                            longs.add((int) minutes);
-                            longs.add((int) seconds);
-                            longs.add((int) millis);
-                            if (to.getArg1().getBase()
-                                == JadescriptBuiltinTypeAtom.TEXT) {
-                                return longs.stream()
-                                    .map(Object::toString)
-                                    .collect(Collectors.toList());
-                            } else if (to.getArg1().getBase()
-                                == JadescriptBuiltinTypeAtom.INTEGER) {
-                                return longs;
-                            } else {
-                                return longs.stream()
-                                    .map(Number::floatValue)
-                                    .collect(Collectors.toList());
-                            }
-                        }
-                    }
-                    case MAP: {
-                        if (to.getArg1().getBase()
-                            == JadescriptBuiltinTypeAtom.TEXT
-                            || to.getArg1().getBase()
-                            == JadescriptBuiltinTypeAtom.INTEGER
-                            || to.getArg1().getBase()
-                            == JadescriptBuiltinTypeAtom.REAL) {
-                            Duration d = ((Duration) o);
-                            java.time.Duration jd = d.toJavaDuration();
-                            long days = jd.toDays();
-                            long hours = jd.toHours() % 24;
-                            long minutes = jd.toMinutes() % 60;
-                            long seconds = jd.getSeconds();
-                            long millis = jd.toMillis();
-                            Map<String, Integer> map = new HashMap<>();
-                            map.put("days", (int) days);
-                            map.put("hours", (int) hours);
-                            map.put("minutes", (int) minutes);
-                            map.put("seconds", (int) seconds);
-                            map.put("milliseconds", (int) millis);
-                            if (to.getArg1().getBase()
-                                == JadescriptBuiltinTypeAtom.TEXT) {
-                                Map<String, String> result = new HashMap<>();
-                                map.forEach((k, v) -> result.put(k,
-                                    v.toString()));
-                                return result;
-                            } else if (to.getArg1().getBase()
-                                == JadescriptBuiltinTypeAtom.INTEGER) {
-                                return map;
-                            } else {
-                                Map<String, Float> result = new HashMap<>();
-                                map.forEach((k, v) -> result.put(k,
-                                    v.floatValue()));
-                                return result;
-                            }
-                        }
-                    }
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case TIMESTAMP:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return o.toString();
-                    case DURATION:
-                        return Timestamp.subtract((Timestamp) o,
-                            Timestamp.unixStart());
-                    case TIMESTAMP:
-                        return o;
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case PERFORMATIVE:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return o.toString();
-                    case DURATION:
-                    case TIMESTAMP:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case PERFORMATIVE:
-                        return o;
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case AID:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return o.toString();
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case AID:
-                        return o;
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case ONTOLOGY:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return "Ontology('" + ((jade.content.onto.Ontology) o).getName() + "')";
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case ONTOLOGY:
-                        return o;
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case CONCEPT:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return String.valueOf(o);
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case CONCEPT:
-                        return o;
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case ACTION:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return String.valueOf(o);
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case CONCEPT://allow to upcast to basic 'concept' type,
-                        // since actions are concepts.
-                    case ACTION:
-                        return o;
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case PROPOSITION:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return String.valueOf(o);
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case PROPOSITION:
-                        return o;
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case BEHAVIOUR:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return "Behaviour('" + ((Behaviour) o).getBehaviourName() + "')";
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case BEHAVIOUR:
-                        return o;
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case AGENT:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return o.getClass().getSimpleName() + "('" + ((Agent) o).getName() + "')";
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case AID:
-                        return ((Agent) o).getAID();
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case AGENT:
-                        return o;
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case MESSAGE:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return o.toString();
-                    case DURATION:
-                    case TIMESTAMP:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case PERFORMATIVE:
-                        return ((Message) o).getJadescriptPerformative();
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case MESSAGE:
-                        return o;
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case LIST:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return String.valueOf(o);
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case LIST: {
-                        JadescriptTypeReference fromElement = from.getArg1();
-                        JadescriptTypeReference toElement = to.getArg1();
-                        if (fromElement == null) {
-                            fromElement = toElement;
-                        }
-                        JadescriptList result = new JadescriptList();
-
-                        Iterable input = (Iterable) o;
-                        for (Object o1 : input) {
-                            result.add(convert(o1, fromElement, toElement));
-                        }
-
-                        return result;
-                    }
-                    case MAP:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case SET: {
-                        JadescriptTypeReference fromElement = from.getArg1();
-                        JadescriptTypeReference toElement = to.getArg1();
-                        if (fromElement == null) {
-                            fromElement = toElement;
-                        }
-                        JadescriptSet result = new JadescriptSet();
-                        Iterable input = (Iterable) o;
-                        for (Object o1 : input) {
-                            result.add(convert(o1, fromElement, toElement));
-                        }
-                        return result;
-                    }
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case MAP:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return String.valueOf(o);
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case MAP: {
-                        JadescriptTypeReference fromKey = from.getArg1();
-                        JadescriptTypeReference toKey = to.getArg1();
-                        JadescriptTypeReference fromValue = from.getArg2();
-                        JadescriptTypeReference toValue = to.getArg2();
-                        if (fromKey == null) {
-                            fromKey = toKey;
-                        }
-                        if (fromValue == null) {
-                            fromValue = toValue;
-                        }
-                        Map result = new JadescriptMap();
-                        Map input = (Map) o;
-                        JadescriptTypeReference finalFromKey = fromKey;
-                        JadescriptTypeReference finalFromValue = fromValue;
-                        input.forEach((k, v) -> result.put(
-                            convert(k, finalFromKey, toKey),
-                            convert(v, finalFromValue, toValue)
-                        ));
-                        return result;
-                    }
-                    case SET:
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case SET:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return String.valueOf(o);
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case LIST: {
-                        JadescriptTypeReference fromElement = from.getArg1();
-                        JadescriptTypeReference toElement = to.getArg1();
-                        JadescriptList result = new JadescriptList();
-                        Iterable input = (Iterable) o;
-                        for (Object o1 : input) {
-                            result.add(convert(o1, fromElement, toElement));
-                        }
-                        return result;
-                    }
-                    case MAP:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case SET: {
-                        JadescriptTypeReference fromElement = from.getArg1();
-                        JadescriptTypeReference toElement = to.getArg1();
-                        JadescriptSet result = new JadescriptSet();
-                        Iterable input = (Iterable) o;
-                        for (Object o1 : input) {
-                            result.add(convert(o1, fromElement, toElement));
-                        }
-                        return result;
-                    }
-                    case TUPLE:
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case TUPLE:
-                switch (to.getBase()) {
-                    case INTEGER:
-                    case BOOLEAN:
-                    case REAL:
-                        conversionException(o, from.getBase(), to.getBase());
-                    case TEXT:
-                        return o.toString();
-                    case DURATION:
-                    case TIMESTAMP:
-                    case PERFORMATIVE:
-                    case AID:
-                    case ONTOLOGY:
-                    case CONCEPT:
-                    case ACTION:
-                    case PROPOSITION:
-                    case BEHAVIOUR:
-                    case AGENT:
-                    case MESSAGE:
-                    case LIST:
-                    case MAP:
-                    case SET:
-                    case TUPLE:
-                        return o;
-                    case OTHER:
-                        conversionException(o, from.getBase(), to.getBase());
-                }
-            case OTHER:
-                if (o == null) {
-                    conversionException(o, from.getBase(), to.getBase());
-                } else {
-                    try {
-                        switch (to.getBase()) {
-                            case INTEGER:
-                                return checkedIdentityConversion(o,
-                                    Integer.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case BOOLEAN:
-                                return checkedIdentityConversion(o,
-                                    Boolean.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case REAL:
-                                return checkedIdentityConversion(o,
-                                    Float.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case TEXT:
-                                return o.toString();
-                            case DURATION:
-                                return checkedIdentityConversion(o,
-                                    Duration.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case TIMESTAMP:
-                                return checkedIdentityConversion(o,
-                                    Timestamp.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case PERFORMATIVE:
-                                return checkedIdentityConversion(o,
-                                    Performative.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case AID:
-                                return checkedIdentityConversion(o,
-                                    AID.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case ONTOLOGY:
-                                return checkedIdentityConversion(
-                                    o,
-                                    jade.content.onto.Ontology.class,
-                                    from.getBase(),
-                                    to.getBase()
-                                );
-                            case CONCEPT:
-                                return checkedIdentityConversion(o,
-                                    Concept.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case ACTION:
-                                return checkedIdentityConversion(o,
-                                    AgentAction.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case PROPOSITION:
-                                return checkedIdentityConversion(o,
-                                    Predicate.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case BEHAVIOUR:
-                                return checkedIdentityConversion(o,
-                                    Behaviour.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case AGENT:
-                                return checkedIdentityConversion(o,
-                                    Performative.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case MESSAGE:
-                                return checkedIdentityConversion(o,
-                                    Message.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case LIST:
-                                return checkedIdentityConversion(o,
-                                    List.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case MAP:
-                                return checkedIdentityConversion(o,
-                                    JadescriptMap.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case SET:
-                                return checkedIdentityConversion(o,
-                                    JadescriptSet.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case TUPLE:
-                                return checkedIdentityConversion(o,
-                                    Tuple.class,
-                                    from.getBase(),
-                                    to.getBase());
-                            case OTHER:
-                                conversionException(o,
-                                    from.getBase(),
-                                    to.getBase());
-                                throw new RuntimeException(
-                                    "This portion of code should be " +
-                                        "unreacheable.");
-                        }
-                    } catch (ClassCastException ignored) {
-                        conversionException(o, from.getBase(), to.getBase());
-                        throw new RuntimeException(
-                            "This portion of code should be unreacheable.");
-                    }
-                }
+                return Integer.toString(part);
+            case REAL:
+                return (float) part;
             default:
-                conversionException(o, from.getBase(), to.getBase());
-                throw new RuntimeException(
-                    "This portion of code should be unreacheable.");
+                return part;
+        }
+    }
+
+
+    private static Object durationToList(
+        Object o,
+        JadescriptTypeReference from,
+        JadescriptTypeReference to
+    ) {
+        if (!isNumericOrText(to.getArg1())) {
+            return NOT_CONVERTIBLE.apply(o, from, to);
+        }
+        final JadescriptBuiltinTypeAtom element = to.getArg1().getBase();
+        final int[] parts = durationParts((Duration) o);
+        List<Object> result = new ArrayList<>(parts.length);
+        for (int part : parts) {
+            result.add(durationPart(part, element));
+        }
+        return result;
+    }
+
+
+    private static Object durationToMap(
+        Object o,
+        JadescriptTypeReference from,
+        JadescriptTypeReference to
+    ) {
+        if (!isNumericOrText(to.getArg1())) {
+            return NOT_CONVERTIBLE.apply(o, from, to);
         }
+        final JadescriptBuiltinTypeAtom value = to.getArg1().getBase();
+        final int[] parts = durationParts((Duration) o);
+        Map<String, Object> result = new HashMap<>();
+        result.put("days", durationPart(parts[0], value));
+        result.put("hours", durationPart(parts[1], value));
+        result.put("minutes", durationPart(parts[2], value));
+        result.put("seconds", durationPart(parts[3], value));
+        result.put("milliseconds", durationPart(parts[4], value));
+        return result;
     }
 
 
@@ -1,13 +1,14 @@
 package jadescript.util.types;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import jade.content.AgentAction;
 import jade.content.Concept;
@@ -20,30 +21,76 @@ import jadescript.util.JadescriptList;
 import jadescript.util.JadescriptMap;
 import jadescript.util.JadescriptSet;
 
+/**
+ * Adapts Java values to the values of the Jadescript types.
+ * <p>
+ * The adapter of each Java class (its Jadescript type and the additional
+ * work needed to convert its values) is computed once, and then retrieved
+ * through a {@link ClassValue}.
+ */
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class JadescriptValueAdapter {
     private JadescriptValueAdapter(){} // Do not instantiate.
 
-    // Associates a fully-qualified Java type name to a java.lang.Class object
-    private static final HashMap<String, Class<?>> classMap
-        = new HashMap<>();
     // Associates a fully-qualified Java type name to a
     // JadescriptBuiltinTypeAtom
     public static final HashMap<String, JadescriptBuiltinTypeAtom>
         jadescriptTypeMap = new HashMap<>();
 
-    // Contains functions that are used to perform additional work to convert
-    // values of the associated fully-qualified Java type name
-    private static final HashMap<String, Function<Object, Object>> adaptationMap
-        = new HashMap<>();
+    // The adapters of the registered Java classes
+    private static final Map<Class<?>, Adapter> registered = new HashMap<>();
 
+    // Adapters used for the subtypes of these classes, in order of priority
+    private static final Map<Class<?>, Adapter> superTypes
+        = new LinkedHashMap<>();
 
-    private static final Map<Class<?>, JadescriptBuiltinTypeAtom> superTypes
-        = new HashMap<>();
+    private static final ClassValue<Adapter> adapters =
+        new ClassValue<Adapter>() {
+            @Override
+            protected Adapter computeValue(Class<?> type) {
+                final Adapter adapter = registered.get(type);
+                if (adapter != null) {
+                    return adapter;
+                }
+                for (Map.Entry<Class<?>, Adapter> e : superTypes.entrySet()) {
+                    if (e.getKey().isAssignableFrom(type)) {
+                        return e.getValue();
+                    }
+                }
+                return null;
+            }
+        };
+
+
+    /*
+     Jadescript type of the values of a Java class, and function that is used
+     to perform additional work to convert them (null if not needed).
+     */
+    private static final class Adapter {
+
+        private final JadescriptBuiltinTypeAtom typeAtom;
+        private final JadescriptTypeReference typeReference;
+        private final Function<Object, Object> adaptation;
+
+
+        private Adapter(
+            JadescriptBuiltinTypeAtom typeAtom,
+            Function<Object, Object> adaptation
+        ) {
+            this.typeAtom = typeAtom;
+            this.typeReference = new JadescriptTypeReference(typeAtom);
+            this.adaptation = adaptation;
+        }
+
+
+        private Object adapt(Object value) {
+            return adaptation == null ? value : adaptation.apply(value);
+        }
+
+    }
 
     private static void addClass(Class<?> clazz, JadescriptBuiltinTypeAtom typeAtom) {
-        classMap.put(clazz.getName(), clazz);
-        jadescriptTypeMap.put(clazz.getName(), typeAtom);
+        addClass(clazz, typeAtom, null);
     }
 
     private static void addClass(
@@ -51,9 +98,8 @@ public class JadescriptValueAdapter {
             JadescriptBuiltinTypeAtom typeAtom,
             Function<Object, Object> adaptation
     ) {
-        classMap.put(clazz.getName(), clazz);
         jadescriptTypeMap.put(clazz.getName(), typeAtom);
-        adaptationMap.put(clazz.getName(), adaptation);
+        registered.put(clazz, new Adapter(typeAtom, adaptation));
     }
 
 
@@ -93,59 +139,74 @@ public class JadescriptValueAdapter {
         addClass(Performative.class, JadescriptBuiltinTypeAtom.PERFORMATIVE);
 
 
-        //noinspection unchecked
         addClass(JadescriptList.class, JadescriptBuiltinTypeAtom.LIST,
-            (l)-> ((JadescriptList) l).stream()
-                .map(x -> adapt(x, x.getClass()))
-                .collect(Collectors.toCollection(JadescriptList::new)));
-
+            JadescriptValueAdapter::adaptList);
         addClass(List.class, JadescriptBuiltinTypeAtom.LIST,
-            (l) -> ((List) l).stream()
-                .map(x -> adapt(x, x.getClass()))
-                .collect(Collectors.toCollection(JadescriptList::new)));
-
-        addClass(Map.class, JadescriptBuiltinTypeAtom.MAP, (m) -> {
-            //noinspection rawtypes
-            Map mm = (Map) m;
-            //noinspection rawtypes
-            JadescriptMap jm = new JadescriptMap();
-            //noinspection unchecked
-            mm.forEach((k,v) -> {
-                //noinspection unchecked
-                jm.put(adapt(k, k.getClass()), adapt(v, v.getClass()));
-            });
-            return jm;
-        });
-
-        addClass(JadescriptMap.class, JadescriptBuiltinTypeAtom.MAP, (m) -> {
-            //noinspection rawtypes
-            JadescriptMap mm = (JadescriptMap) m;
-            //noinspection rawtypes
-            JadescriptMap jm = new JadescriptMap();
-            //noinspection unchecked
-            mm.forEach((k,v) -> {
-                //noinspection unchecked
-                jm.put(adapt(k, k.getClass()), adapt(v, v.getClass()));
-            });
-            return jm;
-        });
-
-        //noinspection unchecked
-        addClass(Set.class, JadescriptBuiltinTypeAtom.SET, (s) -> ((Set) s).stream()
-                .map(x -> adapt(x, x.getClass()))
-                .collect(Collectors.toCollection(JadescriptSet::new)));
-        //noinspection unchecked
-        addClass(JadescriptSet.class, JadescriptBuiltinTypeAtom.SET, (s) -> ((Set) s).stream()
-                .map(x -> adapt(x, x.getClass()))
-                .collect(Collectors.toCollection(JadescriptSet::new)));
-
-        superTypes.put(AgentAction.class, JadescriptBuiltinTypeAtom.ACTION);
-        superTypes.put(Concept.class, JadescriptBuiltinTypeAtom.CONCEPT);
-        superTypes.put(Predicate.class, JadescriptBuiltinTypeAtom.PROPOSITION);
-        superTypes.put(Ontology.class, JadescriptBuiltinTypeAtom.ONTOLOGY);
-        superTypes.put(List.class, JadescriptBuiltinTypeAtom.LIST);
-        superTypes.put(Map.class, JadescriptBuiltinTypeAtom.MAP);
-        superTypes.put(Set.class, JadescriptBuiltinTypeAtom.SET);
+            JadescriptValueAdapter::adaptList);
+
+        addClass(Map.class, JadescriptBuiltinTypeAtom.MAP,
+            JadescriptValueAdapter::adaptMap);
+        addClass(JadescriptMap.class, JadescriptBuiltinTypeAtom.MAP,
+            JadescriptValueAdapter::adaptMap);
+
+        addClass(Set.class, JadescriptBuiltinTypeAtom.SET,
+            JadescriptValueAdapter::adaptSet);
+        addClass(JadescriptSet.class, JadescriptBuiltinTypeAtom.SET,
+            JadescriptValueAdapter::adaptSet);
+
+        superTypes.put(AgentAction.class,
+            new Adapter(JadescriptBuiltinTypeAtom.ACTION, null));
+        superTypes.put(Predicate.class,
+            new Adapter(JadescriptBuiltinTypeAtom.PROPOSITION, null));
+        superTypes.put(Concept.class,
+            new Adapter(JadescriptBuiltinTypeAtom.CONCEPT, null));
+        superTypes.put(Ontology.class,
+            new Adapter(JadescriptBuiltinTypeAtom.ONTOLOGY, null));
+        superTypes.put(List.class, registered.get(List.class));
+        superTypes.put(Map.class, registered.get(Map.class));
+        superTypes.put(Set.class, registered.get(Set.class));
+    }
+
+    private static Object adaptList(Object l) {
+        final Collection<?> input = (Collection<?>) l;
+        final JadescriptList result = new JadescriptList(input.size());
+        for (Object x : input) {
+            result.add(adaptElement(x));
+        }
+        return result;
+    }
+
+    private static Object adaptSet(Object s) {
+        final Collection<?> input = (Collection<?>) s;
+        final JadescriptSet result = new JadescriptSet(input.size());
+        for (Object x : input) {
+            result.add(adaptElement(x));
+        }
+        return result;
+    }
+
+    private static Object adaptMap(Object m) {
+        final Map<?, ?> input = (Map<?, ?>) m;
+        final JadescriptMap result = new JadescriptMap(input.size());
+        for (Map.Entry<?, ?> e : input.entrySet()) {
+            result.put(adaptElement(e.getKey()), adaptElement(e.getValue()));
+        }
+        return result;
+    }
+
+    /*
+     Adapts an element of a collection to the Jadescript type of its own
+     class.
+     */
+    private static Object adaptElement(Object x) {
+        if (x == null) {
+            return null;
+        }
+        final Adapter adapter = adapters.get(x.getClass());
+        if (adapter == null) {
+            throw new JadescriptTypeException(x.getClass().getName());
+        }
+        return adapter.adapt(x);
     }
 
     public static <T> T adapt(
@@ -153,69 +214,51 @@ public class JadescriptValueAdapter {
         JadescriptTypeReference targetType
     ){
         final Class<?> fromClass = inputValue.getClass();
-        String fromClassName = fromClass.getName();
 
         try {
-            // Getting the builtinType
-            JadescriptBuiltinTypeAtom builtinTypeAtom =
-                jadescriptTypeMap.get(fromClassName);
-
-            if(builtinTypeAtom == null){
-                // Trying to get the builtinType by using the superTypes
-                // association map
-                for (Class<?> aClass : superTypes.keySet()) {
-                    if(aClass.isAssignableFrom(fromClass)){
-                        builtinTypeAtom = superTypes.get(aClass);
-                    }
-                }
-            }
+            final Adapter adapter = adapters.get(fromClass);
 
-            if(builtinTypeAtom == null){
-                // If it failed in both ways, cannot perform the conversion
-                throw new JadescriptTypeException(fromClassName);
+            if(adapter == null){
+                // Cannot perform the conversion
+                throw new JadescriptTypeException(fromClass.getName());
             }
 
-            // Creating a type description for the source type
-            JadescriptTypeReference sourceType =
-                new JadescriptTypeReference(builtinTypeAtom);
-
             // Preliminary trasformation before using the converter
-            Object adapted = adaptationMap.getOrDefault(
-                fromClassName,
-                Function.identity()
-            ).apply(inputValue);
+            Object adapted = adapter.adapt(inputValue);
+
+            if(adapter.adaptation != null
+                && targetType.getBase() == adapter.typeAtom
+                && targetType.getArity() == 0) {
+                // Already a new value of the target type
+                return (T) adapted;
+            }
 
-            //noinspection unchecked
-            return (T) Converter.convert(adapted, sourceType, targetType);
+            return (T) Converter.convert(
+                adapted,
+                adapter.typeReference,
+                targetType
+            );
         }catch (ClassCastException e){
-            throw new JadescriptTypeException(fromClassName, e);
+            throw new JadescriptTypeException(fromClass.getName(), e);
         }
     }
 
     public static <T> T adapt(Object input, Class<?> targetType){
-        JadescriptBuiltinTypeAtom targetTypeAtom =
-            jadescriptTypeMap.get(targetType.getName());
-
-        if(targetTypeAtom == null) {
-            for (Class<?> aClass : superTypes.keySet()) {
-                if(aClass.isAssignableFrom(input.getClass())){
-                    targetTypeAtom = superTypes.get(input.getClass());
-                }
-            }
-        }
+        final Adapter targetAdapter = adapters.get(targetType);
 
-        if(targetTypeAtom == null){
+        if(targetAdapter == null){
             throw new JadescriptTypeException(targetType.getName());
         }
 
-        return adapt(input, new JadescriptTypeReference(targetTypeAtom));
+        return adapt(input, targetAdapter.typeReference);
     }
 
     public static boolean isRegistered(Class<?> clazz){
-        return jadescriptTypeMap.containsKey(clazz.getName());
+        return registered.containsKey(clazz);
     }
 
     public static JadescriptBuiltinTypeAtom getTypeRefAtom(Class<?> clazz) {
-        return jadescriptTypeMap.get(clazz.getName());
+        final Adapter adapter = registered.get(clazz);
+        return adapter == null ? null : adapter.typeAtom;
     }
 }
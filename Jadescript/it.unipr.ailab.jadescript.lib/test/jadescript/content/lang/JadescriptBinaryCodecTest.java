@@ -0,0 +1,226 @@
+package jadescript.content.lang;
+
+import jade.content.abs.*;
+import jade.content.lang.Codec;
+import jade.content.onto.BasicOntology;
+import jade.content.onto.Ontology;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class JadescriptBinaryCodecTest {
+
+    private static final Ontology ONTOLOGY =
+        jadescript.content.onto.Ontology.getInstance();
+
+    private final JadescriptBinaryCodec codec = new JadescriptBinaryCodec();
+
+
+    /*
+     A content with all the tags of the encoding, but the null one (which is
+     never written for slots) and the content element list.
+     */
+    private static AbsPredicate everyTag() {
+        final AbsConcept item = new AbsConcept("Item");
+        item.set("name", "Sea by Bob");
+        item.set("author", "Bob");
+        item.set("lot", 42);
+        item.set("code", -7L);
+        item.set("weight", 2.5f);
+        item.set("price", -1.25e300);
+        item.set("sold", true);
+        item.set("framed", false);
+        item.set("since", new Date(1577934245000L));
+
+        final AbsAggregate tags = new AbsAggregate(BasicOntology.SEQUENCE);
+        tags.add(AbsPrimitive.wrap("Sea by Bob"));
+        tags.add(AbsPrimitive.wrap(Integer.MIN_VALUE));
+        tags.add(AbsPrimitive.wrap(Long.MAX_VALUE));
+        item.set("tags", tags);
+
+        final AbsAgentAction bid = new AbsAgentAction("SubmitBid");
+        bid.set("item", item);
+        bid.set("amount", 100);
+
+        final AbsIRE ire = new AbsIRE("iota");
+        ire.setVariable(new AbsVariable("x", "Item"));
+        final AbsPredicate owns = new AbsPredicate("Owns");
+        owns.set("item", new AbsVariable("x", "Item"));
+        ire.setProposition(owns);
+
+        final AbsPredicate result = new AbsPredicate("Sold");
+        result.set("bid", bid);
+        result.set("query", ire);
+        return result;
+    }
+
+
+    private AbsContentElement roundTrip(
+        Ontology ontology,
+        AbsContentElement content
+    ) throws Codec.CodecException {
+        final byte[] encoded = codec.encode(ontology, content);
+        final AbsContentElement decoded = codec.decode(ontology, encoded);
+        assertEquals(content.toString(), decoded.toString());
+        return decoded;
+    }
+
+
+    @Test
+    public void everyTagRoundTrips() throws Exception {
+        assertEquals(everyTag(), roundTrip(null, everyTag()));
+        assertEquals(everyTag(), roundTrip(ONTOLOGY, everyTag()));
+    }
+
+
+    @Test
+    public void contentElementListsRoundTrip() throws Exception {
+        final AbsContentElementList list = new AbsContentElementList();
+        list.add(everyTag());
+        list.add(new AbsPredicate("Done"));
+
+        // Lists do not override equals: their elements are compared.
+        final AbsContentElementList decoded =
+            (AbsContentElementList) roundTrip(ONTOLOGY, list);
+        assertEquals(list.size(), decoded.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(list.get(i), decoded.get(i));
+        }
+    }
+
+
+    @Test
+    public void bytesRoundTrip() throws Exception {
+        final byte[] bytes = {0, 1, -1, 127, -128};
+        final AbsPredicate content = new AbsPredicate("Blob");
+        content.set("data", AbsPrimitive.wrap(bytes));
+        content.set("empty", AbsPrimitive.wrap(new byte[0]));
+
+        final AbsContentElement decoded =
+            codec.decode(ONTOLOGY, codec.encode(ONTOLOGY, content));
+        assertArrayEquals(
+            bytes,
+            (byte[]) ((AbsPrimitive) decoded.getAbsObject("data")).getObject()
+        );
+        assertArrayEquals(
+            new byte[0],
+            (byte[]) ((AbsPrimitive) decoded.getAbsObject("empty")).getObject()
+        );
+    }
+
+
+    @Test
+    public void everyTruncationIsRejected() throws Exception {
+        final byte[] encoded = codec.encode(ONTOLOGY, everyTag());
+        for (int length = 0; length < encoded.length; length++) {
+            try {
+                codec.decode(ONTOLOGY, Arrays.copyOf(encoded, length));
+                fail("Decoded " + length + " of " + encoded.length + " bytes");
+            } catch (Codec.CodecException expected) {
+                // Expected.
+            }
+        }
+    }
+
+
+    @Test
+    public void corruptionsFailOnlyWithCodecExceptions() throws Exception {
+        final byte[] encoded = codec.encode(ONTOLOGY, everyTag());
+        final int[] replacements = {0x00, 0x01, 0x09, 0x0E, 0x7F, 0x80, 0xFF};
+        for (int i = 0; i < encoded.length; i++) {
+            for (int replacement : replacements) {
+                final byte[] corrupted = encoded.clone();
+                corrupted[i] = (byte) replacement;
+                try {
+                    codec.decode(ONTOLOGY, corrupted);
+                } catch (Codec.CodecException expected) {
+                    // Expected, when the corruption is detected.
+                }
+            }
+        }
+    }
+
+
+    /*
+     Header of the contents encoded without an ontology: the version and the
+     fingerprint of the empty table.
+     */
+    private static ByteArrayOutputStream header() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(1);
+        final int fingerprint = Arrays.hashCode(new String[0]);
+        out.write(fingerprint >>> 24);
+        out.write(fingerprint >>> 16);
+        out.write(fingerprint >>> 8);
+        out.write(fingerprint);
+        return out;
+    }
+
+
+    @Test(expected = Codec.CodecException.class)
+    public void bytesBeyondTheEndAreRejected() throws Exception {
+        final ByteArrayOutputStream out = header();
+        out.write(12); // Predicate
+        out.write(1); // Inline symbol
+        out.write(2); // String of 1 byte
+        out.write('P');
+        out.write(1); // One slot
+        out.write(1); // Inline symbol
+        out.write(2); // String of 1 byte
+        out.write('b');
+        out.write(9); // Bytes
+        out.write(100); // Only two bytes follow
+        out.write(0);
+        out.write(0);
+        codec.decode(out.toByteArray());
+    }
+
+
+    @Test(expected = Codec.CodecException.class)
+    public void negativeLengthsAreRejected() throws Exception {
+        final ByteArrayOutputStream out = header();
+        out.write(15); // Content element list
+        for (int i = 0; i < 4; i++) {
+            out.write(0xFF);
+        }
+        out.write(0x0F); // -1 as variable-length integer
+        codec.decode(out.toByteArray());
+    }
+
+
+    @Test(expected = Codec.CodecException.class)
+    public void deepNestingIsRejected() throws Exception {
+        final ByteArrayOutputStream out = header();
+        for (int i = 0; i < 10000; i++) {
+            out.write(15); // Content element list
+            out.write(1); // One element
+        }
+        codec.decode(out.toByteArray());
+    }
+
+
+    @Test(expected = Codec.CodecException.class)
+    public void trailingBytesAreRejected() throws Exception {
+        final byte[] encoded = codec.encode(ONTOLOGY, everyTag());
+        codec.decode(ONTOLOGY, Arrays.copyOf(encoded, encoded.length + 1));
+    }
+
+
+    @Test(expected = Codec.CodecException.class)
+    public void otherOntologiesAreRejected() throws Exception {
+        codec.decode(null, codec.encode(ONTOLOGY, everyTag()));
+    }
+
+
+    @Test(expected = Codec.CodecException.class)
+    public void nonContentElementsAreRejected() throws Exception {
+        final ByteArrayOutputStream out = header();
+        out.write(0); // Null
+        codec.decode(out.toByteArray());
+    }
+
+}
@@ -0,0 +1,145 @@
+package jadescript.core;
+
+import jade.content.ContentElement;
+import jade.content.abs.AbsContentElement;
+import jade.content.lang.Codec;
+import jade.content.lang.leap.LEAPCodec;
+import jade.content.onto.BasicOntology;
+import jade.content.onto.Ontology;
+import jade.content.onto.basic.TrueProposition;
+import jade.lang.acl.ACLMessage;
+import jadescript.core.message.Message;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CachingContentManagerTest {
+
+    private Agent agent;
+    private IndexedMessageQueue inbox;
+    private CountingCodec codec;
+
+
+    @Before
+    public void setup() throws Exception {
+        agent = new Agent();
+        agent.createMessageQueue();
+        inbox = agent.__getInbox();
+        codec = new CountingCodec();
+        agent.getContentManager().registerLanguage(codec);
+        agent.getContentManager().registerOntology(
+            BasicOntology.getInstance()
+        );
+    }
+
+
+    private ACLMessage encodedMessage() throws Exception {
+        final ACLMessage message = new ACLMessage(ACLMessage.INFORM);
+        message.setLanguage(LEAPCodec.NAME);
+        message.setOntology(BasicOntology.getInstance().getName());
+        agent.getContentManager().fillContent(
+            message,
+            new TrueProposition()
+        );
+        return message;
+    }
+
+
+    @Test
+    public void decodesOnceWhileInInbox() throws Exception {
+        inbox.addLast(encodedMessage());
+        final jade.util.leap.List stored = new jade.util.leap.ArrayList();
+        inbox.copyTo(stored);
+        final ACLMessage inInbox = (ACLMessage) stored.get(0);
+
+        final ContentElement first =
+            agent.getContentManager().extractContent(inInbox);
+        final ContentElement second =
+            agent.getContentManager().extractContent(inInbox);
+        assertSame(first, second);
+        assertEquals(1, codec.decodings);
+
+        // The handler which receives the message reuses the content.
+        final ACLMessage received = inbox.receive(null);
+        assertSame(inInbox, received);
+        assertSame(
+            first,
+            agent.getContentManager().extractContent(received)
+        );
+        assertEquals(1, codec.decodings);
+    }
+
+
+    @Test
+    public void messagesPutBackAreDecodedAgain() throws Exception {
+        inbox.addLast(encodedMessage());
+        final ACLMessage received = inbox.receive(null);
+        final ContentElement first =
+            agent.getContentManager().extractContent(received);
+
+        inbox.addFirst(received);
+        final ContentElement second =
+            agent.getContentManager().extractContent(inbox.receive(null));
+        assertNotSame(first, second);
+        assertEquals(2, codec.decodings);
+    }
+
+
+    @Test
+    public void lastReceivedContentIsReplacedByNextReception()
+        throws Exception {
+        inbox.addLast(encodedMessage());
+        inbox.addLast(encodedMessage());
+        final ACLMessage first = inbox.receive(null);
+        agent.getContentManager().extractContent(first);
+        inbox.receive(null);
+
+        // The first message is neither in the inbox nor the last received.
+        assertNull(inbox.getDecodedContent(first));
+        agent.getContentManager().extractContent(first);
+        assertEquals(2, codec.decodings);
+    }
+
+
+    @Test
+    public void messagesWithContentObjectAreNotDecoded() throws Exception {
+        final Message<TrueProposition> message =
+            new Message<>(ACLMessage.INFORM);
+        message.content = new TrueProposition();
+        inbox.addLast(message);
+
+        assertSame(message.content, inbox.getDecodedContent(message));
+        assertSame(
+            message.content,
+            agent.getContentManager().extractContent(message)
+        );
+        assertEquals(0, codec.decodings);
+    }
+
+
+    @Test
+    public void messagesOutsideTheInboxAreNotCached() throws Exception {
+        final ACLMessage message = encodedMessage();
+        agent.getContentManager().extractContent(message);
+        agent.getContentManager().extractContent(message);
+        assertEquals(2, codec.decodings);
+    }
+
+
+    @SuppressWarnings("serial")
+    private static final class CountingCodec extends LEAPCodec {
+
+        private int decodings = 0;
+
+
+        @Override
+        public AbsContentElement decode(Ontology ontology, byte[] content)
+            throws Codec.CodecException {
+            decodings++;
+            return super.decode(ontology, content);
+        }
+
+    }
+
+}
@@ -0,0 +1,203 @@
+package jadescript.core;
+
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+import jadescript.core.message.Message;
+import jadescript.lang.acl.DispatchTemplate;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class IndexedMessageQueueTest {
+
+    private static Message<?> message(int performative, String replyWith) {
+        final Message<?> message = new Message<>(performative);
+        message.setReplyWith(replyWith);
+        return message;
+    }
+
+
+    private static DispatchTemplate performative(int performative) {
+        return DispatchTemplate.matchIndexed(performative, null);
+    }
+
+
+    @Test
+    public void receivesInArrivalOrderWithoutTemplate() {
+        final IndexedMessageQueue queue = new IndexedMessageQueue();
+        final Message<?> first = message(ACLMessage.INFORM, "1");
+        final Message<?> second = message(ACLMessage.REQUEST, "2");
+        final Message<?> third = message(ACLMessage.INFORM, "3");
+        queue.addLast(first);
+        queue.addLast(second);
+        queue.addLast(third);
+
+        assertEquals(3, queue.size());
+        assertSame(first, queue.receive(null));
+        assertSame(second, queue.receive(null));
+        assertSame(third, queue.receive(null));
+        assertNull(queue.receive(null));
+        assertTrue(queue.isEmpty());
+    }
+
+
+    @Test
+    public void keepsArrivalOrderAcrossChains() {
+        final IndexedMessageQueue queue = new IndexedMessageQueue();
+        final Message<?> inform1 = message(ACLMessage.INFORM, "1");
+        final Message<?> request1 = message(ACLMessage.REQUEST, "2");
+        final Message<?> inform2 = message(ACLMessage.INFORM, "3");
+        final Message<?> request2 = message(ACLMessage.REQUEST, "4");
+        queue.addLast(inform1);
+        queue.addLast(request1);
+        queue.addLast(inform2);
+        queue.addLast(request2);
+
+        // Receiving from the performative bucket removes the message from
+        // the arrival order as well.
+        assertSame(request1, queue.receive(performative(ACLMessage.REQUEST)));
+        assertSame(inform1, queue.receive(null));
+        assertSame(inform2, queue.receive(performative(ACLMessage.INFORM)));
+        assertNull(queue.receive(performative(ACLMessage.INFORM)));
+        assertSame(request2, queue.receive(null));
+        assertTrue(queue.isEmpty());
+    }
+
+
+    @Test
+    public void dispatchTemplateDelegatesDynamicConstraints() {
+        final IndexedMessageQueue queue = new IndexedMessageQueue();
+        final Message<?> inform1 = message(ACLMessage.INFORM, "1");
+        final Message<?> inform2 = message(ACLMessage.INFORM, "2");
+        queue.addLast(inform1);
+        queue.addLast(inform2);
+
+        final DispatchTemplate template = DispatchTemplate.matchIndexed(
+            ACLMessage.INFORM,
+            MessageTemplate.MatchReplyWith("2")
+        );
+        assertSame(inform2, queue.receive(template));
+        assertNull(queue.receive(template));
+        assertNull(queue.receive(performative(ACLMessage.REQUEST)));
+        assertSame(
+            inform1,
+            queue.receive(performative(DispatchTemplate.ANY_PERFORMATIVE))
+        );
+    }
+
+
+    @Test
+    public void plainTemplatesScanInArrivalOrder() {
+        final IndexedMessageQueue queue = new IndexedMessageQueue();
+        final Message<?> request = message(ACLMessage.REQUEST, "1");
+        final Message<?> inform = message(ACLMessage.INFORM, "2");
+        queue.addLast(request);
+        queue.addLast(inform);
+
+        assertSame(
+            inform,
+            queue.receive(MessageTemplate.MatchPerformative(ACLMessage.INFORM))
+        );
+        assertSame(request, queue.receive(null));
+    }
+
+
+    @Test
+    public void addFirstPutsMessageBackInFront() {
+        final IndexedMessageQueue queue = new IndexedMessageQueue();
+        final Message<?> inform1 = message(ACLMessage.INFORM, "1");
+        final Message<?> inform2 = message(ACLMessage.INFORM, "2");
+        queue.addLast(inform1);
+        queue.addLast(inform2);
+
+        final ACLMessage received = queue.receive(null);
+        assertSame(inform1, received);
+        queue.addFirst(received);
+
+        assertSame(inform1, queue.receive(performative(ACLMessage.INFORM)));
+        assertSame(inform2, queue.receive(performative(ACLMessage.INFORM)));
+    }
+
+
+    @Test
+    public void storesPlainMessagesAsJadescriptMessages() {
+        final IndexedMessageQueue queue = new IndexedMessageQueue();
+        final ACLMessage plain = new ACLMessage(ACLMessage.INFORM);
+        plain.setContent("content");
+        plain.addUserDefinedParameter("key", "value");
+        queue.addLast(plain);
+
+        final ACLMessage received = queue.receive(null);
+        assertTrue(received instanceof Message);
+        assertSame(received, Message.wrap(received));
+        assertEquals(ACLMessage.INFORM, received.getPerformative());
+        assertEquals("content", received.getContent());
+        assertEquals("value", received.getUserDefinedParameter("key"));
+    }
+
+
+    @Test
+    public void maxSizeEvictsOldestMessage() {
+        final IndexedMessageQueue queue = new IndexedMessageQueue();
+        queue.setMaxSize(2);
+        final Message<?> first = message(ACLMessage.INFORM, "1");
+        final Message<?> second = message(ACLMessage.REQUEST, "2");
+        final Message<?> third = message(ACLMessage.INFORM, "3");
+        queue.addLast(first);
+        queue.addLast(second);
+        queue.addLast(third);
+
+        assertEquals(2, queue.size());
+        // The evicted message is removed from its bucket too.
+        assertSame(third, queue.receive(performative(ACLMessage.INFORM)));
+        assertSame(second, queue.receive(null));
+        assertTrue(queue.isEmpty());
+    }
+
+
+    @Test
+    public void maxSizeZeroMeansUnbounded() {
+        final IndexedMessageQueue queue = new IndexedMessageQueue();
+        queue.setMaxSize(0);
+        for (int i = 0; i < 1000; i++) {
+            queue.addLast(message(ACLMessage.INFORM, String.valueOf(i)));
+        }
+        assertEquals(1000, queue.size());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeMaxSizeIsRejected() {
+        new IndexedMessageQueue().setMaxSize(-1);
+    }
+
+
+    @Test
+    public void copyToListsMessagesInArrivalOrder() {
+        final IndexedMessageQueue queue = new IndexedMessageQueue();
+        final List<ACLMessage> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Message<?> m = message(
+                i % 2 == 0 ? ACLMessage.INFORM : ACLMessage.REQUEST,
+                String.valueOf(i)
+            );
+            expected.add(m);
+            queue.addLast(m);
+        }
+        queue.receive(performative(ACLMessage.REQUEST));
+        expected.remove(1);
+
+        final jade.util.leap.List copy = new jade.util.leap.ArrayList();
+        queue.copyTo(copy);
+        assertEquals(expected.size(), copy.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), copy.get(i));
+        }
+        // Copying does not remove the messages.
+        assertEquals(expected.size(), queue.size());
+    }
+
+}
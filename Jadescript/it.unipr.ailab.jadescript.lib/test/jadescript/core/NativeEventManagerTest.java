@@ -0,0 +1,97 @@
+package jadescript.core;
+
+import jade.content.onto.Ontology;
+import jade.lang.acl.ACLMessage;
+import jadescript.content.JadescriptProposition;
+import jadescript.core.message.Message;
+import jadescript.core.nativeevent.NativeEvent;
+import jadescript.java.AgentEnv;
+import jadescript.java.SideEffectsFlag;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NativeEventManagerTest {
+
+    private static final Ontology ONTOLOGY =
+        jadescript.content.onto.Ontology.getInstance();
+
+    private Agent agent;
+    private Agent.__O2ANativeEventManager manager;
+
+
+    @Before
+    public void setup() {
+        agent = new Agent();
+        // The Jadescript inbox makes the events be posted as objects.
+        agent.createMessageQueue();
+        agent.setup();
+        manager = new Agent.__O2ANativeEventManager(
+            AgentEnv.<Agent, SideEffectsFlag.AnySideEffectFlag>agentEnv(agent)
+        );
+        manager.activate(agent);
+        // The first step executes the activation.
+        manager.action();
+        drainInbox();
+    }
+
+
+    /*
+     Agents which are not started keep the posted messages in the temporary
+     queue created by JADE, which is read by receive().
+     */
+    private void drainInbox() {
+        while (agent.receive() != null) {
+            // Discarding.
+        }
+    }
+
+
+    private int nextPosted() {
+        final ACLMessage message = agent.receive();
+        assertNotNull(message);
+        final NativeEvent event = (NativeEvent) ((Message<?>) message).content;
+        return ((Numbered) event.getContent()).n;
+    }
+
+
+    @Test
+    public void postsEventsOfBothPathsInEmissionOrder() throws Exception {
+        final NativeEvent e0 = new NativeEvent(new Numbered(0), ONTOLOGY);
+        final NativeEvent e1 = new NativeEvent(new Numbered(1), ONTOLOGY);
+        final NativeEvent e2 = new NativeEvent(new Numbered(2), ONTOLOGY);
+        final NativeEvent e3 = new NativeEvent(new Numbered(3), ONTOLOGY);
+        agent.putO2AObject(e0, false);
+        agent.getNativeEventIngress().offer(e1);
+        agent.putO2AObject(e2, false);
+        agent.getNativeEventIngress().offer(e3);
+
+        manager.action();
+
+        assertEquals(0, nextPosted());
+        assertEquals(1, nextPosted());
+        assertEquals(2, nextPosted());
+        assertEquals(3, nextPosted());
+    }
+
+
+    @SuppressWarnings("serial")
+    private static final class Numbered implements JadescriptProposition {
+
+        private final int n;
+
+
+        private Numbered(int n) {
+            this.n = n;
+        }
+
+
+        @Override
+        public Ontology __getDeclaringOntology() {
+            return ONTOLOGY;
+        }
+
+    }
+
+}
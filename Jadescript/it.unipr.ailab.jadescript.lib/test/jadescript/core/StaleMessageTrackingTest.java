@@ -0,0 +1,155 @@
+package jadescript.core;
+
+import jade.lang.acl.ACLMessage;
+import jadescript.core.behaviours.CyclicBehaviour;
+import jadescript.core.message.Message;
+import jadescript.java.AgentEnv;
+import jadescript.java.SideEffectsFlag;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StaleMessageTrackingTest {
+
+    private Agent agent;
+    private IndexedMessageQueue inbox;
+
+
+    @Before
+    public void setup() {
+        agent = new Agent();
+        agent.createMessageQueue();
+        inbox = agent.__getInbox();
+    }
+
+
+    private CyclicBehaviour<Agent> activeBehaviour() {
+        final CyclicBehaviour<Agent> behaviour = new CyclicBehaviour<>(
+            AgentEnv.<Agent, SideEffectsFlag.AnySideEffectFlag>agentEnv(agent)
+        );
+        behaviour.activate(agent);
+        // The first step executes the activation.
+        behaviour.action();
+        assertTrue(behaviour.isActive());
+        return behaviour;
+    }
+
+
+    private Message<?> posted() {
+        final Message<?> message = new Message<>(ACLMessage.INFORM);
+        inbox.addLast(message);
+        return message;
+    }
+
+
+    @Test
+    public void staleWhenIgnoredByAllActiveBehaviours() {
+        final CyclicBehaviour<Agent> b1 = activeBehaviour();
+        final CyclicBehaviour<Agent> b2 = activeBehaviour();
+        final Message<?> message = posted();
+
+        assertFalse(agent.__isMessageStale(message));
+        agent.__setMessageIgnoredFlag(message, b1);
+        assertFalse(agent.__isMessageStale(message));
+        agent.__setMessageIgnoredFlag(message, b2);
+        assertTrue(agent.__isMessageStale(message));
+    }
+
+
+    @Test
+    public void inactiveBehavioursDoNotPreventStaleness() {
+        final CyclicBehaviour<Agent> active = activeBehaviour();
+        final CyclicBehaviour<Agent> inactive = new CyclicBehaviour<>(
+            AgentEnv.<Agent, SideEffectsFlag.AnySideEffectFlag>agentEnv(agent)
+        );
+        agent.addBehaviour(inactive);
+        final Message<?> message = posted();
+
+        agent.__setMessageIgnoredFlag(message, active);
+        assertTrue(agent.__isMessageStale(message));
+    }
+
+
+    @Test
+    public void setAllMessagesIgnoredMarksEveryMessage() {
+        final CyclicBehaviour<Agent> behaviour = activeBehaviour();
+        final Message<?> m1 = posted();
+        final Message<?> m2 = posted();
+
+        agent.__setAllMessagesIgnored(behaviour);
+        assertTrue(agent.__isMessageStale(m1));
+        assertTrue(agent.__isMessageStale(m2));
+
+        // Messages arriving later have not been ignored yet.
+        assertFalse(agent.__isMessageStale(posted()));
+    }
+
+
+    @Test
+    public void signaturesAreClearedExplicitlyAndWhenPutBack() {
+        final CyclicBehaviour<Agent> behaviour = activeBehaviour();
+        final Message<?> message = posted();
+
+        agent.__setMessageIgnoredFlag(message, behaviour);
+        agent.__cleanIgnoredFlagForMessage(message);
+        assertFalse(agent.__isMessageStale(message));
+
+        agent.__setMessageIgnoredFlag(message, behaviour);
+        final ACLMessage received = inbox.receive(null);
+        inbox.addFirst(received);
+        assertFalse(agent.__isMessageStale(received));
+    }
+
+
+    @Test
+    public void removedBehaviourSlotIsReusedWithoutItsSignatures() {
+        final CyclicBehaviour<Agent> b1 = activeBehaviour();
+        final CyclicBehaviour<Agent> b2 = activeBehaviour();
+        final Message<?> message = posted();
+        agent.__setMessageIgnoredFlag(message, b2);
+
+        agent.removeBehaviour(b2);
+        // The new behaviour takes the slot of b2, but it did not ignore the
+        // message.
+        final CyclicBehaviour<Agent> b3 = activeBehaviour();
+        agent.__setMessageIgnoredFlag(message, b1);
+        assertFalse(agent.__isMessageStale(message));
+
+        agent.__setMessageIgnoredFlag(message, b3);
+        assertTrue(agent.__isMessageStale(message));
+    }
+
+
+    @Test
+    public void tracksMoreThanSixtyFourBehaviours() {
+        final List<CyclicBehaviour<Agent>> behaviours = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            behaviours.add(activeBehaviour());
+        }
+        final Message<?> message = posted();
+
+        for (int i = 0; i < behaviours.size() - 1; i++) {
+            agent.__setMessageIgnoredFlag(message, behaviours.get(i));
+        }
+        assertFalse(agent.__isMessageStale(message));
+        agent.__setMessageIgnoredFlag(
+            message,
+            behaviours.get(behaviours.size() - 1)
+        );
+        assertTrue(agent.__isMessageStale(message));
+    }
+
+
+    @Test
+    public void messagesAreNeverStaleWithOtherQueues() {
+        final Agent withoutInbox = new Agent();
+        assertFalse(withoutInbox.__isMessageStale(
+            new Message<>(ACLMessage.INFORM)
+        ));
+    }
+
+}
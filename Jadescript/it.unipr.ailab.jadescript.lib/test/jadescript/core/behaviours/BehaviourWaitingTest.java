@@ -0,0 +1,138 @@
+package jadescript.core.behaviours;
+
+import jadescript.core.Agent;
+import jadescript.java.AgentEnv;
+import jadescript.java.SideEffectsFlag;
+import jadescript.lang.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the waitings issued in an execution step, which are collapsed
+ * according to their priority. The behaviours are executed directly, as
+ * the scheduler of the agent does.
+ */
+public class BehaviourWaitingTest {
+
+    private static final Duration PERIOD = Duration.of(60000L);
+
+    private Agent agent;
+
+
+    @Before
+    public void setup() {
+        agent = new Agent();
+    }
+
+
+    @After
+    public void teardown() {
+        agent.__getTimerWheel().clear();
+    }
+
+
+    @Test
+    public void periodicBehavioursWithNoHandledEventsWaitForEvents() {
+        final PeriodicBehaviour behaviour = new PeriodicBehaviour(agent);
+        behaviour.activate_every(agent, PERIOD);
+
+        behaviour.action();
+        assertEquals(1, behaviour.ticks);
+        // The event wait overrides the periodic one: the behaviour is not
+        // woken up by the timer, but only by the next event.
+        assertFalse(behaviour.isRunnable());
+        assertEquals(0, agent.__getTimerWheel().size());
+
+        // A message arrives, and no handler accepts it.
+        behaviour.restart();
+        behaviour.action();
+        assertEquals(2, behaviour.ticks);
+        assertFalse(behaviour.isRunnable());
+        assertEquals(0, agent.__getTimerWheel().size());
+    }
+
+
+    @Test
+    public void periodicBehavioursWithHandledEventsWaitForTheNextTick() {
+        final PeriodicBehaviour behaviour = new PeriodicBehaviour(agent);
+        behaviour.eventHandled = true;
+        behaviour.activate_every(agent, PERIOD);
+
+        behaviour.action();
+        assertEquals(1, behaviour.ticks);
+        assertFalse(behaviour.isRunnable());
+        assertEquals(1, agent.__getTimerWheel().size());
+    }
+
+
+    @Test
+    public void delayedActivationsOverrideTheOtherWaitings() {
+        final PeriodicBehaviour behaviour = new PeriodicBehaviour(agent);
+        behaviour.activate_every(agent, PERIOD);
+        behaviour.action();
+        assertEquals(0, agent.__getTimerWheel().size());
+
+        // Paused while waiting for events.
+        behaviour.activate_after(agent, PERIOD);
+        assertFalse(behaviour.isRunnable());
+        assertEquals(1, agent.__getTimerWheel().size());
+    }
+
+
+    /**
+     * A periodic behaviour which, like the generated ones, waits for events
+     * when none of its event handlers fired in the step.
+     */
+    @SuppressWarnings("serial")
+    private static class PeriodicBehaviour extends Behaviour<Agent> {
+
+        private int ticks = 0;
+        private boolean eventHandled = false;
+
+
+        private PeriodicBehaviour(Agent agent) {
+            super(AgentEnv.<Agent, SideEffectsFlag.AnySideEffectFlag>agentEnv(
+                agent
+            ));
+        }
+
+
+        @Override
+        protected ExecutionType __executionType() {
+            return ExecutionType.Cyclic;
+        }
+
+
+        @Override
+        public void doAction(int _tickCount) {
+            ticks++;
+            if (!eventHandled) {
+                __noMessageHandled();
+                __awaitForEvents();
+            }
+        }
+
+
+        @Override
+        public void doOnActivate() {
+
+        }
+
+
+        @Override
+        public void doOnDeactivate() {
+
+        }
+
+
+        @Override
+        public void doOnDestroy() {
+
+        }
+
+    }
+
+}
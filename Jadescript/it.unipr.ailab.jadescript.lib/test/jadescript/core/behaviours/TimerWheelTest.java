@@ -0,0 +1,190 @@
+package jadescript.core.behaviours;
+
+import jadescript.core.Agent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TimerWheelTest {
+
+    /*
+     Deadlines are placed one hour in the future, so that the wheel is
+     driven only by the explicit ticks of the tests.
+     */
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private TimerWheel wheel;
+    private long base;
+
+
+    @Before
+    public void setup() {
+        wheel = new TimerWheel();
+        base = System.currentTimeMillis() + HOUR;
+        wheel.tick(base);
+    }
+
+
+    @Test
+    public void firesAtDeadlineAndNotBefore() {
+        final long[] delays = {
+            1, 2, 63, 64, 65, 127, 4095, 4096, 4097, 262143, 262144,
+            262145, 16777215, 16777216, 16777217, 50000000
+        };
+        for (long delay : delays) {
+            setup();
+            final Recorder recorder = new Recorder();
+            wheel.schedule(recorder, base + delay);
+            assertEquals(1, wheel.size());
+
+            wheel.tick(base + delay - 1);
+            assertEquals("delay " + delay, 0, recorder.fired.size());
+            wheel.tick(base + delay);
+            assertEquals("delay " + delay, 1, recorder.fired.size());
+            assertEquals(0, wheel.size());
+            assertFalse(recorder.fired.get(0).isScheduled());
+        }
+    }
+
+
+    @Test
+    public void wakesUpEveryDueTimeoutInOneTick() {
+        final Recorder recorder = new Recorder();
+        for (long delay = 1; delay < 100000; delay *= 3) {
+            wheel.schedule(recorder, base + delay);
+        }
+        final int scheduled = wheel.size();
+
+        wheel.tick(base + 100000);
+        assertEquals(scheduled, recorder.fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+
+    @Test
+    public void neverFiresEarlyOrLate() {
+        final Random random = new Random(42);
+        final List<Recorder> recorders = new ArrayList<>();
+        final List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            final Recorder recorder = new Recorder();
+            final long deadline = base + 1 + (long) (
+                random.nextDouble() * random.nextDouble() * (1L << 26)
+            );
+            wheel.schedule(recorder, deadline);
+            recorders.add(recorder);
+            deadlines.add(deadline);
+        }
+
+        // Each timeout fires exactly once, in the first tick which reaches
+        // its deadline.
+        long now = base;
+        while (wheel.size() > 0) {
+            now += 1 + random.nextInt(200000);
+            wheel.tick(now);
+            for (int i = 0; i < recorders.size(); i++) {
+                final boolean due = deadlines.get(i) <= now;
+                assertEquals(due ? 1 : 0, recorders.get(i).fired.size());
+            }
+        }
+    }
+
+
+    @Test
+    public void cancelledTimeoutsDoNotFire() {
+        final Recorder kept = new Recorder();
+        final Recorder cancelled = new Recorder();
+        wheel.schedule(kept, base + 10);
+        final TimerWheel.Timeout timeout =
+            wheel.schedule(cancelled, base + 10);
+        assertTrue(timeout.isScheduled());
+
+        timeout.cancel();
+        assertFalse(timeout.isScheduled());
+        assertEquals(1, wheel.size());
+
+        wheel.tick(base + 10);
+        assertEquals(1, kept.fired.size());
+        assertEquals(0, cancelled.fired.size());
+
+        // Cancelling twice, or after the expiration, has no effect.
+        timeout.cancel();
+        kept.fired.get(0).cancel();
+        assertEquals(0, wheel.size());
+    }
+
+
+    @Test
+    public void elapsedDeadlinesFireImmediately() {
+        final Recorder recorder = new Recorder();
+        final TimerWheel.Timeout timeout = wheel.schedule(recorder, base);
+        assertEquals(1, recorder.fired.size());
+        assertSame(timeout, recorder.fired.get(0));
+        assertEquals(0, wheel.size());
+    }
+
+
+    @Test
+    public void clearCancelsEverything() {
+        final Recorder recorder = new Recorder();
+        final TimerWheel.Timeout near = wheel.schedule(recorder, base + 5);
+        final TimerWheel.Timeout far =
+            wheel.schedule(recorder, base + 100000000);
+        wheel.clear();
+
+        assertEquals(0, wheel.size());
+        assertFalse(near.isScheduled());
+        assertFalse(far.isScheduled());
+        wheel.tick(base + 200000000);
+        assertEquals(0, recorder.fired.size());
+    }
+
+
+    @Test(timeout = 5000)
+    public void sharedDriverWakesUpBehaviours() throws Exception {
+        final TimerWheel realTime = new TimerWheel();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Recorder recorder = new Recorder() {
+            @Override
+            void __timeoutExpired(TimerWheel.Timeout timeout) {
+                super.__timeoutExpired(timeout);
+                latch.countDown();
+            }
+        };
+        final long deadline = System.currentTimeMillis() + 30;
+        realTime.schedule(recorder, deadline);
+
+        latch.await();
+        assertTrue(System.currentTimeMillis() >= deadline);
+        assertEquals(0, realTime.size());
+    }
+
+
+    @SuppressWarnings("serial")
+    private static class Recorder extends CyclicBehaviour<Agent> {
+
+        private final List<TimerWheel.Timeout> fired = new ArrayList<>();
+
+
+        private Recorder() {
+            super(null);
+        }
+
+
+        @Override
+        void __timeoutExpired(TimerWheel.Timeout timeout) {
+            synchronized (fired) {
+                fired.add(timeout);
+            }
+        }
+
+    }
+
+}
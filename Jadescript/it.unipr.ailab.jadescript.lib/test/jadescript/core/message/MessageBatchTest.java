@@ -0,0 +1,191 @@
+package jadescript.core.message;
+
+import jade.content.ContentManager;
+import jade.content.lang.leap.LEAPCodec;
+import jade.content.onto.BasicOntology;
+import jade.content.onto.basic.TrueProposition;
+import jade.core.AID;
+import jade.lang.acl.ACLMessage;
+import jadescript.core.Agent;
+import jadescript.core.exception.JadescriptException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MessageBatchTest {
+
+    private static final AID ALICE = new AID("alice@platform", AID.ISGUID);
+    private static final AID BOB = new AID("bob@platform", AID.ISGUID);
+    private static final AID CAROL = new AID("carol@platform", AID.ISGUID);
+
+    private MessageBatch batch;
+    private ContentManager contentManager;
+    private List<ACLMessage> sent;
+
+
+    @Before
+    public void setup() {
+        batch = new MessageBatch();
+        contentManager = new ContentManager();
+        contentManager.registerLanguage(new LEAPCodec());
+        contentManager.registerOntology(BasicOntology.getInstance());
+        sent = new ArrayList<>();
+    }
+
+
+    private static Message<Object> message(String content, AID... receivers) {
+        final Message<Object> message = new Message<>(ACLMessage.INFORM);
+        message.setLanguage(LEAPCodec.NAME);
+        message.setOntology(BasicOntology.getInstance().getName());
+        if (content != null) {
+            message.setContent(content);
+        }
+        for (AID receiver : receivers) {
+            message.addReceiver(receiver);
+        }
+        return message;
+    }
+
+
+    private static List<AID> receiversOf(ACLMessage message) {
+        final List<AID> result = new ArrayList<>();
+        final Iterator<?> it = message.getAllReceiver();
+        while (it.hasNext()) {
+            result.add((AID) it.next());
+        }
+        return result;
+    }
+
+
+    private void flush() {
+        batch.flush(contentManager, sent::add);
+        assertTrue(batch.isEmpty());
+    }
+
+
+    @Test
+    public void equalContentsAreMerged() {
+        batch.add(message("hello", ALICE), null);
+        batch.add(message("hello", BOB), null);
+        batch.add(message("hello", CAROL), null);
+        flush();
+
+        assertEquals(1, sent.size());
+        assertEquals(
+            Arrays.asList(ALICE, BOB, CAROL),
+            receiversOf(sent.get(0))
+        );
+        assertEquals("hello", sent.get(0).getContent());
+    }
+
+
+    @Test
+    public void differentContentsWithTheSameHeadersAreNotMerged() {
+        batch.add(message("hello", ALICE), null);
+        batch.add(message("goodbye", BOB), null);
+        batch.add(message("hello", CAROL), null);
+        flush();
+
+        assertEquals(2, sent.size());
+        assertEquals("hello", sent.get(0).getContent());
+        assertEquals(Arrays.asList(ALICE, CAROL), receiversOf(sent.get(0)));
+        assertEquals("goodbye", sent.get(1).getContent());
+        assertEquals(Arrays.asList(BOB), receiversOf(sent.get(1)));
+    }
+
+
+    @Test
+    public void differentContentElementsAreNotMerged() {
+        final TrueProposition first = new TrueProposition();
+        final TrueProposition second = new TrueProposition();
+        batch.add(message(null, ALICE), first);
+        batch.add(message(null, BOB), second);
+        batch.add(message(null, CAROL), first);
+        flush();
+
+        assertEquals(2, sent.size());
+        assertSame(first, ((Message<?>) sent.get(0)).content);
+        assertEquals(Arrays.asList(ALICE, CAROL), receiversOf(sent.get(0)));
+        assertSame(second, ((Message<?>) sent.get(1)).content);
+        assertEquals(Arrays.asList(BOB), receiversOf(sent.get(1)));
+    }
+
+
+    @Test
+    public void differentHeadersAreNotMerged() {
+        final Message<Object> other = message("hello", BOB);
+        other.setConversationId("other");
+        final Message<Object> request = message("hello", CAROL);
+        request.setPerformative(ACLMessage.REQUEST);
+        batch.add(message("hello", ALICE), null);
+        batch.add(other, null);
+        batch.add(request, null);
+        flush();
+
+        assertEquals(3, sent.size());
+    }
+
+
+    @Test
+    public void receiversNeverGetTheSameMessageTwice() {
+        batch.add(message("hello", ALICE), null);
+        batch.add(message("hello", ALICE, BOB), null);
+        flush();
+
+        assertEquals(2, sent.size());
+        assertEquals(Arrays.asList(ALICE), receiversOf(sent.get(0)));
+        assertEquals(Arrays.asList(ALICE, BOB), receiversOf(sent.get(1)));
+    }
+
+
+    @Test
+    public void failedSendsDoNotStopTheOthers() {
+        batch.add(message("first", ALICE), null);
+        batch.add(message("second", BOB), null);
+        try {
+            batch.flush(contentManager, message -> {
+                sent.add(message);
+                if ("first".equals(message.getContent())) {
+                    throw new IllegalStateException("first");
+                }
+            });
+            fail("The failure of the first send was not reported");
+        } catch (JadescriptException e) {
+            assertEquals(2, sent.size());
+        }
+        assertTrue(batch.isEmpty());
+    }
+
+
+    @Test
+    public void sendFailuresAreSuppressedByHandlerFailures() {
+        final Agent agent = new Agent();
+        final Message<Object> unknownLanguage = message(null, ALICE);
+        unknownLanguage.setLanguage("unknown");
+        agent.__sendAtEndOfHandler(unknownLanguage, new TrueProposition());
+        final RuntimeException handlerFailure = new RuntimeException();
+
+        agent.__flushSends(handlerFailure);
+        assertEquals(1, handlerFailure.getSuppressed().length);
+        // The batch is emptied anyway.
+        agent.__flushSends(null);
+    }
+
+
+    @Test(expected = JadescriptException.class)
+    public void sendFailuresAreThrownWhenTheHandlerSucceeds() {
+        final Agent agent = new Agent();
+        final Message<Object> unknownLanguage = message(null, ALICE);
+        unknownLanguage.setLanguage("unknown");
+        agent.__sendAtEndOfHandler(unknownLanguage, new TrueProposition());
+
+        agent.__flushSends(null);
+    }
+
+}
@@ -0,0 +1,192 @@
+package jadescript.core.message;
+
+import jade.content.ContentElement;
+import jade.content.ContentManager;
+import jade.content.abs.AbsContentElement;
+import jade.content.lang.Codec;
+import jade.content.lang.leap.LEAPCodec;
+import jade.content.onto.BasicOntology;
+import jade.content.onto.Ontology;
+import jade.content.onto.OntologyException;
+import jade.content.onto.basic.Equals;
+import jade.content.onto.basic.TrueProposition;
+import jade.lang.acl.ACLMessage;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the contents filled with {@link Message#__fillContent}, which
+ * are shared with the receivers in the same container and encoded only when
+ * needed.
+ */
+public class MessageContentTest {
+
+    private CountingContentManager sender;
+    private CountingCodec receiverCodec;
+    private ContentManager receiver;
+
+
+    @Before
+    public void setup() {
+        sender = new CountingContentManager();
+        sender.registerLanguage(new LEAPCodec());
+        sender.registerOntology(BasicOntology.getInstance());
+        receiverCodec = new CountingCodec();
+        receiver = new ContentManager();
+        receiver.registerLanguage(receiverCodec);
+        receiver.registerOntology(BasicOntology.getInstance());
+    }
+
+
+    private Message<ContentElement> filled(ContentElement element)
+        throws Exception {
+        final Message<ContentElement> message =
+            new Message<>(ACLMessage.INFORM);
+        message.setLanguage(LEAPCodec.NAME);
+        message.setOntology(BasicOntology.getInstance().getName());
+        message.__fillContent(sender, element);
+        return message;
+    }
+
+
+    @Test
+    public void localReceiversGetTheElementWithoutDecoding() throws Exception {
+        final TrueProposition element = new TrueProposition();
+        final Message<ContentElement> message = filled(element);
+        final Message<?> delivered = (Message<?>) message.shallowClone();
+
+        assertSame(element, delivered.getContent(receiver));
+        assertEquals(0, receiverCodec.decodings);
+    }
+
+
+    @Test
+    public void deliveredCopiesDoNotUseTheSenderContentManager()
+        throws Exception {
+        final Message<ContentElement> message = filled(new TrueProposition());
+        final Message<?> delivered = (Message<?>) message.shallowClone();
+        sender.registerLanguage(new FailingCodec(), LEAPCodec.NAME);
+
+        final byte[] bytes = delivered.getByteSequenceContent();
+        assertNotNull(bytes);
+        assertEquals(0, sender.fillings);
+        assertTrue(
+            receiver.extractContent(encodedCopy(bytes))
+                instanceof TrueProposition
+        );
+    }
+
+
+    @Test
+    public void byteSequenceContentIsEncodedFirst() throws Exception {
+        final Message<ContentElement> message = filled(new TrueProposition());
+
+        final byte[] bytes = message.getByteSequenceContent();
+        assertNotNull(bytes);
+        assertTrue(message.hasByteSequenceContent());
+        assertArrayEquals(
+            new LEAPCodec().encode(
+                BasicOntology.getInstance(),
+                (AbsContentElement) BasicOntology.getInstance()
+                    .fromObject(new TrueProposition())
+            ),
+            bytes
+        );
+    }
+
+
+    @Test
+    public void pendingContentsAreEncodedWhenSerialized() throws Exception {
+        final Message<ContentElement> message = filled(new TrueProposition());
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+            out.writeObject(message);
+        }
+        final Message<?> arrived;
+        try (ObjectInputStream in = new ObjectInputStream(
+            new ByteArrayInputStream(buffer.toByteArray())
+        )) {
+            arrived = (Message<?>) in.readObject();
+        }
+
+        assertNull(arrived.content);
+        assertNotNull(arrived.getByteSequenceContent());
+        assertTrue(arrived.getContent(receiver) instanceof TrueProposition);
+        assertEquals(1, receiverCodec.decodings);
+    }
+
+
+    @Test
+    public void contentsWhichCannotBeSharedAreEncodedAtOnce()
+        throws Exception {
+        // The sides of an equality can be any term, even mutable ones.
+        final Message<ContentElement> message =
+            filled(new Equals("a", "a"));
+
+        assertEquals(1, sender.fillings);
+        assertNull(message.content);
+        assertTrue(message.hasByteSequenceContent());
+    }
+
+
+    private static ACLMessage encodedCopy(byte[] bytes) {
+        final ACLMessage result = new ACLMessage(ACLMessage.INFORM);
+        result.setLanguage(LEAPCodec.NAME);
+        result.setOntology(BasicOntology.getInstance().getName());
+        result.setByteSequenceContent(bytes);
+        return result;
+    }
+
+
+    @SuppressWarnings("serial")
+    private static class CountingContentManager extends ContentManager {
+
+        private int fillings = 0;
+
+
+        @Override
+        public void fillContent(ACLMessage msg, ContentElement content)
+            throws Codec.CodecException, OntologyException {
+            fillings++;
+            super.fillContent(msg, content);
+        }
+
+    }
+
+    @SuppressWarnings("serial")
+    private static class CountingCodec extends LEAPCodec {
+
+        private int decodings = 0;
+
+
+        @Override
+        public synchronized AbsContentElement decode(
+            Ontology ontology,
+            byte[] content
+        ) throws CodecException {
+            decodings++;
+            return super.decode(ontology, content);
+        }
+
+    }
+
+    @SuppressWarnings("serial")
+    private static class FailingCodec extends LEAPCodec {
+
+        @Override
+        public byte[] encode(Ontology ontology, AbsContentElement content)
+            throws CodecException {
+            throw new CodecException("Not the codec of the message");
+        }
+
+    }
+
+}
@@ -0,0 +1,292 @@
+package jadescript.core.nativeevent;
+
+import jade.content.onto.Ontology;
+import jadescript.content.JadescriptProposition;
+import jadescript.core.Agent;
+import jadescript.core.nativeevent.NativeEventIngress.OverflowPolicy;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class NativeEventQueueTest {
+
+    private static NativeEvent event(JadescriptProposition content) {
+        return new NativeEvent(content, null);
+    }
+
+
+    private static NativeEvent tick(int n) {
+        return event(new Tick(n));
+    }
+
+
+    private static int tickOf(NativeEvent event) {
+        return ((Tick) event.getContent()).n;
+    }
+
+
+    @Test
+    public void pollsInArrivalOrder() {
+        final NativeEventQueue queue =
+            new NativeEventQueue(0, OverflowPolicy.DROP_OLDEST, null);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(queue.offer(event(new Alarm(i))));
+        }
+        assertEquals(5, queue.getDepth());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, ((Alarm) queue.poll().getContent()).n);
+        }
+        assertNull(queue.poll());
+    }
+
+
+    @Test
+    public void notifiesEachAcceptedEvent() {
+        final AtomicInteger notified = new AtomicInteger();
+        final NativeEventQueue queue = new NativeEventQueue(
+            1,
+            OverflowPolicy.DROP_NEWEST,
+            notified::incrementAndGet
+        );
+        queue.offer(tick(0));
+        queue.offer(tick(1));
+        assertEquals(1, notified.get());
+    }
+
+
+    @Test
+    public void dropOldestMakesRoom() {
+        final NativeEventQueue queue =
+            new NativeEventQueue(2, OverflowPolicy.DROP_OLDEST, null);
+        assertTrue(queue.offer(event(new Alarm(0))));
+        assertTrue(queue.offer(event(new Alarm(1))));
+        assertTrue(queue.offer(event(new Alarm(2))));
+
+        assertEquals(2, queue.getDepth());
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(3, queue.getAcceptedCount());
+        assertEquals(1, ((Alarm) queue.poll().getContent()).n);
+        assertEquals(2, ((Alarm) queue.poll().getContent()).n);
+    }
+
+
+    @Test
+    public void dropNewestRejectsWhenFull() {
+        final NativeEventQueue queue =
+            new NativeEventQueue(2, OverflowPolicy.DROP_NEWEST, null);
+        assertTrue(queue.offer(event(new Alarm(0))));
+        assertTrue(queue.offer(event(new Alarm(1))));
+        assertFalse(queue.offer(event(new Alarm(2))));
+
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(0, ((Alarm) queue.poll().getContent()).n);
+        assertEquals(1, ((Alarm) queue.poll().getContent()).n);
+        assertNull(queue.poll());
+    }
+
+
+    @Test
+    public void coalesceReplacesPendingEventOfSameType() {
+        final NativeEventQueue queue =
+            new NativeEventQueue(10, OverflowPolicy.COALESCE, null);
+        queue.offer(tick(0));
+        queue.offer(event(new Alarm(0)));
+        // Replaced in place, even if the queue is not full.
+        assertTrue(queue.offer(tick(1)));
+        assertTrue(queue.offer(tick(2)));
+
+        assertEquals(2, queue.getDepth());
+        assertEquals(2, queue.getCoalescedCount());
+        assertEquals(2, tickOf(queue.poll()));
+        assertTrue(queue.poll().getContent() instanceof Alarm);
+
+        // No pending event of that type anymore: the event is queued.
+        queue.offer(tick(3));
+        assertEquals(3, tickOf(queue.poll()));
+    }
+
+
+    @Test
+    public void coalesceDropsOtherTypesWhenFull() {
+        final NativeEventQueue queue =
+            new NativeEventQueue(1, OverflowPolicy.COALESCE, null);
+        assertTrue(queue.offer(tick(0)));
+        assertFalse(queue.offer(event(new Alarm(0))));
+        assertTrue(queue.offer(tick(1)));
+
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(1, tickOf(queue.poll()));
+    }
+
+
+    @Test
+    public void blockRejectsOffersWhenFull() {
+        final NativeEventQueue queue =
+            new NativeEventQueue(1, OverflowPolicy.BLOCK, null);
+        assertTrue(queue.offer(tick(0)));
+        assertFalse(queue.offer(tick(1)));
+        assertEquals(1, queue.getDroppedCount());
+    }
+
+
+    @Test
+    public void blockWaitsForRoom() throws Exception {
+        final NativeEventQueue queue =
+            new NativeEventQueue(1, OverflowPolicy.BLOCK, null);
+        queue.offer(tick(0));
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicBoolean accepted = new AtomicBoolean(false);
+        final Thread producer = new Thread(() -> {
+            started.countDown();
+            try {
+                accepted.set(queue.put(tick(1)));
+            } catch (InterruptedException ignored) {
+            }
+        });
+        producer.start();
+        started.await();
+        producer.join(200);
+        assertTrue(producer.isAlive());
+
+        assertEquals(0, tickOf(queue.poll()));
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(producer.isAlive());
+        assertTrue(accepted.get());
+        assertEquals(1, tickOf(queue.poll()));
+    }
+
+
+    @Test(timeout = 5000)
+    public void blockDoesNotWaitOnTheConsumerThread() throws Exception {
+        final NativeEventQueue queue =
+            new NativeEventQueue(1, OverflowPolicy.BLOCK, null);
+        // This thread becomes the consumer.
+        assertNull(queue.poll());
+        queue.offer(tick(0));
+
+        assertFalse(queue.put(tick(1)));
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(0, tickOf(queue.poll()));
+    }
+
+
+    @Test(timeout = 5000)
+    public void blockDoesNotWaitOnTheConsumerBeforeItPolls()
+        throws Exception {
+        final NativeEventQueue queue =
+            new NativeEventQueue(1, OverflowPolicy.BLOCK, null);
+        queue.setConsumer(Thread.currentThread());
+
+        assertTrue(queue.put(tick(0)));
+        assertFalse(queue.put(tick(1)));
+        assertEquals(1, queue.getDroppedCount());
+    }
+
+
+    @Test(timeout = 5000)
+    public void agentsCanEmitToThemselvesBeforeTheFirstPoll()
+        throws Exception {
+        // As in "on create": the thread which sets up the agent emits more
+        // events than the capacity, before the native event manager runs.
+        final SetUpAgent agent = new SetUpAgent();
+        final NativeEventQueue queue =
+            (NativeEventQueue) agent.getNativeEventIngress();
+        queue.setCapacity(2);
+        queue.setOverflowPolicy(OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 5; i++) {
+            queue.put(tick(i));
+        }
+        assertEquals(2, queue.getDepth());
+        assertEquals(3, queue.getDroppedCount());
+    }
+
+
+    @Test
+    public void changingPolicyReleasesWaitingProducers() throws Exception {
+        final NativeEventQueue queue =
+            new NativeEventQueue(1, OverflowPolicy.BLOCK, null);
+        queue.offer(tick(0));
+        final Thread producer = new Thread(() -> {
+            try {
+                queue.put(tick(1));
+            } catch (InterruptedException ignored) {
+            }
+        });
+        producer.start();
+        producer.join(100);
+
+        queue.setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(producer.isAlive());
+        assertEquals(1, queue.getDepth());
+    }
+
+
+    @Test
+    public void eventsAreNumberedInCreationOrder() {
+        final NativeEvent first = tick(0);
+        final NativeEvent second = tick(1);
+        assertTrue(first.__getSequence() < second.__getSequence());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeCapacityIsRejected() {
+        new NativeEventQueue(-1, OverflowPolicy.DROP_OLDEST, null);
+    }
+
+
+    @SuppressWarnings("serial")
+    private static final class SetUpAgent extends Agent {
+
+        private SetUpAgent() {
+            createMessageQueue();
+            setup();
+        }
+
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Tick implements JadescriptProposition {
+
+        private final int n;
+
+
+        private Tick(int n) {
+            this.n = n;
+        }
+
+
+        @Override
+        public Ontology __getDeclaringOntology() {
+            return null;
+        }
+
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Alarm implements JadescriptProposition {
+
+        private final int n;
+
+
+        private Alarm(int n) {
+            this.n = n;
+        }
+
+
+        @Override
+        public Ontology __getDeclaringOntology() {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+package jadescript.lang;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class DurationTest {
+
+    /*
+     A duration whose seconds do not fit in the lower half of the slots.
+     */
+    private static final long LONG_MILLIS = (5L << 32 | 0x80000001L) * 1000L
+        + 999L;
+
+
+    @Test
+    public void splitSlotsRoundTrip() {
+        for (long millis : new long[]{0L, 1L, 999L, 1000L, 93784005L,
+            LONG_MILLIS}) {
+            final Duration source = Duration.of(millis);
+            final Duration target = new Duration();
+            target.setSecondsA(source.getSecondsA());
+            target.setSecondsB(source.getSecondsB());
+            target.setMillis(source.getMillis());
+
+            assertEquals(millis, target.toMillis());
+            assertEquals(source, target);
+        }
+    }
+
+
+    @Test
+    public void splitSlotsCanBeSetInAnyOrder() {
+        final Duration source = Duration.of(LONG_MILLIS);
+        final Duration byMillisFirst = new Duration();
+        byMillisFirst.setMillis(source.getMillis());
+        byMillisFirst.setSecondsB(source.getSecondsB());
+        byMillisFirst.setSecondsA(source.getSecondsA());
+        final Duration bySecondsBFirst = new Duration();
+        bySecondsBFirst.setSecondsB(source.getSecondsB());
+        bySecondsBFirst.setMillis(source.getMillis());
+        bySecondsBFirst.setSecondsA(source.getSecondsA());
+
+        assertEquals(source, byMillisFirst);
+        assertEquals(source, bySecondsBFirst);
+    }
+
+
+    @Test
+    public void millisBeyondOneSecondAreAddedInAnyOrder() {
+        final Duration duration = new Duration();
+        duration.setMillis(2500);
+        duration.setSecondsA(0);
+        duration.setSecondsB(3);
+
+        assertEquals(5500L, duration.toMillis());
+    }
+
+
+    @Test
+    public void durationChangesOnlyWhenAllSlotsAreSet() {
+        final Duration duration = Duration.of(7000L);
+        duration.setSecondsB(1);
+        duration.setMillis(0);
+        assertEquals(7000L, duration.toMillis());
+
+        duration.setSecondsA(0);
+        assertEquals(1000L, duration.toMillis());
+    }
+
+
+    @Test(expected = Duration.NegativeDurationException.class)
+    public void negativeMillisAreRejected() {
+        final Duration duration = new Duration();
+        duration.setSecondsA(0);
+        duration.setSecondsB(1);
+        duration.setMillis(-1);
+    }
+
+
+    @Test(expected = Duration.NegativeDurationException.class)
+    public void negativeSecondsAreRejected() {
+        final Duration duration = new Duration();
+        duration.setMillis(0);
+        duration.setSecondsB(0);
+        duration.setSecondsA(-1);
+    }
+
+
+    @Test(expected = ArithmeticException.class)
+    public void overflowingSecondsAreRejected() {
+        final Duration duration = new Duration();
+        duration.setSecondsA(Integer.MAX_VALUE);
+        duration.setSecondsB(0);
+        duration.setMillis(0);
+    }
+
+
+    @Test(expected = Duration.NegativeDurationException.class)
+    public void negativeDurationsAreRejected() {
+        Duration.of(-1L);
+    }
+
+
+    @Test
+    public void equalDurationsHaveEqualHashes() {
+        final Duration fromMillis = Duration.of(61500L);
+        final Duration fromSplit = Duration.of(61, 500);
+        final Duration fromString = Duration.fromString("PT1M1.5S");
+
+        assertEquals(fromMillis, fromSplit);
+        assertEquals(fromMillis, fromString);
+        assertEquals(fromMillis.hashCode(), fromSplit.hashCode());
+        assertEquals(fromMillis.hashCode(), fromString.hashCode());
+        assertNotEquals(fromMillis, Duration.of(61501L));
+        assertNotEquals(fromMillis, 61500L);
+
+        final Set<Duration> set = new HashSet<>();
+        set.add(fromMillis);
+        assertTrue(set.contains(fromString));
+    }
+
+
+    @Test
+    public void comparesByLength() {
+        assertTrue(Duration.of(999L).compareTo(Duration.of(1000L)) < 0);
+        assertTrue(Duration.of(LONG_MILLIS).compareTo(Duration.of(1L)) > 0);
+        assertEquals(0, Duration.of(5L).compareTo(Duration.of(5L)));
+    }
+
+}
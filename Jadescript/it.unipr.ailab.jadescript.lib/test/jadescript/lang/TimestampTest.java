@@ -0,0 +1,84 @@
+package jadescript.lang;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TimestampTest {
+
+    private static final long INSTANT = 1577934245000L;
+
+
+    @Test
+    public void equalTimestampsHaveEqualHashes() {
+        final Timestamp fromMillis = Timestamp.fromEpochMillis(INSTANT, 60);
+        final Timestamp fromString =
+            Timestamp.fromString("2020-01-02T04:04:05+01:00");
+
+        assertEquals(fromMillis, fromString);
+        assertEquals(fromMillis.hashCode(), fromString.hashCode());
+
+        final Set<Timestamp> set = new HashSet<>();
+        set.add(fromMillis);
+        assertTrue(set.contains(fromString));
+    }
+
+
+    @Test
+    public void sameInstantWithDifferentOffsetsIsNotEqual() {
+        final Timestamp utc = Timestamp.fromEpochMillis(INSTANT, 0);
+        final Timestamp cet = Timestamp.fromEpochMillis(INSTANT, 60);
+
+        assertNotEquals(utc, cet);
+        assertNotEquals(0, utc.compareTo(cet));
+        assertEquals(Duration.of(0L), Timestamp.subtract(cet, utc));
+    }
+
+
+    @Test
+    public void slotsRoundTrip() {
+        final Timestamp source = Timestamp.fromEpochMillis(INSTANT, -300);
+        final Timestamp target = new Timestamp();
+        target.setDate(source.getDate());
+        target.setZoneOffset(source.getZoneOffset());
+
+        assertEquals(source, target);
+        assertEquals(source.hashCode(), target.hashCode());
+    }
+
+
+    @Test
+    public void sortsByInstantThenByOffset() {
+        final Timestamp first = Timestamp.fromEpochMillis(INSTANT - 1, 120);
+        final Timestamp second = Timestamp.fromEpochMillis(INSTANT, -60);
+        final Timestamp third = Timestamp.fromEpochMillis(INSTANT, 0);
+        final Timestamp fourth = Timestamp.fromEpochMillis(INSTANT + 1, -600);
+        final List<Timestamp> sorted = new ArrayList<>(
+            Arrays.asList(fourth, third, first, second)
+        );
+        Collections.sort(sorted);
+
+        assertEquals(Arrays.asList(first, second, third, fourth), sorted);
+        assertTrue(third.g(second));
+        assertTrue(second.le(third));
+    }
+
+
+    @Test
+    public void durationsMoveTheInstantAndKeepTheOffset() {
+        final Timestamp start = Timestamp.fromEpochMillis(INSTANT, 60);
+        final Timestamp later = Timestamp.plus(start, Duration.of(1500L));
+
+        assertEquals(INSTANT + 1500L, later.getEpochMillis());
+        assertEquals(60, later.getZoneOffset());
+        assertEquals(start, Timestamp.minus(later, Duration.of(1500L)));
+    }
+
+}
@@ -0,0 +1,86 @@
+package jadescript.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class JadescriptListRestTest {
+
+    @Test
+    public void skipsTheHeadElements() {
+        final JadescriptList<String> list =
+            JadescriptList.of("a", "b", "c", "d");
+        final JadescriptListRest<String> rest =
+            new JadescriptListRest<>(list, 2);
+
+        assertEquals(2, rest.size());
+        assertFalse(rest.isEmpty());
+        assertEquals("c", rest.get(0));
+        assertEquals("d", rest.get(1));
+        assertEquals(Arrays.asList("c", "d"), rest.toNew());
+    }
+
+
+    @Test
+    public void restsOfRestsShareTheBackingList() {
+        final JadescriptList<String> list =
+            JadescriptList.of("a", "b", "c", "d");
+        final JadescriptListRest<String> tail =
+            new JadescriptListRest<>(list, 1);
+        final JadescriptListRest<String> tailOfTail =
+            new JadescriptListRest<>(tail, 2);
+
+        assertEquals(Collections.singletonList("d"), tailOfTail.toNew());
+        list.set(3, "z");
+        assertEquals("z", tailOfTail.get(0));
+    }
+
+
+    @Test
+    public void changesAreWrittenThrough() {
+        final JadescriptList<String> list = JadescriptList.of("a", "b", "c");
+        final JadescriptListRest<String> rest =
+            new JadescriptListRest<>(list, 1);
+
+        rest.add("d");
+        rest.set(0, "x");
+        rest.remove(1);
+        assertEquals(Arrays.asList("a", "x", "d"), list.getElements());
+
+        rest.clear();
+        assertEquals(Collections.singletonList("a"), list.getElements());
+        assertTrue(rest.isEmpty());
+    }
+
+
+    @Test
+    public void emptyWhenEveryElementIsSkipped() {
+        final JadescriptList<String> list = JadescriptList.of("a", "b");
+        assertTrue(new JadescriptListRest<>(list, 2).isEmpty());
+        assertEquals(0, new JadescriptListRest<>(list, 5).size());
+    }
+
+
+    @Test
+    public void indexOfIgnoresTheSkippedElements() {
+        final JadescriptList<String> list =
+            JadescriptList.of("a", "b", "a", "c");
+        final JadescriptListRest<String> rest =
+            new JadescriptListRest<>(list, 1);
+
+        assertEquals(1, rest.indexOf("a"));
+        assertEquals(-1, new JadescriptListRest<>(list, 3).indexOf("a"));
+        assertFalse(new JadescriptListRest<>(list, 3).contains("b"));
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void indexesOutsideTheRestAreRejected() {
+        final JadescriptList<String> list = JadescriptList.of("a", "b");
+        new JadescriptListRest<>(list, 1).get(1);
+    }
+
+}
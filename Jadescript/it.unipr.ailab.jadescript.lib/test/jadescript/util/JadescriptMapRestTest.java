@@ -0,0 +1,95 @@
+package jadescript.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class JadescriptMapRestTest {
+
+    private static JadescriptMap<String, Integer> abc() {
+        final JadescriptMap<String, Integer> map = new JadescriptMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        return map;
+    }
+
+
+    @Test
+    public void excludesTheMatchedKeys() {
+        final JadescriptMapRest<String, Integer> rest =
+            new JadescriptMapRest<>(abc(), "a", "c");
+
+        assertEquals(1, rest.size());
+        assertFalse(rest.containsKey("a"));
+        assertTrue(rest.containsKey("b"));
+        assertFalse(rest.containsValue(1));
+        assertEquals(Integer.valueOf(2), rest.get("b"));
+        assertEquals("{\"b\":2}", rest.toString());
+    }
+
+
+    @Test(expected = JadescriptMap.MissingEntryException.class)
+    public void excludedKeysAreMissing() {
+        new JadescriptMapRest<>(abc(), "a").get("a");
+    }
+
+
+    @Test
+    public void restsOfRestsAccumulateTheExclusions() {
+        final JadescriptMap<String, Integer> map = abc();
+        final JadescriptMapRest<String, Integer> rest =
+            new JadescriptMapRest<>(new JadescriptMapRest<>(map, "a"), "b");
+
+        assertEquals(Arrays.asList("c"), rest.getKeys());
+        map.put("d", 4);
+        assertEquals(Arrays.asList("c", "d"), rest.getKeys());
+    }
+
+
+    @Test
+    public void changesAreWrittenThrough() {
+        final JadescriptMap<String, Integer> map = abc();
+        final JadescriptMapRest<String, Integer> rest =
+            new JadescriptMapRest<>(map, "a");
+
+        // Removing an excluded key does not touch the original map.
+        assertNull(rest.remove("a"));
+        assertEquals(3, map.size());
+
+        rest.put("d", 4);
+        rest.remove("b");
+        assertEquals(Arrays.asList("a", "c", "d"), map.getKeys());
+
+        rest.clear();
+        assertEquals(Arrays.asList("a"), map.getKeys());
+        assertTrue(rest.isEmpty());
+    }
+
+
+    @Test
+    public void puttingAnExcludedKeyIncludesIt() {
+        final JadescriptMap<String, Integer> map = abc();
+        final JadescriptMapRest<String, Integer> rest =
+            new JadescriptMapRest<>(map, "a");
+
+        rest.put("a", 10);
+        assertEquals(Integer.valueOf(10), rest.get("a"));
+        assertEquals(3, rest.size());
+    }
+
+
+    @Test
+    public void toNewCopiesTheRest() {
+        final JadescriptMap<String, Integer> map = abc();
+        final JadescriptMap<String, Integer> copy =
+            new JadescriptMapRest<>(map, "b").toNew();
+        map.clear();
+
+        assertEquals(Arrays.asList("a", "c"), copy.getKeys());
+        assertEquals(Arrays.asList(1, 3), copy.getValues());
+    }
+
+}
@@ -0,0 +1,147 @@
+package jadescript.util;
+
+import jadescript.content.onto.JadescriptIntrospector;
+import jadescript.content.onto.Ontology_Vocabulary;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JadescriptMapTest {
+
+    private static JadescriptMap<String, Integer> abc() {
+        final JadescriptMap<String, Integer> map = new JadescriptMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        return map;
+    }
+
+
+    @Test
+    public void keepsInsertionOrder() {
+        final JadescriptMap<String, Integer> map = new JadescriptMap<>();
+        map.put("z", 1);
+        map.put("a", 2);
+        map.put("m", 3);
+        map.put("a", 4);
+
+        assertEquals(Arrays.asList("z", "a", "m"), map.getKeys());
+        assertEquals(Arrays.asList(1, 4, 3), map.getValues());
+        assertEquals("{\"z\":1, \"a\":4, \"m\":3}", map.toString());
+    }
+
+
+    @Test
+    public void keysAndValuesAreSnapshots() {
+        final JadescriptMap<String, Integer> map = abc();
+        final List<String> keys = map.getKeys();
+        final List<Integer> values = map.getValues();
+        map.put("d", 4);
+        map.remove("a");
+
+        assertEquals(Arrays.asList("a", "b", "c"), keys);
+        assertEquals(Arrays.asList(1, 2, 3), values);
+        assertEquals("c", keys.get(2));
+        assertEquals(Integer.valueOf(3), values.get(2));
+        assertEquals(Arrays.asList("b", "c", "d"), map.getKeys());
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void keysAreReadOnly() {
+        abc().getKeys().add("d");
+    }
+
+
+    @Test
+    public void setKeysThenValuesReplacesTheEntries() {
+        final JadescriptMap<String, Integer> map = abc();
+        map.setKeys(Arrays.asList("x", "y"));
+        map.setValues(Arrays.asList(10, 20));
+
+        assertEquals(2, map.size());
+        assertEquals(Integer.valueOf(10), map.get("x"));
+        assertEquals(Integer.valueOf(20), map.get("y"));
+        assertFalse(map.containsKey("a"));
+    }
+
+
+    @Test
+    public void setValuesThenKeysReplacesTheEntries() {
+        final JadescriptMap<String, Integer> map = new JadescriptMap<>();
+        map.setValues(Arrays.asList(10, 20));
+        map.setKeys(Arrays.asList("x", "y"));
+
+        assertEquals(Arrays.asList("x", "y"), map.getKeys());
+        assertEquals(Arrays.asList(10, 20), map.getValues());
+    }
+
+
+    @Test
+    public void oneListAloneIsBuffered() {
+        final JadescriptMap<String, Integer> map = abc();
+        map.setKeys(Arrays.asList("x", "y"));
+
+        // The map is not emptied while waiting for the values.
+        assertEquals(3, map.size());
+        assertEquals(Integer.valueOf(1), map.get("a"));
+
+        map.setValues(Arrays.asList(10, 20));
+        assertEquals(Arrays.asList("x", "y"), map.getKeys());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mismatchingListsAreRejected() {
+        final JadescriptMap<String, Integer> map = new JadescriptMap<>();
+        map.setKeys(Arrays.asList("x", "y"));
+        map.setValues(Arrays.asList(10));
+    }
+
+
+    @Test(expected = JadescriptMap.MissingEntryException.class)
+    public void missingKeysAreReported() {
+        abc().get("d");
+    }
+
+
+    @Test
+    public void introspectorReadsAndWritesTheSlots() throws Exception {
+        final JadescriptIntrospector introspector =
+            new JadescriptIntrospector();
+        final JadescriptMap<String, Integer> source = abc();
+        final Object keys = introspector.getSlotValue(
+            Ontology_Vocabulary.KEYS,
+            source,
+            null
+        );
+        final Object values = introspector.getSlotValue(
+            Ontology_Vocabulary.VALUES,
+            source,
+            null
+        );
+
+        final JadescriptMap<String, Integer> target = new JadescriptMap<>();
+        introspector.setSlotValue(Ontology_Vocabulary.VALUES, values,
+            target, null);
+        introspector.setSlotValue(Ontology_Vocabulary.KEYS, keys,
+            target, null);
+        assertEquals(source.getKeys(), target.getKeys());
+        assertEquals(source.getValues(), target.getValues());
+    }
+
+
+    @Test
+    public void restsExposeOnlyTheirKeys() {
+        final JadescriptMap<String, Integer> map = abc();
+        final JadescriptMapRest<String, Integer> rest =
+            new JadescriptMapRest<>(map, "b");
+
+        assertEquals(Arrays.asList("a", "c"), rest.getKeys());
+        assertEquals(Arrays.asList(1, 3), rest.getValues());
+    }
+
+}
@@ -0,0 +1,73 @@
+package jadescript.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class JadescriptSetRestTest {
+
+    @Test
+    public void excludesTheMatchedElements() {
+        final JadescriptSetRest<String> rest =
+            new JadescriptSetRest<>(JadescriptSet.of("a", "b", "c"), "a");
+
+        assertEquals(2, rest.size());
+        assertFalse(rest.contains("a"));
+        assertTrue(rest.containsAll(Arrays.asList("b", "c")));
+        assertEquals("{\"b\", \"c\"}", rest.toString());
+        assertArrayEquals(new Object[]{"b", "c"}, rest.toArray());
+    }
+
+
+    @Test
+    public void restsOfRestsAccumulateTheExclusions() {
+        final JadescriptSet<String> set = JadescriptSet.of("a", "b", "c");
+        final JadescriptSetRest<String> rest =
+            new JadescriptSetRest<>(new JadescriptSetRest<>(set, "a"), "c");
+
+        assertEquals(Arrays.asList("b"), rest.getElements());
+    }
+
+
+    @Test
+    public void removingAnExcludedElementKeepsItInTheOriginal() {
+        final JadescriptSet<String> set = JadescriptSet.of("a", "b");
+        final JadescriptSetRest<String> rest =
+            new JadescriptSetRest<>(set, "a");
+
+        assertFalse(rest.remove("a"));
+        assertTrue(set.contains("a"));
+        assertTrue(rest.remove("b"));
+        assertFalse(set.contains("b"));
+    }
+
+
+    @Test
+    public void changesAreWrittenThrough() {
+        final JadescriptSet<String> set = JadescriptSet.of("a", "b", "c");
+        final JadescriptSetRest<String> rest =
+            new JadescriptSetRest<>(set, "a");
+
+        assertTrue(rest.add("d"));
+        // Adding an excluded element includes it in the rest.
+        assertTrue(rest.add("a"));
+        assertTrue(rest.contains("a"));
+
+        rest.retainAll(Arrays.asList("a", "d"));
+        assertEquals(Arrays.asList("a", "d"), set.getElements());
+
+        rest.clear();
+        assertTrue(set.isEmpty());
+    }
+
+
+    @Test
+    public void clearKeepsTheExcludedElements() {
+        final JadescriptSet<String> set = JadescriptSet.of("a", "b", "c");
+        new JadescriptSetRest<>(set, "b").clear();
+        assertEquals(Arrays.asList("b"), set.getElements());
+    }
+
+}
@@ -0,0 +1,81 @@
+package jadescript.util;
+
+import jadescript.content.onto.JadescriptIntrospector;
+import jadescript.content.onto.Ontology_Vocabulary;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JadescriptSetTest {
+
+    @Test
+    public void keepsInsertionOrderWithoutDuplicates() {
+        final JadescriptSet<String> set = JadescriptSet.of("z", "a", "m");
+        assertFalse(set.add("a"));
+
+        assertEquals(3, set.size());
+        assertEquals(Arrays.asList("z", "a", "m"), set.getElements());
+        assertEquals("{\"z\", \"a\", \"m\"}", set.toString());
+    }
+
+
+    @Test
+    public void elementsAreSnapshots() {
+        final JadescriptSet<String> set = JadescriptSet.of("a", "b", "c");
+        final List<String> elements = set.getElements();
+        set.add("d");
+        set.remove("a");
+
+        assertEquals(Arrays.asList("a", "b", "c"), elements);
+        assertEquals("c", elements.get(2));
+        assertEquals(Arrays.asList("b", "c", "d"), set.getElements());
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void elementsAreReadOnly() {
+        JadescriptSet.of("a").getElements().add("b");
+    }
+
+
+    @Test
+    public void setElementsReplacesTheContents() {
+        final JadescriptSet<String> set = JadescriptSet.of("a", "b");
+        set.setElements(Arrays.asList("x", "y", "x"));
+
+        assertEquals(Arrays.asList("x", "y"), set.getElements());
+        assertFalse(set.contains("a"));
+    }
+
+
+    @Test
+    public void introspectorReadsAndWritesTheSlot() throws Exception {
+        final JadescriptIntrospector introspector =
+            new JadescriptIntrospector();
+        final JadescriptSet<String> source = JadescriptSet.of("a", "b");
+        final Object elements = introspector.getSlotValue(
+            Ontology_Vocabulary.ELEMENTS,
+            source,
+            null
+        );
+
+        final JadescriptSet<String> target = new JadescriptSet<>();
+        introspector.setSlotValue(Ontology_Vocabulary.ELEMENTS, elements,
+            target, null);
+        assertEquals(source.getElements(), target.getElements());
+    }
+
+
+    @Test
+    public void restsExposeOnlyTheirElements() {
+        final JadescriptSet<String> set = JadescriptSet.of("a", "b", "c");
+        final JadescriptSetRest<String> rest =
+            new JadescriptSetRest<>(set, "b");
+
+        assertEquals(Arrays.asList("a", "c"), rest.getElements());
+    }
+
+}
@@ -0,0 +1,287 @@
+package jadescript.util.types;
+
+import jade.content.onto.basic.Action;
+import jade.content.onto.basic.TrueProposition;
+import jade.core.AID;
+import jade.lang.acl.ACLMessage;
+import jadescript.core.Agent;
+import jadescript.core.behaviours.CyclicBehaviour;
+import jadescript.core.exception.JadescriptException;
+import jadescript.core.message.Message;
+import jadescript.lang.Duration;
+import jadescript.lang.Performative;
+import jadescript.lang.Timestamp;
+import jadescript.lang.Tuple;
+import jadescript.util.JadescriptList;
+import jadescript.util.JadescriptMap;
+import jadescript.util.JadescriptSet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static jadescript.util.types.JadescriptBuiltinTypeAtom.*;
+import static org.junit.Assert.*;
+
+/**
+ * Compares the conversion table of {@link Converter} with the nested switch
+ * it replaced ({@link SwitchConverter}), on every pair of types.
+ */
+public class ConverterTest {
+
+    private static JadescriptTypeReference type(
+        JadescriptBuiltinTypeAtom base
+    ) {
+        return new JadescriptTypeReference(base);
+    }
+
+
+    private static JadescriptTypeReference type(
+        JadescriptBuiltinTypeAtom base,
+        JadescriptBuiltinTypeAtom arg1
+    ) {
+        return new JadescriptTypeReference(base, type(arg1));
+    }
+
+
+    private static JadescriptTypeReference type(
+        JadescriptBuiltinTypeAtom base,
+        JadescriptBuiltinTypeAtom arg1,
+        JadescriptBuiltinTypeAtom arg2
+    ) {
+        return new JadescriptTypeReference(base, type(arg1), type(arg2));
+    }
+
+
+    private static final class Sample {
+
+        private final Object value;
+        private final JadescriptTypeReference type;
+
+
+        private Sample(Object value, JadescriptTypeReference type) {
+            this.value = value;
+            this.type = type;
+        }
+
+    }
+
+
+    private static List<Sample> samples() {
+        final List<Object> values = new ArrayList<>(Arrays.asList(
+            42,
+            true,
+            2.5f,
+            Duration.of(93784005L),
+            Timestamp.fromString("2020-01-02T03:04:05Z"),
+            Performative.INFORM,
+            new AID("alice@platform", true),
+            jadescript.content.onto.Ontology.getInstance(),
+            new Action(),
+            new TrueProposition(),
+            new CyclicBehaviour<Agent>(null),
+            new Agent(),
+            new Message<>(ACLMessage.INFORM),
+            new Tuple.Tuple2<>(1, "a")
+        ));
+        final List<Sample> result = new ArrayList<>();
+        result.add(new Sample(42, type(INTEGER)));
+        result.add(new Sample(-7, type(INTEGER)));
+        result.add(new Sample(true, type(BOOLEAN)));
+        result.add(new Sample(2.5f, type(REAL)));
+        result.add(new Sample(-1.25f, type(REAL)));
+        for (String text : new String[]{
+            "42", "2.5", "true", "hello", "PT1H2M", "2020-01-02T03:04:05Z",
+            "inform", "alice@platform", "bob", "(inform :content \"x\")"
+        }) {
+            result.add(new Sample(text, type(TEXT)));
+        }
+        result.add(new Sample(values.get(3), type(DURATION)));
+        result.add(new Sample(values.get(4), type(TIMESTAMP)));
+        result.add(new Sample(values.get(5), type(PERFORMATIVE)));
+        result.add(new Sample(values.get(6), type(AID)));
+        result.add(new Sample(values.get(7), type(ONTOLOGY)));
+        result.add(new Sample(values.get(6), type(CONCEPT)));
+        result.add(new Sample(values.get(8), type(ACTION)));
+        result.add(new Sample(values.get(9), type(PROPOSITION)));
+        result.add(new Sample(values.get(10), type(BEHAVIOUR)));
+        result.add(new Sample(values.get(11), type(AGENT)));
+        result.add(new Sample(values.get(12), type(MESSAGE)));
+        result.add(new Sample(
+            JadescriptList.of(1, 2, 2),
+            type(LIST, INTEGER)
+        ));
+        result.add(new Sample(
+            JadescriptList.of("1", "2"),
+            type(LIST, TEXT)
+        ));
+        result.add(new Sample(JadescriptSet.of(1, 2), type(SET, INTEGER)));
+        final JadescriptMap<String, Integer> map = new JadescriptMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        result.add(new Sample(map, type(MAP, TEXT, INTEGER)));
+        result.add(new Sample(values.get(13), type(TUPLE)));
+        for (Object value : values) {
+            result.add(new Sample(value, type(OTHER)));
+        }
+        result.add(new Sample(JadescriptList.of(1), type(OTHER)));
+        result.add(new Sample(map, type(OTHER)));
+        result.add(new Sample(null, type(OTHER)));
+        return result;
+    }
+
+
+    private static List<JadescriptTypeReference> targets() {
+        final List<JadescriptTypeReference> result = new ArrayList<>();
+        for (JadescriptBuiltinTypeAtom atom : values()) {
+            switch (atom) {
+                case LIST:
+                case SET:
+                    result.add(type(atom, INTEGER));
+                    result.add(type(atom, TEXT));
+                    result.add(type(atom, REAL));
+                    break;
+                case MAP:
+                    result.add(type(MAP, TEXT, INTEGER));
+                    result.add(type(MAP, TEXT, TEXT));
+                    break;
+                default:
+                    result.add(type(atom));
+            }
+        }
+        return result;
+    }
+
+
+    /*
+     The result of a conversion, or the class of the exception it threw
+     (the ACL parser throws errors on malformed texts). Messages are compared
+     by their string representation, and Jadescript collections by their
+     elements, since their equals does not compare two of them.
+     */
+    private static Object outcome(Supplier<Object> conversion) {
+        try {
+            final Object result = conversion.get();
+            if (result instanceof ACLMessage) {
+                return result.toString();
+            }
+            if (result instanceof JadescriptList) {
+                return Arrays.asList(
+                    JadescriptList.class,
+                    ((JadescriptList<?>) result).getElements()
+                );
+            }
+            if (result instanceof JadescriptSet) {
+                return Arrays.asList(
+                    JadescriptSet.class,
+                    ((JadescriptSet<?>) result).getElements()
+                );
+            }
+            if (result instanceof JadescriptMap) {
+                return Arrays.asList(
+                    JadescriptMap.class,
+                    ((JadescriptMap<?, ?>) result).getKeys(),
+                    ((JadescriptMap<?, ?>) result).getValues()
+                );
+            }
+            return result;
+        } catch (RuntimeException | Error e) {
+            return e.getClass();
+        }
+    }
+
+
+    /*
+     Pairs where the switch always failed, fixed by the table (see below).
+     */
+    private static boolean isFixed(
+        JadescriptBuiltinTypeAtom from,
+        JadescriptBuiltinTypeAtom to
+    ) {
+        return (from == REAL && to == DURATION)
+            || (from == OTHER && to == AGENT);
+    }
+
+
+    @Test
+    public void tableMatchesTheSwitch() {
+        int compared = 0;
+        for (Sample sample : samples()) {
+            for (JadescriptTypeReference to : targets()) {
+                if (isFixed(sample.type.getBase(), to.getBase())) {
+                    continue;
+                }
+                final Object expected = outcome(() -> SwitchConverter.convert(
+                    sample.value,
+                    sample.type,
+                    to
+                ));
+                final Object actual = outcome(() -> Converter.convert(
+                    sample.value,
+                    sample.type,
+                    to
+                ));
+                assertEquals(
+                    sample.type.getBase().getTypeName() + " "
+                        + sample.value + " to " + to.getBase().getTypeName()
+                        + (to.getArg1() == null
+                        ? ""
+                        : " of " + to.getArg1().getBase().getTypeName()),
+                    expected,
+                    actual
+                );
+                compared++;
+            }
+        }
+        assertTrue(compared > 1000);
+    }
+
+
+    @Test
+    public void convertsRealsToDurations() {
+        assertEquals(
+            Duration.of(2, 500),
+            Converter.convert(2.5f, type(REAL), type(DURATION))
+        );
+    }
+
+
+    @Test
+    public void convertsUnknownValuesToAgents() {
+        final Agent agent = new Agent();
+        assertSame(agent, Converter.convert(agent, type(OTHER), type(AGENT)));
+        assertEquals(
+            JadescriptException.class,
+            outcome(() -> Converter.convert(
+                Performative.INFORM,
+                type(OTHER),
+                type(AGENT)
+            ))
+        );
+    }
+
+
+    @Test
+    public void collectionsWithoutElementTypesKeepTheirElements() {
+        final JadescriptList<Object> list = JadescriptList.of(1, "a");
+        assertEquals(
+            Arrays.asList(1, "a"),
+            ((JadescriptList<?>) Converter.convert(list, type(LIST),
+                type(LIST))).getElements()
+        );
+        assertEquals(
+            Arrays.asList(1, "a"),
+            ((JadescriptSet<?>) Converter.convert(list, type(LIST), type(SET)))
+                .getElements()
+        );
+        final JadescriptMap<String, Object> map = new JadescriptMap<>();
+        map.put("k", 1);
+        final Object converted = Converter.convert(map, type(MAP), type(MAP));
+        assertTrue(Objects.equals(map.getKeys(),
+            ((JadescriptMap<?, ?>) converted).getKeys()));
+    }
+
+}
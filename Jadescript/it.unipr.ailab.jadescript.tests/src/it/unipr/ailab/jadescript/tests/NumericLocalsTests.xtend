@@ -0,0 +1,180 @@
+package it.unipr.ailab.jadescript.tests
+
+import com.google.inject.Inject
+import jadescript.core.Agent
+import jadescript.java.AgentEnv
+import jadescript.util.JadescriptList
+import jadescript.util.JadescriptMap
+import org.eclipse.xtext.testing.InjectWith
+import org.eclipse.xtext.testing.XtextRunner
+import org.eclipse.xtext.util.JavaVersion
+import org.eclipse.xtext.xbase.lib.util.ReflectExtensions
+import org.eclipse.xtext.xbase.testing.CompilationTestHelper
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/*
+ * Tests for the declarations of the local variables of type integer and real
+ * (see UnboxingHelper). The variables which can be initialized with null
+ * (declarations, elements of collections, values of maps) keep the boxed
+ * types, so that null values do not throw; the copies of the counters of
+ * indexed loops are primitive.
+ */
+@RunWith(XtextRunner)
+@InjectWith(JadescriptInjectorProvider)
+class NumericLocalsTests {
+
+	@Inject extension CompilationTestHelper
+	@Inject extension ReflectExtensions
+
+	@Before
+	def setJavaVersion() {
+		javaVersion = JavaVersion.JAVA11
+	}
+
+	val source = '''
+		module example
+
+		agent Numbers
+		    function sumIntegers(values as list of integer) as integer do
+		        sum = 0
+		        for v in values do
+		            sum = sum + v
+		        return sum
+
+		    function countIntegers(values as list of integer) as integer do
+		        n = 0
+		        for v in values do
+		            n = n + 1
+		        return n
+
+		    function firstInteger(values as list of integer) as integer do
+		        first = values[0]
+		        return first
+
+		    function countIntegerValues(m as map of text:integer) as integer do
+		        n = 0
+		        for k:v in m do
+		            n = n + 1
+		        return n
+
+		    function sumReals(values as list of real) as real do
+		        sum = 0.0
+		        for v in values do
+		            sum = sum + v
+		        return sum
+
+		    function countReals(values as list of real) as integer do
+		        n = 0
+		        for v in values do
+		            n = n + 1
+		        return n
+
+		    function firstReal(values as list of real) as real do
+		        first = values[0]
+		        return first
+
+		    function countRealValues(m as map of text:real) as integer do
+		        n = 0
+		        for k:v in m do
+		            n = n + 1
+		        return n
+
+		    function sumIndexes(last as integer) as integer do
+		        sum = 0
+		        for i in 0 to last do
+		            sum = sum + i
+		        return sum
+	'''
+
+	def private call(
+		CompilationTestHelper.Result result,
+		String function,
+		Object argument
+	) {
+		val agent = result.getCompiledClass("example.Numbers")
+			.newInstance as Agent
+		agent.invoke(function, AgentEnv.agentEnv(agent), argument)
+	}
+
+	@Test
+	def void compilesWithoutErrors() {
+		source.compile [
+			var msg = ""
+			if (!errorsAndWarnings.isNullOrEmpty) {
+				msg = errorsAndWarnings.get(0).message
+			}
+			Assert.assertTrue(msg, errorsAndWarnings.isNullOrEmpty)
+		]
+	}
+
+	@Test
+	def void localsWhichCanBeNullAreBoxed() {
+		source.compile [
+			val code = getGeneratedCode("example.Numbers")
+			Assert.assertFalse(code, code.contains("int sum"))
+			Assert.assertFalse(code, code.contains("float sum"))
+			Assert.assertFalse(code, code.contains("int v "))
+			Assert.assertFalse(code, code.contains("float v "))
+			Assert.assertFalse(code, code.contains("int first"))
+			Assert.assertFalse(code, code.contains("float first"))
+			Assert.assertTrue(code, code.contains("int i ="))
+		]
+	}
+
+	@Test
+	def void integersAreAccumulated() {
+		source.compile [
+			Assert.assertEquals(
+				6,
+				it.call("sumIntegers", new JadescriptList<Integer>(#[1, 2, 3]))
+			)
+			Assert.assertEquals(15, it.call("sumIndexes", 5))
+		]
+	}
+
+	@Test
+	def void realsAreAccumulated() {
+		source.compile [
+			Assert.assertEquals(
+				Float.valueOf(4.0f),
+				it.call("sumReals", new JadescriptList<Float>(#[1.5f, 2.5f]))
+			)
+		]
+	}
+
+	@Test
+	def void nullIntegersDoNotThrow() {
+		source.compile [
+			val values = new JadescriptList<Integer>(#[1, null, 3])
+			Assert.assertEquals(3, it.call("countIntegers", values))
+			Assert.assertNull(
+				it.call("firstInteger", new JadescriptList<Integer>(#[null]))
+			)
+
+			val map = new JadescriptMap<String, Integer>
+			map.put("a", 1)
+			map.put("b", null)
+			Assert.assertEquals(2, it.call("countIntegerValues", map))
+		]
+	}
+
+	@Test
+	def void nullRealsDoNotThrow() {
+		source.compile [
+			val values = new JadescriptList<Float>(#[1.5f, null])
+			Assert.assertEquals(2, it.call("countReals", values))
+			Assert.assertNull(
+				it.call("firstReal", new JadescriptList<Float>(#[null]))
+			)
+
+			val map = new JadescriptMap<String, Float>
+			map.put("a", 1.5f)
+			map.put("b", null)
+			Assert.assertEquals(2, it.call("countRealValues", map))
+		]
+	}
+
+}
@@ -0,0 +1,131 @@
+package it.unipr.ailab.jadescript.tests
+
+import com.google.inject.Inject
+import jade.content.ContentManager
+import jade.content.Predicate
+import jade.content.lang.leap.LEAPCodec
+import jade.content.onto.Ontology
+import jade.lang.acl.ACLMessage
+import org.eclipse.xtext.testing.InjectWith
+import org.eclipse.xtext.testing.XtextRunner
+import org.eclipse.xtext.util.JavaVersion
+import org.eclipse.xtext.xbase.lib.util.ReflectExtensions
+import org.eclipse.xtext.xbase.testing.CompilationTestHelper
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/*
+ * Tests for the introspector generated in the ontologies, which reads and
+ * writes the slots of the ontology elements without reflection.
+ */
+@RunWith(XtextRunner)
+@InjectWith(JadescriptInjectorProvider)
+class OntologyIntrospectorTests {
+
+	@Inject extension CompilationTestHelper
+	@Inject extension ReflectExtensions
+
+	@Before
+	def setJavaVersion() {
+		javaVersion = JavaVersion.JAVA11
+	}
+
+	val source = '''
+		module example
+
+		ontology EnglishAuction
+		    concept Item(name as text)
+		    concept Painting(author as text, title as text)
+		        extends Item with name = title + " by " + author
+		    predicate ItemSold(item as Item, finalPrice as integer)
+	'''
+
+	@Test
+	def void introspectorIsGeneratedAndUsed() {
+		source.compile [
+			var msg = ""
+			if (!errorsAndWarnings.isNullOrEmpty) {
+				msg = errorsAndWarnings.get(0).message
+			}
+			Assert.assertTrue(msg, errorsAndWarnings.isNullOrEmpty)
+
+			val ontology = getCompiledClass("example.EnglishAuction")
+				.getMethod("getInstance").invoke(null) as Ontology
+			val introspectorClass = getCompiledClass(
+				"example.EnglishAuction$__Introspector"
+			)
+			Assert.assertNotNull(introspectorClass)
+			Assert.assertTrue(
+				typeof(jadescript.content.onto.JadescriptIntrospector)
+					.isAssignableFrom(introspectorClass)
+			)
+			Assert.assertSame(
+				introspectorClass,
+				ontology.introspector.class
+			)
+		]
+	}
+
+
+	@Test
+	def void introspectorAccessesDeclaredAndInheritedSlots() {
+		source.compile [
+			val ontology = getCompiledClass("example.EnglishAuction")
+				.getMethod("getInstance").invoke(null) as Ontology
+			val introspector = ontology.introspector
+			val schema = ontology.getSchema("Painting")
+
+			val painting = getCompiledClass("example.Painting").newInstance
+			introspector.setSlotValue("author", "Bob", painting, schema)
+			introspector.setSlotValue("title", "Sea", painting, schema)
+			introspector.setSlotValue("name", "Sea by Bob", painting, schema)
+
+			Assert.assertEquals("Bob", painting.invoke("getAuthor"))
+			Assert.assertEquals("Sea", painting.invoke("getTitle"))
+			Assert.assertEquals("Sea by Bob", painting.invoke("getName"))
+			Assert.assertEquals(
+				"Sea by Bob",
+				introspector.getSlotValue("name", painting, schema)
+			)
+		]
+	}
+
+
+	@Test
+	def void contentsSurviveEncodingAndDecoding() {
+		source.compile [
+			val ontology = getCompiledClass("example.EnglishAuction")
+				.getMethod("getInstance").invoke(null) as Ontology
+			val cm = new ContentManager
+			cm.registerLanguage(new LEAPCodec)
+			jadescript.content.onto.Ontology.registerJadescriptOntology(
+				ontology,
+				cm
+			)
+
+			val painting = getCompiledClass("example.Painting").newInstance
+			painting.invoke("setAuthor", "Bob")
+			painting.invoke("setTitle", "Sea")
+			painting.invoke("setName", "Sea by Bob")
+			val sold = getCompiledClass("example.ItemSold").newInstance
+			sold.invoke("setItem", painting)
+			sold.invoke("setFinalPrice", 42)
+
+			val message = new ACLMessage(ACLMessage.INFORM)
+			message.language = LEAPCodec.NAME
+			message.ontology = ontology.name
+			cm.fillContent(message, sold as Predicate)
+			val decoded = cm.extractContent(message)
+
+			Assert.assertEquals(sold, decoded)
+			Assert.assertEquals(sold.hashCode, decoded.hashCode)
+			Assert.assertEquals(
+				painting.class,
+				decoded.invoke("getItem").class
+			)
+		]
+	}
+
+}
@@ -0,0 +1,167 @@
+package it.unipr.ailab.jadescript.tests
+
+import com.google.inject.Inject
+import it.unipr.ailab.jadescript.jadescript.Model
+import it.unipr.ailab.jadescript.jadescript.SendMessageStatement
+import org.eclipse.xtext.EcoreUtil2
+import org.eclipse.xtext.diagnostics.Severity
+import org.eclipse.xtext.testing.InjectWith
+import org.eclipse.xtext.testing.XtextRunner
+import org.eclipse.xtext.testing.util.ParseHelper
+import org.eclipse.xtext.util.JavaVersion
+import org.eclipse.xtext.xbase.testing.CompilationTestHelper
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/*
+ * Tests for "send ... to each": how 'each' is parsed after 'to', the
+ * reservation of the name 'each', and the flush of the messages at the end
+ * of the handlers which send them.
+ */
+@RunWith(XtextRunner)
+@InjectWith(JadescriptInjectorProvider)
+class SendToEachTests {
+
+	@Inject
+	ParseHelper<Model> parseHelper
+	@Inject extension CompilationTestHelper
+
+	@Before
+	def setJavaVersion() {
+		javaVersion = JavaVersion.JAVA11
+	}
+
+	def private SendMessageStatement parseSend(String receivers) {
+		val model = parseHelper.parse('''
+			module example
+			agent Sender
+			    on create do
+			        send message inform "hello" to «receivers»
+		''')
+		Assert.assertTrue(
+			model.eResource.errors.toString,
+			model.eResource.errors.isEmpty
+		)
+		val sends = EcoreUtil2.getAllContentsOfType(
+			model,
+			SendMessageStatement
+		)
+		Assert.assertEquals(1, sends.size)
+		sends.get(0)
+	}
+
+	def private errors(CompilationTestHelper.Result result) {
+		result.errorsAndWarnings.filter[severity == Severity.ERROR].toList
+	}
+
+	@Test
+	def void eachFollowedByReceiversIsTheKeyword() {
+		val send = parseSend("each r")
+		Assert.assertTrue(send.isEach)
+		Assert.assertEquals(1, send.receivers.expressions.size)
+	}
+
+	@Test
+	def void eachAloneIsAName() {
+		val send = parseSend("each")
+		Assert.assertFalse(send.isEach)
+		Assert.assertEquals(1, send.receivers.expressions.size)
+	}
+
+	@Test
+	def void eachFollowedByACommaIsAName() {
+		val send = parseSend("each, r")
+		Assert.assertFalse(send.isEach)
+		Assert.assertEquals(2, send.receivers.expressions.size)
+	}
+
+	@Test
+	def void eachFollowedByAListIsTheKeyword() {
+		// Ambiguous: it could be a subscript of a variable named each. Such
+		// a variable cannot be declared (see variablesCannotBeNamedEach).
+		val send = parseSend("each[0]")
+		Assert.assertTrue(send.isEach)
+		Assert.assertEquals(1, send.receivers.expressions.size)
+	}
+
+	@Test
+	def void variablesCannotBeNamedEach() {
+		'''
+			module example
+			agent Sender
+			    on create do
+			        each = "r"@
+			        send message inform "hello" to each[0]
+		'''.compile [
+			Assert.assertTrue(
+				it.errors.exists[message.contains("reserved")]
+			)
+		]
+	}
+
+	@Test
+	def void eachAloneIsAnError() {
+		'''
+			module example
+			agent Sender
+			    on create do
+			        send message inform "hello" to each
+		'''.compile [
+			Assert.assertFalse(it.errors.isEmpty)
+		]
+	}
+
+	@Test
+	def void handlersWhichSendToEachFlushTheSends() {
+		'''
+			module example
+			agent Sender
+			    on create do
+			        r = "r"@
+			        send message inform "hello" to each r
+		'''.compile [
+			Assert.assertTrue(it.errors.toString, it.errors.isEmpty)
+			val code = getGeneratedCode("example.Sender")
+			Assert.assertTrue(code, code.contains("__sendAtEndOfHandler"))
+			Assert.assertTrue(
+				code,
+				code.contains("__flushSends(__handlerFailure)")
+			)
+			// The rethrow of the handler failure compiles.
+			Assert.assertNotNull(getCompiledClass("example.Sender"))
+		]
+	}
+
+	@Test
+	def void otherHandlersDoNotFlushTheSends() {
+		'''
+			module example
+			agent Sender
+			    on create do
+			        r = "r"@
+			        send message inform "hello" to r
+		'''.compile [
+			Assert.assertTrue(it.errors.toString, it.errors.isEmpty)
+			val code = getGeneratedCode("example.Sender")
+			Assert.assertFalse(code, code.contains("__flushSends"))
+		]
+	}
+
+	@Test
+	def void proceduresSendToEachAtOnce() {
+		'''
+			module example
+			agent Sender
+			    procedure greet with r as aid do
+			        send message inform "hello" to each r
+		'''.compile [
+			Assert.assertTrue(it.errors.toString, it.errors.isEmpty)
+			val code = getGeneratedCode("example.Sender")
+			Assert.assertFalse(code, code.contains("__sendAtEndOfHandler"))
+			Assert.assertFalse(code, code.contains("__flushSends"))
+		]
+	}
+
+}
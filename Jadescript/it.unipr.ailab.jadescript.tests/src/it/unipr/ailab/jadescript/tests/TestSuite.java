@@ -7,7 +7,10 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({	
 	TestDuplicatesCheckInValidator.class,
 	TypeInferrerTests.class,
-	TestSupportLibrary.class
+	TestSupportLibrary.class,
+	OntologyIntrospectorTests.class,
+	NumericLocalsTests.class,
+	SendToEachTests.class
 })
 public class TestSuite {
 }
\ No newline at end of file
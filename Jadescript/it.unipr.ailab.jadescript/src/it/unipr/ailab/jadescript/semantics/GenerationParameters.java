@@ -13,5 +13,13 @@ public class GenerationParameters {
     public static final boolean DEBUG_SEARCH = false;
     public static final boolean DEBUG_CONTEXT = false;
     public static final boolean VALIDATOR__SHOW_INFO_MARKERS = false;
+    /**
+     * When true, the local variables of type integer and real are declared
+     * with the Java primitive types (see
+     * {@link it.unipr.ailab.jadescript.semantics.helpers.UnboxingHelper}).
+     * Disabled by default: a null value assigned to such a variable throws
+     * a NullPointerException, while a boxed variable just holds it.
+     */
+    public static final boolean UNBOXED_NUMERIC_LOCALS = false;
 
 }
@@ -654,7 +654,7 @@ public class ListLiteralExpressionSemantics
                     return "/* Index out of bounds */";
                 } else if (i == prePipeElementCount) {
                     return "jadescript.util.JadescriptCollections" +
-                        ".getRest(__x)";
+                        ".getRest(__x, " + prePipeElementCount + ")";
                 } else {
                     return "__x.get(" + i + ")";
                 }
@@ -21,6 +21,7 @@ import it.unipr.ailab.jadescript.semantics.expression.patternmatch.PatternMatchI
 import it.unipr.ailab.jadescript.semantics.expression.patternmatch.PatternMatchMode;
 import it.unipr.ailab.jadescript.semantics.expression.patternmatch.PatternMatcher;
 import it.unipr.ailab.jadescript.semantics.expression.patternmatch.PatternType;
+import it.unipr.ailab.jadescript.semantics.helpers.UnboxingHelper;
 import it.unipr.ailab.jadescript.semantics.helpers.ValidationHelper;
 import it.unipr.ailab.jadescript.semantics.jadescripttypes.IJadescriptType;
 import it.unipr.ailab.jadescript.semantics.jadescripttypes.implicit.ImplicitConversionsHelper;
@@ -264,7 +265,8 @@ public class SingleIdentifierExpressionSemantics
 
             acceptor.accept(
                 w.variable(
-                    exprType.compileToJavaTypeReference(),
+                    module.get(UnboxingHelper.class)
+                        .compileLocalVariableType(exprType),
                     name,
                     w.expr(compiledExpression)
                 )
@@ -3,17 +3,21 @@ package it.unipr.ailab.jadescript.semantics.feature;
 import com.google.inject.Singleton;
 import it.unipr.ailab.jadescript.jadescript.Feature;
 import it.unipr.ailab.jadescript.jadescript.FeatureContainer;
+import it.unipr.ailab.jadescript.jadescript.SendMessageStatement;
 import it.unipr.ailab.jadescript.semantics.BlockElementAcceptor;
 import it.unipr.ailab.jadescript.semantics.Semantics;
 import it.unipr.ailab.jadescript.semantics.SemanticsModule;
 import it.unipr.ailab.jadescript.semantics.context.ContextManager;
 import it.unipr.ailab.jadescript.semantics.context.associations.SelfAssociated;
 import it.unipr.ailab.jadescript.semantics.context.search.SearchLocation;
+import it.unipr.ailab.jadescript.semantics.helpers.CompilationHelper;
 import it.unipr.ailab.maybe.Maybe;
 import it.unipr.ailab.sonneteer.SourceCodeBuilder;
 import it.unipr.ailab.sonneteer.statement.BlockWriter;
 import it.unipr.ailab.sonneteer.statement.controlflow.TryCatchWriter;
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.common.types.JvmDeclaredType;
 import org.eclipse.xtext.common.types.JvmMember;
 import org.eclipse.xtext.validation.ValidationMessageAcceptor;
@@ -42,9 +46,11 @@ public abstract class DeclarationMemberSemantics<T extends Feature>
 
 
     protected TryCatchWriter encloseInGeneralHandlerTryCatch(
+        Maybe<? extends EObject> handler,
         SourceCodeBuilder scb
     ) {
         return encloseInGeneralHandlerTryCatch(
+            handler,
             new BlockWriter() {
                 @Override
                 public void writeSonnet(SourceCodeBuilder s) {
@@ -56,10 +62,17 @@ public abstract class DeclarationMemberSemantics<T extends Feature>
 
 
     protected TryCatchWriter encloseInGeneralHandlerTryCatch(
+        Maybe<? extends EObject> handler,
         BlockWriter insideTry
     ) {
         final String throwable = "__throwable";
-        return w.tryCatch(insideTry)
+        final BlockWriter body;
+        if (sendsToEach(handler)) {
+            body = encloseInFlushSends(insideTry);
+        } else {
+            body = insideTry;
+        }
+        return w.tryCatch(body)
             .addCatchBranch(
                 "jadescript.core.exception.JadescriptException",
                 throwable,
@@ -81,6 +94,43 @@ public abstract class DeclarationMemberSemantics<T extends Feature>
     }
 
 
+    /*
+     True if the handler contains a "send ... to each" statement, i.e., if
+     it can leave messages to be sent when it ends.
+     */
+    private static boolean sendsToEach(Maybe<? extends EObject> handler) {
+        if (handler.isNothing()) {
+            return false;
+        }
+        return EcoreUtil2.getAllContentsOfType(
+            handler.toNullable(),
+            SendMessageStatement.class
+        ).stream().anyMatch(SendMessageStatement::isEach);
+    }
+
+
+    private BlockWriter encloseInFlushSends(BlockWriter insideTry) {
+        final String throwable = "__throwable";
+        final String failure = "__handlerFailure";
+        // The messages sent with "send ... to each" are delivered when the
+        // handler ends, also when it ends with an exception: in that case,
+        // the exception is passed to __flushSends, which attaches to it the
+        // failures of the sends instead of replacing it.
+        return w.block()
+            .addStatement(w.variable("java.lang.Throwable", failure, w.Null))
+            .addStatement(w.tryCatch(insideTry)
+                .addCatchBranch("java.lang.Throwable", throwable, w.block()
+                    .addStatement(w.assign(failure, w.expr(throwable)))
+                    .addStatement(w.throwStmt(w.expr(throwable)))
+                ).setFinallyBranch(w.block().addStatement(w.callStmnt(
+                    CompilationHelper.compileAgentReference() +
+                        ".__flushSends",
+                    w.expr(failure)
+                )))
+            );
+    }
+
+
     public abstract void validateOnEdit(
         Maybe<T> input,
         Maybe<FeatureContainer> container,
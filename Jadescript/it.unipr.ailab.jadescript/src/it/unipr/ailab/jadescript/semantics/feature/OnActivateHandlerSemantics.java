@@ -127,6 +127,7 @@ public class OnActivateHandlerSemantics
                     final SourceCodeBuilder blockCompiled =
                         blockPSR.result();
                     scb.add(encloseInGeneralHandlerTryCatch(
+                        input,
                         blockCompiled));
 
                     contextManager.exit();
@@ -194,7 +195,10 @@ public class OnActivateHandlerSemantics
                             .compileBlockToNewSCB(state, body);
 
 
-                    scb.add(encloseInGeneralHandlerTryCatch(blockPSR.result()));
+                    scb.add(encloseInGeneralHandlerTryCatch(
+                        input,
+                        blockPSR.result()
+                    ));
 
                     module.get(ContextManager.class).exit();
                 }
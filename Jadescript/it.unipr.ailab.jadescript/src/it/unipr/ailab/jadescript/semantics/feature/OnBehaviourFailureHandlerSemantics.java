@@ -399,7 +399,10 @@ public class OnBehaviourFailureHandlerSemantics
         PSR<SourceCodeBuilder> bodyPSR = module.get(CompilationHelper.class)
             .compileBlockToNewSCB(inBody, body);
 
-        scb.add(encloseInGeneralHandlerTryCatch(bodyPSR.result()));
+        scb.add(encloseInGeneralHandlerTryCatch(
+            input,
+            bodyPSR.result()
+        ));
 
         module.get(ContextManager.class).exit();
 
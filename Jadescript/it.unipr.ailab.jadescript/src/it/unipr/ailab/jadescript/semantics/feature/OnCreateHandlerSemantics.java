@@ -130,7 +130,10 @@ public class OnCreateHandlerSemantics
                     final PSR<SourceCodeBuilder> bodyPSR =
                         compilationHelper.compileBlockToNewSCB(inBody, body);
 
-                    scb.add(encloseInGeneralHandlerTryCatch(bodyPSR.result()));
+                    scb.add(encloseInGeneralHandlerTryCatch(
+                        input,
+                        bodyPSR.result()
+                    ));
 
 
                     module.get(ContextManager.class).exit();
@@ -360,6 +363,7 @@ public class OnCreateHandlerSemantics
                             input.__(FeatureWithBody::getBody)
                         );
                     scb.add(encloseInGeneralHandlerTryCatch(
+                        input,
                         bodyPSR.result()
                     ));
 
@@ -102,7 +102,10 @@ public class OnDeactivateHandlerSemantics
                             .compileBlockToNewSCB(state, body);
 
 
-                    scb.add(encloseInGeneralHandlerTryCatch(blockPSR.result()));
+                    scb.add(encloseInGeneralHandlerTryCatch(
+                        input,
+                        blockPSR.result()
+                    ));
 
                     module.get(ContextManager.class).exit();
                 }
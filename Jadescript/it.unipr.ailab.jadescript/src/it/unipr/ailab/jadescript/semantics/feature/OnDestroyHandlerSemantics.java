@@ -122,7 +122,10 @@ public class OnDestroyHandlerSemantics
                     module.get(CompilationHelper.class)
                         .compileBlockToNewSCB(state, body);
 
-                scb.add(encloseInGeneralHandlerTryCatch(blockPSR.result()));
+                scb.add(encloseInGeneralHandlerTryCatch(
+                    input,
+                    blockPSR.result()
+                ));
 
                 contextManager.exit();
 
@@ -192,7 +195,10 @@ public class OnDestroyHandlerSemantics
                     module.get(CompilationHelper.class)
                         .compileBlockToNewSCB(state, body);
 
-                scb.add(encloseInGeneralHandlerTryCatch(bodyPSR.result()));
+                scb.add(encloseInGeneralHandlerTryCatch(
+                    input,
+                    bodyPSR.result()
+                ));
 
                 module.get(ContextManager.class).exit();
 
@@ -401,7 +401,10 @@ public class OnExceptionHandlerSemantics
             .compileBlockToNewSCB(inBody, body);
 
 
-        scb.add(encloseInGeneralHandlerTryCatch(bodyPSR.result()));
+        scb.add(encloseInGeneralHandlerTryCatch(
+            input,
+            bodyPSR.result()
+        ));
 
         module.get(ContextManager.class).exit();
 
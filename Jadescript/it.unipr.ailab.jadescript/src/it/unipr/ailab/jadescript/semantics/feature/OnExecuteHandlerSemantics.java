@@ -125,7 +125,10 @@ public class OnExecuteHandlerSemantics
             final PSR<SourceCodeBuilder> blockPSR =
                 compilationHelper.compileBlockToNewSCB(state, body);
 
-            scb.add(encloseInGeneralHandlerTryCatch(blockPSR.result()));
+            scb.add(encloseInGeneralHandlerTryCatch(
+                input,
+                blockPSR.result()
+            ));
 
             contextManager.exit();
 
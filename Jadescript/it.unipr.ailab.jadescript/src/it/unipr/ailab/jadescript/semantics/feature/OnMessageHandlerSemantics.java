@@ -378,12 +378,8 @@ public class OnMessageHandlerSemantics
             new ArrayList<>();
 
 
-        // add performative constraint (if there is one)
-        performativeString.safeDo(p -> {
-            messageTemplateExpressions.add(
-                TemplateCompilationHelper.performative(p)
-            );
-        });
+        // The performative constraint (if there is one) is not part of the
+        // chain: it is checked by the dispatch template wrapping it.
 
         // add "Not a native event" constraint
         messageTemplateExpressions.add(
@@ -424,12 +420,15 @@ public class OnMessageHandlerSemantics
 
         // Put all constraints in a
         // MessageTemplate.and(..., MessageTemplate.and(..., ...))
-        // chain.
-        final ExpressionWriter composedMT =
+        // chain, wrapped by a dispatch template exposing the performative to
+        // the indexed inbox.
+        final ExpressionWriter composedMT = TemplateCompilationHelper.indexed(
+            performativeString,
             messageTemplateExpressions.stream().reduce(
                 TemplateCompilationHelper.True(),
                 TemplateCompilationHelper::and
-            );
+            )
+        );
 
         w.variable(
             "jade.lang.acl.MessageTemplate",
@@ -495,7 +494,10 @@ public class OnMessageHandlerSemantics
 
 
         final StatementWriter tryCatchWrappedBody =
-            encloseInGeneralHandlerTryCatch(bodyPSR.result());
+            encloseInGeneralHandlerTryCatch(
+                input,
+                bodyPSR.result()
+            );
 
 
         module.get(ContextManager.class).exit();
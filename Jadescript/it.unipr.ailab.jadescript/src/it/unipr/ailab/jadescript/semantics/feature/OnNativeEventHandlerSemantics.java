@@ -472,7 +472,10 @@ public class OnNativeEventHandlerSemantics
                 .compileBlockToNewSCB(inBody, body);
 
         final StatementWriter tryCatchWrappedBody =
-            encloseInGeneralHandlerTryCatch(bodyPSR.result());
+            encloseInGeneralHandlerTryCatch(
+                input,
+                bodyPSR.result()
+            );
 
 
         module.get(ContextManager.class).exit();
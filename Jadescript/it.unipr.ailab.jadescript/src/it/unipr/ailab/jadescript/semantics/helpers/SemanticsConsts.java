@@ -45,6 +45,7 @@ public interface SemanticsConsts {
     String CONTENT_VAR_NAME = "__content";
     String RECEIVER_LIST_VAR_NAME = "__receiversList";
     String ONTOLOGY_STATIC_INSTANCE_NAME = "__instance";
+    String ONTOLOGY_INTROSPECTOR_CLASS_NAME = "__Introspector";
     String MESSAGE_RECEIVED_BOOL_VAR_NAME = "__eventFired";
 
     String EXCEPTION_MATCHED_BOOL_VAR_NAME = "__exceptionMatched";
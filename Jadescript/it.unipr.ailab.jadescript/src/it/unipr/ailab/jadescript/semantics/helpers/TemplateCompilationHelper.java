@@ -1,5 +1,6 @@
 package it.unipr.ailab.jadescript.semantics.helpers;
 
+import it.unipr.ailab.maybe.Maybe;
 import it.unipr.ailab.sonneteer.SourceCodeBuilder;
 import it.unipr.ailab.sonneteer.WriterFactory;
 import it.unipr.ailab.sonneteer.expression.ExpressionWriter;
@@ -34,13 +35,21 @@ public class TemplateCompilationHelper implements SemanticsConsts {
     }
 
 
-    public static MethodCallExpressionWriter performative(
-        String performativeSafe
+    /**
+     * Wraps the template in a {@code DispatchTemplate}, exposing the
+     * performative constraint (if any) to the indexed inbox of the agent.
+     */
+    public static MethodCallExpressionWriter indexed(
+        Maybe<String> performative,
+        ExpressionWriter rest
     ) {
         return w.callExpr(
-            "jade.lang.acl.MessageTemplate.MatchPerformative",
-            w.expr("jadescript.core.message.Message." +
-                performativeSafe.toUpperCase())
+            "jadescript.lang.acl.DispatchTemplate.matchIndexed",
+            performative.__(p -> w.expr("jadescript.core.message.Message."
+                    + p.toUpperCase()))
+                .orElse(w.expr("jadescript.lang.acl.DispatchTemplate" +
+                    ".ANY_PERFORMATIVE")),
+            rest
         );
     }
 
@@ -72,9 +81,9 @@ public class TemplateCompilationHelper implements SemanticsConsts {
     }
 
     public static MethodCallExpressionWriter isRightCodec() {
+        // Any of the codecs registered by Jadescript agents.
         return w.callExpr(
-            "jade.lang.acl.MessageTemplate.MatchLanguage",
-            w.expr(CODEC_VAR_NAME + ".getName()")
+            "jadescript.content.lang.JadescriptCodecs.matchLanguage"
         );
     }
 
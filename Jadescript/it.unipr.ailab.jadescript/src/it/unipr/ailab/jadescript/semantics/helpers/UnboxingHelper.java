@@ -0,0 +1,98 @@
+package it.unipr.ailab.jadescript.semantics.helpers;
+
+import it.unipr.ailab.jadescript.semantics.GenerationParameters;
+import it.unipr.ailab.jadescript.semantics.SemanticsModule;
+import it.unipr.ailab.jadescript.semantics.jadescripttypes.IJadescriptType;
+import it.unipr.ailab.jadescript.semantics.jadescripttypes.index.BuiltinTypeProvider;
+import it.unipr.ailab.jadescript.semantics.jadescripttypes.relationship.TypeComparator;
+import it.unipr.ailab.maybe.utils.LazyInit;
+
+import static it.unipr.ailab.jadescript.semantics.jadescripttypes.relationship.TypeRelationshipQuery.equal;
+
+/**
+ * Decides when the local variables of the numeric types (integer and real)
+ * can be declared with the Java primitive types, instead of their boxed
+ * counterparts.
+ * <p>
+ * Only the declarations change: the uses of the variables are compiled as
+ * before, and javac inserts the (un)boxing conversions where the value flows
+ * into a generic context (collections, properties, message contents...).
+ * This keeps arithmetic-heavy code free from intermediate allocations.
+ * <p>
+ * A primitive variable cannot hold null: a null value assigned to it (e.g.,
+ * the result of a failed invocation of Java code, or a null element of a
+ * collection created in Java) throws a NullPointerException at the
+ * assignment. For this reason, variables are unboxed only if
+ * {@link GenerationParameters#UNBOXED_NUMERIC_LOCALS} is enabled, except
+ * for the ones initialized with values which are never null (see
+ * {@link #compileNonNullLocalVariableType(IJadescriptType)}).
+ */
+public class UnboxingHelper {
+
+    private final LazyInit<BuiltinTypeProvider> builtins;
+    private final LazyInit<TypeComparator> comparator;
+
+
+    public UnboxingHelper(SemanticsModule module) {
+        this.builtins = LazyInit.lazyInit(
+            () -> module.get(BuiltinTypeProvider.class)
+        );
+        this.comparator = LazyInit.lazyInit(
+            () -> module.get(TypeComparator.class)
+        );
+    }
+
+
+    /**
+     * True if a local variable of the given type can be declared with a Java
+     * primitive type.
+     */
+    public boolean canBeUnboxed(IJadescriptType type) {
+        return GenerationParameters.UNBOXED_NUMERIC_LOCALS
+            && isNumeric(type);
+    }
+
+
+    /**
+     * Compiles the type of the declaration of a local variable of the given
+     * type, which is primitive when possible.
+     */
+    public String compileLocalVariableType(IJadescriptType type) {
+        if (canBeUnboxed(type)) {
+            return isInteger(type) ? "int" : "float";
+        }
+        return type.compileToJavaTypeReference();
+    }
+
+
+    /**
+     * Compiles the type of the declaration of a local variable of the given
+     * type, whose initial value is never null (e.g., a copy of the counter
+     * of an indexed loop). The type is primitive when possible, regardless
+     * of {@link GenerationParameters#UNBOXED_NUMERIC_LOCALS}.
+     */
+    public String compileNonNullLocalVariableType(IJadescriptType type) {
+        if (isNumeric(type)) {
+            return isInteger(type) ? "int" : "float";
+        }
+        return type.compileToJavaTypeReference();
+    }
+
+
+    private boolean isNumeric(IJadescriptType type) {
+        return type != null && (isInteger(type) || isReal(type));
+    }
+
+
+    private boolean isInteger(IJadescriptType type) {
+        return comparator.get().compare(builtins.get().integer(), type)
+            .is(equal());
+    }
+
+
+    private boolean isReal(IJadescriptType type) {
+        return comparator.get().compare(builtins.get().real(), type)
+            .is(equal());
+    }
+
+}
@@ -69,6 +69,9 @@ public class ValidationHelper implements SemanticsConsts {
             case "CyclicBehaviour":
             case "Ontology":
 
+                // keyword of "send ... to each", accepted by the grammar as
+                // identifier only to report it here
+            case "each":
 
                 // java keywords
             case "abstract":
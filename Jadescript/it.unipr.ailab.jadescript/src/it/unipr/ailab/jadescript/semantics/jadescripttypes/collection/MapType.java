@@ -407,23 +407,7 @@ public class MapType
                         scb.line(className + " result = " +
                             "new " + className + "();");
 
-                        scb.line("java.util.List<" +
-                            JvmTypeHelper.noGenericsTypeName(
-                                keyType.compileToJavaTypeReference()) +
-                            "> keys = new java.util.ArrayList<>();");
-
-                        scb.line("java.util.List<" +
-                            JvmTypeHelper.noGenericsTypeName(
-                                elementType.compileToJavaTypeReference()) +
-                            "> values = new java.util.ArrayList<>();");
-
-                        scb.line(
-                            "map.forEach((k,v)->{" +
-                                "keys.add(k); values.add(v);});"
-                        );
-
-                        scb.line("result.setKeys(keys);");
-                        scb.line("result.setValues(values);");
+                        scb.line("result.putAll(map);");
                         scb.line("return result;");
                     });
                 }
@@ -348,19 +348,9 @@ public class SetType
                         module.get(CompilationHelper.class).createAndSetBody(
                             itMeth,
                             scb -> {
-                                final String typeName =
-                                    JvmTypeHelper.noGenericsTypeName(
-                                        elementType.compileToJavaTypeReference()
-                                    );
                                 scb.line(className + " result = " +
                                     "new " + className + "();");
-                                scb.line(
-                                    "java.util.List<" + typeName +
-                                        "> elements = new java.util" +
-                                        ".ArrayList<>();"
-                                );
-                                scb.line("set.forEach(elements::add);");
-                                scb.line("result.setElements(elements);");
+                                scb.line("result.addAll(set);");
                                 scb.line("return result;");
                             }
                         );
@@ -14,6 +14,7 @@ import it.unipr.ailab.jadescript.semantics.context.staticstate.StaticState;
 import it.unipr.ailab.jadescript.semantics.context.symbol.LocalVariable;
 import it.unipr.ailab.jadescript.semantics.context.symbol.interfaces.CompilableName;
 import it.unipr.ailab.jadescript.semantics.expression.RValueExpressionSemantics;
+import it.unipr.ailab.jadescript.semantics.helpers.UnboxingHelper;
 import it.unipr.ailab.jadescript.semantics.helpers.ValidationHelper;
 import it.unipr.ailab.jadescript.semantics.jadescripttypes.IJadescriptType;
 import it.unipr.ailab.jadescript.semantics.jadescripttypes.collection.ListType;
@@ -21,7 +22,6 @@ import it.unipr.ailab.jadescript.semantics.jadescripttypes.collection.MapType;
 import it.unipr.ailab.jadescript.semantics.jadescripttypes.collection.SetType;
 import it.unipr.ailab.jadescript.semantics.jadescripttypes.index.BuiltinTypeProvider;
 import it.unipr.ailab.maybe.Maybe;
-import it.unipr.ailab.sonneteer.expression.ExpressionWriter;
 import it.unipr.ailab.sonneteer.statement.BlockWriter;
 import org.eclipse.xtext.validation.ValidationMessageAcceptor;
 
@@ -140,7 +140,8 @@ public class ForStatementSemantics extends StatementSemantics<ForStatement> {
         final StaticState afterBlock = endOfBlock.exitScope();
 
         acceptor.accept(w.foreach(
-            firstVarType.compileToJavaTypeReference(),
+            module.get(UnboxingHelper.class)
+                .compileLocalVariableType(firstVarType),
             varName.orElse(""),
             w.expr(compiledCollection),
             blockCompiled
@@ -205,7 +206,8 @@ public class ForStatementSemantics extends StatementSemantics<ForStatement> {
         compiledBlock.addStatement(
             0,
             w.variable(
-                secondVarType.compileToJavaTypeReference(),
+                module.get(UnboxingHelper.class)
+                    .compileLocalVariableType(secondVarType),
                 var2Name.orElse(""),
                 w.expr(collectionAuxVar + ".get(" +
                     varName.orElse("") + ")")
@@ -233,6 +235,16 @@ public class ForStatementSemantics extends StatementSemantics<ForStatement> {
         String compiledCollection,
         StaticState afterCollection
     ) {
+        // The range is compiled to a counted loop on a primitive index,
+        // going from the start to the end (both included), ascending or
+        // descending as in jadescript.util.IntegerRange.
+        final String indexVar = acceptor.auxiliaryVariable(
+            input,
+            "int",
+            "index",
+            compiledCollection
+        );
+
         Maybe<RValueExpression> end = input.__(ForStatement::getEndIndex);
 
         final String compiledEndIndex =
@@ -241,9 +253,18 @@ public class ForStatementSemantics extends StatementSemantics<ForStatement> {
         final StaticState afterEndIndex =
             rves.advance(end, afterCollection);
 
-        ExpressionWriter completeCollExpression = w.expr(
-            "new jadescript.util.IntegerRange(" + compiledCollection +
-                ", " + compiledEndIndex + ", true, true)"
+        final String endVar = acceptor.auxiliaryVariable(
+            input,
+            "int",
+            "end",
+            compiledEndIndex
+        );
+
+        final String stepVar = acceptor.auxiliaryVariable(
+            input,
+            "int",
+            "step",
+            indexVar + " > " + endVar + " ? -1 : 1"
         );
 
         StaticState withVar = afterEndIndex.declareName(
@@ -268,10 +289,23 @@ public class ForStatementSemantics extends StatementSemantics<ForStatement> {
 
         StaticState afterBlock = endOfBlock.exitScope();
 
-        acceptor.accept(w.foreach(
-            firstVarType.compileToJavaTypeReference(),
-            varName.orElse(""),
-            completeCollExpression,
+        // The loop variable is a copy of the index, so it can be captured
+        // (and boxed, when it escapes) without affecting the iteration.
+        compiledBlock.addStatement(
+            0,
+            w.variable(
+                module.get(UnboxingHelper.class)
+                    .compileNonNullLocalVariableType(firstVarType),
+                varName.orElse(""),
+                w.expr(indexVar)
+            )
+        );
+
+        acceptor.accept(w.forLoop(
+            "",
+            w.expr(stepVar + " > 0 ? " + indexVar + " <= " + endVar
+                + " : " + indexVar + " >= " + endVar),
+            indexVar + " += " + stepVar,
             compiledBlock
         ));
 
@@ -7,6 +7,7 @@ import it.unipr.ailab.jadescript.semantics.SemanticsModule;
 import it.unipr.ailab.jadescript.semantics.context.ContextManager;
 import it.unipr.ailab.jadescript.semantics.context.associations.OntologyAssociation;
 import it.unipr.ailab.jadescript.semantics.context.associations.OntologyAssociationComputer;
+import it.unipr.ailab.jadescript.semantics.context.c2feature.EventHandlerContext;
 import it.unipr.ailab.jadescript.semantics.context.c2feature.OntologyDeclarationSupportContext;
 import it.unipr.ailab.jadescript.semantics.context.staticstate.StaticState;
 import it.unipr.ailab.jadescript.semantics.expression.RValueExpressionSemantics;
@@ -21,6 +22,7 @@ import it.unipr.ailab.jadescript.semantics.jadescripttypes.ontology.OntologyType
 import it.unipr.ailab.jadescript.semantics.jadescripttypes.parameters.TypeArgument;
 import it.unipr.ailab.jadescript.semantics.jadescripttypes.relationship.TypeComparator;
 import it.unipr.ailab.maybe.Maybe;
+import it.unipr.ailab.sonneteer.expression.MethodCallExpressionWriter;
 import it.unipr.ailab.sonneteer.statement.BlockWriter;
 import jade.content.ContentElement;
 import jade.content.abs.AbsContentElement;
@@ -433,23 +435,44 @@ public class SendMessageStatementSemantics
         );
 
 
-//generating => this.myAgent.getContentManager()
-//generating =>     .fillContent(_msg1, Onto.received(counter));
-        fillContent(
+        // The batch is flushed at the end of the event handlers which contain
+        // "send ... to each". Functions and procedures can be invoked
+        // outside them, so their messages are sent at once.
+        final boolean each = input.__(SendMessageStatement::isEach)
+            .orElse(false)
+            && module.get(ContextManager.class).currentContext()
+            .actAs(EventHandlerContext.class)
+            .findFirst()
+            .isPresent();
+
+//generating => _msg1.__fillContent(this.myAgent.getContentManager(),
+//generating =>     Onto.received(counter));
+        final boolean deferred = fillContent(
             input,
             adaptedContentType,
             contentVarName,
             messageName,
             performative,
+            each,
             tryBlock
         );
 
 
+        if (!each) {
 //generating => this.myAgent.send(_msg1);
-        tryBlock.add(w.callStmnt(
-            CompilationHelper.compileAgentReference() + ".send",
-            w.expr(messageName)
-        ));
+            tryBlock.add(w.callStmnt(
+                CompilationHelper.compileAgentReference() + ".send",
+                w.expr(messageName)
+            ));
+        } else if (!deferred) {
+//generating => this.myAgent.__sendAtEndOfHandler(_msg1, null);
+            tryBlock.add(w.callStmnt(
+                CompilationHelper.compileAgentReference() +
+                    ".__sendAtEndOfHandler",
+                w.expr(messageName),
+                w.expr("null")
+            ));
+        }
 
 
         acceptor.accept(w.tryCatch(tryBlock)
@@ -662,12 +685,20 @@ public class SendMessageStatementSemantics
     }
 
 
-    private void fillContent(
+    /**
+     * Generates the statements which set the content of the message. When
+     * {@code each} is true and the content is a content element, the message
+     * is instead handed, with its content, to the batch of the messages sent
+     * at the end of the handler (so that equal contents are encoded once);
+     * in this case, the method returns true.
+     */
+    private boolean fillContent(
         Maybe<SendMessageStatement> input,
         IJadescriptType contentType,
         String contentVarName,
         String messageName,
         Maybe<String> performative,
+        boolean each,
         BlockWriter tryBlock
     ) {
 
@@ -682,7 +713,7 @@ public class SendMessageStatementSemantics
         //    typeSafe = toLightWeightTypeReference(contentType, container)
 
         if (container.isNothing()) {
-            return;
+            return false;
         }
 
         final UsesOntologyElement containerSafe = container.toNullable();
@@ -698,24 +729,38 @@ public class SendMessageStatementSemantics
                 messageName + ".setContent",
                 w.expr(contentVarName)
             ));
-            return;
+            return false;
         }
 
         if (performative.isPresent() &&
             (typeSafe.isSubtypeOf(ContentElement.class)
                 || typeSafe.isSubtypeOf(AbsContentElement.class))) {
+            final MethodCallExpressionWriter preparedContent = w.callExpr(
+                "jadescript.content.onto.MessageContent" +
+                    ".prepareContent",
+                w.expr("(jade.content.ContentElement) " + contentVarName),
+                w.expr("\"" + performative.toNullable() + "\"")
+            );
+
+            if (each) {
+                tryBlock.add(w.callStmnt(
+                    CompilationHelper.compileAgentReference() +
+                        ".__sendAtEndOfHandler",
+                    w.expr(messageName),
+                    preparedContent
+                ));
+                return true;
+            }
+
+            // Contents which can be shared are encoded lazily (see
+            // jadescript.core.message.Message#__fillContent).
             tryBlock.add(w.callStmnt(
-                CompilationHelper.compileAgentReference() +
-                    ".getContentManager().fillContent",
-                w.expr(messageName),
-                w.callExpr(
-                    "jadescript.content.onto.MessageContent" +
-                        ".prepareContent",
-                    w.expr("(jade.content.ContentElement) " + contentVarName),
-                    w.expr("\"" + performative.toNullable() + "\"")
-                )
+                messageName + ".__fillContent",
+                w.expr(CompilationHelper.compileAgentReference() +
+                    ".getContentManager()"),
+                preparedContent
             ));
-            return;
+            return false;
         }
 
         if (typeSafe.isSubtypeOf(Serializable.class)
@@ -724,7 +769,7 @@ public class SendMessageStatementSemantics
                 messageName + ".setContentObject",
                 w.expr("(java.io.Serializable) " + contentVarName)
             ));
-            return;
+            return false;
         }
 
 
@@ -732,7 +777,7 @@ public class SendMessageStatementSemantics
             messageName + ".setByteSequenceContent",
             w.expr(contentVarName)
         ));
-
+        return false;
     }
 
 
@@ -36,8 +36,11 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -269,6 +272,7 @@ public class OntologyDeclarationSemantics extends
             );
         }
 
+        addIntrospectorClass(input, members);
 
         final JvmTypeReference superType = superOntologyType;
 
@@ -278,8 +282,8 @@ public class OntologyDeclarationSemantics extends
 
                 scb.line("super(__NAME, " + superType.getQualifiedName(
                     '.') +
-                    ".getInstance(), new jade.content.onto" +
-                    ".CFReflectiveIntrospector());");
+                    ".getInstance(), new " +
+                    ONTOLOGY_INTROSPECTOR_CLASS_NAME + "());");
 
 
                 if (input
@@ -344,6 +348,237 @@ public class OntologyDeclarationSemantics extends
     }
 
 
+    /**
+     * Generates the introspector of the ontology, used by the content
+     * manager to read and write the slots of its elements.
+     * <p>
+     * The slots of the elements declared in the ontology (including the ones
+     * inherited from other elements of the same ontology) are accessed by
+     * calling their accessors directly, selected by the name of the schema
+     * and of the slot, instead of looking them up by reflection at each
+     * encoding and decoding. The other slots are delegated to
+     * {@link jadescript.content.onto.JadescriptIntrospector}.
+     */
+    private void addIntrospectorClass(
+        Maybe<Ontology> input,
+        EList<JvmMember> members
+    ) {
+        if (input.isNothing()) {
+            return;
+        }
+
+        final Ontology inputSafe = input.toNullable();
+
+        final List<FeatureWithSlots> elements = new ArrayList<>();
+        for (Maybe<? extends Feature> feature :
+            iterate(input.__(FeatureContainer::getFeatures))) {
+            if (feature.isPresent()
+                && feature.toNullable() instanceof FeatureWithSlots
+                && isSchemaCompilable(feature.toNullable())) {
+                elements.add((FeatureWithSlots) feature.toNullable());
+            }
+        }
+
+        final JvmTypesBuilder jvmTB = module.get(JvmTypesBuilder.class);
+        final JvmTypeHelper jvm = module.get(JvmTypeHelper.class);
+        final CompilationHelper compilationHelper =
+            module.get(CompilationHelper.class);
+
+        members.add(jvmTB.toClass(
+            inputSafe,
+            ONTOLOGY_INTROSPECTOR_CLASS_NAME,
+            itClass -> {
+                itClass.setStatic(true);
+                itClass.setVisibility(JvmVisibility.PUBLIC);
+                itClass.getSuperTypes().add(jvm.typeRef(
+                    jadescript.content.onto.JadescriptIntrospector.class
+                ));
+
+                itClass.getMembers().add(jvmTB.toMethod(
+                    inputSafe,
+                    "getSlotValue",
+                    jvm.objectTypeRef(),
+                    itMethod -> {
+                        itMethod.setVisibility(JvmVisibility.PUBLIC);
+                        itMethod.getParameters().add(jvmTB.toParameter(
+                            inputSafe,
+                            "slotName",
+                            jvm.typeRef(String.class)
+                        ));
+                        itMethod.getParameters().add(jvmTB.toParameter(
+                            inputSafe,
+                            "obj",
+                            jvm.objectTypeRef()
+                        ));
+                        itMethod.getParameters().add(jvmTB.toParameter(
+                            inputSafe,
+                            "schema",
+                            jvm.typeRef(jade.content.schema.ObjectSchema.class)
+                        ));
+                        itMethod.getExceptions().add(jvm.typeRef(
+                            jade.content.onto.OntologyException.class
+                        ));
+                        compilationHelper.createAndSetBody(
+                            itMethod,
+                            scb -> compileIntrospectorBody(
+                                input,
+                                elements,
+                                false,
+                                scb
+                            )
+                        );
+                    }
+                ));
+
+                itClass.getMembers().add(jvmTB.toMethod(
+                    inputSafe,
+                    "setSlotValue",
+                    jvm.typeRef(void.class),
+                    itMethod -> {
+                        itMethod.setVisibility(JvmVisibility.PUBLIC);
+                        itMethod.getParameters().add(jvmTB.toParameter(
+                            inputSafe,
+                            "slotName",
+                            jvm.typeRef(String.class)
+                        ));
+                        itMethod.getParameters().add(jvmTB.toParameter(
+                            inputSafe,
+                            "slotValue",
+                            jvm.objectTypeRef()
+                        ));
+                        itMethod.getParameters().add(jvmTB.toParameter(
+                            inputSafe,
+                            "obj",
+                            jvm.objectTypeRef()
+                        ));
+                        itMethod.getParameters().add(jvmTB.toParameter(
+                            inputSafe,
+                            "schema",
+                            jvm.typeRef(jade.content.schema.ObjectSchema.class)
+                        ));
+                        itMethod.getExceptions().add(jvm.typeRef(
+                            jade.content.onto.OntologyException.class
+                        ));
+                        compilationHelper.createAndSetBody(
+                            itMethod,
+                            scb -> compileIntrospectorBody(
+                                input,
+                                elements,
+                                true,
+                                scb
+                            )
+                        );
+                    }
+                ));
+            }
+        ));
+    }
+
+
+    private void compileIntrospectorBody(
+        Maybe<Ontology> input,
+        List<FeatureWithSlots> elements,
+        boolean isSetter,
+        SourceCodeBuilder scb
+    ) {
+        final TypeExpressionSemantics tes =
+            module.get(TypeExpressionSemantics.class);
+        final TypeHelper typeHelper = module.get(TypeHelper.class);
+
+        scb.open("switch (schema.getTypeName()) {");
+        for (FeatureWithSlots element : elements) {
+            final String elementName = element.getName();
+            if (elementName == null || elementName.isBlank()) {
+                continue;
+            }
+
+            final List<SlotDeclaration> slots =
+                collectIntrospectedSlots(input, element);
+            if (slots.isEmpty()) {
+                continue;
+            }
+
+            final String elementFqName = getOntoElementFqName(element);
+            scb.open("case \"" + elementName + "\": {");
+            scb.line("final " + elementFqName + " _element = (" +
+                elementFqName + ") obj;");
+            scb.open("switch (slotName) {");
+            for (SlotDeclaration slot : slots) {
+                final String slotName = slot.getName();
+                final String accessorSuffix = Strings.toFirstUpper(slotName);
+                scb.open("case \"" + slotName + "\":");
+                if (isSetter) {
+                    final IJadescriptType slotType =
+                        tes.toJadescriptType(some(slot.getType()));
+                    final String value;
+                    if (typeHelper.isTypeWithPrimitiveOntologySchema(
+                        slotType
+                    )) {
+                        value = "adjustSlotValue(slotValue, " +
+                            slotType.compileToJavaTypeReference() +
+                            ".class)";
+                    } else {
+                        value = slotType.compileAsJavaCast() + " slotValue";
+                    }
+                    scb.line("_element.set" + accessorSuffix +
+                        "(" + value + ");");
+                    scb.line("return;");
+                } else {
+                    scb.line("return _element.get" + accessorSuffix + "();");
+                }
+                scb.dedent();
+            }
+            scb.close("}");
+            scb.line("break;");
+            scb.close("}");
+        }
+        scb.close("}");
+
+        if (isSetter) {
+            scb.line("super.setSlotValue(slotName, slotValue, obj, schema);");
+        } else {
+            scb.line("return super.getSlotValue(slotName, obj, schema);");
+        }
+    }
+
+
+    /**
+     * Collects the slots of the element, followed by the ones inherited
+     * from the elements of the same ontology it extends.
+     */
+    private List<SlotDeclaration> collectIntrospectedSlots(
+        Maybe<Ontology> input,
+        FeatureWithSlots element
+    ) {
+        final LinkedHashMap<String, SlotDeclaration> result =
+            new LinkedHashMap<>();
+        final HashMap<String, ExtendingFeature> features =
+            schemaFeatures.getOrNew(input);
+        final Set<ExtendingFeature> visited = new HashSet<>();
+
+        ExtendingFeature current = element;
+        while (current instanceof FeatureWithSlots && visited.add(current)) {
+            for (SlotDeclaration slot :
+                ((FeatureWithSlots) current).getSlots()) {
+                if (slot != null
+                    && slot.getName() != null
+                    && !slot.getName().isBlank()
+                    && slot.getType() != null) {
+                    result.putIfAbsent(slot.getName(), slot);
+                }
+            }
+
+            final JvmParameterizedTypeReference superType =
+                current.getSuperType();
+            current = superType == null
+                ? null
+                : features.get(superType.getSimpleName());
+        }
+
+        return new ArrayList<>(result.values());
+    }
+
+
     private void addAdHocMapOrSetClasses(
         EList<JvmMember> members,
         Maybe<ExtendingFeature> feature,
@@ -765,6 +765,8 @@ public class OntologyElementSemantics extends Semantics {
 
         addEquals(itClass.getMembers(), input);
 
+        addHashCode(itClass.getMembers(), input);
+
         addOntologyElementsConstructor(
             itClass.getMembers(),
             input,
@@ -879,6 +881,8 @@ public class OntologyElementSemantics extends Semantics {
 
         addEquals(itClass.getMembers(), input);
 
+        addHashCode(itClass.getMembers(), input);
+
         addOntologyElementsConstructor(
             itClass.getMembers(),
             input,
@@ -1254,6 +1258,77 @@ public class OntologyElementSemantics extends Semantics {
     }
 
 
+    private void addHashCode(
+        EList<JvmMember> members,
+        Maybe<ExtendingFeature> input
+    ) {
+        if (input.isNothing()) {
+            return;
+        }
+
+        final ExtendingFeature inputSafe = input.toNullable();
+
+        final String typeName = inputSafe.getName();
+        if (typeName == null || typeName.isBlank()) {
+            return;
+        }
+
+        final JvmTypesBuilder jvmTB = module.get(JvmTypesBuilder.class);
+
+        final JvmTypeHelper jvm = module.get(JvmTypeHelper.class);
+
+        members.add(jvmTB.toMethod(
+            inputSafe,
+            "hashCode",
+            jvm.typeRef(Integer.TYPE),
+            itMethod -> {
+                itMethod.setVisibility(JvmVisibility.PUBLIC);
+
+                final CompilationHelper compilationHelper =
+                    module.get(CompilationHelper.class);
+
+                // Consistent with the generated equals: the super type is
+                // taken into account only when equals delegates to it.
+                compilationHelper.createAndSetBody(itMethod, scb -> {
+                    scb.add("int _h = ");
+                    if (input
+                        .__(ExtendingFeature::getSuperType)
+                        .isPresent()) {
+                        scb.line("super.hashCode();");
+                    } else {
+                        scb.line("1;");
+                    }
+                    if (inputSafe instanceof FeatureWithSlots) {
+                        final Maybe<EList<SlotDeclaration>> slots =
+                            some((FeatureWithSlots) inputSafe)
+                                .__(FeatureWithSlots::getSlots);
+                        for (Maybe<SlotDeclaration> slot : iterate(slots)) {
+                            final Maybe<String> slotName =
+                                slot.__(SlotDeclaration::getName);
+
+                            if (slotName.isNothing()) {
+                                continue;
+                            }
+
+                            String slotNameSafe =
+                                Strings.toFirstUpper(slotName.toNullable());
+
+                            if (slotNameSafe.isBlank()) {
+                                continue;
+                            }
+
+                            scb.line("_h = 31 * _h + java.util.Objects"
+                                + ".hashCode(this.get" + slotNameSafe
+                                + "());");
+                        }
+                    }
+                    scb.line("return _h;");
+                });
+            }
+        ));
+    }
+
+
     private void addGetDeclaringOntology(
         EList<JvmMember> members,
         Maybe<ExtendingFeature> input,
@@ -194,8 +194,8 @@ public abstract class UsesOntologyTopLevelDeclarationSemantics
                     compilationHelper.createAndSetInitializer(
                         itField,
                         scb -> scb.line(
-                            "new jade.content.lang.leap.LEAPCodec" +
-                                "()")
+                            "jadescript.content.lang.JadescriptCodecs" +
+                                ".forClass(getClass())")
                     );
                 }
             ));
@@ -16,6 +16,7 @@ import it.unipr.ailab.sonneteer.file.ImportWriter;
 import it.unipr.ailab.sonneteer.qualifiers.Visibility;
 import it.unipr.ailab.sonneteer.statement.*;
 import it.unipr.ailab.sonneteer.statement.controlflow.ForEachWriter;
+import it.unipr.ailab.sonneteer.statement.controlflow.ForStatementWriter;
 import it.unipr.ailab.sonneteer.statement.controlflow.IfStatementWriter;
 import it.unipr.ailab.sonneteer.statement.controlflow.TryCatchWriter;
 import it.unipr.ailab.sonneteer.statement.controlflow.WhileStatementWriter;
@@ -198,6 +199,16 @@ public class WriterFactory {
     }
 
 
+    public ForStatementWriter forLoop(
+        String init,
+        ExpressionWriter condition,
+        String update,
+        StatementWriter body
+    ) {
+        return new ForStatementWriter(init, condition, update, body);
+    }
+
+
     public SimpleStatementWriter simpleStmt(String stmt) {
         return new SimpleStatementWriter(stmt);
     }
@@ -0,0 +1,60 @@
+package it.unipr.ailab.sonneteer.statement.controlflow;
+
+import it.unipr.ailab.sonneteer.SourceCodeBuilder;
+import it.unipr.ailab.sonneteer.expression.ExpressionWriter;
+import it.unipr.ailab.sonneteer.statement.StatementWriter;
+
+/**
+ * Classic (counted) for loop: {@code for (init; condition; update) body}.
+ */
+public class ForStatementWriter extends StatementWriter implements LoopWriter {
+
+    private final String init;
+    private final ExpressionWriter condition;
+    private final String update;
+    private final StatementWriter body;
+
+
+    public ForStatementWriter(
+        String init,
+        ExpressionWriter condition,
+        String update,
+        StatementWriter body
+    ) {
+        this.init = init;
+        this.condition = condition;
+        this.update = update;
+        this.body = body;
+    }
+
+
+    @Override
+    public void writeSonnet(SourceCodeBuilder s) {
+        getComments().forEach(x -> x.writeSonnet(s));
+        s.add("for ( ").add(init).spaced(";");
+        condition.writeSonnet(s);
+        s.spaced(";").spaced(update).spaced(")");
+        body.writeSonnet(s);
+    }
+
+
+    public StatementWriter getBody() {
+        return body;
+    }
+
+
+    public ExpressionWriter getCondition() {
+        return condition;
+    }
+
+
+    public String getInit() {
+        return init;
+    }
+
+
+    public String getUpdate() {
+        return update;
+    }
+
+}
@@ -44,10 +44,10 @@ public class TryCatchWriter extends StatementWriter {
     @Override
     public void writeSonnet(SourceCodeBuilder s) {
         getComments().forEach(x -> x.writeSonnet(s));
-        if (catchBranches.isEmpty()) {
+        if (catchBranches.isEmpty() && finallyBranch.isNothing()) {
             throw new InvalidStatementException(
                 "Attempted to create a try/catch statement without " +
-                    "any catch branches");
+                    "any catch or finally branches");
         }
         s.spaced("try");
         tryBranch.writeSonnet(s);